@@ -0,0 +1,81 @@
+package com.motelmanagement.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motelmanagement.config.ThuocTinhPayOS;
+import com.motelmanagement.service.PayOSService;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChuKyPayOSBenchmark {
+    private static final String KHOA = "c7123fa7bf56f5518048d6df7a7c60b28c37fb36e6c5ce97420d5c8e343b2255";
+    private static final String DU_LIEU_KY = "amount=2750000&cancelUrl=http://localhost:4002/hoa-don-cua-toi?payment=cancel"
+            + "&description=HD-05-2026&orderCode=2000000123"
+            + "&returnUrl=http://localhost:4002/hoa-don-cua-toi?payment=success";
+
+    private PayOSService payOSService;
+    private MethodHandle hamHmac;
+    private MethodHandle hamXayChuKy;
+    private JsonNode data;
+    private String webhook;
+
+    @Setup
+    public void chuanBi() throws Throwable {
+        ThuocTinhPayOS thuocTinh = new ThuocTinhPayOS();
+        thuocTinh.setChecksumKey(KHOA);
+        payOSService = new PayOSService(thuocTinh, null, null, null, null, null);
+
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(PayOSService.class, MethodHandles.lookup());
+        hamHmac = lookup.findStatic(PayOSService.class, "hmacSha256",
+                MethodType.methodType(String.class, String.class, String.class));
+        hamXayChuKy = lookup.findVirtual(PayOSService.class, "xayChuKyTuData",
+                MethodType.methodType(String.class, JsonNode.class));
+
+        ObjectMapper om = new ObjectMapper();
+        data = om.readTree("""
+                {"orderCode":2000000123,"amount":2750000,"description":"HD-05-2026",
+                 "accountNumber":"12345678","reference":"FT26125ABC","transactionDateTime":"2026-05-05 09:15:00",
+                 "currency":"VND","paymentLinkId":"a1b2c3d4e5","code":"00","desc":"success",
+                 "counterAccountBankId":"","counterAccountBankName":"","counterAccountName":null,
+                 "counterAccountNumber":null,"virtualAccountName":"","virtualAccountNumber":""}
+                """);
+        String chuKy = (String) hamXayChuKy.invoke(payOSService, data);
+        webhook = "{\"code\":\"01\",\"desc\":\"bo qua\",\"success\":false,\"data\":" + data + ",\"signature\":\"" + chuKy + "\"}";
+    }
+
+    @Benchmark
+    public String hmacSha256() throws Throwable {
+        return (String) hamHmac.invokeExact(KHOA, DU_LIEU_KY);
+    }
+
+    @Benchmark
+    public String xayChuKyTuData() throws Throwable {
+        return (String) hamXayChuKy.invoke(payOSService, data);
+    }
+
+    @Benchmark
+    public boolean xacThucWebhook() {
+        return payOSService.xacThucVaXuLyWebhook(webhook);
+    }
+}
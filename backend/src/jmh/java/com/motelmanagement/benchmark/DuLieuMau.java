@@ -0,0 +1,154 @@
+package com.motelmanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.ChiSoDienNuoc;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoaDonChiTiet;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.repository.BangGiaDichVuRepository;
+import com.motelmanagement.repository.ChiSoDienNuocRepository;
+import com.motelmanagement.repository.HoaDonChiTietRepository;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+import com.motelmanagement.service.TinhTienService;
+
+
+final class DuLieuMau {
+    static final int THANG = 5;
+    static final int NAM = 2026;
+
+    final List<HoaDon> hoaDon = new ArrayList<>();
+    final List<ThanhToan> thanhToan = new ArrayList<>();
+    private final Map<String, ChiSoDienNuoc> chiSoTheoKhoa = new HashMap<>();
+    private final Map<String, List<HoaDonChiTiet>> chiTietTheoHoaDon = new HashMap<>();
+    private final BangGiaDichVu bangGia = new BangGiaDichVu();
+
+    DuLieuMau(int soPhong) {
+        Random r = new Random(42);
+        bangGia.setGiaDien(BigDecimal.valueOf(3_500));
+        bangGia.setGiaNuoc(BigDecimal.valueOf(18_000));
+        bangGia.setHieuLucTu(LocalDate.of(2026, 1, 1));
+        KhuVuc khuVuc = new KhuVuc();
+        khuVuc.setId("kv-1");
+        khuVuc.setTen("Khu A");
+        for (int i = 0; i < soPhong; i++) {
+            Phong phong = new Phong();
+            phong.setId("p-" + i);
+            phong.setMaPhong("P" + (100 + i));
+            phong.setKhuVuc(khuVuc);
+            phong.setGiaHienTai(BigDecimal.valueOf(2_500_000L + r.nextInt(20) * 100_000L));
+            KhachThue khach = new KhachThue();
+            khach.setId("kt-" + i);
+            khach.setHoTen("Nguyễn Văn Khách " + i);
+
+            int dienCu = 1_000 + r.nextInt(5_000);
+            int nuocCu = 100 + r.nextInt(500);
+            them(chiSo(phong, THANG - 1, 0, dienCu, 0, nuocCu));
+            them(chiSo(phong, THANG, dienCu, dienCu + 80 + r.nextInt(120), nuocCu, nuocCu + 3 + r.nextInt(8)));
+
+            HoaDon hd = new HoaDon();
+            hd.setId("hd-" + i);
+            hd.setPhong(phong);
+            hd.setKhachThue(khach);
+            hd.setThang(THANG);
+            hd.setNam(NAM);
+            hd.setTrangThai(i % 3 == 0 ? TrangThaiHoaDon.PARTIAL : TrangThaiHoaDon.UNPAID);
+            hoaDon.add(hd);
+
+            List<HoaDonChiTiet> dong = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                HoaDonChiTiet ct = new HoaDonChiTiet();
+                ct.setHoaDon(hd);
+                ct.setTenKhoan("Khoản " + k);
+                ct.setSoTien(BigDecimal.valueOf(50_000L * (k + 1)));
+                ct.setThuTu(k);
+                dong.add(ct);
+            }
+            chiTietTheoHoaDon.put(hd.getId(), dong);
+
+            ThanhToan tt = new ThanhToan();
+            tt.setHoaDon(hd);
+            tt.setSoTien(BigDecimal.valueOf(1_000_000));
+            tt.setPhuongThuc(i % 2 == 0 ? PhuongThucThanhToan.CASH : PhuongThucThanhToan.TRANSFER);
+            tt.setThoiGianThanhToan(LocalDateTime.of(NAM, THANG, 1 + i % 28, 9, 0));
+            thanhToan.add(tt);
+        }
+    }
+
+    TinhTienService tinhTienService() {
+        return new TinhTienService(
+                hoaDonRepository(),
+                KhoGia.cho(HopDongRepository.class).tao(),
+                chiSoDienNuocRepository(),
+                bangGiaDichVuRepository(),
+                hoaDonChiTietRepository());
+    }
+
+    HoaDonRepository hoaDonRepository() {
+        return KhoGia.cho(HoaDonRepository.class)
+                .khi("findByTrangThaiInWithRoomAndTenant", a -> hoaDon)
+                .khi("findAll", a -> hoaDon)
+                .tao();
+    }
+
+    ThanhToanRepository thanhToanRepository() {
+        return KhoGia.cho(ThanhToanRepository.class)
+                .khi("findTrongKhoangThoiGian", a -> thanhToan)
+                .tao();
+    }
+
+    private ChiSoDienNuocRepository chiSoDienNuocRepository() {
+        return KhoGia.cho(ChiSoDienNuocRepository.class)
+                .khi("findByPhong_IdAndThangAndNam",
+                        a -> Optional.ofNullable(chiSoTheoKhoa.get(khoa((String) a[0], (int) a[1], (int) a[2]))))
+                .tao();
+    }
+
+    private BangGiaDichVuRepository bangGiaDichVuRepository() {
+        return KhoGia.cho(BangGiaDichVuRepository.class)
+                .khi("findFirstByOrderByHieuLucTuDesc", a -> Optional.of(bangGia))
+                .tao();
+    }
+
+    private HoaDonChiTietRepository hoaDonChiTietRepository() {
+        return KhoGia.cho(HoaDonChiTietRepository.class)
+                .khi("findByHoaDon_IdOrderByThuTuAsc", a -> chiTietTheoHoaDon.getOrDefault((String) a[0], List.of()))
+                .tao();
+    }
+
+    private void them(ChiSoDienNuoc cs) {
+        chiSoTheoKhoa.put(khoa(cs.getPhong().getId(), cs.getThang(), cs.getNam()), cs);
+    }
+
+    private static ChiSoDienNuoc chiSo(Phong phong, int thang, int dienCu, int dienMoi, int nuocCu, int nuocMoi) {
+        ChiSoDienNuoc cs = new ChiSoDienNuoc();
+        cs.setPhong(phong);
+        cs.setThang(thang);
+        cs.setNam(NAM);
+        cs.setDienCu(dienCu);
+        cs.setDienMoi(dienMoi);
+        cs.setNuocCu(nuocCu);
+        cs.setNuocMoi(nuocMoi);
+        return cs;
+    }
+
+    private static String khoa(String maPhong, int thang, int nam) {
+        return maPhong + '/' + thang + '/' + nam;
+    }
+}
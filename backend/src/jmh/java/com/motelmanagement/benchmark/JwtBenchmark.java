@@ -0,0 +1,50 @@
+package com.motelmanagement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.motelmanagement.security.TienIchJwt;
+
+import io.jsonwebtoken.Claims;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private TienIchJwt tienIchJwt;
+    private String token;
+
+    @Setup
+    public void chuanBi() {
+        tienIchJwt = new TienIchJwt();
+        ReflectionTestUtils.setField(tienIchJwt, "secret",
+                "change_this_secret_key_to_64_chars_minimum_0123456789abcdef");
+        ReflectionTestUtils.setField(tienIchJwt, "expirationMs", 86_400_000L);
+        token = tienIchJwt.generateToken("khach01", "TENANT");
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return tienIchJwt.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tienIchJwt.generateToken("khach01", "TENANT");
+    }
+}
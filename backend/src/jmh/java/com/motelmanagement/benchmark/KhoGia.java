@@ -0,0 +1,41 @@
+package com.motelmanagement.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+
+final class KhoGia<T> {
+    private final Class<T> kieu;
+    private final Map<String, Function<Object[], Object>> xuLy = new HashMap<>();
+
+    private KhoGia(Class<T> kieu) {
+        this.kieu = kieu;
+    }
+
+    static <T> KhoGia<T> cho(Class<T> kieu) {
+        return new KhoGia<>(kieu);
+    }
+
+    KhoGia<T> khi(String tenHam, Function<Object[], Object> traVe) {
+        xuLy.put(tenHam, traVe);
+        return this;
+    }
+
+    T tao() {
+        Object proxy = Proxy.newProxyInstance(kieu.getClassLoader(), new Class<?>[] { kieu }, (p, ham, thamSo) -> {
+            Function<Object[], Object> f = xuLy.get(ham.getName());
+            if (f != null) {
+                return f.apply(thamSo);
+            }
+            return switch (ham.getName()) {
+                case "toString" -> kieu.getSimpleName() + "Gia";
+                case "hashCode" -> System.identityHashCode(p);
+                case "equals" -> p == thamSo[0];
+                default -> throw new UnsupportedOperationException(kieu.getSimpleName() + "." + ham.getName());
+            };
+        });
+        return kieu.cast(proxy);
+    }
+}
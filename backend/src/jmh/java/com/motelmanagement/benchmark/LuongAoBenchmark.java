@@ -0,0 +1,111 @@
+package com.motelmanagement.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LuongAoBenchmark {
+    private static final int SO_LUONG_TOMCAT = 200;
+    private static final int SO_KHOA = 64;
+    private static final long CHO_IO_MS = 2;
+
+    @Param({ "nen-tang", "luong-ao" })
+    public String cheDo;
+
+    @Param({ "200", "2000" })
+    public int soYeuCau;
+
+    @Param({ "khong", "synchronized", "reentrant-lock" })
+    public String khoa;
+
+    private ExecutorService boThucThi;
+    private final Object[] monitor = new Object[SO_KHOA];
+    private final ReentrantLock[] khoaReentrant = new ReentrantLock[SO_KHOA];
+
+    @Setup
+    public void chuanBi() throws Exception {
+        for (int i = 0; i < SO_KHOA; i++) {
+            monitor[i] = new Object();
+            khoaReentrant[i] = new ReentrantLock();
+        }
+        if ("nen-tang".equals(cheDo)) {
+            boThucThi = Executors.newFixedThreadPool(SO_LUONG_TOMCAT);
+            return;
+        }
+        try {
+            boThucThi = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("cheDo=luong-ao cần chạy JMH trên Java 21+", e);
+        }
+    }
+
+    @TearDown
+    public void donDep() {
+        boThucThi.shutdownNow();
+    }
+
+    @Benchmark
+    public int loYeuCauChan() throws Exception {
+        List<Future<?>> ds = new ArrayList<>(soYeuCau);
+        for (int i = 0; i < soYeuCau; i++) {
+            int ma = i;
+            ds.add(boThucThi.submit(() -> yeuCau(ma)));
+        }
+        for (Future<?> f : ds) {
+            f.get();
+        }
+        return ds.size();
+    }
+
+    private void yeuCau(int ma) {
+        int o = Math.floorMod(ma, SO_KHOA);
+        switch (khoa) {
+            case "synchronized" -> {
+                synchronized (monitor[o]) {
+                    choIo();
+                }
+            }
+            case "reentrant-lock" -> {
+                khoaReentrant[o].lock();
+                try {
+                    choIo();
+                } finally {
+                    khoaReentrant[o].unlock();
+                }
+            }
+            default -> choIo();
+        }
+    }
+
+    private static void choIo() {
+        try {
+            Thread.sleep(CHO_IO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
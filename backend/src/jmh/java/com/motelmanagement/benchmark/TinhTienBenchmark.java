@@ -0,0 +1,55 @@
+package com.motelmanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.service.TinhTienService;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TinhTienBenchmark {
+
+    @Param({ "100", "1000" })
+    public int soPhong;
+
+    private DuLieuMau duLieu;
+    private TinhTienService tinhTienService;
+
+    @Setup
+    public void chuanBi() {
+        duLieu = new DuLieuMau(soPhong);
+        tinhTienService = duLieu.tinhTienService();
+    }
+
+    @Benchmark
+    public BigDecimal tinhTienRuntimeToanBo() {
+        BigDecimal tong = BigDecimal.ZERO;
+        for (HoaDon hd : duLieu.hoaDon) {
+            tong = tong.add(tinhTienService.tinhTienRuntime(hd).getTongTien());
+        }
+        return tong;
+    }
+
+    @Benchmark
+    public HoaDon tinhTienRuntimeMotHoaDon() {
+        return tinhTienService.tinhTienRuntime(duLieu.hoaDon.get(0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.motelmanagement.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.motelmanagement.repository.HoaDonChiTietRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.service.TinhTienService;
+import com.motelmanagement.service.XuatBaoCaoService;
+import com.motelmanagement.service.XuatPdfService;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XuatTaiLieuBenchmark {
+    private static final LocalDate TU_NGAY = LocalDate.of(DuLieuMau.NAM, DuLieuMau.THANG, 1);
+    private static final LocalDate DEN_NGAY = TU_NGAY.plusMonths(1).minusDays(1);
+
+    @Param({ "50", "500" })
+    public int soPhong;
+
+    private XuatPdfService xuatPdfService;
+    private XuatBaoCaoService xuatBaoCaoService;
+
+    @Setup
+    public void chuanBi() {
+        DuLieuMau duLieu = new DuLieuMau(soPhong);
+        TinhTienService tinhTienService = duLieu.tinhTienService();
+        xuatPdfService = new XuatPdfService(
+                duLieu.hoaDonRepository(),
+                KhoGia.cho(HoaDonChiTietRepository.class).tao(),
+                duLieu.thanhToanRepository(),
+                KhoGia.cho(KhachThueRepository.class).tao(),
+                tinhTienService,
+                null);
+        xuatBaoCaoService = new XuatBaoCaoService(
+                duLieu.hoaDonRepository(),
+                duLieu.thanhToanRepository(),
+                tinhTienService);
+    }
+
+    @Benchmark
+    public byte[] pdfBaoCaoThuChi() {
+        return xuatPdfService.pdfBaoCaoThuChi(TU_NGAY, DEN_NGAY);
+    }
+
+    @Benchmark
+    public byte[] excelCongNo() throws IOException {
+        return xuatBaoCaoService.xuatExcelCongNo();
+    }
+
+    @Benchmark
+    public byte[] excelThuChi() throws IOException {
+        return xuatBaoCaoService.xuatExcelThuChi(TU_NGAY, DEN_NGAY);
+    }
+}
@@ -0,0 +1,87 @@
+package com.motelmanagement.taithu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class BoGhiDoTre {
+
+    public record TongKet(String ten, long soLan, long soLoi, double thongLuong,
+            double p50Ms, double p95Ms, double p99Ms, double toiDaMs) {}
+
+    private final Map<String, DayDoTre> theoKichBan = new ConcurrentHashMap<>();
+    private volatile boolean dangDo;
+    private volatile long batDauDoNano;
+    private volatile long ketThucDoNano;
+
+    public void batDauDo() {
+        batDauDoNano = System.nanoTime();
+        dangDo = true;
+    }
+
+    public void dungDo() {
+        dangDo = false;
+        ketThucDoNano = System.nanoTime();
+    }
+
+    public void ghi(String kichBan, long doTreNano, boolean thanhCong) {
+        if (!dangDo) {
+            return;
+        }
+        DayDoTre day = theoKichBan.computeIfAbsent(kichBan, k -> new DayDoTre());
+        if (thanhCong) {
+            day.them(doTreNano);
+        } else {
+            day.loi.increment();
+        }
+    }
+
+    public void ghiLoi(String kichBan) {
+        if (dangDo) {
+            theoKichBan.computeIfAbsent(kichBan, k -> new DayDoTre()).loi.increment();
+        }
+    }
+
+    public List<TongKet> tongKet() {
+        double giay = Math.max(1e-9, (ketThucDoNano - batDauDoNano) / 1e9);
+        List<TongKet> ketQua = new ArrayList<>();
+        new TreeMap<>(theoKichBan).forEach((ten, day) -> {
+            long[] mau = day.anhChup();
+            Arrays.sort(mau);
+            ketQua.add(new TongKet(ten, mau.length, day.loi.sum(), mau.length / giay,
+                    phanVi(mau, 50), phanVi(mau, 95), phanVi(mau, 99),
+                    mau.length == 0 ? 0 : mau[mau.length - 1] / 1e6));
+        });
+        return ketQua;
+    }
+
+    static double phanVi(long[] daSapXep, double p) {
+        if (daSapXep.length == 0) {
+            return 0;
+        }
+        int hang = (int) Math.ceil(p / 100.0 * daSapXep.length);
+        return daSapXep[Math.min(daSapXep.length, Math.max(1, hang)) - 1] / 1e6;
+    }
+
+    private static final class DayDoTre {
+        private long[] mau = new long[1024];
+        private int soMau;
+        private final LongAdder loi = new LongAdder();
+
+        private synchronized void them(long nano) {
+            if (soMau == mau.length) {
+                mau = Arrays.copyOf(mau, mau.length * 2);
+            }
+            mau[soMau++] = nano;
+        }
+
+        private synchronized long[] anhChup() {
+            return Arrays.copyOf(mau, soMau);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.motelmanagement.taithu;
+
+import java.time.Duration;
+
+
+public record CauHinhTaiThu(
+        String url,
+        int soLuong,
+        Duration khoiDong,
+        Duration thoiGian,
+        int soKhach,
+        String mauTenKhach,
+        String matKhauKhach,
+        String tenQuanTri,
+        String matKhauQuanTri,
+        int soPhienStomp,
+        String locKichBan,
+        String tepKetQua) {
+
+    public static CauHinhTaiThu tuThuocTinhHeThong() {
+        return new CauHinhTaiThu(
+                chuoi("taiThu.url", "http://localhost:8080"),
+                so("taiThu.soLuong", 32),
+                Duration.ofSeconds(so("taiThu.khoiDong", 10)),
+                Duration.ofSeconds(so("taiThu.thoiGian", 60)),
+                so("taiThu.soKhach", 200),
+                chuoi("taiThu.mauTenKhach", "tt_khach_%05d"),
+                chuoi("taiThu.matKhauKhach", "taithu123"),
+                chuoi("taiThu.tenQuanTri", "admin"),
+                chuoi("taiThu.matKhauQuanTri", "admin123"),
+                so("taiThu.soPhienStomp", 20),
+                chuoi("taiThu.kichBan", ".*"),
+                chuoi("taiThu.ketQua", "target/tai-thu.json"));
+    }
+
+    private static String chuoi(String ten, String macDinh) {
+        String v = System.getProperty(ten);
+        return v == null || v.isBlank() ? macDinh : v.trim();
+    }
+
+    private static int so(String ten, int macDinh) {
+        String v = System.getProperty(ten);
+        return v == null || v.isBlank() ? macDinh : Integer.parseInt(v.trim());
+    }
+}
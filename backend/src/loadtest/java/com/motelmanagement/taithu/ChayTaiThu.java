@@ -0,0 +1,224 @@
+package com.motelmanagement.taithu;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+
+public final class ChayTaiThu {
+
+    private record Phien(String tenDangNhap, String token, String maHoiThoai, boolean coStomp) {}
+
+    @FunctionalInterface
+    private interface LoiGoi {
+        HttpResponse<byte[]> goi(MayKhachApi api, Phien phien) throws Exception;
+    }
+
+    private record KichBan(String ten, int trongSo, boolean choQuanTri, LoiGoi loiGoi) {}
+
+    private final CauHinhTaiThu cauHinh;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final MayKhachApi api;
+    private final BoGhiDoTre boGhi = new BoGhiDoTre();
+    private final Map<String, Long> choPhanHoi = new ConcurrentHashMap<>();
+    private final List<PhienStomp> dsStomp = new ArrayList<>();
+    private volatile boolean dung;
+
+    private ChayTaiThu(CauHinhTaiThu cauHinh) {
+        this.cauHinh = cauHinh;
+        this.api = new MayKhachApi(cauHinh.url(), objectMapper);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ChayTaiThu(CauHinhTaiThu.tuThuocTinhHeThong()).chay();
+        System.exit(0);
+    }
+
+    private void chay() throws Exception {
+        Phien quanTri = new Phien(cauHinh.tenQuanTri(),
+                api.dangNhap(cauHinh.tenQuanTri(), cauHinh.matKhauQuanTri()), null, false);
+        List<Phien> dsKhach = dangNhapKhach();
+        if (dsKhach.isEmpty()) {
+            throw new IllegalStateException("Không đăng nhập được tài khoản khách nào — đã sinh dữ liệu (profile du-lieu-lon) chưa?");
+        }
+        List<KichBan> dsKichBan = kichBan();
+        System.out.printf("Tải thử %s: %d luồng, khởi động %ds, đo %ds, %d khách (%d phiên STOMP), %d kịch bản%n",
+                cauHinh.url(), cauHinh.soLuong(), cauHinh.khoiDong().toSeconds(), cauHinh.thoiGian().toSeconds(),
+                dsKhach.size(), dsStomp.size(), dsKichBan.size());
+
+        int tongTrongSo = dsKichBan.stream().mapToInt(KichBan::trongSo).sum();
+        ExecutorService luong = Executors.newFixedThreadPool(cauHinh.soLuong());
+        for (int i = 0; i < cauHinh.soLuong(); i++) {
+            luong.submit(() -> vongLap(dsKichBan, tongTrongSo, quanTri, dsKhach));
+        }
+        Thread.sleep(cauHinh.khoiDong().toMillis());
+        boGhi.batDauDo();
+        Thread.sleep(cauHinh.thoiGian().toMillis());
+        dung = true;
+        luong.shutdown();
+        luong.awaitTermination(1, TimeUnit.MINUTES);
+        Thread.sleep(2_000);
+        boGhi.dungDo();
+        dsStomp.forEach(PhienStomp::close);
+
+        List<BoGhiDoTre.TongKet> ketQua = boGhi.tongKet();
+        inBang(ketQua);
+        if (!choPhanHoi.isEmpty()) {
+            System.out.printf("Cảnh báo: %d tin nhắn STOMP không nhận được trong thời gian đo%n", choPhanHoi.size());
+        }
+        ghiTep(ketQua);
+    }
+
+    private List<Phien> dangNhapKhach() {
+        List<Phien> ds = new ArrayList<>();
+        for (int i = 1; i <= cauHinh.soKhach(); i++) {
+            String ten = String.format(cauHinh.mauTenKhach(), i);
+            try {
+                String token = api.dangNhap(ten, cauHinh.matKhauKhach());
+                String maHoiThoai = null;
+                for (JsonNode h : api.docJson(api.get("/api/hoi-thoai", token))) {
+                    if ("PRIVATE".equals(h.path("loai").asText())) {
+                        maHoiThoai = h.path("id").asText();
+                        break;
+                    }
+                }
+                boolean coStomp = false;
+                if (maHoiThoai != null && dsStomp.size() < cauHinh.soPhienStomp()) {
+                    dsStomp.add(PhienStomp.ketNoi(api.url(), token, choPhanHoi, boGhi));
+                    coStomp = true;
+                }
+                ds.add(new Phien(ten, token, maHoiThoai, coStomp));
+            } catch (Exception e) {
+                System.out.printf("Bỏ qua %s: %s%n", ten, e.getMessage());
+            }
+        }
+        return ds;
+    }
+
+    private void vongLap(List<KichBan> dsKichBan, int tongTrongSo, Phien quanTri, List<Phien> dsKhach) {
+        ThreadLocalRandom ngauNhien = ThreadLocalRandom.current();
+        while (!dung) {
+            KichBan kb = chon(dsKichBan, tongTrongSo, ngauNhien.nextInt(tongTrongSo));
+            Phien phien = kb.choQuanTri() ? quanTri : dsKhach.get(ngauNhien.nextInt(dsKhach.size()));
+            long batDau = System.nanoTime();
+            try {
+                HttpResponse<byte[]> phanHoi = kb.loiGoi().goi(api, phien);
+                if (phanHoi == null) {
+                    continue;
+                }
+                boGhi.ghi(kb.ten(), System.nanoTime() - batDau, phanHoi.statusCode() / 100 == 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                boGhi.ghiLoi(kb.ten());
+            }
+        }
+    }
+
+    private static KichBan chon(List<KichBan> ds, int tongTrongSo, int diem) {
+        for (KichBan kb : ds) {
+            diem -= kb.trongSo();
+            if (diem < 0) {
+                return kb;
+            }
+        }
+        return ds.get(ds.size() - 1);
+    }
+
+    private List<KichBan> kichBan() {
+        YearMonth thangTruoc = YearMonth.now().minusMonths(1);
+        List<KichBan> ds = new ArrayList<>(List.of(
+                new KichBan("GET /api/phong", 8, true, (a, p) -> a.get("/api/phong", p.token())),
+                new KichBan("GET /api/khu-vuc", 4, true, (a, p) -> a.get("/api/khu-vuc", p.token())),
+                new KichBan("GET /api/hop-dong", 4, true, (a, p) -> a.get("/api/hop-dong", p.token())),
+                new KichBan("GET /api/hoa-don", 2, true, (a, p) -> a.get("/api/hoa-don", p.token())),
+                new KichBan("GET /api/bao-cao/cong-no", 2, true, (a, p) -> a.get("/api/bao-cao/cong-no", p.token())),
+                new KichBan("GET /api/bao-cao/ty-le-lap-day", 3, true,
+                        (a, p) -> a.get("/api/bao-cao/ty-le-lap-day", p.token())),
+                new KichBan("GET /api/bao-cao/doanh-thu", 3, true, (a, p) -> a.get(
+                        "/api/bao-cao/doanh-thu?month=" + thangTruoc.getMonthValue() + "&year=" + thangTruoc.getYear(),
+                        p.token())),
+                new KichBan("GET /api/hoa-don/cua-toi", 15, false, (a, p) -> a.get("/api/hoa-don/cua-toi", p.token())),
+                new KichBan("GET /api/thanh-toan/cua-toi", 8, false,
+                        (a, p) -> a.get("/api/thanh-toan/cua-toi", p.token())),
+                new KichBan("GET /api/hop-dong/cua-toi", 6, false, (a, p) -> a.get("/api/hop-dong/cua-toi", p.token())),
+                new KichBan("GET /api/khach-thue/cua-toi", 4, false,
+                        (a, p) -> a.get("/api/khach-thue/cua-toi", p.token())),
+                new KichBan("GET /api/thong-bao/chua-doc/dem", 15, false,
+                        (a, p) -> a.get("/api/thong-bao/chua-doc/dem", p.token())),
+                new KichBan("GET /api/hoi-thoai", 8, false, (a, p) -> a.get("/api/hoi-thoai", p.token())),
+                new KichBan("GET /api/hoi-thoai/{id}/tin-nhan", 8, false, (a, p) -> p.maHoiThoai() == null
+                        ? null
+                        : a.get("/api/hoi-thoai/" + p.maHoiThoai() + "/tin-nhan", p.token())),
+                new KichBan("POST /api/hoi-thoai/{id}/tin-nhan", 5, false, this::guiTinNhan)));
+        Pattern loc = Pattern.compile(cauHinh.locKichBan());
+        ds.removeIf(kb -> !loc.matcher(kb.ten()).find());
+        if (ds.isEmpty()) {
+            throw new IllegalStateException("Không có kịch bản nào khớp taiThu.kichBan=" + cauHinh.locKichBan());
+        }
+        return ds;
+    }
+
+    private HttpResponse<byte[]> guiTinNhan(MayKhachApi a, Phien p) throws Exception {
+        if (p.maHoiThoai() == null) {
+            return null;
+        }
+        String noiDung = PhienStomp.TIEN_TO_DAU + UUID.randomUUID();
+        if (p.coStomp()) {
+            choPhanHoi.put(noiDung, System.nanoTime());
+        }
+        HttpResponse<byte[]> phanHoi = a.post("/api/hoi-thoai/" + p.maHoiThoai() + "/tin-nhan", p.token(),
+                Map.of("noiDung", noiDung));
+        if (phanHoi.statusCode() / 100 != 2) {
+            choPhanHoi.remove(noiDung);
+        }
+        return phanHoi;
+    }
+
+    private void inBang(List<BoGhiDoTre.TongKet> ketQua) {
+        System.out.printf("%n%-42s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Kịch bản", "Số lần", "Lỗi", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (BoGhiDoTre.TongKet k : ketQua) {
+            System.out.printf("%-42s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    k.ten(), k.soLan(), k.soLoi(), k.thongLuong(), k.p50Ms(), k.p95Ms(), k.p99Ms(), k.toiDaMs());
+        }
+        double tong = ketQua.stream()
+                .filter(k -> !k.ten().equals(PhienStomp.KICH_BAN))
+                .mapToDouble(BoGhiDoTre.TongKet::thongLuong)
+                .sum();
+        System.out.printf("Tổng thông lượng REST: %.1f req/s%n", tong);
+    }
+
+    private void ghiTep(List<BoGhiDoTre.TongKet> ketQua) throws Exception {
+        Map<String, Object> noiDung = new LinkedHashMap<>();
+        noiDung.put("thoiDiem", LocalDateTime.now().toString());
+        noiDung.put("url", cauHinh.url());
+        noiDung.put("soLuong", cauHinh.soLuong());
+        noiDung.put("thoiGianGiay", cauHinh.thoiGian().toSeconds());
+        noiDung.put("soPhienStomp", dsStomp.size());
+        noiDung.put("ketQua", ketQua);
+        File tep = new File(cauHinh.tepKetQua());
+        if (tep.getParentFile() != null) {
+            tep.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(tep, noiDung);
+        System.out.println("Đã ghi kết quả: " + tep.getAbsolutePath());
+    }
+}
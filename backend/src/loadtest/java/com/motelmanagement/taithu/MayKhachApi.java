@@ -0,0 +1,68 @@
+package com.motelmanagement.taithu;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+public class MayKhachApi {
+    private static final Duration HET_GIO = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String url;
+    private final ObjectMapper objectMapper;
+
+    public MayKhachApi(String url, ObjectMapper objectMapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.objectMapper = objectMapper;
+    }
+
+    public String dangNhap(String tenDangNhap, String matKhau) throws IOException, InterruptedException {
+        HttpResponse<byte[]> phanHoi = post("/api/xac-thuc/dang-nhap", null,
+                Map.of("tenDangNhap", tenDangNhap, "matKhau", matKhau));
+        if (phanHoi.statusCode() != 200) {
+            throw new IllegalStateException("Đăng nhập " + tenDangNhap + " thất bại: HTTP " + phanHoi.statusCode());
+        }
+        return docJson(phanHoi).path("token").asText();
+    }
+
+    public HttpResponse<byte[]> get(String duongDan, String token) throws IOException, InterruptedException {
+        return http.send(yeuCau(duongDan, token).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public HttpResponse<byte[]> post(String duongDan, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest yeuCau = yeuCau(duongDan, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return http.send(yeuCau, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public JsonNode docJson(HttpResponse<byte[]> phanHoi) throws IOException {
+        return objectMapper.readTree(phanHoi.body());
+    }
+
+    public String url() {
+        return url;
+    }
+
+    private HttpRequest.Builder yeuCau(String duongDan, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url + duongDan)).timeout(HET_GIO);
+        if (token != null) {
+            b.header("Authorization", "Bearer " + token);
+        }
+        return b;
+    }
+}
@@ -0,0 +1,75 @@
+package com.motelmanagement.taithu;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+public class PhienStomp implements AutoCloseable {
+    static final String KICH_BAN = "STOMP /user/queue/chat (đẩy tin nhắn)";
+    static final String TIEN_TO_DAU = "tai-thu#";
+
+    private static final WebSocketStompClient MAY_KHACH = taoMayKhach();
+
+    private final StompSession phien;
+
+    private PhienStomp(StompSession phien) {
+        this.phien = phien;
+    }
+
+    public static PhienStomp ketNoi(String url, String token, Map<String, Long> choPhanHoi, BoGhiDoTre boGhi)
+            throws Exception {
+        StompHeaders tieuDe = new StompHeaders();
+        tieuDe.add("token", token);
+        StompSession phien = MAY_KHACH
+                .connectAsync(url + "/ws", new WebSocketHttpHeaders(), tieuDe, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        phien.subscribe("/user/queue/chat", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                String noiDung = ((JsonNode) payload).path("tinNhan").path("noiDung").asText("");
+                if (!noiDung.startsWith(TIEN_TO_DAU)) {
+                    return;
+                }
+                Long guiLuc = choPhanHoi.remove(noiDung);
+                if (guiLuc != null) {
+                    boGhi.ghi(KICH_BAN, System.nanoTime() - guiLuc, true);
+                }
+            }
+        });
+        return new PhienStomp(phien);
+    }
+
+    @Override
+    public void close() {
+        if (phien.isConnected()) {
+            phien.disconnect();
+        }
+    }
+
+    private static WebSocketStompClient taoMayKhach() {
+        WebSocketStompClient mayKhach = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        mayKhach.setMessageConverter(new MappingJackson2MessageConverter());
+        return mayKhach;
+    }
+}
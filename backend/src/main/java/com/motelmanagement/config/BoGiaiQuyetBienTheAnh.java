@@ -0,0 +1,45 @@
+package com.motelmanagement.config;
+
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import com.motelmanagement.service.AnhPhaiSinhService;
+import com.motelmanagement.util.BienTheAnh;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+
+// URL biến thể được trả về ngay khi tải lên; nếu hàng đợi nền bỏ sót thì sinh tại chỗ ở lần đọc đầu tiên.
+@RequiredArgsConstructor
+class BoGiaiQuyetBienTheAnh extends AbstractResourceResolver {
+    private static final String TIEN_TO_BLOB = "/tenant-files/blobs/";
+
+    private final AnhPhaiSinhService anhPhaiSinhService;
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+            List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource tep = chain.resolveResource(request, requestPath, locations);
+        if (tep != null) {
+            return tep;
+        }
+        String goc = BienTheAnh.duongDanGoc(TIEN_TO_BLOB + requestPath);
+        if (goc == null) {
+            return null;
+        }
+        anhPhaiSinhService.sinhBienThe(goc);
+        tep = chain.resolveResource(request, requestPath, locations);
+        // Không sinh được (ảnh quá lớn, định dạng lạ) thì trả ảnh gốc thay vì 404.
+        return tep != null ? tep : chain.resolveResource(request, goc.substring(TIEN_TO_BLOB.length()), locations);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+}
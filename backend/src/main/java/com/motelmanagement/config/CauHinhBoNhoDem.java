@@ -0,0 +1,92 @@
+package com.motelmanagement.config;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+
+@Configuration
+public class CauHinhBoNhoDem {
+    static final String TEN_CHI_SO_YEU_CAU = "motel.bo.nho.dem.yeu.cau";
+    static final String TEN_CHI_SO_GHI = "motel.bo.nho.dem.ghi";
+    static final String VUNG_TRUY_VAN = "truy-van";
+
+    // CacheManager mặc định của JCache dùng chung cả JVM; nhiều context cùng sống (như các context kiểm thử
+    // được giữ lại) sẽ đọc vùng đệm của nhau. URI không có phần mở rộng nên vẫn nạp application.conf.
+    @Bean(destroyMethod = "close")
+    public CacheManager boQuanLyBoNhoDemCap2() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("bo-nho-dem-" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer boNhoDemCap2TheoContext(CacheManager boQuanLyBoNhoDemCap2) {
+        return thuocTinh -> thuocTinh.put(ConfigSettings.CACHE_MANAGER, boQuanLyBoNhoDemCap2);
+    }
+
+    @Bean
+    public MeterBinder boNhoDemCap2(EntityManagerFactory entityManagerFactory) {
+        Statistics thongKe = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (Class<?> loai : BoNhoDemThamChieuService.LOAI_THAM_CHIEU) {
+                String vung = loai.getAnnotation(Cache.class).region();
+                dangKy(registry, thongKe, loai.getSimpleName(),
+                        tk -> dem(tk, vung, CacheRegionStatistics::getHitCount),
+                        tk -> dem(tk, vung, CacheRegionStatistics::getMissCount),
+                        tk -> dem(tk, vung, CacheRegionStatistics::getPutCount));
+            }
+            dangKy(registry, thongKe, VUNG_TRUY_VAN, Statistics::getQueryCacheHitCount,
+                    Statistics::getQueryCacheMissCount, Statistics::getQueryCachePutCount);
+        };
+    }
+
+    private static long dem(Statistics thongKe, String vung, ToLongFunction<CacheRegionStatistics> truong) {
+        try {
+            CacheRegionStatistics theoVung = thongKe.getDomainDataRegionStatistics(vung);
+            return theoVung != null ? truong.applyAsLong(theoVung) : 0;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private static void dangKy(MeterRegistry registry, Statistics thongKe, String vung,
+                               ToDoubleFunction<Statistics> trung,
+                               ToDoubleFunction<Statistics> truot,
+                               ToDoubleFunction<Statistics> ghi) {
+        FunctionCounter.builder(TEN_CHI_SO_YEU_CAU, thongKe, trung)
+                .description("Số lần đọc bộ nhớ đệm cấp 2 của Hibernate theo vùng và kết quả")
+                .tag("vung", vung)
+                .tag("ket_qua", "trung")
+                .register(registry);
+        FunctionCounter.builder(TEN_CHI_SO_YEU_CAU, thongKe, truot)
+                .description("Số lần đọc bộ nhớ đệm cấp 2 của Hibernate theo vùng và kết quả")
+                .tag("vung", vung)
+                .tag("ket_qua", "truot")
+                .register(registry);
+        FunctionCounter.builder(TEN_CHI_SO_GHI, thongKe, ghi)
+                .description("Số lần ghi vào bộ nhớ đệm cấp 2 của Hibernate theo vùng")
+                .tag("vung", vung)
+                .register(registry);
+    }
+}
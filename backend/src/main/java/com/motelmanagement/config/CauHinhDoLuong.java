@@ -0,0 +1,36 @@
+package com.motelmanagement.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+
+@Configuration
+public class CauHinhDoLuong {
+
+    @Bean
+    public MeterBinder hangDoiKenhWebSocket(
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor kenhVao,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor kenhRa) {
+        return registry -> {
+            dangKy(registry, "clientInboundChannel", kenhVao);
+            dangKy(registry, "clientOutboundChannel", kenhRa);
+        };
+    }
+
+    private static void dangKy(MeterRegistry registry, String kenh, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("motel.websocket.hang.doi", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Số tin đang chờ trong hàng đợi của kênh STOMP")
+                .tag("kenh", kenh)
+                .register(registry);
+        Gauge.builder("motel.websocket.luong.hoat.dong", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Số luồng đang xử lý tin của kênh STOMP")
+                .tag("kenh", kenh)
+                .register(registry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.motelmanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
+
+@Configuration
+public class CauHinhJackson {
+
+    // Quan hệ LAZY chưa nạp được ghi ra {"id": ...} thay vì kích hoạt truy vấn khi serialize.
+    @Bean
+    public Module hibernate6Module() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.disable(Hibernate6Module.Feature.FORCE_LAZY_LOADING);
+        module.disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION);
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+}
@@ -0,0 +1,29 @@
+package com.motelmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class CauHinhLuongAo {
+
+    @Bean
+    static BeanPostProcessor boBocGuiMailNgoaiLuongAo(
+            @Value("${app.luong-ao.so-luong-gui-mail:4}") int soLuong) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JavaMailSender mail && !(bean instanceof GuiMailNgoaiLuongAo)) {
+                    return new GuiMailNgoaiLuongAo(mail, soLuong);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.motelmanagement.config;
+
+import java.time.Clock;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManagerFactory;
+
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.ban-sao", name = "bat", havingValue = "true")
+public class CauHinhNguonDuLieu {
+
+    @Bean
+    TheoDoiDoTreBanSao theoDoiDoTreBanSao(ThuocTinhBanSao thuocTinh) {
+        return new TheoDoiDoTreBanSao(thuocTinh, Clock.systemUTC());
+    }
+
+    @Bean
+    NguonDuLieuDinhTuyen nguonDuLieuDinhTuyen(DataSourceProperties coSo,
+                                              ThuocTinhBanSao thuocTinh,
+                                              TheoDoiDoTreBanSao theoDoi,
+                                              Environment moiTruong) {
+        if (!StringUtils.hasText(thuocTinh.getUrl())) {
+            throw new IllegalStateException("app.ban-sao.bat=true nhưng chưa cấu hình app.ban-sao.url");
+        }
+        HikariDataSource chinh = coSo.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(moiTruong).bind("spring.datasource.hikari", Bindable.ofInstance(chinh));
+        if (!StringUtils.hasText(chinh.getPoolName())) {
+            chinh.setPoolName("motel-chinh");
+        }
+        chinh.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+
+        DataSourceBuilder<HikariDataSource> taoBanSao = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(thuocTinh.getUrl())
+                .username(thuocTinh.getUsername())
+                .password(thuocTinh.getPassword());
+        if (StringUtils.hasText(thuocTinh.getDriverClassName())) {
+            taoBanSao.driverClassName(thuocTinh.getDriverClassName());
+        }
+        HikariDataSource banSao = taoBanSao.build();
+        banSao.setPoolName("motel-ban-sao");
+        banSao.setReadOnly(true);
+        banSao.setMaximumPoolSize(thuocTinh.getKichThuocPool());
+        banSao.setConnectionTimeout(thuocTinh.getThoiGianChoKetNoi().toMillis());
+        banSao.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+        return new NguonDuLieuDinhTuyen(chinh, banSao, theoDoi);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(NguonDuLieuDinhTuyen nguonDuLieuDinhTuyen) {
+        return new LazyConnectionDataSourceProxy(nguonDuLieuDinhTuyen);
+    }
+
+    @Bean
+    JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                             ObjectProvider<TransactionManagerCustomizers> tuyBien) {
+        JpaTransactionManager quanLy = new JpaTransactionManagerDocBanSao(entityManagerFactory);
+        quanLy.setJpaDialect(new HibernateJpaDialectDocBanSao());
+        tuyBien.ifAvailable(t -> t.customize(quanLy));
+        return quanLy;
+    }
+}
@@ -1,16 +1,28 @@
 package com.motelmanagement.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import com.motelmanagement.service.AnhPhaiSinhService;
+
+import lombok.RequiredArgsConstructor;
 
 
 @Configuration
+@RequiredArgsConstructor
 public class CauHinhWebMVC implements WebMvcConfigurer {
+    private final ObjectProvider<AnhPhaiSinhService> anhPhaiSinhService;
 
     @Value("${app.upload.dir:uploads}")
     private String duongDanThuMuc;
@@ -33,7 +45,37 @@ public class CauHinhWebMVC implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         String location = Paths.get(duongDanThuMuc).toAbsolutePath().normalize().toUri().toString();
+        if (!location.endsWith("/")) {
+            location = location + "/";
+        }
+        // Ảnh CCCD, chân dung khách nằm chung thư mục: chỉ trình duyệt được giữ bản sao, không cho proxy/CDN dùng chung.
+        ResourceHandlerRegistration blob = registry.addResourceHandler("/tenant-files/blobs/**")
+                .addResourceLocations(location + "blobs/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .setEtagGenerator(CauHinhWebMVC::etagTheoTenFile);
+        anhPhaiSinhService.ifAvailable(dichVu -> blob.resourceChain(false)
+                .addResolver(new BoGiaiQuyetBienTheAnh(dichVu)));
         registry.addResourceHandler("/tenant-files/**")
-                .addResourceLocations(location);
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate().mustRevalidate())
+                .setEtagGenerator(CauHinhWebMVC::etagTheoThuocTinh);
+    }
+
+
+    static String etagTheoTenFile(Resource resource) {
+        String ten = resource.getFilename();
+        if (ten == null) {
+            return null;
+        }
+        int dauCham = ten.lastIndexOf('.');
+        return dauCham > 0 ? ten.substring(0, dauCham) : ten;
+    }
+
+    static String etagTheoThuocTinh(Resource resource) {
+        try {
+            return Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
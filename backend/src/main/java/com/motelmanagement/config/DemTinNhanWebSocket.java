@@ -0,0 +1,53 @@
+package com.motelmanagement.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+
+public class DemTinNhanWebSocket implements ChannelInterceptor {
+    static final String TEN_CHI_SO = "motel.websocket.tin.nhan";
+
+    private final String kenh;
+
+    public DemTinNhanWebSocket(String kenh) {
+        this.kenh = kenh;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return;
+        }
+        Counter.builder(TEN_CHI_SO)
+                .description("Số tin STOMP MESSAGE đi qua kênh")
+                .tag("kenh", kenh)
+                .tag("dich", chuanHoaDich(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .tag("ket_qua", sent && ex == null ? "ok" : "loi")
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    static String chuanHoaDich(String dich) {
+        if (dich == null || dich.isBlank()) {
+            return "khong-co";
+        }
+        int hauTo = dich.indexOf("-user");
+        if (hauTo > 0) {
+            dich = dich.substring(0, hauTo);
+        }
+        if (dich.startsWith("/user/")) {
+            String phanCon = dich.substring("/user/".length());
+            if (!phanCon.startsWith("queue/") && !phanCon.startsWith("topic/")) {
+                int cat = phanCon.indexOf('/');
+                dich = cat < 0 ? "/user" : "/user/" + phanCon.substring(cat + 1);
+            }
+        }
+        return dich;
+    }
+}
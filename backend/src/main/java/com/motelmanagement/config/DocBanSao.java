@@ -0,0 +1,19 @@
+package com.motelmanagement.config;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.annotation.Transactional;
+
+
+// Giao dịch chỉ đọc được phép đọc từ CSDL bản sao; mọi giao dịch khác, kể cả readOnly, dùng CSDL chính.
+@Transactional(readOnly = true, label = DocBanSao.NHAN)
+@Retention(RUNTIME)
+@Target({ TYPE, METHOD })
+public @interface DocBanSao {
+    String NHAN = "doc-ban-sao";
+}
@@ -0,0 +1,100 @@
+package com.motelmanagement.config;
+
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import jakarta.mail.internet.MimeMessage;
+
+
+public class GuiMailNgoaiLuongAo implements JavaMailSender, DisposableBean {
+    private final JavaMailSender goc;
+    private final ExecutorService boThucThi;
+
+    public GuiMailNgoaiLuongAo(JavaMailSender goc, int soLuong) {
+        this.goc = goc;
+        AtomicInteger dem = new AtomicInteger();
+        ThreadPoolExecutor tp = new ThreadPoolExecutor(
+                soLuong, soLuong, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "gui-mail-" + dem.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        tp.allowCoreThreadTimeOut(true);
+        this.boThucThi = tp;
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return goc.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        return goc.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage mimeMessage) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(mimeMessage)));
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(mimeMessages)));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator mimeMessagePreparator) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(mimeMessagePreparator)));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(mimeMessagePreparators)));
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(simpleMessage)));
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        choGui(boThucThi.submit(() -> goc.send(simpleMessages)));
+    }
+
+    @Override
+    public void destroy() {
+        boThucThi.shutdown();
+    }
+
+    private static void choGui(Future<?> ketQua) {
+        try {
+            ketQua.get();
+        } catch (InterruptedException e) {
+            ketQua.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Bị ngắt khi chờ gửi mail", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new MailSendException("Gửi mail thất bại", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.motelmanagement.config;
+
+import java.sql.SQLException;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+
+
+public class HibernateJpaDialectDocBanSao extends HibernateJpaDialect {
+
+    private record DuLieuGiaoDich(Object goc, Session phien, CacheMode cheDoCu) {}
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition dinhNghia)
+            throws SQLException {
+        Object goc = super.beginTransaction(entityManager, dinhNghia);
+        if (!dinhNghia.isReadOnly() || !NguonDuLieuDinhTuyen.dangDocBanSao()) {
+            return goc;
+        }
+        Session phien = entityManager.unwrap(Session.class);
+        CacheMode cheDoCu = phien.getCacheMode();
+        phien.setCacheMode(CacheMode.GET);
+        return new DuLieuGiaoDich(goc, phien, cheDoCu);
+    }
+
+    @Override
+    public void cleanupTransaction(Object duLieu) {
+        if (duLieu instanceof DuLieuGiaoDich giaoDich) {
+            giaoDich.phien().setCacheMode(giaoDich.cheDoCu());
+            super.cleanupTransaction(giaoDich.goc());
+            return;
+        }
+        super.cleanupTransaction(duLieu);
+    }
+}
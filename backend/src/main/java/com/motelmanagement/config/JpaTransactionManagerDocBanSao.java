@@ -0,0 +1,42 @@
+package com.motelmanagement.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import jakarta.persistence.EntityManagerFactory;
+
+
+// Nhãn @DocBanSao phải đọc ở đây: JpaDialect chỉ nhận JpaTransactionDefinition bọc ngoài, đã mất nhãn.
+public class JpaTransactionManagerDocBanSao extends JpaTransactionManager {
+
+    public JpaTransactionManagerDocBanSao(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object giaoDich, TransactionDefinition dinhNghia) {
+        NguonDuLieuDinhTuyen.vaoGiaoDich(laDocBanSao(dinhNghia));
+        try {
+            super.doBegin(giaoDich, dinhNghia);
+        } catch (RuntimeException | Error e) {
+            NguonDuLieuDinhTuyen.raGiaoDich();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object giaoDich) {
+        try {
+            super.doCleanupAfterCompletion(giaoDich);
+        } finally {
+            NguonDuLieuDinhTuyen.raGiaoDich();
+        }
+    }
+
+    static boolean laDocBanSao(TransactionDefinition dinhNghia) {
+        return dinhNghia.isReadOnly()
+                && dinhNghia instanceof TransactionAttribute thuocTinh
+                && thuocTinh.getLabels().contains(DocBanSao.NHAN);
+    }
+}
@@ -0,0 +1,27 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.ChiMucTimKiemService;
+import com.motelmanagement.service.TimKiemToanCucService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class KhoiTaoChiMucTimKiem implements ApplicationRunner {
+    private final ChiMucTimKiemService chiMucTimKiemService;
+    private final TimKiemToanCucService timKiemToanCucService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        chiMucTimKiemService.napLai();
+        timKiemToanCucService.napLai();
+    }
+}
@@ -0,0 +1,28 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.ThanhToanService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Component
+@Order(Integer.MAX_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+public class KhoiTaoDaThuHoaDon implements ApplicationRunner {
+    private final ThanhToanService thanhToanService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int soSua = thanhToanService.doiSoatDaThu();
+        if (soSua > 0) {
+            log.info("Da dong bo cot da_thu cho {} hoa don", soSua);
+        }
+    }
+}
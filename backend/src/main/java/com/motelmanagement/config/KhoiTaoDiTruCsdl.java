@@ -0,0 +1,29 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.DiTruCsdlService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class KhoiTaoDiTruCsdl implements ApplicationRunner {
+    private final DiTruCsdlService diTruCsdlService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int soApDung = diTruCsdlService.apDung();
+        if (soApDung > 0) {
+            log.info("Da ap dung {} di tru CSDL", soApDung);
+        }
+    }
+}
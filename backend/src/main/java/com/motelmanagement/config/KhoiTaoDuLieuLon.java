@@ -0,0 +1,31 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.SinhDuLieuLonService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Component
+@Profile("du-lieu-lon")
+@Order(Integer.MAX_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+public class KhoiTaoDuLieuLon implements ApplicationRunner {
+    private final SinhDuLieuLonService sinhDuLieuLonService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (sinhDuLieuLonService.daCoDuLieu()) {
+            log.info("Dữ liệu tải thử đã có, bỏ qua bước sinh dữ liệu lớn");
+            return;
+        }
+        sinhDuLieuLonService.sinh();
+    }
+}
@@ -0,0 +1,24 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.LapDayPhongService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class KhoiTaoLapDayPhong implements ApplicationRunner {
+    private final LapDayPhongService lapDayPhongService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        lapDayPhongService.napLai();
+    }
+}
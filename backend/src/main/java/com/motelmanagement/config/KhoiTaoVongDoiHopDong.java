@@ -0,0 +1,24 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.service.VongDoiHopDongService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class KhoiTaoVongDoiHopDong implements ApplicationRunner {
+    private final VongDoiHopDongService vongDoiHopDongService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        vongDoiHopDongService.napLai();
+    }
+}
@@ -0,0 +1,29 @@
+package com.motelmanagement.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KiemTraLuongAo implements ApplicationListener<ApplicationReadyEvent> {
+    private final Environment environment;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Chế độ virtual thread: request, @Scheduled và @Async chạy trên virtual thread (Java {})",
+                    Runtime.version().feature());
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled=true nhưng JVM là Java {} — cần Java 21+, đang dùng thread pool thường",
+                    Runtime.version().feature());
+        }
+    }
+}
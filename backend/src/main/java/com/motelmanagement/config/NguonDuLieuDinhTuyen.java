@@ -0,0 +1,131 @@
+package com.motelmanagement.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+
+public class NguonDuLieuDinhTuyen extends AbstractDataSource implements Closeable {
+    static final String TEN_CHI_SO = "motel.csdl.ket.noi";
+    // Mỗi giao dịch mới (kể cả REQUIRES_NEW lồng nhau) đẩy một cờ; giao dịch tham gia giao dịch ngoài dùng cờ trên cùng.
+    private static final ThreadLocal<Deque<Boolean>> DOC_BAN_SAO = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final DataSource chinh;
+    private final DataSource banSao;
+    private final TheoDoiDoTreBanSao theoDoi;
+
+    public NguonDuLieuDinhTuyen(DataSource chinh, DataSource banSao, TheoDoiDoTreBanSao theoDoi) {
+        this.chinh = chinh;
+        this.banSao = banSao;
+        this.theoDoi = theoDoi;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String nguoiDung = nguoiDungHienTai();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ghiNhanKhiCommit(nguoiDung);
+            return layChinh("chinh");
+        }
+        // readOnly thôi chưa đủ: SimpleJpaRepository tự mở giao dịch chỉ đọc cho findById/findAll,
+        // và luồng đọc-rồi-ghi ngoài giao dịch sẽ ghi đè dòng cũ từ bản sao lên CSDL chính.
+        if (!dangDocBanSao()) {
+            return layChinh("chinh");
+        }
+        if (!theoDoi.choPhepDoc(nguoiDung)) {
+            return layChinh("chinh_thay_ban_sao");
+        }
+        try {
+            Connection ketNoi = banSao.getConnection();
+            dem("ban_sao");
+            return ketNoi;
+        } catch (SQLException e) {
+            theoDoi.banSaoLoi(e);
+            return layChinh("chinh_du_phong");
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Nguồn dữ liệu định tuyến không hỗ trợ đăng nhập riêng");
+    }
+
+    static void vaoGiaoDich(boolean docBanSao) {
+        DOC_BAN_SAO.get().push(docBanSao);
+    }
+
+    static void raGiaoDich() {
+        Deque<Boolean> ngan = DOC_BAN_SAO.get();
+        ngan.poll();
+        if (ngan.isEmpty()) {
+            DOC_BAN_SAO.remove();
+        }
+    }
+
+    static boolean dangDocBanSao() {
+        return Boolean.TRUE.equals(DOC_BAN_SAO.get().peek());
+    }
+
+    public void kiemTraDoTre() {
+        theoDoi.kiemTra(banSao);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource ds : new DataSource[] { banSao, chinh }) {
+            if (ds instanceof Closeable dong) {
+                dong.close();
+            }
+        }
+    }
+
+    private Connection layChinh(String nguon) throws SQLException {
+        Connection ketNoi = chinh.getConnection();
+        dem(nguon);
+        return ketNoi;
+    }
+
+    private void ghiNhanKhiCommit(String nguoiDung) {
+        if (nguoiDung == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                theoDoi.daGhi(nguoiDung);
+            }
+        });
+    }
+
+    private static String nguoiDungHienTai() {
+        Authentication xacThuc = SecurityContextHolder.getContext().getAuthentication();
+        if (xacThuc == null || !xacThuc.isAuthenticated() || xacThuc instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return xacThuc.getName();
+    }
+
+    private static void dem(String nguon) {
+        Counter.builder(TEN_CHI_SO)
+                .description("Số kết nối CSDL cấp phát theo nguồn (chính / bản sao)")
+                .tag("nguon", nguon)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,94 @@
+package com.motelmanagement.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+
+public class TheoDoiDoTreBanSao {
+    static final String TEN_CHI_SO_DO_TRE = "motel.csdl.ban.sao.do.tre";
+
+    private static final Logger log = LoggerFactory.getLogger(TheoDoiDoTreBanSao.class);
+
+    private final ThuocTinhBanSao thuocTinh;
+    private final Clock dongHo;
+    private final Map<String, Instant> ghiGanNhat = new ConcurrentHashMap<>();
+    private volatile Duration doTre = Duration.ZERO;
+    private volatile Instant tamNgungDen = Instant.MIN;
+
+    public TheoDoiDoTreBanSao(ThuocTinhBanSao thuocTinh, Clock dongHo) {
+        this.thuocTinh = thuocTinh;
+        this.dongHo = dongHo;
+        Gauge.builder(TEN_CHI_SO_DO_TRE, this, t -> t.doTre.toMillis() / 1000.0)
+                .description("Độ trễ sao chép đo được trên CSDL bản sao")
+                .baseUnit("seconds")
+                .register(Metrics.globalRegistry);
+    }
+
+    public boolean choPhepDoc(String nguoiDung) {
+        Instant bayGio = dongHo.instant();
+        if (bayGio.isBefore(tamNgungDen) || doTre.compareTo(thuocTinh.getDoTreToiDa()) > 0) {
+            return false;
+        }
+        Instant ghi = nguoiDung != null ? ghiGanNhat.get(nguoiDung) : null;
+        return ghi == null || !bayGio.isBefore(ghi.plus(thuocTinh.getCuaSoDocSauGhi()));
+    }
+
+    public void daGhi(String nguoiDung) {
+        if (nguoiDung != null) {
+            ghiGanNhat.put(nguoiDung, dongHo.instant());
+        }
+    }
+
+    public void banSaoLoi(SQLException e) {
+        tamNgungDen = dongHo.instant().plus(thuocTinh.getTamNgungKhiLoi());
+        log.warn("Không dùng được CSDL bản sao, đọc từ CSDL chính trong {}: {}", thuocTinh.getTamNgungKhiLoi(),
+                e.getMessage());
+    }
+
+    public void kiemTra(DataSource banSao) {
+        Instant bayGio = dongHo.instant();
+        ghiGanNhat.values().removeIf(t -> !bayGio.isBefore(t.plus(thuocTinh.getCuaSoDocSauGhi())));
+        String truyVan = thuocTinh.getTruyVanDoTre();
+        if (truyVan == null || truyVan.isBlank()) {
+            return;
+        }
+        try (Connection ketNoi = banSao.getConnection();
+             Statement lenh = ketNoi.createStatement();
+             ResultSet kq = lenh.executeQuery(truyVan)) {
+            if (!kq.next()) {
+                throw new SQLException("Truy vấn độ trễ không trả về dòng nào: " + truyVan);
+            }
+            double giay = kq.getDouble(1);
+            if (kq.wasNull()) {
+                throw new SQLException("Truy vấn độ trễ trả về NULL: " + truyVan);
+            }
+            Duration moi = Duration.ofMillis(Math.round(giay * 1000));
+            if (moi.compareTo(thuocTinh.getDoTreToiDa()) > 0 && doTre.compareTo(thuocTinh.getDoTreToiDa()) <= 0) {
+                log.warn("CSDL bản sao trễ {}s (tối đa {}), chuyển truy vấn đọc về CSDL chính", giay,
+                        thuocTinh.getDoTreToiDa());
+            }
+            doTre = moi;
+        } catch (SQLException e) {
+            banSaoLoi(e);
+        }
+    }
+
+    public Duration doTre() {
+        return doTre;
+    }
+}
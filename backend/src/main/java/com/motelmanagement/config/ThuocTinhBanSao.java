@@ -0,0 +1,38 @@
+package com.motelmanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+
+@Component
+@ConfigurationProperties(prefix = "app.ban-sao")
+public class ThuocTinhBanSao {
+    private boolean bat = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    private int kichThuocPool = 10;
+
+    private Duration thoiGianChoKetNoi = Duration.ofSeconds(2);
+
+    private Duration doTreToiDa = Duration.ofSeconds(5);
+
+    private Duration cuaSoDocSauGhi = Duration.ofSeconds(5);
+
+    private Duration tamNgungKhiLoi = Duration.ofSeconds(30);
+
+    private String truyVanDoTre;
+}
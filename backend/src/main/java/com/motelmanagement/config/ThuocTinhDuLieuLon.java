@@ -0,0 +1,40 @@
+package com.motelmanagement.config;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+
+@Component
+@ConfigurationProperties(prefix = "app.du-lieu-lon")
+public class ThuocTinhDuLieuLon {
+    private int soKhuVuc = 20;
+
+    private int soPhong = 10_000;
+
+    private int soTang = 6;
+
+    private int soNam = 5;
+
+    private double tyLeCoKhach = 0.85;
+
+    private int soThanhVienToiDa = 4;
+
+    private int soTinNhanMoiPhong = 20;
+
+    private int kichThuocLo = 1_000;
+
+    private long hatGiong = 42L;
+
+    private String matKhau = "taithu123";
+
+    private BigDecimal giaPhongThapNhat = new BigDecimal("1800000");
+
+    private BigDecimal giaPhongCaoNhat = new BigDecimal("4500000");
+}
@@ -1,5 +1,7 @@
 package com.motelmanagement.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -21,4 +23,17 @@ public class ThuocTinhPayOS {
     private boolean autoConfirmWebhook = false;
     private String returnUrl = "http://localhost:4002/hoa-don-cua-toi?payment=success";
     private String cancelUrl = "http://localhost:4002/hoa-don-cua-toi?payment=cancel";
+
+    private String baseUrl = "https://api-merchant.payos.vn";
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private int circuitFailureThreshold = 5;
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    private long orderCodeStart = 2_000_000_000L;
+    private int orderCodeBlockSize = 100;
+
+    private Duration linkTtl = Duration.ofMinutes(15);
+    private Duration linkCleanupGrace = Duration.ofDays(1);
 }
@@ -2,6 +2,7 @@ package com.motelmanagement.config;
 
 import java.util.Map;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,4 +24,10 @@ public class XuLyNgoaiLeBaoMat {
         String msg = e.getMessage() != null ? e.getMessage() : "Yeu cau khong hop le.";
         return ResponseEntity.badRequest().body(Map.of("message", msg));
     }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> trungDuLieu(DataIntegrityViolationException ignored) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "Du lieu bi trung hoac vi pham rang buoc."));
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.motelmanagement.domain.BangGiaDichVu;
 import com.motelmanagement.repository.BangGiaDichVuRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/bang-gia-dich-vu")
 public class BangGiaController {
     private final BangGiaDichVuRepository bangGiaDichVuRepository;
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
@@ -34,7 +36,9 @@ public class BangGiaController {
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public BangGiaDichVu tao(@RequestBody BangGiaDichVu bangGia) {
-        return bangGiaDichVuRepository.save(bangGia);
+        BangGiaDichVu daLuu = bangGiaDichVuRepository.save(bangGia);
+        boNhoDemThamChieuService.xoaTruyVan();
+        return daLuu;
     }
 
     @PutMapping("/{id}")
@@ -46,7 +50,9 @@ public class BangGiaController {
                     hienTai.setGiaDien(duLieu.getGiaDien());
                     hienTai.setGiaNuoc(duLieu.getGiaNuoc());
                     hienTai.setHieuLucTu(duLieu.getHieuLucTu());
-                    return ResponseEntity.ok(bangGiaDichVuRepository.save(hienTai));
+                    BangGiaDichVu daLuu = bangGiaDichVuRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(BangGiaDichVu.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -55,6 +61,7 @@ public class BangGiaController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> xoa(@PathVariable("id") String ma) {
         bangGiaDichVuRepository.deleteById(ma);
+        boNhoDemThamChieuService.xoa(BangGiaDichVu.class, ma);
         return ResponseEntity.ok().build();
     }
 }
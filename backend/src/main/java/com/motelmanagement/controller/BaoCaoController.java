@@ -2,6 +2,7 @@ package com.motelmanagement.controller;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,12 +18,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.motelmanagement.config.DocBanSao;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.Phong;
 import com.motelmanagement.domain.TrangThaiHoaDon;
 import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.TyLeLapDayDto;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.PhongRepository;
+import com.motelmanagement.service.LapDayPhongService;
 import com.motelmanagement.service.TinhTienService;
 import com.motelmanagement.service.XuatBaoCaoService;
 import com.motelmanagement.service.XuatPdfService;
@@ -34,12 +38,14 @@ import lombok.RequiredArgsConstructor;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/bao-cao")
+@DocBanSao
 public class BaoCaoController {
     private final HoaDonRepository hoaDonRepository;
     private final PhongRepository phongRepository;
     private final TinhTienService tinhTienService;
     private final XuatBaoCaoService xuatBaoCaoService;
     private final XuatPdfService xuatPdfService;
+    private final LapDayPhongService lapDayPhongService;
 
     private List<HoaDon> tinhTienDanhSach(List<HoaDon> ds) {
         return ds.stream().map(tinhTienService::tinhTienRuntime).toList();
@@ -107,12 +113,24 @@ public class BaoCaoController {
         return ketQua;
     }
 
+    @GetMapping("/ty-le-lap-day-theo-thang")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public List<TyLeLapDayDto> tyLeLapDayTheoThang(
+            @RequestParam(value = "tuThang", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth tuThang,
+            @RequestParam(value = "denThang", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth denThang) {
+        YearMonth den = denThang != null ? denThang : YearMonth.now();
+        return lapDayPhongService.tyLeLapDay(tuThang != null ? tuThang : den.minusMonths(11), den);
+    }
+
     @GetMapping("/cong-no")
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
     public Map<String, Object> congNo() {
-        List<HoaDon> chuaThanhToan = tinhTienDanhSach(hoaDonRepository.findByTrangThai(TrangThaiHoaDon.UNPAID));
+        List<HoaDon> chuaThanhToan = tinhTienDanhSach(
+                hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO));
         BigDecimal tongNo = chuaThanhToan.stream()
-                .map(HoaDon::getTongTien)
+                .map(HoaDon::getConLai)
                 .filter(Objects::nonNull)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         Map<String, Object> ketQua = new HashMap<>();
@@ -163,7 +181,7 @@ public class BaoCaoController {
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
     public Map<String, Object> chiTietCongNo() {
         List<HoaDon> chuaThanhToan = tinhTienDanhSach(
-                hoaDonRepository.findByTrangThaiWithRoomAndTenant(TrangThaiHoaDon.UNPAID));
+                hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO));
         List<Map<String, Object>> danhSach = chuaThanhToan.stream().map(hoaDon -> {
             Map<String, Object> m = new HashMap<>();
             m.put("id", hoaDon.getId());
@@ -172,11 +190,13 @@ public class BaoCaoController {
             m.put("month", hoaDon.getThang());
             m.put("year", hoaDon.getNam());
             m.put("total", hoaDon.getTongTien());
+            m.put("paid", hoaDon.getDaThu());
+            m.put("remaining", hoaDon.getConLai());
             m.put("status", hoaDon.getTrangThai() != null ? hoaDon.getTrangThai().name() : null);
             return m;
         }).collect(Collectors.toList());
         BigDecimal tongNo = chuaThanhToan.stream()
-                .map(HoaDon::getTongTien)
+                .map(HoaDon::getConLai)
                 .filter(Objects::nonNull)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         Map<String, Object> ketQua = new HashMap<>();
@@ -264,9 +284,10 @@ public class BaoCaoController {
         ketQua.put("year", namHienTai);
         long phongTrong = phongRepository.findByTrangThai(TrangThaiPhong.AVAILABLE).size();
         ketQua.put("vacantRooms", phongTrong);
-        List<HoaDon> chuaThanhToan = tinhTienDanhSach(hoaDonRepository.findByTrangThai(TrangThaiHoaDon.UNPAID));
+        List<HoaDon> chuaThanhToan = tinhTienDanhSach(
+                hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO));
         BigDecimal tongNo = chuaThanhToan.stream()
-                .map(HoaDon::getTongTien)
+                .map(HoaDon::getConLai)
                 .filter(Objects::nonNull)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         ketQua.put("totalDebt", tongNo);
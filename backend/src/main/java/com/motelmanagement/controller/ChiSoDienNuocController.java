@@ -47,10 +47,8 @@ public class ChiSoDienNuocController {
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
     public List<ChiSoDienNuoc> layDanhSach() {
-        List<ChiSoDienNuoc> tatCa = chiSoDienNuocRepository.findAll();
-        for (ChiSoDienNuoc c : tatCa) {
-            ganChiSoCuHienThi(c);
-        }
+        List<ChiSoDienNuoc> tatCa = chiSoDienNuocRepository.findAllKemPhong();
+        tinhTienService.ganChiSoCuTheoKy(tatCa);
         return tatCa;
     }
 
@@ -103,9 +101,10 @@ public class ChiSoDienNuocController {
             @RequestParam("file") MultipartFile file) {
         return chiSoDienNuocRepository.findById(id)
                 .map(hienTai -> {
-                    String duongDan = fileLuuTruService.luuAnh(file, "meters");
-                    hienTai.setAnhDongHo(duongDan);
+                    String anhCu = hienTai.getAnhDongHo();
+                    hienTai.setAnhDongHo(fileLuuTruService.luuAnh(file));
                     ChiSoDienNuoc daLuu = chiSoDienNuocRepository.save(hienTai);
+                    fileLuuTruService.giaiPhong(anhCu);
                     ganChiSoCuHienThi(daLuu);
                     return ResponseEntity.ok(daLuu);
                 })
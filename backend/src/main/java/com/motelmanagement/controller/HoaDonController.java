@@ -1,11 +1,16 @@
 package com.motelmanagement.controller;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,10 +20,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.motelmanagement.domain.ChiSoDienNuoc;
 import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HopDong;
 import com.motelmanagement.domain.HopDongThanhVien;
 import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.NhacNoHoaDonEmail;
 import com.motelmanagement.domain.TrangThaiHopDong;
 import com.motelmanagement.domain.TrangThaiHoaDon;
 import com.motelmanagement.domain.HoaDonChiTiet;
@@ -27,8 +35,6 @@ import com.motelmanagement.dto.HoaDonResponseDto;
 import com.motelmanagement.dto.KhachThueTomTatDto;
 import com.motelmanagement.dto.RemindRequest;
 import com.motelmanagement.dto.YeuCauLuuChiTietHoaDon;
-import com.motelmanagement.repository.ChiSoDienNuocRepository;
-import com.motelmanagement.repository.HoaDonChiTietRepository;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.HopDongRepository;
 import com.motelmanagement.repository.KhachThueRepository;
@@ -48,8 +54,6 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/hoa-don")
 public class HoaDonController {
     private final HoaDonRepository hoaDonRepository;
-    private final HoaDonChiTietRepository hoaDonChiTietRepository;
-    private final ChiSoDienNuocRepository chiSoDienNuocRepository;
     private final HopDongRepository hopDongRepository;
     private final KhachThueRepository khachThueRepository;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
@@ -68,10 +72,9 @@ public class HoaDonController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    @Transactional(readOnly = true)
     public List<HoaDonResponseDto> layDanhSach() {
-        return hoaDonRepository.findAllWithTenantAndRoom().stream()
-                .map(this::xuongDto)
-                .toList();
+        return xuongDto(hoaDonRepository.findAllWithTenantAndRoom());
     }
 
     @GetMapping("/cua-toi")
@@ -85,46 +88,86 @@ public class HoaDonController {
         if (khachThue == null) {
             return List.of();
         }
-        return hoaDonRepository.findByKhachThue(khachThue).stream()
-                .map(this::xuongDto)
+        return xuongDto(hoaDonRepository.findByKhachThue(khachThue));
+    }
+
+    private List<HoaDonResponseDto> xuongDto(List<HoaDon> dsHoaDon) {
+        if (dsHoaDon.isEmpty()) {
+            return List.of();
+        }
+        TinhTienService.DuLieuTinhTien duLieu = tinhTienService.napDuLieuTinhTien(dsHoaDon);
+        Map<String, HopDong> hopDongTheoPhong = layHopDongActiveTheoPhong(dsHoaDon);
+        Map<String, List<NhacNoHoaDonEmail>> nhacNoTheoHoaDon = layNhacNoTheoHoaDon(dsHoaDon);
+        return dsHoaDon.stream()
+                .map(h -> xuongDto(h, duLieu, hopDongTheoPhong, nhacNoTheoHoaDon))
                 .toList();
     }
 
-    private HoaDonResponseDto xuongDto(HoaDon h) {
-        HoaDon hienTai = tinhTienService.dongBoHoaDonTheoChiSoNeuCo(h);
+    private HoaDonResponseDto xuongDto(HoaDon h,
+                                       TinhTienService.DuLieuTinhTien duLieu,
+                                       Map<String, HopDong> hopDongTheoPhong,
+                                       Map<String, List<NhacNoHoaDonEmail>> nhacNoTheoHoaDon) {
+        HoaDon hienTai = tinhTienService.dongBoHoaDonTheoChiSoNeuCo(h, duLieu);
         String maPhong = hienTai.getPhong() != null ? hienTai.getPhong().getId() : null;
-        List<KhachThueTomTatDto> ds = layDanhSachKhachTheoPhong(maPhong, hienTai.getKhachThue());
-        List<HoaDonChiTietDongDto> chiTiet = List.of();
-        if (hienTai.getId() != null && !hienTai.getId().isBlank()) {
-            chiTiet = hoaDonChiTietRepository.findByHoaDon_IdOrderByThuTuAsc(hienTai.getId()).stream()
-                    .map(this::xuongChiTiet)
-                    .toList();
-        }
+        List<KhachThueTomTatDto> ds = layDanhSachKhachTheoPhong(
+                maPhong != null ? hopDongTheoPhong.get(maPhong) : null, hienTai.getKhachThue());
+        List<HoaDonChiTietDongDto> chiTiet = duLieu.chiTiet(hienTai.getId()).stream()
+                .map(this::xuongChiTiet)
+                .toList();
         HoaDonResponseDto dto = HoaDonResponseDto.tu(hienTai, ds, chiTiet);
-        ganThongTinNhacNoEmailVaoDto(dto, hienTai.getId());
+        if (hienTai.getId() != null) {
+            ganThongTinNhacNoEmailVaoDto(dto, nhacNoTheoHoaDon.getOrDefault(hienTai.getId(), List.of()));
+        }
         if (maPhong != null) {
-            chiSoDienNuocRepository
-                    .findByPhong_IdAndThangAndNam(maPhong, hienTai.getThang(), hienTai.getNam())
-                    .ifPresent(cs -> {
-                        dto.setChiSoDienCu(tinhTienService.layChiSoDienCuTheoKy(cs));
-                        dto.setChiSoDienMoi(cs.getDienMoi());
-                        dto.setChiSoNuocCu(tinhTienService.layChiSoNuocCuTheoKy(cs));
-                        dto.setChiSoNuocMoi(cs.getNuocMoi());
-                    });
+            ChiSoDienNuoc cs = duLieu.chiSo(maPhong, hienTai.getThang(), hienTai.getNam());
+            if (cs != null) {
+                dto.setChiSoDienCu(duLieu.dienCu(cs));
+                dto.setChiSoDienMoi(cs.getDienMoi());
+                dto.setChiSoNuocCu(duLieu.nuocCu(cs));
+                dto.setChiSoNuocMoi(cs.getNuocMoi());
+            }
         }
         return dto;
     }
 
+    private Map<String, HopDong> layHopDongActiveTheoPhong(List<HoaDon> dsHoaDon) {
+        Set<String> maPhong = dsHoaDon.stream()
+                .filter(h -> h.getPhong() != null)
+                .map(h -> h.getPhong().getId())
+                .collect(Collectors.toSet());
+        Map<String, HopDong> theoPhong = new HashMap<>();
+        if (maPhong.isEmpty()) {
+            return theoPhong;
+        }
+        for (HopDong hd : hopDongRepository.findByPhong_IdInAndTrangThai(maPhong, TrangThaiHopDong.ACTIVE)) {
+            if (hd.getPhong() != null) {
+                theoPhong.putIfAbsent(hd.getPhong().getId(), hd);
+            }
+        }
+        return theoPhong;
+    }
 
-    private void ganThongTinNhacNoEmailVaoDto(HoaDonResponseDto dto, String maHoaDon) {
-        if (maHoaDon == null || maHoaDon.isBlank()) {
-            return;
+    private Map<String, List<NhacNoHoaDonEmail>> layNhacNoTheoHoaDon(List<HoaDon> dsHoaDon) {
+        List<String> maHoaDon = dsHoaDon.stream()
+                .map(HoaDon::getId)
+                .filter(id -> id != null && !id.isBlank())
+                .toList();
+        if (maHoaDon.isEmpty()) {
+            return Map.of();
         }
-        dto.setSoLanNhacNoEmail((int) nhacNoHoaDonEmailRepository.countByHoaDon_Id(maHoaDon));
-        nhacNoHoaDonEmailRepository.findTopByHoaDon_IdOrderByGuiLucDesc(maHoaDon).ifPresent(log -> {
-            dto.setNhacNoEmailLanCuoi(log.getGuiLuc());
-            dto.setNoiDungEmailCuoi(log.getNoiDung());
-        });
+        return nhacNoHoaDonEmailRepository.findByHoaDon_IdIn(maHoaDon).stream()
+                .collect(Collectors.groupingBy(n -> n.getHoaDon().getId()));
+    }
+
+
+    private void ganThongTinNhacNoEmailVaoDto(HoaDonResponseDto dto, List<NhacNoHoaDonEmail> dsNhacNo) {
+        dto.setSoLanNhacNoEmail(dsNhacNo.size());
+        dsNhacNo.stream()
+                .max(Comparator.comparing(NhacNoHoaDonEmail::getGuiLuc))
+                .ifPresent(log -> {
+                    dto.setNhacNoEmailLanCuoi(log.getGuiLuc());
+                    dto.setNoiDungEmailCuoi(log.getNoiDung());
+                });
     }
 
     private HoaDonChiTietDongDto xuongChiTiet(HoaDonChiTiet ct) {
@@ -137,27 +180,24 @@ public class HoaDonController {
     }
 
 
-    private List<KhachThueTomTatDto> layDanhSachKhachTheoPhong(String maPhong, KhachThue fallback) {
-        if (maPhong == null) {
+    private List<KhachThueTomTatDto> layDanhSachKhachTheoPhong(HopDong hd, KhachThue fallback) {
+        LinkedHashMap<String, KhachThue> gom = new LinkedHashMap<>();
+        if (hd != null) {
+            if (hd.getKhachThue() != null) {
+                gom.put(hd.getKhachThue().getId(), hd.getKhachThue());
+            }
+            if (hd.getThanhVien() != null) {
+                for (HopDongThanhVien tv : hd.getThanhVien()) {
+                    if (tv.getKhachThue() != null) {
+                        gom.putIfAbsent(tv.getKhachThue().getId(), tv.getKhachThue());
+                    }
+                }
+            }
+        }
+        if (gom.isEmpty()) {
             return fallback != null ? List.of(KhachThueTomTatDto.tu(fallback)) : List.of();
         }
-        return hopDongRepository.findByPhong_IdAndTrangThai(maPhong, TrangThaiHopDong.ACTIVE)
-                .map(hd -> {
-                    LinkedHashMap<String, KhachThue> gom = new LinkedHashMap<>();
-                    if (hd.getKhachThue() != null) {
-                        gom.put(hd.getKhachThue().getId(), hd.getKhachThue());
-                    }
-                    if (hd.getThanhVien() != null) {
-                        for (HopDongThanhVien tv : hd.getThanhVien()) {
-                            if (tv.getKhachThue() != null) {
-                                gom.putIfAbsent(tv.getKhachThue().getId(), tv.getKhachThue());
-                            }
-                        }
-                    }
-                    return gom.values().stream().map(KhachThueTomTatDto::tu).toList();
-                })
-                .filter(list -> !list.isEmpty())
-                .orElseGet(() -> fallback != null ? List.of(KhachThueTomTatDto.tu(fallback)) : List.of());
+        return gom.values().stream().map(KhachThueTomTatDto::tu).toList();
     }
 
     @PostMapping
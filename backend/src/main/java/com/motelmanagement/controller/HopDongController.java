@@ -75,7 +75,7 @@ public class HopDongController {
         if (!hopDongRepository.khachCoTrongHopDong(ma, khachThue.getId())) {
             return ResponseEntity.notFound().build();
         }
-        return hopDongRepository.findById(ma).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return hopDongRepository.timChiTiet(ma).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -148,7 +148,7 @@ public class HopDongController {
             return ResponseEntity.badRequest().build();
         }
         return hopDongRepository
-                .findById(ma)
+                .timChiTiet(ma)
                 .map(hienTai -> {
                     hienTai.setNgayKetThuc(ngayKetThuc);
                     return ResponseEntity.ok(hopDongRepository.save(hienTai));
@@ -160,9 +160,13 @@ public class HopDongController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HopDong> ketThuc(@PathVariable("id") String ma) {
         return hopDongRepository
-                .findById(ma)
+                .timChiTiet(ma)
                 .map(hienTai -> {
                     hienTai.setTrangThai(TrangThaiHopDong.ENDED);
+                    LocalDate homNay = LocalDate.now();
+                    if (hienTai.getNgayKetThuc() == null || hienTai.getNgayKetThuc().isAfter(homNay)) {
+                        hienTai.setNgayKetThuc(homNay);
+                    }
                     HopDong daLuu = hopDongRepository.save(hienTai);
                     Phong phong = hienTai.getPhong();
                     if (phong != null) {
@@ -1,7 +1,9 @@
 package com.motelmanagement.controller;
 
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,10 +23,13 @@ import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.VaiTro;
 import com.motelmanagement.dto.TenantCreateDto;
+import com.motelmanagement.dto.TongQuanKhachThueDto;
 import com.motelmanagement.repository.NguoiDungRepository;
 import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.service.ChiMucTimKiemService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
-import com.motelmanagement.service.FileKhachThueService;
+import com.motelmanagement.service.FileLuuTruService;
+import com.motelmanagement.service.TongQuanKhachThueService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,7 +43,9 @@ public class KhachThueController {
     private final KhachThueRepository khachThueRepository;
     private final NguoiDungRepository nguoiDungRepository;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
-    private final FileKhachThueService fileKhachThueService;
+    private final FileLuuTruService fileLuuTruService;
+    private final ChiMucTimKiemService chiMucTimKiemService;
+    private final TongQuanKhachThueService tongQuanKhachThueService;
 
 
     private void ganNguoiDungChoKhach(KhachThue khach, NguoiDung nguoiDung) {
@@ -61,7 +68,7 @@ public class KhachThueController {
             return khachThue != null ? List.of(khachThue) : List.of();
         }
         if (tuKhoa != null && !tuKhoa.isBlank()) {
-            return khachThueRepository.findByHoTenContainingIgnoreCase(tuKhoa);
+            return chiMucTimKiemService.timKhachThue(tuKhoa);
         }
         return khachThueRepository.findAll();
     }
@@ -77,6 +84,14 @@ public class KhachThueController {
         return khachThue != null ? ResponseEntity.ok(khachThue) : ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/{id}/tong-quan")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<TongQuanKhachThueDto> tongQuan(@PathVariable("id") String ma) {
+        return tongQuanKhachThueService.lay(ma)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
     public KhachThue tao(@RequestBody TenantCreateDto dto) {
@@ -105,6 +120,7 @@ public class KhachThueController {
             @RequestParam(value = "userId", required = false) String userId,
             @RequestParam(value = "portrait", required = false) MultipartFile portrait,
             @RequestParam(value = "idCard", required = false) MultipartFile idCard) {
+        List<String> anhMoi = new ArrayList<>();
         try {
             KhachThue khachThue = new KhachThue();
             khachThue.setHoTen(fullName != null ? fullName.trim() : "");
@@ -118,12 +134,14 @@ public class KhachThueController {
                         nguoiDungRepository.findById(userId).orElse(null));
             }
             if (portrait != null && !portrait.isEmpty()) {
-                khachThue.setAnhChanDung(fileKhachThueService.luuAnh(portrait));
+                khachThue.setAnhChanDung(luuAnhMoi(portrait, anhMoi));
             }
             if (idCard != null && !idCard.isEmpty()) {
-                khachThue.setAnhGiayTo(fileKhachThueService.luuAnh(idCard));
+                khachThue.setAnhGiayTo(luuAnhMoi(idCard, anhMoi));
             }
-            return ResponseEntity.ok(khachThueRepository.save(khachThue));
+            KhachThue daLuu = khachThueRepository.save(khachThue);
+            anhMoi.clear();
+            return ResponseEntity.ok(daLuu);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (UncheckedIOException e) {
@@ -132,6 +150,8 @@ public class KhachThueController {
         } catch (Exception e) {
             log.error("taoVoiFile: luu khach thue hoac file that bai", e);
             return ResponseEntity.internalServerError().body("Lưu ảnh thất bại");
+        } finally {
+            anhMoi.forEach(fileLuuTruService::giaiPhong);
         }
     }
 
@@ -177,6 +197,7 @@ public class KhachThueController {
         if (nguoiDung == null || nguoiDung.getVaiTro() != VaiTro.ADMIN) {
             return ResponseEntity.status(403).build();
         }
+        List<String> anhMoi = new ArrayList<>();
         try {
             return khachThueRepository.findById(ma)
                     .map(hienTai -> {
@@ -195,13 +216,19 @@ public class KhachThueController {
                                         nguoiDungRepository.findById(uid).orElse(null));
                             }
                         }
+                        List<String> anhCu = new ArrayList<>();
                         if (portrait != null && !portrait.isEmpty()) {
-                            hienTai.setAnhChanDung(fileKhachThueService.luuAnh(portrait));
+                            anhCu.add(hienTai.getAnhChanDung());
+                            hienTai.setAnhChanDung(luuAnhMoi(portrait, anhMoi));
                         }
                         if (idCard != null && !idCard.isEmpty()) {
-                            hienTai.setAnhGiayTo(fileKhachThueService.luuAnh(idCard));
+                            anhCu.add(hienTai.getAnhGiayTo());
+                            hienTai.setAnhGiayTo(luuAnhMoi(idCard, anhMoi));
                         }
-                        return ResponseEntity.ok(khachThueRepository.save(hienTai));
+                        KhachThue daLuu = khachThueRepository.save(hienTai);
+                        anhMoi.clear();
+                        anhCu.forEach(fileLuuTruService::giaiPhong);
+                        return ResponseEntity.ok(daLuu);
                     })
                     .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
@@ -212,6 +239,8 @@ public class KhachThueController {
         } catch (Exception e) {
             log.error("capNhatVoiFile: cap nhat khach thue hoac file that bai", e);
             return ResponseEntity.internalServerError().body("Lưu ảnh thất bại");
+        } finally {
+            anhMoi.forEach(fileLuuTruService::giaiPhong);
         }
     }
 
@@ -222,7 +251,19 @@ public class KhachThueController {
         if (nguoiDung == null || nguoiDung.getVaiTro() != VaiTro.ADMIN) {
             return ResponseEntity.status(403).build();
         }
+        Optional<KhachThue> hienTai = khachThueRepository.findById(ma);
         khachThueRepository.deleteById(ma);
+        hienTai.ifPresent(khachThue -> {
+            fileLuuTruService.giaiPhong(khachThue.getAnhChanDung());
+            fileLuuTruService.giaiPhong(khachThue.getAnhGiayTo());
+        });
         return ResponseEntity.ok().build();
     }
+
+    // Ảnh vừa lưu được ghi vào anhMoi để trả lại tham chiếu nếu lưu khách thất bại.
+    private String luuAnhMoi(MultipartFile file, List<String> anhMoi) {
+        String duongDan = fileLuuTruService.luuAnh(file);
+        anhMoi.add(duongDan);
+        return duongDan;
+    }
 }
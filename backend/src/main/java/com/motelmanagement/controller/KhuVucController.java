@@ -1,7 +1,6 @@
 package com.motelmanagement.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,7 +18,7 @@ import com.motelmanagement.domain.TrangThaiHopDong;
 import com.motelmanagement.dto.AreaWithRoomCountDto;
 import com.motelmanagement.repository.KhuVucRepository;
 import com.motelmanagement.repository.HopDongRepository;
-import com.motelmanagement.repository.PhongRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,25 +28,21 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/khu-vuc")
 public class KhuVucController {
     private final KhuVucRepository khuVucRepository;
-    private final PhongRepository phongRepository;
     private final HopDongRepository hopDongRepository;
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
     public List<AreaWithRoomCountDto> layDanhSach() {
-        return khuVucRepository.findAll().stream()
-                .map(khuVuc -> {
-                    long soPhong = phongRepository.countByKhuVuc_Id(khuVuc.getId());
-                    boolean coTheXoa = hopDongRepository.countByPhong_KhuVuc_IdAndTrangThai(khuVuc.getId(), TrangThaiHopDong.ACTIVE) == 0;
-                    return new AreaWithRoomCountDto(khuVuc.getId(), khuVuc.getTen(), khuVuc.getDiaChi(), khuVuc.getMoTa(), soPhong, coTheXoa);
-                })
-                .collect(Collectors.toList());
+        return khuVucRepository.layDanhSachKemSoPhong(TrangThaiHopDong.ACTIVE);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public KhuVuc tao(@RequestBody KhuVuc khuVuc) {
-        return khuVucRepository.save(khuVuc);
+        KhuVuc daLuu = khuVucRepository.save(khuVuc);
+        boNhoDemThamChieuService.xoaTruyVan();
+        return daLuu;
     }
 
     @PutMapping("/{id}")
@@ -58,7 +53,9 @@ public class KhuVucController {
                     hienTai.setTen(khuVuc.getTen());
                     hienTai.setDiaChi(khuVuc.getDiaChi());
                     hienTai.setMoTa(khuVuc.getMoTa());
-                    return ResponseEntity.ok(khuVucRepository.save(hienTai));
+                    KhuVuc daLuu = khuVucRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(KhuVuc.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -71,6 +68,7 @@ public class KhuVucController {
                     .body("Không thể xóa khu khi còn phòng đang được thuê. Vui lòng kết thúc hoặc hủy hợp đồng trước.");
         }
         khuVucRepository.deleteById(ma);
+        boNhoDemThamChieuService.xoa(KhuVuc.class, ma);
         return ResponseEntity.ok().build();
     }
 }
@@ -22,6 +22,7 @@ import com.motelmanagement.dto.YeuCauTaoNguoiDung;
 import com.motelmanagement.repository.KhachThueRepository;
 import com.motelmanagement.repository.NguoiDungRepository;
 import com.motelmanagement.dto.DtoNguoiDungChat;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
 import com.motelmanagement.service.NguoiDungChoChatService;
 import com.motelmanagement.service.NguoiDungChoThongBaoService;
 
@@ -39,6 +40,7 @@ public class NguoiDungController {
     private final PasswordEncoder passwordEncoder;
     private final NguoiDungChoThongBaoService nguoiDungChoThongBaoService;
     private final NguoiDungChoChatService nguoiDungChoChatService;
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -70,6 +72,7 @@ public class NguoiDungController {
         nguoiDung.setVaiTro(dto.getVaiTro() != null ? dto.getVaiTro() : VaiTro.STAFF);
         nguoiDung.setKichHoat(dto.isKichHoat());
         NguoiDung daLuu = nguoiDungRepository.save(nguoiDung);
+        boNhoDemThamChieuService.xoaTruyVan();
         if (dto.getMaKhachThue() != null && daLuu.getVaiTro() == VaiTro.TENANT) {
             khachThueRepository.findById(dto.getMaKhachThue()).ifPresent(khachThue -> {
                 khachThue.setNguoiDung(daLuu);
@@ -91,7 +94,9 @@ public class NguoiDungController {
                     if (nguoiDung.getMatKhau() != null && !nguoiDung.getMatKhau().isBlank()) {
                         hienTai.setMatKhau(passwordEncoder.encode(nguoiDung.getMatKhau()));
                     }
-                    return ResponseEntity.ok(nguoiDungRepository.save(hienTai));
+                    NguoiDung daLuu = nguoiDungRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(NguoiDung.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -102,7 +107,9 @@ public class NguoiDungController {
         return nguoiDungRepository.findById(ma)
                 .map(hienTai -> {
                     hienTai.setKichHoat(false);
-                    return ResponseEntity.ok(nguoiDungRepository.save(hienTai));
+                    NguoiDung daLuu = nguoiDungRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(NguoiDung.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -113,7 +120,9 @@ public class NguoiDungController {
         return nguoiDungRepository.findById(ma)
                 .map(hienTai -> {
                     hienTai.setKichHoat(true);
-                    return ResponseEntity.ok(nguoiDungRepository.save(hienTai));
+                    NguoiDung daLuu = nguoiDungRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(NguoiDung.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
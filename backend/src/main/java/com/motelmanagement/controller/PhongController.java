@@ -1,7 +1,10 @@
 package com.motelmanagement.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,14 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.motelmanagement.domain.KhuVuc;
 import com.motelmanagement.domain.Phong;
 import com.motelmanagement.domain.TrangThaiHopDong;
-import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.PhongSapTrongDto;
 import com.motelmanagement.repository.KhuVucRepository;
 import com.motelmanagement.repository.PhongRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+import com.motelmanagement.service.LapDayPhongService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,6 +35,8 @@ import lombok.RequiredArgsConstructor;
 public class PhongController {
     private final PhongRepository phongRepository;
     private final KhuVucRepository khuVucRepository;
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService;
+    private final LapDayPhongService lapDayPhongService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
@@ -45,8 +53,20 @@ public class PhongController {
 
     @GetMapping("/con-trong")
     @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
-    public List<Phong> layDanhSachConTrong() {
-        return phongRepository.findByTrangThai(TrangThaiPhong.AVAILABLE);
+    public List<Phong> layDanhSachConTrong(
+            @RequestParam(value = "tuNgay", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate tuNgay,
+            @RequestParam(value = "denNgay", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate denNgay) {
+        LocalDate tu = tuNgay != null ? tuNgay : LocalDate.now();
+        return lapDayPhongService.phongTrong(tu, denNgay != null ? denNgay : tu);
+    }
+
+    @GetMapping("/sap-trong")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public List<PhongSapTrongDto> layDanhSachSapTrong(
+            @RequestParam(value = "soNgay", defaultValue = "30") int soNgay) {
+        return lapDayPhongService.phongSapTrong(LocalDate.now(), soNgay);
     }
 
     @PostMapping
@@ -56,7 +76,9 @@ public class PhongController {
             KhuVuc khuVuc = khuVucRepository.findById(phong.getKhuVuc().getId()).orElse(null);
             phong.setKhuVuc(khuVuc);
         }
-        return phongRepository.save(phong);
+        Phong daLuu = phongRepository.save(phong);
+        boNhoDemThamChieuService.xoaTruyVan();
+        return daLuu;
     }
 
     @PutMapping("/{id}")
@@ -72,7 +94,9 @@ public class PhongController {
                     if (phong.getKhuVuc() != null && phong.getKhuVuc().getId() != null) {
                         hienTai.setKhuVuc(khuVucRepository.findById(phong.getKhuVuc().getId()).orElse(null));
                     }
-                    return ResponseEntity.ok(phongRepository.save(hienTai));
+                    Phong daLuu = phongRepository.save(hienTai);
+                    boNhoDemThamChieuService.xoa(Phong.class, ma);
+                    return ResponseEntity.ok(daLuu);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -81,6 +105,7 @@ public class PhongController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> xoa(@PathVariable("id") String ma) {
         phongRepository.deleteById(ma);
+        boNhoDemThamChieuService.xoa(Phong.class, ma);
         return ResponseEntity.ok().build();
     }
 }
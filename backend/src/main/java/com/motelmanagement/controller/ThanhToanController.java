@@ -21,13 +21,13 @@ import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.PhuongThucThanhToan;
 import com.motelmanagement.domain.ThanhToan;
-import com.motelmanagement.domain.TrangThaiHoaDon;
 import com.motelmanagement.dto.GhiNhanThanhToanRequest;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.KhachThueRepository;
 import com.motelmanagement.repository.ThanhToanRepository;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.PayOSService;
+import com.motelmanagement.service.ThanhToanService;
 import com.motelmanagement.service.TinhTienService;
 import com.motelmanagement.service.XuatPdfService;
 import com.motelmanagement.util.TaiLieuHttp;
@@ -46,6 +46,7 @@ public class ThanhToanController {
     private final PayOSService payOSService;
     private final TinhTienService tinhTienService;
     private final XuatPdfService xuatPdfService;
+    private final ThanhToanService thanhToanService;
 
     @GetMapping("/{id}/phieu-thu-pdf")
     @PreAuthorize("hasAnyRole('ADMIN','STAFF','TENANT')")
@@ -133,9 +134,15 @@ public class ThanhToanController {
             return ResponseEntity.badRequest().body(Map.of("ok", false, "message", "orderCode không hợp lệ."));
         }
         if (cancel || !"PAID".equalsIgnoreCase(status) || !"00".equals(code)) {
+            if (!payOSService.daXuLyDonHang(maDonHang)) {
+                payOSService.huyDonHang(maDonHang);
+            }
             return ResponseEntity.ok(Map.of("ok", false, "message", "Kết quả cổng thanh toán chưa thành công."));
         }
 
+        if (payOSService.daXuLyDonHang(maDonHang)) {
+            return ResponseEntity.ok(Map.of("ok", true));
+        }
         String maHoaDon = payOSService.timMaHoaDonTheoMaDonHang(maDonHang).orElse(null);
         if (maHoaDon == null) {
             return ResponseEntity.ok(Map.of("ok", false, "message", "Đơn hàng không còn hiệu lực hoặc đã xử lý."));
@@ -160,40 +167,8 @@ public class ThanhToanController {
         if (soTien.compareTo(BigDecimal.ZERO) <= 0) {
             return ResponseEntity.badRequest().body(Map.of("message", "Số tiền phải lớn hơn 0."));
         }
-        HoaDon hoaDon = hoaDonRepository.findById(yeuCau.getInvoiceId()).orElse(null);
-        hoaDon = tinhTienService.tinhTienRuntime(hoaDon);
-        if (hoaDon == null || hoaDon.getTongTien() == null) {
-            return ResponseEntity.badRequest().body(Map.of("message", "Không tìm thấy hóa đơn."));
-        }
-        if (hoaDon.getTrangThai() == TrangThaiHoaDon.PAID) {
-            return ResponseEntity.badRequest().body(Map.of("message", "Hóa đơn đã thanh toán đủ."));
-        }
-        BigDecimal daThu = thanhToanRepository.findByHoaDon_Id(hoaDon.getId()).stream()
-                .map(ThanhToan::getSoTien)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal conLai = hoaDon.getTongTien().subtract(daThu);
-        if (conLai.compareTo(BigDecimal.ZERO) <= 0) {
-            return ResponseEntity.badRequest().body(Map.of("message", "Không còn số tiền cần thu."));
-        }
-        if (soTien.compareTo(conLai) > 0) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "message",
-                    "Số tiền vượt quá phần còn lại (" + conLai.toPlainString() + " VNĐ)."));
-        }
-        PhuongThucThanhToan phuongThuc = chuyenPhuongThuc(yeuCau.getMethod());
-        ThanhToan thanhToan = new ThanhToan();
-        thanhToan.setHoaDon(hoaDon);
-        thanhToan.setSoTien(soTien);
-        thanhToan.setPhuongThuc(phuongThuc);
-        ThanhToan daLuu = thanhToanRepository.save(thanhToan);
-
-        BigDecimal tongSau = daThu.add(soTien);
-        if (tongSau.compareTo(hoaDon.getTongTien()) >= 0) {
-            hoaDon.setTrangThai(TrangThaiHoaDon.PAID);
-        } else {
-            hoaDon.setTrangThai(TrangThaiHoaDon.PARTIAL);
-        }
-        hoaDonRepository.save(hoaDon);
+        ThanhToan daLuu = thanhToanService.ghiNhanThuCong(
+                yeuCau.getInvoiceId(), soTien, chuyenPhuongThuc(yeuCau.getMethod()));
         return ResponseEntity.ok(daLuu);
     }
 
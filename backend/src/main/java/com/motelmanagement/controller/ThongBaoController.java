@@ -10,17 +10,23 @@ import com.motelmanagement.service.MauThongBaoService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.ThongBaoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/thong-bao")
 public class ThongBaoController {
+    private static final int GIOI_HAN_TOI_DA = 200;
+
     private final ThongBaoRepository thongBaoRepository;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
     private final ThongBaoService thongBaoService;
@@ -34,16 +40,46 @@ public class ThongBaoController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','STAFF','TENANT')")
-    public List<ThongBao> layDanhSach() {
+    public List<ThongBao> layDanhSach(
+            @RequestParam(value = "truoc", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime truoc,
+            @RequestParam(value = "truocId", required = false) String truocId,
+            @RequestParam(value = "gioiHan", defaultValue = "50") int gioiHan) {
         NguoiDung nguoiDung = nguoiDungHienTaiService.layNguoiDungHienTai();
         if (nguoiDung == null) {
             return List.of();
         }
+        PageRequest trang = PageRequest.of(0, Math.min(Math.max(1, gioiHan), GIOI_HAN_TOI_DA));
+        boolean coMoc = truoc != null && truocId != null && !truocId.isBlank();
 
         if (nguoiDung.getVaiTro() == VaiTro.ADMIN) {
-            return thongBaoRepository.findAllByOrderByThoiGianGuiDesc();
+            return coMoc
+                    ? thongBaoRepository.layTrangTiep(truoc, truocId, trang)
+                    : thongBaoRepository.layTrangDau(trang);
+        }
+        return coMoc
+                ? thongBaoRepository.layTrangTiepCuaNguoiDung(nguoiDung.getId(), truoc, truocId, trang)
+                : thongBaoRepository.layTrangDauCuaNguoiDung(nguoiDung.getId(), trang);
+    }
+
+    @GetMapping("/chua-doc/dem")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF','TENANT')")
+    public Map<String, Long> demChuaDoc() {
+        NguoiDung nguoiDung = nguoiDungHienTaiService.layNguoiDungHienTai();
+        if (nguoiDung == null) {
+            return Map.of("count", 0L);
+        }
+        return Map.of("count", thongBaoRepository.countByNguoiDung_IdAndDaDocFalse(nguoiDung.getId()));
+    }
+
+    @PutMapping("/da-doc-tat-ca")
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF','TENANT')")
+    public ResponseEntity<Map<String, Integer>> danhDauDaDocTatCa() {
+        NguoiDung nguoiDung = nguoiDungHienTaiService.layNguoiDungHienTai();
+        if (nguoiDung == null) {
+            return ResponseEntity.status(403).build();
         }
-        return thongBaoRepository.findByNguoiDungOrderByThoiGianGuiDesc(nguoiDung);
+        return ResponseEntity.ok(Map.of("updated", thongBaoService.danhDauDaDocTatCa(nguoiDung)));
     }
 
     @PutMapping("/{id}/da-doc")
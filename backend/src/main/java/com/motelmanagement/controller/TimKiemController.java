@@ -0,0 +1,29 @@
+package com.motelmanagement.controller;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.motelmanagement.dto.TrangTimKiemDto;
+import com.motelmanagement.service.TimKiemToanCucService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/tim-kiem")
+public class TimKiemController {
+    private final TimKiemToanCucService timKiemToanCucService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public TrangTimKiemDto tim(
+            @RequestParam(value = "q", required = false) String tuKhoa,
+            @RequestParam(value = "trang", defaultValue = "0") int trang,
+            @RequestParam(value = "kichThuoc", defaultValue = "20") int kichThuoc) {
+        return timKiemToanCucService.tim(tuKhoa, trang, kichThuoc);
+    }
+}
@@ -0,0 +1,40 @@
+package com.motelmanagement.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.dto.TrangChuKhachDto;
+import com.motelmanagement.service.NguoiDungHienTaiService;
+import com.motelmanagement.service.TrangChuKhachService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/trang-chu-khach")
+public class TrangChuKhachController {
+    private final NguoiDungHienTaiService nguoiDungHienTaiService;
+    private final TrangChuKhachService trangChuKhachService;
+
+    // Có ETag thì Spring tự trả 304 khi If-None-Match khớp, không gửi lại thân phản hồi.
+    @GetMapping
+    @PreAuthorize("hasRole('TENANT')")
+    public ResponseEntity<TrangChuKhachDto> lay() {
+        NguoiDung nguoiDung = nguoiDungHienTaiService.layNguoiDungHienTai();
+        if (nguoiDung == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return trangChuKhachService.lay(nguoiDung)
+                .map(t -> ResponseEntity.ok()
+                        .eTag(t.etag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(t.noiDung()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
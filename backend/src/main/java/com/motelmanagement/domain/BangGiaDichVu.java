@@ -3,10 +3,16 @@ package com.motelmanagement.domain;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Cacheable;
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -18,11 +24,15 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(LangNgheThayDoiThucThe.class)
 @Table(name = "bang_gia_dich_vu")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bang_gia_dich_vu")
 public class BangGiaDichVu {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
     @Column(name = "gia_phong", precision = 12, scale = 2)
@@ -0,0 +1,37 @@
+package com.motelmanagement.domain;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+
+public class BoSinhMaUuidV7 implements BeforeExecutionGenerator {
+    private static final SecureRandom NGAU_NHIEN = new SecureRandom();
+    // 48 bit mili giây << 12 | 12 bit bộ đếm: mã sinh sau luôn lớn hơn mã trước, kể cả trong cùng mili giây.
+    private static final AtomicLong TRANG_THAI = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return moi().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID moi() {
+        long hienTai = System.currentTimeMillis() << 12;
+        long trangThai = TRANG_THAI.updateAndGet(cu -> Math.max(cu + 1, hienTai));
+        long cao = (trangThai >>> 12) << 16 | 0x7000L | (trangThai & 0xFFFL);
+        long thap = NGAU_NHIEN.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(cao, thap);
+    }
+}
@@ -3,10 +3,15 @@ package com.motelmanagement.domain;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
+
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
+import com.motelmanagement.util.BienTheAnh;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -21,14 +26,16 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(LangNgheThayDoiThucThe.class)
 @Table(name = "chi_so_dien_nuoc")
 public class ChiSoDienNuoc {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "phong_id")
     private Phong phong;
 
@@ -62,4 +69,12 @@ public class ChiSoDienNuoc {
 
     @Column(name = "anh_dong_ho", length = 255)
     private String anhDongHo;
+
+    public String getAnhDongHoNho() {
+        return BienTheAnh.duongDan(anhDongHo, BienTheAnh.NHO);
+    }
+
+    public String getAnhDongHoXemTruoc() {
+        return BienTheAnh.duongDan(anhDongHo, BienTheAnh.XEM_TRUOC);
+    }
 }
@@ -2,7 +2,7 @@ package com.motelmanagement.domain;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,11 +18,15 @@ import lombok.Setter;
 @NoArgsConstructor
 
 @Entity
-@Table(name = "don_hang_payos", indexes = @Index(unique = true, columnList = "ma_don_hang"))
+@Table(name = "don_hang_payos", indexes = {
+        @Index(unique = true, columnList = "ma_don_hang"),
+        @Index(name = "idx_don_hang_payos_hoa_don", columnList = "hoa_don_id, so_tien")
+})
 public class DonHangPayOS {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
 
@@ -33,6 +37,15 @@ public class DonHangPayOS {
     @jakarta.persistence.Column(name = "hoa_don_id", length = 36)
     private String maHoaDon;
 
+    @jakarta.persistence.Column(name = "so_tien")
+    private Long soTien;
+
+    @jakarta.persistence.Column(name = "link_thanh_toan", length = 512)
+    private String linkThanhToan;
+
+    @jakarta.persistence.Column(name = "het_han_luc")
+    private LocalDateTime hetHanLuc;
+
     @jakarta.persistence.Column(name = "ngay_tao")
     private LocalDateTime ngayTao = LocalDateTime.now();
 }
@@ -5,13 +5,18 @@ import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
+
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -25,19 +30,21 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "hoa_don")
+@EntityListeners(LangNgheThayDoiThucThe.class)
+@Table(name = "hoa_don", indexes = @Index(name = "idx_hoa_don_trang_thai", columnList = "trang_thai"))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class HoaDon {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "phong_id")
     private Phong phong;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "khach_thue_id")
     private KhachThue khachThue;
 
@@ -63,10 +70,20 @@ public class HoaDon {
     @Transient
     private BigDecimal tongTien;
 
+    @Column(name = "da_thu", precision = 12, scale = 2)
+    private BigDecimal daThu = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "trang_thai", nullable = false, length = 20)
     private TrangThaiHoaDon trangThai = TrangThaiHoaDon.UNPAID;
 
     @Column(name = "ngay_tao")
     private LocalDateTime ngayTao = LocalDateTime.now();
+
+    public BigDecimal getConLai() {
+        if (tongTien == null) {
+            return null;
+        }
+        return tongTien.subtract(daThu != null ? daThu : BigDecimal.ZERO);
+    }
 }
@@ -2,12 +2,14 @@ package com.motelmanagement.domain;
 
 import java.math.BigDecimal;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
@@ -23,12 +25,14 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(LangNgheThayDoiThucThe.class)
 @Table(name = "hoa_don_chi_tiet")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "hoaDon"})
 public class HoaDonChiTiet {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -2,7 +2,7 @@ package com.motelmanagement.domain;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -21,8 +21,9 @@ import lombok.Setter;
 @Table(name = "hoi_thoai")
 public class HoiThoai {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
     @Enumerated(EnumType.STRING)
@@ -8,11 +8,14 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
+
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -29,18 +32,20 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(LangNgheThayDoiThucThe.class)
 @Table(name = "hop_dong")
 public class HopDong {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "phong_id")
     private Phong phong;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "khach_thue_id")
     private KhachThue khachThue;
 
@@ -54,6 +59,10 @@ public class HopDong {
     @Column(name = "ngay_ket_thuc")
     private LocalDate ngayKetThuc;
 
+    // Ngày kết thúc đã gửi thông báo sắp hết hạn; gia hạn đổi ngày kết thúc thì sẽ nhắc lại.
+    @Column(name = "nhac_het_han_cho_ngay")
+    private LocalDate nhacHetHanChoNgay;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "trang_thai", nullable = false, length = 20)
     private TrangThaiHopDong trangThai = TrangThaiHopDong.ACTIVE;
@@ -3,10 +3,15 @@ package com.motelmanagement.domain;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
+
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
+import com.motelmanagement.util.BienTheAnh;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
@@ -19,12 +24,14 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(LangNgheThayDoiThucThe.class)
 @Table(name = "khach_thue")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class KhachThue {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
     @Column(name = "ho_ten", nullable = false, length = 100)
@@ -52,8 +59,24 @@ public class KhachThue {
     @Column(name = "anh_giay_to", length = 255)
     private String anhGiayTo;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "nguoi_dung_id")
     @JsonAlias("user")
     private NguoiDung nguoiDung;
+
+    public String getAnhChanDungNho() {
+        return BienTheAnh.duongDan(anhChanDung, BienTheAnh.NHO);
+    }
+
+    public String getAnhChanDungXemTruoc() {
+        return BienTheAnh.duongDan(anhChanDung, BienTheAnh.XEM_TRUOC);
+    }
+
+    public String getAnhGiayToNho() {
+        return BienTheAnh.duongDan(anhGiayTo, BienTheAnh.NHO);
+    }
+
+    public String getAnhGiayToXemTruoc() {
+        return BienTheAnh.duongDan(anhGiayTo, BienTheAnh.XEM_TRUOC);
+    }
 }
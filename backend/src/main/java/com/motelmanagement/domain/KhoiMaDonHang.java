@@ -0,0 +1,29 @@
+package com.motelmanagement.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "khoi_ma_don_hang")
+public class KhoiMaDonHang {
+    @Id
+    @Column(name = "ten", length = 40, updatable = false, nullable = false)
+    private String ten;
+
+    @Column(name = "gia_tri_tiep", nullable = false)
+    private long giaTriTiep;
+
+    @Column(name = "cap_nhat_luc")
+    private LocalDateTime capNhatLuc = LocalDateTime.now();
+}
@@ -0,0 +1,109 @@
+package com.motelmanagement.domain;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.usertype.UserType;
+
+
+public class KieuMaNhiPhan implements UserType<String> {
+    public static final int DO_DAI = 16;
+
+    private static final Pattern MAU_UUID = Pattern.compile(
+            "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+    // Không UUID nào được sinh ra có version F, nên chuỗi sai định dạng (vd. /api/phong/abc) chỉ không tìm thấy gì.
+    private static final byte[] KHONG_KHOP = new byte[DO_DAI];
+
+    static {
+        Arrays.fill(KHONG_KHOP, (byte) 0xFF);
+    }
+
+    public static byte[] sangNhiPhan(String ma) {
+        if (ma == null || !MAU_UUID.matcher(ma).matches()) {
+            return KHONG_KHOP.clone();
+        }
+        UUID uuid = UUID.fromString(ma);
+        return ByteBuffer.allocate(DO_DAI)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String tuNhiPhan(byte[] giaTri) {
+        ByteBuffer boDem = ByteBuffer.wrap(giaTri);
+        return new UUID(boDem.getLong(), boDem.getLong()).toString();
+    }
+
+    @Override
+    public int getSqlType() {
+        return Types.BINARY;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        byte[] giaTri = rs.getBytes(position);
+        return giaTri != null ? tuNhiPhan(giaTri) : null;
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.BINARY);
+        } else {
+            st.setBytes(index, sangNhiPhan(value));
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+
+    @Override
+    public long getDefaultSqlLength(Dialect dialect, JdbcType jdbcType) {
+        return DO_DAI;
+    }
+}
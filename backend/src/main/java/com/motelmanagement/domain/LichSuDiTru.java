@@ -0,0 +1,35 @@
+package com.motelmanagement.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "lich_su_di_tru")
+public class LichSuDiTru {
+    @Id
+    @Column(name = "phien_ban", updatable = false, nullable = false)
+    private Integer phienBan;
+
+    @Column(name = "mo_ta", nullable = false, length = 200)
+    private String moTa;
+
+    @Column(name = "tong_kiem", nullable = false, length = 64)
+    private String tongKiem;
+
+    @Column(name = "thoi_gian_chay_ms", nullable = false)
+    private long thoiGianChayMs;
+
+    @Column(name = "ap_dung_luc", nullable = false)
+    private LocalDateTime apDungLuc = LocalDateTime.now();
+}
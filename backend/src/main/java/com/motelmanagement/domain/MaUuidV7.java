@@ -0,0 +1,17 @@
+package com.motelmanagement.domain;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+
+@IdGeneratorType(BoSinhMaUuidV7.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface MaUuidV7 {
+}
@@ -2,10 +2,11 @@ package com.motelmanagement.domain;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -22,11 +23,12 @@ import lombok.Setter;
 @Table(name = "nhat_ky_he_thong")
 public class NhatKyHeThong {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "nguoi_thuc_hien_id")
     private NguoiDung nguoiThucHien;
 
@@ -0,0 +1,44 @@
+package com.motelmanagement.domain;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "su_kien_thanh_toan_payos", indexes = @Index(unique = true, columnList = "ma_don_hang"))
+public class SuKienThanhToanPayOS {
+    @Id
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
+    private String id;
+
+
+    @Column(name = "ma_don_hang", nullable = false)
+    private long maDonHang;
+
+    @Column(name = "hoa_don_id", length = 36)
+    private String maHoaDon;
+
+
+    @Column(name = "nguon", length = 20)
+    private String nguon;
+
+    @Column(name = "thanh_toan_id", length = 36)
+    private String maThanhToan;
+
+    @Column(name = "xu_ly_luc", nullable = false)
+    private LocalDateTime xuLyLuc = LocalDateTime.now();
+}
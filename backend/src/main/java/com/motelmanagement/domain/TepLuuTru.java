@@ -0,0 +1,58 @@
+package com.motelmanagement.domain;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Type;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "tep_luu_tru",
+        indexes = {
+                @Index(name = "idx_tep_luu_tru_ma_bam", columnList = "ma_bam", unique = true),
+                @Index(name = "idx_tep_luu_tru_duong_dan", columnList = "duong_dan")
+        })
+public class TepLuuTru {
+    @Id
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
+    private String id;
+
+
+    @Column(name = "ma_bam", nullable = false, length = 64)
+    private String maBam;
+
+
+    @Column(name = "duong_dan", nullable = false, length = 255)
+    private String duongDan;
+
+    @Column(name = "loai_noi_dung", length = 120)
+    private String loaiNoiDung;
+
+    @Column(name = "kich_thuoc", nullable = false)
+    private long kichThuoc;
+
+
+    @Column(name = "so_tham_chieu", nullable = false)
+    private int soThamChieu;
+
+    @Column(name = "ngay_tao", nullable = false)
+    private LocalDateTime ngayTao = LocalDateTime.now();
+
+
+    @Column(name = "cap_nhat_luc", nullable = false)
+    private LocalDateTime capNhatLuc = LocalDateTime.now();
+}
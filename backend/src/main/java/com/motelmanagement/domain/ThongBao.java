@@ -2,11 +2,16 @@ package com.motelmanagement.domain;
 
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
+
+import com.motelmanagement.service.LangNgheThayDoiThucThe;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,14 +23,21 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "thong_bao")
+@EntityListeners(LangNgheThayDoiThucThe.class)
+@Table(
+        name = "thong_bao",
+        indexes = {
+                @Index(name = "idx_thong_bao_nguoi_dung_da_doc", columnList = "nguoi_dung_id, da_doc"),
+                @Index(name = "idx_thong_bao_nguoi_dung_thoi_gian", columnList = "nguoi_dung_id, thoi_gian_gui")
+        })
 public class ThongBao {
     @Id
-    @UuidGenerator
-    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    @MaUuidV7
+    @Type(KieuMaNhiPhan.class)
+    @Column(name = "id", length = KieuMaNhiPhan.DO_DAI, updatable = false, nullable = false)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "nguoi_dung_id")
     private NguoiDung nguoiDung;
 
@@ -1,8 +1,11 @@
 package com.motelmanagement.domain;
 
+import java.util.Set;
 
 public enum TrangThaiHoaDon {
     UNPAID,
     PARTIAL,
-    PAID
+    PAID;
+
+    public static final Set<TrangThaiHoaDon> CON_NO = Set.of(UNPAID, PARTIAL);
 }
@@ -16,6 +16,8 @@ public class DtoTinNhanChat {
     private LoaiTinNhan loai;
     private String noiDung;
     private String duongDanFile;
+    private String duongDanAnhNho;
+    private String duongDanAnhXemTruoc;
     private String tenFile;
     private Long kichThuocFile;
     private String loaiNoiDungFile;
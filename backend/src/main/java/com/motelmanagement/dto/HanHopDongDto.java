@@ -0,0 +1,20 @@
+package com.motelmanagement.dto;
+
+import java.time.LocalDate;
+
+import com.motelmanagement.domain.TrangThaiHopDong;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class HanHopDongDto {
+    private String id;
+    private String phongId;
+    private LocalDate ngayBatDau;
+    private LocalDate ngayKetThuc;
+    private TrangThaiHopDong trangThai;
+    private LocalDate nhacHetHanChoNgay;
+}
@@ -27,6 +27,8 @@ public class HoaDonResponseDto {
     private BigDecimal tienDien;
     private BigDecimal tienNuoc;
     private BigDecimal tongTien;
+    private BigDecimal daThu;
+    private BigDecimal conLai;
     private TrangThaiHoaDon trangThai;
     private LocalDateTime ngayTao;
 
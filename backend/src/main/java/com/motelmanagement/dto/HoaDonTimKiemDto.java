@@ -0,0 +1,14 @@
+package com.motelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class HoaDonTimKiemDto {
+    private String id;
+    private String phongId;
+    private int thang;
+    private int nam;
+}
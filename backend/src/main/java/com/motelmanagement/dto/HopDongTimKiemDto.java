@@ -0,0 +1,13 @@
+package com.motelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class HopDongTimKiemDto {
+    private String id;
+    private String phongId;
+    private String khachThueId;
+}
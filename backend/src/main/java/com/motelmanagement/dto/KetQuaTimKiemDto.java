@@ -0,0 +1,17 @@
+package com.motelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class KetQuaTimKiemDto {
+    public enum Loai { PHONG, KHU_VUC, KHACH_THUE, HOP_DONG, HOA_DON }
+
+    private Loai loai;
+    private String id;
+    private String tieuDe;
+    private String moTa;
+    private int diem;
+}
@@ -0,0 +1,19 @@
+package com.motelmanagement.dto;
+
+import java.time.LocalDate;
+
+import com.motelmanagement.domain.TrangThaiHopDong;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class KhoangThueDto {
+    private String id;
+    private String phongId;
+    private LocalDate ngayBatDau;
+    private LocalDate ngayKetThuc;
+    private TrangThaiHopDong trangThai;
+}
@@ -0,0 +1,16 @@
+package com.motelmanagement.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class PhongSapTrongDto {
+    private String id;
+    private String maPhong;
+    private String tenKhuVuc;
+    private LocalDate ngayTrong;
+}
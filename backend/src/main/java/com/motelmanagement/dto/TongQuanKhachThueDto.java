@@ -0,0 +1,120 @@
+package com.motelmanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.HopDongThanhVien;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.domain.TrangThaiYeuCauHoTro;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class TongQuanKhachThueDto {
+    private KhachThueTomTatDto khachThue;
+    private List<HopDongTongQuan> hopDong;
+    private List<HoaDonTongQuan> hoaDon;
+    private List<ThanhToanTongQuan> thanhToan;
+    private List<YeuCauTongQuan> yeuCauDangMo;
+    private List<NhacNoTongQuan> nhacNo;
+    private BigDecimal tongConNo;
+
+    @Getter
+    @AllArgsConstructor
+    public static class HopDongTongQuan {
+        private String id;
+        private String phongId;
+        private String maPhong;
+        private String tenKhuVuc;
+        private LocalDate ngayBatDau;
+        private LocalDate ngayKetThuc;
+        private TrangThaiHopDong trangThai;
+        private BigDecimal tienCoc;
+        private BigDecimal tienThue;
+        private boolean laDaiDien;
+        private List<KhachThueTomTatDto> thanhVien;
+
+        public static HopDongTongQuan tu(HopDong h, String khachThueId) {
+            Phong phong = h.getPhong();
+            boolean laDaiDien = h.getKhachThue() != null && khachThueId.equals(h.getKhachThue().getId());
+            List<KhachThueTomTatDto> thanhVien = new ArrayList<>();
+            for (HopDongThanhVien tv : h.getThanhVien()) {
+                thanhVien.add(KhachThueTomTatDto.tu(tv.getKhachThue()));
+                if (tv.isLaDaiDien() && khachThueId.equals(tv.getKhachThue().getId())) {
+                    laDaiDien = true;
+                }
+            }
+            return new HopDongTongQuan(h.getId(), phong != null ? phong.getId() : null,
+                    phong != null ? phong.getMaPhong() : null,
+                    phong != null && phong.getKhuVuc() != null ? phong.getKhuVuc().getTen() : null,
+                    h.getNgayBatDau(), h.getNgayKetThuc(), h.getTrangThai(), h.getTienCoc(), h.getTienThue(),
+                    laDaiDien, thanhVien);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class HoaDonTongQuan {
+        private String id;
+        private String maPhong;
+        private int thang;
+        private int nam;
+        private BigDecimal tongTien;
+        private BigDecimal daThu;
+        private BigDecimal conLai;
+        private TrangThaiHoaDon trangThai;
+
+        public static HoaDonTongQuan tu(HoaDon h) {
+            BigDecimal daThu = h.getDaThu() != null ? h.getDaThu() : BigDecimal.ZERO;
+            BigDecimal conLai = h.getTongTien() != null ? h.getTongTien().subtract(daThu).max(BigDecimal.ZERO) : null;
+            return new HoaDonTongQuan(h.getId(), h.getPhong() != null ? h.getPhong().getMaPhong() : null,
+                    h.getThang(), h.getNam(), h.getTongTien(), daThu, conLai, h.getTrangThai());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ThanhToanTongQuan {
+        private String id;
+        private String hoaDonId;
+        private BigDecimal soTien;
+        private LocalDateTime thoiGianThanhToan;
+        private PhuongThucThanhToan phuongThuc;
+
+        public static ThanhToanTongQuan tu(ThanhToan t) {
+            return new ThanhToanTongQuan(t.getId(), t.getHoaDon() != null ? t.getHoaDon().getId() : null,
+                    t.getSoTien(), t.getThoiGianThanhToan(), t.getPhuongThuc());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class YeuCauTongQuan {
+        private String id;
+        private String tieuDe;
+        private String maPhong;
+        private TrangThaiYeuCauHoTro trangThai;
+        private LocalDateTime ngayTao;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class NhacNoTongQuan {
+        private String id;
+        private String hoaDonId;
+        private LocalDateTime guiLuc;
+        private String emailNguoiNhan;
+    }
+}
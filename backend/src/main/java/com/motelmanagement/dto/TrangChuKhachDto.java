@@ -0,0 +1,40 @@
+package com.motelmanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HoaDonTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HopDongTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.ThanhToanTongQuan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class TrangChuKhachDto {
+    private KhachThueTomTatDto khachThue;
+    private HopDongTongQuan hopDongHienTai;
+    private List<HoaDonTongQuan> hoaDonChuaThanhToan;
+    private BigDecimal tongConNo;
+    private List<ThanhToanTongQuan> thanhToanGanDay;
+    private long soThongBaoChuaDoc;
+    private long soTinNhanChuaDoc;
+    private List<ThongBaoTomTat> thongBaoMoiNhat;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ThongBaoTomTat {
+        private String id;
+        private String noiDung;
+        private boolean daDoc;
+        private LocalDateTime thoiGianGui;
+
+        public static ThongBaoTomTat tu(ThongBao t) {
+            return new ThongBaoTomTat(t.getId(), t.getNoiDung(), t.isDaDoc(), t.getThoiGianGui());
+        }
+    }
+}
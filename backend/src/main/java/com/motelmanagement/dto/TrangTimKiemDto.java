@@ -0,0 +1,16 @@
+package com.motelmanagement.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class TrangTimKiemDto {
+    private List<KetQuaTimKiemDto> ketQua;
+    private long tongSo;
+    private int trang;
+    private int kichThuoc;
+}
@@ -0,0 +1,16 @@
+package com.motelmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class TyLeLapDayDto {
+    private String khuVucId;
+    private String tenKhuVuc;
+    private String thang;
+    private int soPhong;
+    private long soNgayCoNguoi;
+    private double tyLe;
+}
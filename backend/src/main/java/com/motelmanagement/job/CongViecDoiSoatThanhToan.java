@@ -0,0 +1,25 @@
+package com.motelmanagement.job;
+
+import com.motelmanagement.service.ThanhToanService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@RequiredArgsConstructor
+public class CongViecDoiSoatThanhToan {
+    private static final Logger log = LoggerFactory.getLogger(CongViecDoiSoatThanhToan.class);
+
+    private final ThanhToanService thanhToanService;
+
+    @Scheduled(cron = "0 15 3 * * ?")
+    public void doiSoat() {
+        int soSua = thanhToanService.doiSoatDaThu();
+        if (soSua > 0) {
+            log.warn("Payment reconciliation job: corrected paid amount on {} invoice(s)", soSua);
+        }
+    }
+}
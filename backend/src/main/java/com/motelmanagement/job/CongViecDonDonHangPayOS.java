@@ -0,0 +1,25 @@
+package com.motelmanagement.job;
+
+import com.motelmanagement.service.PayOSService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@RequiredArgsConstructor
+public class CongViecDonDonHangPayOS {
+    private static final Logger log = LoggerFactory.getLogger(CongViecDonDonHangPayOS.class);
+
+    private final PayOSService payOSService;
+
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void donDonHang() {
+        int soXoa = payOSService.donDonHangHetHan();
+        if (soXoa > 0) {
+            log.info("PayOS cleanup job: removed {} expired order(s)", soXoa);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.motelmanagement.job;
+
+import com.motelmanagement.service.FileLuuTruService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+
+@Component
+@RequiredArgsConstructor
+public class CongViecDonTepKhongDung {
+    private static final Logger log = LoggerFactory.getLogger(CongViecDonTepKhongDung.class);
+
+    private final FileLuuTruService fileLuuTruService;
+
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void donTep() {
+        int soXoa = fileLuuTruService.donTepKhongConThamChieu(LocalDateTime.now().minusDays(1));
+        if (soXoa > 0) {
+            log.info("File cleanup job: removed {} unreferenced blob(s)", soXoa);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.motelmanagement.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.config.NguonDuLieuDinhTuyen;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.ban-sao", name = "bat", havingValue = "true")
+public class CongViecKiemTraDoTreBanSao {
+    private final NguonDuLieuDinhTuyen nguonDuLieuDinhTuyen;
+
+    @Scheduled(fixedDelayString = "${app.ban-sao.chu-ky-kiem-tra-ms:10000}")
+    public void kiemTra() {
+        nguonDuLieuDinhTuyen.kiemTraDoTre();
+    }
+}
@@ -0,0 +1,20 @@
+package com.motelmanagement.job;
+
+import com.motelmanagement.service.VongDoiHopDongService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+
+@Component
+@RequiredArgsConstructor
+public class CongViecVongDoiHopDong {
+    private final VongDoiHopDongService vongDoiHopDongService;
+
+    @Scheduled(cron = "0 30 0 * * ?")
+    public void xuLyHopDongDenHan() {
+        vongDoiHopDongService.xuLyDenHan(LocalDate.now());
+    }
+}
@@ -0,0 +1,97 @@
+package com.motelmanagement.logging;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BoLocDemCauLenhSql extends OncePerRequestFilter {
+    static final String TEN_CHI_SO = "motel.http.cau.lenh.sql";
+    static final String TEN_CHI_SO_VUOT = "motel.http.cau.lenh.sql.vuot.nguong";
+    public static final String TIEU_DE = "X-So-Cau-Lenh-Sql";
+
+    private static final Logger log = LoggerFactory.getLogger(BoLocDemCauLenhSql.class);
+
+    private final int nganSach;
+    private final int nguongLapLai;
+    private final boolean traTieuDe;
+
+    public BoLocDemCauLenhSql(@Value("${app.cau-lenh-sql.ngan-sach:30}") int nganSach,
+                              @Value("${app.cau-lenh-sql.nguong-lap-lai:10}") int nguongLapLai,
+                              @Value("${app.cau-lenh-sql.tra-tieu-de:false}") boolean traTieuDe) {
+        this.nganSach = nganSach;
+        this.nguongLapLai = nguongLapLai;
+        this.traTieuDe = traTieuDe;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest yeuCau,
+                                    HttpServletResponse phanHoi,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper boDem = traTieuDe ? new ContentCachingResponseWrapper(phanHoi) : null;
+        DemCauLenhSql.batDau();
+        int soCauLenh = 0;
+        try {
+            filterChain.doFilter(yeuCau, boDem != null ? boDem : phanHoi);
+        } finally {
+            DemCauLenhSql.CauLenhLap lap = DemCauLenhSql.lapNhieuNhat();
+            soCauLenh = DemCauLenhSql.ketThuc();
+            Object mau = yeuCau.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = mau != null ? mau.toString() : "UNKNOWN";
+            DistributionSummary.builder(TEN_CHI_SO)
+                    .description("Số câu lệnh SQL Hibernate phát ra trong một request")
+                    .baseUnit("statements")
+                    .tag("method", yeuCau.getMethod())
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(1, 5, 10, 25, 50, 100)
+                    .register(Metrics.globalRegistry)
+                    .record(soCauLenh);
+            kiemTraNguong(yeuCau.getMethod(), uri, soCauLenh, lap);
+        }
+        if (boDem != null) {
+            if (!yeuCau.isAsyncStarted()) {
+                boDem.setHeader(TIEU_DE, String.valueOf(soCauLenh));
+            }
+            boDem.copyBodyToResponse();
+        }
+    }
+
+    private void kiemTraNguong(String method, String uri, int soCauLenh, DemCauLenhSql.CauLenhLap lap) {
+        if (nganSach > 0 && soCauLenh > nganSach) {
+            demVuot(method, uri, "ngan_sach");
+            log.warn("{} {} phát ra {} câu lệnh SQL, vượt ngân sách {}", method, uri, soCauLenh, nganSach);
+        }
+        if (nguongLapLai > 0 && lap != null && lap.soLan() >= nguongLapLai) {
+            demVuot(method, uri, "lap_lai");
+            log.warn("{} {} nghi N+1: câu lệnh lặp {} lần: {}", method, uri, lap.soLan(), lap.sql());
+        }
+    }
+
+    private static void demVuot(String method, String uri, String lyDo) {
+        Counter.builder(TEN_CHI_SO_VUOT)
+                .description("Số request vượt ngân sách câu lệnh SQL hoặc lặp một câu lệnh (nghi N+1)")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("ly_do", lyDo)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,59 @@
+package com.motelmanagement.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+
+public class DemCauLenhSql implements StatementInspector {
+    private static final ThreadLocal<BoDem> DEM = new ThreadLocal<>();
+
+    public record CauLenhLap(String sql, int soLan) {}
+
+    private static final class BoDem {
+        private int tong;
+        private final Map<String, int[]> theoCauLenh = new HashMap<>();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        BoDem dem = DEM.get();
+        if (dem != null) {
+            dem.tong++;
+            dem.theoCauLenh.computeIfAbsent(sql, k -> new int[1])[0]++;
+        }
+        return sql;
+    }
+
+    public static void batDau() {
+        DEM.set(new BoDem());
+    }
+
+    public static int hienTai() {
+        BoDem dem = DEM.get();
+        return dem != null ? dem.tong : 0;
+    }
+
+    public static CauLenhLap lapNhieuNhat() {
+        BoDem dem = DEM.get();
+        if (dem == null) {
+            return null;
+        }
+        String sql = null;
+        int soLan = 0;
+        for (Map.Entry<String, int[]> e : dem.theoCauLenh.entrySet()) {
+            if (e.getValue()[0] > soLan) {
+                sql = e.getKey();
+                soLan = e.getValue()[0];
+            }
+        }
+        return sql != null ? new CauLenhLap(sql, soLan) : null;
+    }
+
+    public static int ketThuc() {
+        int soCauLenh = hienTai();
+        DEM.remove();
+        return soCauLenh;
+    }
+}
@@ -1,17 +1,28 @@
 package com.motelmanagement.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 import com.motelmanagement.domain.BangGiaDichVu;
 
 
 public interface BangGiaDichVuRepository extends JpaRepository<BangGiaDichVu, String> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<BangGiaDichVu> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BangGiaDichVu> findFirstByHieuLucTuLessThanEqualOrderByHieuLucTuDesc(LocalDate date);
 
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BangGiaDichVu> findFirstByOrderByHieuLucTuDesc();
 }
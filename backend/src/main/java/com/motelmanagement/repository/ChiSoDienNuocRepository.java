@@ -1,8 +1,13 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.motelmanagement.domain.ChiSoDienNuoc;
 import com.motelmanagement.domain.Phong;
@@ -12,4 +17,14 @@ public interface ChiSoDienNuocRepository extends JpaRepository<ChiSoDienNuoc, St
     Optional<ChiSoDienNuoc> findByPhongAndThangAndNam(Phong phong, int thang, int nam);
 
     Optional<ChiSoDienNuoc> findByPhong_IdAndThangAndNam(String phongId, int thang, int nam);
+
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc"})
+    @Query("SELECT c FROM ChiSoDienNuoc c")
+    List<ChiSoDienNuoc> findAllKemPhong();
+
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc"})
+    @Query("SELECT c FROM ChiSoDienNuoc c WHERE c.phong.id IN :maPhong AND c.nam * 12 + c.thang BETWEEN :tu AND :den")
+    List<ChiSoDienNuoc> timTheoPhongTrongKhoang(@Param("maPhong") Collection<String> maPhong,
+                                                @Param("tu") int tuKy,
+                                                @Param("den") int denKy);
 }
@@ -1,12 +1,38 @@
 package com.motelmanagement.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.motelmanagement.domain.DonHangPayOS;
 
+import jakarta.persistence.LockModeType;
+
 
 public interface DonHangPayOSRepository extends JpaRepository<DonHangPayOS, String> {
     Optional<DonHangPayOS> findByMaDonHang(long maDonHang);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DonHangPayOS d WHERE d.maDonHang = :maDonHang")
+    Optional<DonHangPayOS> khoaTheoMaDonHang(@Param("maDonHang") long maDonHang);
+
+    Optional<DonHangPayOS> findFirstByMaHoaDonAndSoTienAndHetHanLucAfterOrderByHetHanLucDesc(
+            String maHoaDon, Long soTien, LocalDateTime sau);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DonHangPayOS d SET d.hetHanLuc = :luc WHERE d.maDonHang = :maDonHang "
+            + "AND (d.hetHanLuc IS NULL OR d.hetHanLuc > :luc)")
+    int danhDauHetHan(@Param("maDonHang") long maDonHang, @Param("luc") LocalDateTime luc);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DonHangPayOS d WHERE d.ngayTao < :moc AND (d.hetHanLuc IS NULL OR d.hetHanLuc < :moc)")
+    int xoaHetHanTruoc(@Param("moc") LocalDateTime moc);
 }
@@ -1,5 +1,6 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,5 +10,7 @@ import com.motelmanagement.domain.HoaDonChiTiet;
 public interface HoaDonChiTietRepository extends JpaRepository<HoaDonChiTiet, String> {
     List<HoaDonChiTiet> findByHoaDon_IdOrderByThuTuAsc(String hoaDonId);
 
+    List<HoaDonChiTiet> findByHoaDon_IdInOrderByThuTuAsc(Collection<String> hoaDonIds);
+
     void deleteByHoaDon_Id(String hoaDonId);
 }
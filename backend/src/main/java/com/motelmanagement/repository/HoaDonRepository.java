@@ -1,16 +1,21 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.dto.HoaDonTimKiemDto;
+
+import jakarta.persistence.LockModeType;
 
 
 public interface HoaDonRepository extends JpaRepository<HoaDon, String> {
@@ -18,9 +23,14 @@ public interface HoaDonRepository extends JpaRepository<HoaDon, String> {
     @Query("SELECT h FROM HoaDon h WHERE h.id = :id")
     Optional<HoaDon> timTheoIdCoPhong(@Param("id") String id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM HoaDon h WHERE h.id = :id")
+    Optional<HoaDon> khoaDeCapNhat(@Param("id") String id);
+
     Optional<HoaDon> findByPhong_IdAndThangAndNam(String roomId, int thang, int nam);
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "khachThue", "phong" })
+    @org.springframework.data.jpa.repository.EntityGraph(
+            attributePaths = { "khachThue", "khachThue.nguoiDung", "phong", "phong.khuVuc" })
     @Query("select i from HoaDon i")
     List<HoaDon> findAllWithTenantAndRoom();
 
@@ -31,8 +41,27 @@ public interface HoaDonRepository extends JpaRepository<HoaDon, String> {
 
     List<HoaDon> findByThangAndNam(int thang, int nam);
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "phong", "khachThue", "phong.khuVuc" })
+    @org.springframework.data.jpa.repository.EntityGraph(
+            attributePaths = { "phong", "khachThue", "khachThue.nguoiDung", "phong.khuVuc" })
     @Query("SELECT i FROM HoaDon i WHERE i.trangThai = ?1")
     List<HoaDon> findByTrangThaiWithRoomAndTenant(TrangThaiHoaDon trangThai);
 
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "phong", "khachThue", "phong.khuVuc" })
+    @Query("SELECT i FROM HoaDon i WHERE i.trangThai IN ?1")
+    List<HoaDon> findByTrangThaiInWithRoomAndTenant(Collection<TrangThaiHoaDon> trangThai);
+
+    @Query("SELECT h.id FROM HoaDon h WHERE COALESCE(h.daThu, 0) <> "
+            + "(SELECT COALESCE(SUM(t.soTien), 0) FROM ThanhToan t WHERE t.hoaDon = h)")
+    List<String> timLechDaThu();
+
+    @Query("SELECT new com.motelmanagement.dto.HoaDonTimKiemDto(h.id, h.phong.id, h.thang, h.nam) "
+            + "FROM HoaDon h")
+    List<HoaDonTimKiemDto> layTomTatTimKiem();
+
+    @EntityGraph(attributePaths = {"phong"})
+    List<HoaDon> findByKhachThue_IdOrderByNamDescThangDesc(String khachThueId);
+
+    @EntityGraph(attributePaths = {"phong"})
+    List<HoaDon> findByKhachThue_IdAndTrangThaiInOrderByNamDescThangDesc(String khachThueId,
+                                                                       Collection<TrangThaiHoaDon> trangThai);
 }
@@ -1,27 +1,46 @@
 package com.motelmanagement.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.motelmanagement.domain.HopDong;
 import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.HanHopDongDto;
+import com.motelmanagement.dto.HopDongTimKiemDto;
+import com.motelmanagement.dto.KhoangThueDto;
 
 
 public interface HopDongRepository extends JpaRepository<HopDong, String> {
+    @Override
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc", "khachThue", "thanhVien", "thanhVien.khachThue"})
+    List<HopDong> findAll();
+
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc", "khachThue", "thanhVien", "thanhVien.khachThue"})
+    @Query("SELECT h FROM HopDong h WHERE h.id = :id")
+    Optional<HopDong> timChiTiet(@Param("id") String id);
+
     @EntityGraph(attributePaths = {"khachThue", "thanhVien", "thanhVien.khachThue"})
     Optional<HopDong> findByPhong_IdAndTrangThai(String phongId, TrangThaiHopDong trangThai);
 
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc", "khachThue", "khachThue.nguoiDung", "thanhVien",
+            "thanhVien.khachThue", "thanhVien.khachThue.nguoiDung"})
+    List<HopDong> findByPhong_IdInAndTrangThai(Collection<String> phongIds, TrangThaiHopDong trangThai);
+
     List<HopDong> findByTrangThai(TrangThaiHopDong trangThai);
 
     List<HopDong> findByKhachThue_Id(String tenantId);
 
     long countByPhong_KhuVuc_IdAndTrangThai(String areaId, TrangThaiHopDong trangThai);
 
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc", "khachThue", "thanhVien", "thanhVien.khachThue"})
     @Query(
             "SELECT DISTINCT h FROM HopDong h LEFT JOIN h.thanhVien tv "
                     + "WHERE h.khachThue.id = :kid OR tv.khachThue.id = :kid")
@@ -33,6 +52,13 @@ public interface HopDongRepository extends JpaRepository<HopDong, String> {
                     + "WHERE h.khachThue.id = :kid OR tv.khachThue.id = :kid")
     List<HopDong> findThuocKhachThueCoPhong(@Param("kid") String kid);
 
+    @EntityGraph(attributePaths = {"phong", "phong.khuVuc", "khachThue", "thanhVien", "thanhVien.khachThue"})
+    @Query(
+            "SELECT DISTINCT h FROM HopDong h LEFT JOIN h.thanhVien tv WHERE h.trangThai = :tt "
+                    + "AND (h.khachThue.id IN :kids OR tv.khachThue.id IN :kids)")
+    List<HopDong> timTheoTrangThaiThuocKhachThue(@Param("kids") Collection<String> kids,
+                                                  @Param("tt") TrangThaiHopDong tt);
+
     @Query(
             "SELECT CASE WHEN COUNT(h) > 0 THEN true ELSE false END FROM HopDong h LEFT JOIN h.thanhVien tv "
                     + "WHERE h.id = :hid AND (h.khachThue.id = :kid OR tv.khachThue.id = :kid)")
@@ -42,4 +68,34 @@ public interface HopDongRepository extends JpaRepository<HopDong, String> {
             "SELECT COUNT(DISTINCT h.id) FROM HopDong h LEFT JOIN h.thanhVien tv "
                     + "WHERE h.trangThai = :tt AND (h.khachThue.id = :tid OR tv.khachThue.id = :tid)")
     long demHopDongActiveCoKhach(@Param("tid") String tid, @Param("tt") TrangThaiHopDong tt);
+
+    @Query("SELECT new com.motelmanagement.dto.HopDongTimKiemDto(h.id, h.phong.id, h.khachThue.id) "
+            + "FROM HopDong h")
+    List<HopDongTimKiemDto> layTomTatTimKiem();
+
+    @Query("SELECT new com.motelmanagement.dto.KhoangThueDto(h.id, h.phong.id, h.ngayBatDau, h.ngayKetThuc, "
+            + "h.trangThai) FROM HopDong h")
+    List<KhoangThueDto> layKhoangThue();
+
+    @Query("SELECT new com.motelmanagement.dto.HanHopDongDto(h.id, h.phong.id, h.ngayBatDau, h.ngayKetThuc, "
+            + "h.trangThai, h.nhacHetHanChoNgay) FROM HopDong h "
+            + "WHERE h.trangThai = com.motelmanagement.domain.TrangThaiHopDong.ACTIVE AND h.ngayKetThuc IS NOT NULL")
+    List<HanHopDongDto> layHanConHieuLuc();
+
+    @Query("SELECT new com.motelmanagement.dto.HanHopDongDto(h.id, h.phong.id, h.ngayBatDau, h.ngayKetThuc, "
+            + "h.trangThai, h.nhacHetHanChoNgay) FROM HopDong h WHERE h.id IN :ids")
+    List<HanHopDongDto> layHanTheoMa(@Param("ids") Collection<String> ids);
+
+    @EntityGraph(attributePaths = {"phong", "khachThue", "khachThue.nguoiDung"})
+    List<HopDong> findByIdIn(Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE HopDong h SET h.nhacHetHanChoNgay = h.ngayKetThuc WHERE h.id IN :ids")
+    int danhDauDaNhacHetHan(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE HopDong h SET h.trangThai = com.motelmanagement.domain.TrangThaiHopDong.ENDED "
+            + "WHERE h.id IN :ids AND h.trangThai = com.motelmanagement.domain.TrangThaiHopDong.ACTIVE "
+            + "AND h.ngayKetThuc < :homNay")
+    int ketThucHetHan(@Param("ids") Collection<String> ids, @Param("homNay") LocalDate homNay);
 }
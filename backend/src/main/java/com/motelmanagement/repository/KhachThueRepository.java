@@ -1,17 +1,31 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.motelmanagement.domain.KhachThue;
 
 
 public interface KhachThueRepository extends JpaRepository<KhachThue, String> {
+    @Override
+    @EntityGraph(attributePaths = {"nguoiDung"})
+    List<KhachThue> findAll();
+
+    @EntityGraph(attributePaths = {"nguoiDung"})
     List<KhachThue> findByHoTenContainingIgnoreCase(String keyword);
 
+    @EntityGraph(attributePaths = {"nguoiDung"})
     KhachThue findByNguoiDung_Id(String nguoiDungId);
 
+    @EntityGraph(attributePaths = {"nguoiDung"})
+    List<KhachThue> findByNguoiDung_IdIn(Collection<String> nguoiDungIds);
+
 
     List<KhachThue> findByNguoiDungIsNull();
+
+    @EntityGraph(attributePaths = {"nguoiDung"})
+    List<KhachThue> findByIdIn(Collection<String> ids);
 }
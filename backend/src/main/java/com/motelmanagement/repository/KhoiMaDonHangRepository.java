@@ -0,0 +1,27 @@
+package com.motelmanagement.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.motelmanagement.domain.KhoiMaDonHang;
+
+import jakarta.persistence.LockModeType;
+
+
+public interface KhoiMaDonHangRepository extends JpaRepository<KhoiMaDonHang, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT k FROM KhoiMaDonHang k WHERE k.ten = :ten")
+    Optional<KhoiMaDonHang> khoaTheoTen(@Param("ten") String ten);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO khoi_ma_don_hang (ten, gia_tri_tiep, cap_nhat_luc) "
+            + "VALUES (:ten, :giaTri, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int themMoi(@Param("ten") String ten, @Param("giaTri") long giaTri);
+}
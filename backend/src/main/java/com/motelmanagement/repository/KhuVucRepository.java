@@ -1,9 +1,30 @@
 package com.motelmanagement.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.AreaWithRoomCountDto;
 
 
 public interface KhuVucRepository extends JpaRepository<KhuVuc, String> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<KhuVuc> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.motelmanagement.dto.AreaWithRoomCountDto(k.id, k.ten, k.diaChi, k.moTa, "
+            + "(SELECT COUNT(p) FROM Phong p WHERE p.khuVuc = k), "
+            + "CASE WHEN EXISTS (SELECT 1 FROM HopDong h WHERE h.phong.khuVuc = k AND h.trangThai = :tt) "
+            + "THEN false ELSE true END) FROM KhuVuc k")
+    List<AreaWithRoomCountDto> layDanhSachKemSoPhong(@Param("tt") TrangThaiHopDong trangThaiChanXoa);
 }
@@ -0,0 +1,14 @@
+package com.motelmanagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.motelmanagement.domain.LichSuDiTru;
+
+
+public interface LichSuDiTruRepository extends JpaRepository<LichSuDiTru, Integer> {
+    @Transactional
+    List<LichSuDiTru> findAllByOrderByPhienBanAsc();
+}
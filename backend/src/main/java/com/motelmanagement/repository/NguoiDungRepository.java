@@ -4,18 +4,28 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.VaiTro;
 
 
 public interface NguoiDungRepository extends JpaRepository<NguoiDung, String> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<NguoiDung> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<NguoiDung> findByTenDangNhap(String tenDangNhap);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<NguoiDung> findByVaiTroIn(Collection<VaiTro> vaiTro);
 
     List<NguoiDung> findByKichHoatTrueAndIdNot(String id);
@@ -1,5 +1,7 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,4 +14,6 @@ public interface NhacNoHoaDonEmailRepository extends JpaRepository<NhacNoHoaDonE
     long countByHoaDon_Id(String hoaDonId);
 
     Optional<NhacNoHoaDonEmail> findTopByHoaDon_IdOrderByGuiLucDesc(String hoaDonId);
+
+    List<NhacNoHoaDonEmail> findByHoaDon_IdIn(Collection<String> hoaDonIds);
 }
@@ -1,9 +1,15 @@
 package com.motelmanagement.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.motelmanagement.domain.NhatKyHeThong;
 
 
 public interface NhatKyHeThongRepository extends JpaRepository<NhatKyHeThong, String> {
+    @Override
+    @EntityGraph(attributePaths = {"nguoiThucHien"})
+    List<NhatKyHeThong> findAll();
 }
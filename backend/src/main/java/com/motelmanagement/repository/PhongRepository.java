@@ -1,18 +1,31 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import com.motelmanagement.domain.Phong;
 import com.motelmanagement.domain.TrangThaiHopDong;
 import com.motelmanagement.domain.TrangThaiPhong;
 
 
 public interface PhongRepository extends JpaRepository<Phong, String> {
+    @Override
+    @EntityGraph(attributePaths = {"khuVuc"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Phong> findAll();
+
+    @EntityGraph(attributePaths = {"khuVuc"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Phong> findByTrangThai(TrangThaiPhong trangThai);
 
     long countByKhuVuc_Id(String areaId);
@@ -21,4 +34,11 @@ public interface PhongRepository extends JpaRepository<Phong, String> {
     @EntityGraph(attributePaths = {"khuVuc"})
     @Query("SELECT DISTINCT p FROM HopDong h JOIN h.phong p WHERE h.trangThai = :tt")
     List<Phong> findDistinctByHopDong_TrangThai(@Param("tt") TrangThaiHopDong tt);
+
+    @Modifying
+    @Query("UPDATE Phong p SET p.trangThai = com.motelmanagement.domain.TrangThaiPhong.AVAILABLE "
+            + "WHERE p.id IN :ids AND p.trangThai = com.motelmanagement.domain.TrangThaiPhong.OCCUPIED "
+            + "AND NOT EXISTS (SELECT h.id FROM HopDong h WHERE h.phong = p "
+            + "AND h.trangThai = com.motelmanagement.domain.TrangThaiHopDong.ACTIVE)")
+    int traPhongKhongConHopDong(@Param("ids") Collection<String> ids);
 }
@@ -0,0 +1,10 @@
+package com.motelmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.motelmanagement.domain.SuKienThanhToanPayOS;
+
+
+public interface SuKienThanhToanPayOSRepository extends JpaRepository<SuKienThanhToanPayOS, String> {
+    boolean existsByMaDonHang(long maDonHang);
+}
@@ -0,0 +1,34 @@
+package com.motelmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.motelmanagement.domain.TepLuuTru;
+
+
+public interface TepLuuTruRepository extends JpaRepository<TepLuuTru, String> {
+
+    Optional<TepLuuTru> findByMaBam(String maBam);
+
+    List<TepLuuTru> findBySoThamChieuLessThanEqualAndCapNhatLucBefore(int soThamChieu, LocalDateTime moc);
+
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TepLuuTru t SET t.soThamChieu = t.soThamChieu + 1, t.capNhatLuc = :luc WHERE t.maBam = :maBam")
+    int tangThamChieu(@Param("maBam") String maBam, @Param("luc") LocalDateTime luc);
+
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TepLuuTru t SET t.soThamChieu = t.soThamChieu - 1, t.capNhatLuc = :luc "
+            + "WHERE t.duongDan = :duongDan AND t.soThamChieu > 0")
+    int giamThamChieu(@Param("duongDan") String duongDan, @Param("luc") LocalDateTime luc);
+}
@@ -1,9 +1,12 @@
 package com.motelmanagement.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,8 +15,13 @@ import com.motelmanagement.domain.ThanhToan;
 
 
 public interface ThanhToanRepository extends JpaRepository<ThanhToan, String> {
+    @EntityGraph(attributePaths = {"hoaDon", "hoaDon.phong"})
     List<ThanhToan> findByHoaDon_Id(String invoiceId);
 
+    @Query("SELECT COALESCE(SUM(t.soTien), 0) FROM ThanhToan t WHERE t.hoaDon.id = :maHoaDon")
+    BigDecimal tongTheoHoaDon(@Param("maHoaDon") String maHoaDon);
+
+    @EntityGraph(attributePaths = {"hoaDon", "hoaDon.phong"})
     List<ThanhToan> findByHoaDon_KhachThue_IdOrderByThoiGianThanhToanDesc(String tenantId, Pageable pageable);
 
     @Query("SELECT t FROM ThanhToan t JOIN FETCH t.hoaDon h LEFT JOIN FETCH h.phong LEFT JOIN FETCH h.khachThue "
@@ -22,4 +30,6 @@ public interface ThanhToanRepository extends JpaRepository<ThanhToan, String> {
     List<ThanhToan> findTrongKhoangThoiGian(
             @Param("tu") LocalDateTime tu,
             @Param("den") LocalDateTime den);
+
+    List<ThanhToan> findByHoaDon_IdInOrderByThoiGianThanhToanDesc(Collection<String> hoaDonIds);
 }
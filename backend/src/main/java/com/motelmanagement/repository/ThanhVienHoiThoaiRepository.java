@@ -3,6 +3,7 @@ package com.motelmanagement.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,10 @@ public interface ThanhVienHoiThoaiRepository extends JpaRepository<ThanhVienHoiT
 
     List<ThanhVienHoiThoai> findByNguoiDungId(String nguoiDungId);
 
+    @Query("SELECT tv.hoiThoai.id FROM ThanhVienHoiThoai tv WHERE tv.nguoiDung.id = :uid")
+    List<String> layMaHoiThoaiCuaNguoiDung(@Param("uid") String nguoiDungId);
+
+    @EntityGraph(attributePaths = {"nguoiDung"})
     List<ThanhVienHoiThoai> findByHoiThoaiId(String hoiThoaiId);
 
     @Query("SELECT tv FROM ThanhVienHoiThoai tv JOIN FETCH tv.hoiThoai h JOIN FETCH tv.nguoiDung "
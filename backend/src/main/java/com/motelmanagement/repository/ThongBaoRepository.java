@@ -1,17 +1,46 @@
 package com.motelmanagement.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.ThongBao;
 
 
 public interface ThongBaoRepository extends JpaRepository<ThongBao, String> {
 
-    List<ThongBao> findByNguoiDungOrderByThoiGianGuiDesc(NguoiDung nguoiDung);
-
-
-    List<ThongBao> findAllByOrderByThoiGianGuiDesc();
+    @Query("SELECT t FROM ThongBao t JOIN FETCH t.nguoiDung WHERE t.nguoiDung.id = :uid "
+            + "ORDER BY t.thoiGianGui DESC, t.id DESC")
+    List<ThongBao> layTrangDauCuaNguoiDung(@Param("uid") String nguoiDungId, Pageable pageable);
+
+    @Query("SELECT t FROM ThongBao t JOIN FETCH t.nguoiDung WHERE t.nguoiDung.id = :uid "
+            + "AND (t.thoiGianGui < :moc OR (t.thoiGianGui = :moc AND t.id < :mocId)) "
+            + "ORDER BY t.thoiGianGui DESC, t.id DESC")
+    List<ThongBao> layTrangTiepCuaNguoiDung(
+            @Param("uid") String nguoiDungId,
+            @Param("moc") LocalDateTime moc,
+            @Param("mocId") String mocId,
+            Pageable pageable);
+
+    @Query("SELECT t FROM ThongBao t LEFT JOIN FETCH t.nguoiDung ORDER BY t.thoiGianGui DESC, t.id DESC")
+    List<ThongBao> layTrangDau(Pageable pageable);
+
+    @Query("SELECT t FROM ThongBao t LEFT JOIN FETCH t.nguoiDung "
+            + "WHERE t.thoiGianGui < :moc OR (t.thoiGianGui = :moc AND t.id < :mocId) "
+            + "ORDER BY t.thoiGianGui DESC, t.id DESC")
+    List<ThongBao> layTrangTiep(
+            @Param("moc") LocalDateTime moc,
+            @Param("mocId") String mocId,
+            Pageable pageable);
+
+    long countByNguoiDung_IdAndDaDocFalse(String nguoiDungId);
+
+    @Modifying
+    @Query("UPDATE ThongBao t SET t.daDoc = true WHERE t.nguoiDung.id = :uid AND t.daDoc = false")
+    int danhDauDaDocTatCaCuaNguoiDung(@Param("uid") String nguoiDungId);
 }
@@ -1,5 +1,6 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,22 +13,27 @@ import com.motelmanagement.domain.TinNhan;
 public interface TinNhanRepository extends JpaRepository<TinNhan, String> {
 
     @Query("SELECT t FROM TinNhan t JOIN FETCH t.nguoiGui LEFT JOIN FETCH t.nguoiNhan "
-            + "LEFT JOIN FETCH t.phong "
+            + "LEFT JOIN FETCH t.hoiThoai LEFT JOIN FETCH t.phong p LEFT JOIN FETCH p.khuVuc "
             + "WHERE t.hoiThoai.id = :hid ORDER BY t.thoiGianGui ASC")
     List<TinNhan> findByHoiThoaiId(@Param("hid") String hoiThoaiId);
 
     @Query("SELECT t FROM TinNhan t JOIN FETCH t.nguoiGui LEFT JOIN FETCH t.nguoiNhan "
-            + "LEFT JOIN FETCH t.phong "
+            + "LEFT JOIN FETCH t.hoiThoai LEFT JOIN FETCH t.phong p LEFT JOIN FETCH p.khuVuc "
             + "WHERE t.nguoiGui.id = :uid OR t.nguoiNhan.id = :uid "
             + "ORDER BY t.thoiGianGui ASC")
     List<TinNhan> findHoiThoaiCuaNguoiDung(@Param("uid") String nguoiDungId);
 
     @Query("SELECT t FROM TinNhan t JOIN FETCH t.nguoiGui LEFT JOIN FETCH t.nguoiNhan "
-            + "LEFT JOIN FETCH t.phong ORDER BY t.thoiGianGui ASC")
+            + "LEFT JOIN FETCH t.hoiThoai LEFT JOIN FETCH t.phong p LEFT JOIN FETCH p.khuVuc "
+            + "ORDER BY t.thoiGianGui ASC")
     List<TinNhan> findTatCaChoNhanVien();
 
     @Query("SELECT t FROM TinNhan t WHERE t.hoiThoai.id = :hid ORDER BY t.thoiGianGui DESC")
     List<TinNhan> findTopByHoiThoai(@Param("hid") String hoiThoaiId);
 
     Optional<TinNhan> findFirstByHoiThoaiIdOrderByThoiGianGuiDesc(String hoiThoaiId);
+
+    @Query("SELECT COUNT(t) FROM TinNhan t WHERE t.hoiThoai.id IN :hids AND t.daDoc = false "
+            + "AND t.nguoiGui.id <> :uid")
+    long demChuaDocTrongHoiThoai(@Param("hids") Collection<String> hoiThoaiIds, @Param("uid") String nguoiDungId);
 }
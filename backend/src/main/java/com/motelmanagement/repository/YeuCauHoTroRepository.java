@@ -1,12 +1,24 @@
 package com.motelmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.motelmanagement.domain.TrangThaiYeuCauHoTro;
 import com.motelmanagement.domain.YeuCauHoTro;
 
 
 public interface YeuCauHoTroRepository extends JpaRepository<YeuCauHoTro, String> {
+    @Override
+    @EntityGraph(attributePaths = {"khachThue", "phong"})
+    List<YeuCauHoTro> findAll();
+
+    @EntityGraph(attributePaths = {"khachThue", "phong"})
     List<YeuCauHoTro> findByKhachThue_IdOrderByNgayTaoDesc(String khachThueId);
+
+    @EntityGraph(attributePaths = {"phong"})
+    List<YeuCauHoTro> findByKhachThue_IdAndTrangThaiInOrderByNgayTaoDesc(String khachThueId,
+                                                                         Collection<TrangThaiYeuCauHoTro> trangThai);
 }
@@ -67,6 +67,8 @@ public class CauHinhBaoMat {
                         .requestMatchers("/api/thanh-toan/payos/webhook").permitAll()
                         .requestMatchers("/api/thanh-toan/payos/xac-nhan-tra-ve").permitAll()
                         .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(boLocJwt, UsernamePasswordAuthenticationFilter.class);
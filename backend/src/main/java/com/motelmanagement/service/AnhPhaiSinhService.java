@@ -0,0 +1,203 @@
+package com.motelmanagement.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.motelmanagement.util.BienTheAnh;
+
+import jakarta.annotation.PreDestroy;
+
+
+@Service
+public class AnhPhaiSinhService {
+    private static final Logger log = LoggerFactory.getLogger(AnhPhaiSinhService.class);
+
+    private static final String TIEN_TO_URL = "/tenant-files/";
+    private static final int CANH_NHO = 240;
+    private static final int CANH_XEM_TRUOC = 1024;
+    private static final float CHAT_LUONG_JPEG = 0.8f;
+
+    private final ThreadPoolExecutor boThucThi;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    // Ảnh 5MB nén tốt vẫn có thể bung ra hàng GB khi giải mã, nên giới hạn theo số điểm ảnh chứ không theo dung lượng.
+    @Value("${app.upload.anh.so-diem-toi-da:40000000}")
+    private long soDiemAnhToiDa;
+
+    public AnhPhaiSinhService(
+            @Value("${app.upload.anh.so-luong:2}") int soLuong,
+            @Value("${app.upload.anh.hang-doi:200}") int hangDoi) {
+        AtomicInteger dem = new AtomicInteger();
+        this.boThucThi = new ThreadPoolExecutor(
+                soLuong, soLuong, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(hangDoi),
+                r -> {
+                    Thread t = new Thread(r, "anh-phai-sinh-" + dem.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.boThucThi.allowCoreThreadTimeOut(true);
+    }
+
+    public void lenLich(String duongDan) {
+        if (!BienTheAnh.laAnhBlob(duongDan)) {
+            return;
+        }
+        try {
+            boThucThi.execute(() -> sinhBienThe(duongDan));
+        } catch (RejectedExecutionException e) {
+            log.warn("Hàng đợi sinh ảnh đầy, {} sẽ được sinh khi có yêu cầu đầu tiên", duongDan);
+        }
+    }
+
+    public void sinhBienThe(String duongDan) {
+        if (!BienTheAnh.laAnhBlob(duongDan)) {
+            return;
+        }
+        Path thuMucGoc = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path goc = thuMucGoc.resolve(duongDan.substring(TIEN_TO_URL.length())).normalize();
+        Path nho = thuMucGoc.resolve(BienTheAnh.duongDan(duongDan, BienTheAnh.NHO).substring(TIEN_TO_URL.length()));
+        Path xemTruoc = thuMucGoc.resolve(
+                BienTheAnh.duongDan(duongDan, BienTheAnh.XEM_TRUOC).substring(TIEN_TO_URL.length()));
+        if (!goc.startsWith(thuMucGoc) || !Files.exists(goc) || (Files.exists(nho) && Files.exists(xemTruoc))) {
+            return;
+        }
+        try {
+            String dinhDang = layDinhDang(goc);
+            BufferedImage anh = dinhDang != null ? docAnh(goc) : null;
+            if (dinhDang != null && anh == null) {
+                return;
+            }
+            ghiBienThe(goc, anh, dinhDang, CANH_NHO, nho);
+            ghiBienThe(goc, anh, dinhDang, CANH_XEM_TRUOC, xemTruoc);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Không sinh được ảnh thu nhỏ cho {}: {}", duongDan, e.getMessage());
+        }
+    }
+
+    // Đọc kích thước từ phần đầu tệp rồi mới giải mã, trả null nếu ảnh vượt giới hạn.
+    private BufferedImage docAnh(Path goc) throws IOException {
+        try (ImageInputStream luong = ImageIO.createImageInputStream(goc.toFile())) {
+            Iterator<ImageReader> ds = luong != null ? ImageIO.getImageReaders(luong) : null;
+            if (ds == null || !ds.hasNext()) {
+                throw new IOException("Không có bộ đọc cho " + goc.getFileName());
+            }
+            ImageReader reader = ds.next();
+            try {
+                reader.setInput(luong, true, true);
+                long soDiem = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (soDiem > soDiemAnhToiDa) {
+                    log.warn("Bỏ qua ảnh {} vì quá lớn ({}x{})", goc.getFileName(), reader.getWidth(0),
+                            reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void dong() {
+        boThucThi.shutdownNow();
+    }
+
+    private static void ghiBienThe(Path goc, BufferedImage anh, String dinhDang, int canhToiDa, Path dich)
+            throws IOException {
+        if (Files.exists(dich)) {
+            return;
+        }
+        // Tệp tạm riêng cho mỗi lần ghi: bộ sinh nền và yêu cầu HTTP có thể cùng sinh một biến thể.
+        Path tam = Files.createTempFile(dich.getParent(), dich.getFileName().toString(), ".part");
+        try {
+            if (anh == null || Math.max(anh.getWidth(), anh.getHeight()) <= canhToiDa) {
+                Files.copy(goc, tam, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                BufferedImage thuNho = thuNho(anh, canhToiDa, "jpeg".equals(dinhDang));
+                try (OutputStream out = Files.newOutputStream(tam)) {
+                    ghiAnh(thuNho, dinhDang, out);
+                }
+            }
+            Files.move(tam, dich, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tam);
+        }
+    }
+
+    private static BufferedImage thuNho(BufferedImage anh, int canhToiDa, boolean boKenhAlpha) {
+        double tiLe = (double) canhToiDa / Math.max(anh.getWidth(), anh.getHeight());
+        int rong = Math.max(1, (int) Math.round(anh.getWidth() * tiLe));
+        int cao = Math.max(1, (int) Math.round(anh.getHeight() * tiLe));
+        BufferedImage ketQua = new BufferedImage(
+                rong, cao, boKenhAlpha ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = ketQua.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(anh, 0, 0, rong, cao, null);
+        } finally {
+            g.dispose();
+        }
+        return ketQua;
+    }
+
+    private static void ghiAnh(BufferedImage anh, String dinhDang, OutputStream out) throws IOException {
+        Iterator<ImageWriter> ds = ImageIO.getImageWritersByFormatName(dinhDang);
+        if (!ds.hasNext()) {
+            throw new IOException("Không có bộ ghi cho định dạng " + dinhDang);
+        }
+        ImageWriter writer = ds.next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam thamSo = writer.getDefaultWriteParam();
+            if ("jpeg".equals(dinhDang)) {
+                thamSo.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                thamSo.setCompressionQuality(CHAT_LUONG_JPEG);
+            }
+            writer.write(null, new IIOImage(anh, null, null), thamSo);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String layDinhDang(Path goc) {
+        String ten = goc.getFileName().toString().toLowerCase(Locale.ROOT);
+        String duoi = ten.substring(ten.lastIndexOf('.') + 1);
+        return switch (duoi) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.motelmanagement.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+// Bộ nhớ đệm LRU; mỗi mục nhớ mã các bản ghi đã dùng để dựng nó, ghi vào bản ghi nào thì hủy đúng các mục đó.
+public final class BoNhoDemPhuThuoc<V> {
+    private record Muc<V>(V giaTri, Set<String> phuThuoc) {}
+
+    private final int soMucToiDa;
+    private final Map<String, Muc<V>> theoKhoa = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> khoaTheoPhuThuoc = new HashMap<>();
+    private long phienBan;
+
+    public BoNhoDemPhuThuoc(int soMucToiDa) {
+        this.soMucToiDa = soMucToiDa;
+    }
+
+    public synchronized V lay(String khoa) {
+        Muc<V> muc = theoKhoa.get(khoa);
+        return muc != null ? muc.giaTri() : null;
+    }
+
+    // Đọc trước khi truy vấn CSDL rồi truyền lại cho ghi().
+    public synchronized long phienBan() {
+        return phienBan;
+    }
+
+    // Có lệnh hủy chen vào giữa lúc đọc và lúc ghi thì bỏ qua, tránh giữ dữ liệu cũ.
+    public synchronized boolean ghi(String khoa, V giaTri, Set<String> phuThuoc, long phienBanLucDoc) {
+        if (phienBan != phienBanLucDoc) {
+            return false;
+        }
+        boKhoa(khoa);
+        Set<String> ds = Set.copyOf(phuThuoc);
+        theoKhoa.put(khoa, new Muc<>(giaTri, ds));
+        for (String ma : ds) {
+            khoaTheoPhuThuoc.computeIfAbsent(ma, k -> new HashSet<>()).add(khoa);
+        }
+        if (theoKhoa.size() > soMucToiDa) {
+            boKhoa(theoKhoa.keySet().iterator().next());
+        }
+        return true;
+    }
+
+    public synchronized void huy(Collection<String> dsMa) {
+        phienBan++;
+        for (String ma : dsMa) {
+            Set<String> dsKhoa = khoaTheoPhuThuoc.get(ma);
+            if (dsKhoa != null) {
+                for (String khoa : List.copyOf(dsKhoa)) {
+                    boKhoa(khoa);
+                }
+            }
+        }
+    }
+
+    public synchronized void xoaTatCa() {
+        phienBan++;
+        theoKhoa.clear();
+        khoaTheoPhuThuoc.clear();
+    }
+
+    public synchronized int soMuc() {
+        return theoKhoa.size();
+    }
+
+    private void boKhoa(String khoa) {
+        Muc<V> cu = theoKhoa.remove(khoa);
+        if (cu == null) {
+            return;
+        }
+        for (String ma : cu.phuThuoc()) {
+            khoaTheoPhuThuoc.computeIfPresent(ma, (k, ds) -> {
+                ds.remove(khoa);
+                return ds.isEmpty() ? null : ds;
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.motelmanagement.service;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.Phong;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+
+@Service
+@RequiredArgsConstructor
+public class BoNhoDemThamChieuService {
+    public static final List<Class<?>> LOAI_THAM_CHIEU = List.of(
+            KhuVuc.class, Phong.class, BangGiaDichVu.class, NguoiDung.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void xoa(Class<?> loai, String ma) {
+        entityManagerFactory.getCache().evict(loai, ma);
+        xoaTruyVan();
+    }
+
+    public void xoaTruyVan() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    public void xoaTatCa() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
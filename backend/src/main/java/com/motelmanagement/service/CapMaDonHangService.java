@@ -0,0 +1,109 @@
+package com.motelmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.motelmanagement.config.ThuocTinhPayOS;
+import com.motelmanagement.domain.KhoiMaDonHang;
+import com.motelmanagement.repository.KhoiMaDonHangRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+public class CapMaDonHangService {
+    static final String TEN_CHUOI = "payos-order-code";
+    private static final long MA_TOI_DA = 9_007_199_254_740_991L;
+
+    private final KhoiMaDonHangRepository khoiMaDonHangRepository;
+    private final ThuocTinhPayOS thuocTinhPayOS;
+    private final TransactionTemplate giaoDichRieng;
+
+    private final ReentrantLock khoaNap = new ReentrantLock();
+    private volatile Khoi khoiHienTai = new Khoi(0, 0);
+
+    public CapMaDonHangService(
+            KhoiMaDonHangRepository khoiMaDonHangRepository,
+            ThuocTinhPayOS thuocTinhPayOS,
+            PlatformTransactionManager transactionManager) {
+        this.khoiMaDonHangRepository = khoiMaDonHangRepository;
+        this.thuocTinhPayOS = thuocTinhPayOS;
+        this.giaoDichRieng = new TransactionTemplate(transactionManager);
+        this.giaoDichRieng.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+
+    public long capMa() {
+        while (true) {
+            Khoi khoi = khoiHienTai;
+            long ma = khoi.tiep.getAndIncrement();
+            if (ma < khoi.het) {
+                return ma;
+            }
+            napKhoiMoi(khoi);
+        }
+    }
+
+    private void napKhoiMoi(Khoi daHet) {
+        khoaNap.lock();
+        try {
+            if (khoiHienTai != daHet) {
+                return;
+            }
+            int kichThuoc = Math.max(1, thuocTinhPayOS.getOrderCodeBlockSize());
+            long dau = datTruocKhoi(kichThuoc);
+            khoiHienTai = new Khoi(dau, dau + kichThuoc);
+            log.debug("PayOS: đặt trước mã đơn hàng [{}, {})", dau, dau + kichThuoc);
+        } finally {
+            khoaNap.unlock();
+        }
+    }
+
+    private long datTruocKhoi(int kichThuoc) {
+        Long dau = giaoDichRieng.execute(s -> khoiMaDonHangRepository.khoaTheoTen(TEN_CHUOI)
+                .map(k -> tangKhoi(k, kichThuoc))
+                .orElse(null));
+        if (dau != null) {
+            return dau;
+        }
+        try {
+            giaoDichRieng.executeWithoutResult(s ->
+                    khoiMaDonHangRepository.themMoi(TEN_CHUOI, thuocTinhPayOS.getOrderCodeStart()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("PayOS: chuỗi mã đơn hàng đã được node khác khởi tạo");
+        }
+        return giaoDichRieng.execute(s -> tangKhoi(
+                khoiMaDonHangRepository.khoaTheoTen(TEN_CHUOI)
+                        .orElseThrow(() -> new IllegalStateException("Không khởi tạo được chuỗi mã đơn hàng")),
+                kichThuoc));
+    }
+
+    private long tangKhoi(KhoiMaDonHang khoi, int kichThuoc) {
+        long dau = Math.max(khoi.getGiaTriTiep(), thuocTinhPayOS.getOrderCodeStart());
+        if (dau > MA_TOI_DA - kichThuoc) {
+            throw new IllegalStateException("Đã hết dải mã đơn hàng PayOS");
+        }
+        khoi.setGiaTriTiep(dau + kichThuoc);
+        khoi.setCapNhatLuc(LocalDateTime.now());
+        khoiMaDonHangRepository.save(khoi);
+        return dau;
+    }
+
+    private static final class Khoi {
+        private final AtomicLong tiep;
+        private final long het;
+
+        private Khoi(long dau, long het) {
+            this.tiep = new AtomicLong(dau);
+            this.het = het;
+        }
+    }
+}
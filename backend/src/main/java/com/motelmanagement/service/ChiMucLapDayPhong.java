@@ -0,0 +1,156 @@
+package com.motelmanagement.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+public final class ChiMucLapDayPhong {
+    public record Khoang(LocalDate tu, LocalDate den) {}
+
+    private final Map<String, String> phongCuaHopDong = new HashMap<>();
+    private final Map<String, Map<String, Khoang>> khoangTheoPhong = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, LocalDate>> doanTheoPhong = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<LocalDate, Set<String>> phongTheoNgayHet = new ConcurrentSkipListMap<>();
+
+    // tu/den là ngày đầu và ngày cuối còn ở (tính cả hai đầu); null nghĩa là không giới hạn.
+    public synchronized void capNhat(String hopDongId, String phongId, LocalDate tu, LocalDate den) {
+        String phongCu = boHopDong(hopDongId);
+        LocalDate batDau = tu != null ? tu : LocalDate.MIN;
+        LocalDate ketThuc = den != null ? den : LocalDate.MAX;
+        if (phongId != null && !ketThuc.isBefore(batDau)) {
+            phongCuaHopDong.put(hopDongId, phongId);
+            khoangTheoPhong.computeIfAbsent(phongId, k -> new HashMap<>())
+                    .put(hopDongId, new Khoang(batDau, ketThuc));
+            dungLai(phongId);
+        }
+        if (phongCu != null && !phongCu.equals(phongId)) {
+            dungLai(phongCu);
+        }
+    }
+
+    public synchronized void xoa(String hopDongId) {
+        String phongCu = boHopDong(hopDongId);
+        if (phongCu != null) {
+            dungLai(phongCu);
+        }
+    }
+
+    public synchronized void xoaTatCa() {
+        phongCuaHopDong.clear();
+        khoangTheoPhong.clear();
+        doanTheoPhong.clear();
+        phongTheoNgayHet.clear();
+    }
+
+    public synchronized int soHopDong() {
+        return phongCuaHopDong.size();
+    }
+
+    // Các đoạn của một phòng rời nhau và đã gộp: đoạn bắt đầu muộn nhất trước "den" cũng kết thúc muộn nhất.
+    public boolean dangThue(String phongId, LocalDate tu, LocalDate den) {
+        NavigableMap<LocalDate, LocalDate> doan = doanTheoPhong.get(phongId);
+        if (doan == null) {
+            return false;
+        }
+        Map.Entry<LocalDate, LocalDate> truoc = doan.floorEntry(den);
+        return truoc != null && !truoc.getValue().isBefore(tu);
+    }
+
+    // Phòng có người ở ngày "ngay" và trống lại trong (ngay, denNgay]: mã phòng -> ngày trống đầu tiên.
+    public Map<String, LocalDate> sapTrong(LocalDate ngay, LocalDate denNgay) {
+        Map<String, LocalDate> ketQua = new LinkedHashMap<>();
+        if (!denNgay.isAfter(ngay)) {
+            return ketQua;
+        }
+        for (Map.Entry<LocalDate, Set<String>> e
+                : phongTheoNgayHet.subMap(ngay, true, denNgay.minusDays(1), true).entrySet()) {
+            for (String phongId : e.getValue()) {
+                NavigableMap<LocalDate, LocalDate> doan = doanTheoPhong.get(phongId);
+                Map.Entry<LocalDate, LocalDate> hienTai = doan != null ? doan.floorEntry(ngay) : null;
+                if (hienTai != null && hienTai.getValue().equals(e.getKey())) {
+                    ketQua.put(phongId, e.getKey().plusDays(1));
+                }
+            }
+        }
+        return ketQua;
+    }
+
+    public long soNgayCoNguoi(String phongId, LocalDate tu, LocalDate den) {
+        NavigableMap<LocalDate, LocalDate> doan = doanTheoPhong.get(phongId);
+        if (doan == null || den.isBefore(tu)) {
+            return 0;
+        }
+        LocalDate batDau = doan.floorKey(tu);
+        long tong = 0;
+        for (Map.Entry<LocalDate, LocalDate> e
+                : doan.subMap(batDau != null ? batDau : tu, true, den, true).entrySet()) {
+            LocalDate dau = e.getKey().isAfter(tu) ? e.getKey() : tu;
+            LocalDate cuoi = e.getValue().isBefore(den) ? e.getValue() : den;
+            if (!cuoi.isBefore(dau)) {
+                tong += ChronoUnit.DAYS.between(dau, cuoi) + 1;
+            }
+        }
+        return tong;
+    }
+
+    private String boHopDong(String hopDongId) {
+        String phongId = phongCuaHopDong.remove(hopDongId);
+        if (phongId != null) {
+            khoangTheoPhong.computeIfPresent(phongId, (k, ds) -> {
+                ds.remove(hopDongId);
+                return ds.isEmpty() ? null : ds;
+            });
+        }
+        return phongId;
+    }
+
+    // Sao chép rồi thay cả bản đồ của phòng để luồng đọc không bao giờ thấy TreeMap đang sửa dở.
+    private void dungLai(String phongId) {
+        List<Khoang> dsKhoang = new ArrayList<>(khoangTheoPhong.getOrDefault(phongId, Map.of()).values());
+        dsKhoang.sort(Comparator.comparing(Khoang::tu));
+        TreeMap<LocalDate, LocalDate> moi = new TreeMap<>();
+        LocalDate dau = null;
+        LocalDate cuoi = null;
+        for (Khoang k : dsKhoang) {
+            if (cuoi != null && (cuoi.equals(LocalDate.MAX) || !k.tu().isAfter(cuoi.plusDays(1)))) {
+                cuoi = k.den().isAfter(cuoi) ? k.den() : cuoi;
+                continue;
+            }
+            if (dau != null) {
+                moi.put(dau, cuoi);
+            }
+            dau = k.tu();
+            cuoi = k.den();
+        }
+        if (dau != null) {
+            moi.put(dau, cuoi);
+        }
+        NavigableMap<LocalDate, LocalDate> cu = moi.isEmpty()
+                ? doanTheoPhong.remove(phongId)
+                : doanTheoPhong.put(phongId, Collections.unmodifiableNavigableMap(moi));
+        if (cu != null) {
+            for (LocalDate het : cu.values()) {
+                phongTheoNgayHet.computeIfPresent(het, (k, ds) -> {
+                    ds.remove(phongId);
+                    return ds.isEmpty() ? null : ds;
+                });
+            }
+        }
+        for (LocalDate het : moi.values()) {
+            phongTheoNgayHet.computeIfAbsent(het, k -> ConcurrentHashMap.newKeySet()).add(phongId);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.motelmanagement.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+public final class ChiMucTimKiem<V> {
+    static final int DO_DAI_NGRAM = 3;
+
+    private record Muc<V>(String vanBan, Set<String> tu, V giaTri) {}
+
+    private final Map<String, Muc<V>> theoMa = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> theoNgram = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<String>> theoTu = new ConcurrentSkipListMap<>();
+
+    public static String boDau(String chuoi) {
+        if (chuoi == null) {
+            return "";
+        }
+        String tach = Normalizer.normalize(chuoi, Normalizer.Form.NFD);
+        StringBuilder ketQua = new StringBuilder(tach.length());
+        for (int i = 0; i < tach.length(); i++) {
+            char c = tach.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c == 'đ' || c == 'Đ') {
+                ketQua.append('d');
+            } else if (Character.isLetterOrDigit(c)) {
+                ketQua.append(Character.toLowerCase(c));
+            } else {
+                ketQua.append(' ');
+            }
+        }
+        return ketQua.toString();
+    }
+
+    static Set<String> tachTu(String daBoDau) {
+        Set<String> tu = new LinkedHashSet<>();
+        for (String t : daBoDau.split(" +")) {
+            if (!t.isEmpty()) {
+                tu.add(t);
+            }
+        }
+        return tu;
+    }
+
+    static Set<String> ngram(String tu) {
+        Set<String> ds = new HashSet<>();
+        for (int i = 0; i + DO_DAI_NGRAM <= tu.length(); i++) {
+            ds.add(tu.substring(i, i + DO_DAI_NGRAM));
+        }
+        return ds;
+    }
+
+    public synchronized void capNhat(String ma, V giaTri, String... truong) {
+        xoa(ma);
+        StringBuilder vanBan = new StringBuilder();
+        for (String t : truong) {
+            vanBan.append(' ').append(boDau(t));
+        }
+        Set<String> tu = tachTu(vanBan.toString());
+        theoMa.put(ma, new Muc<>(" " + String.join(" ", tu) + " ", tu, giaTri));
+        for (String t : tu) {
+            theoTu.computeIfAbsent(t, k -> ConcurrentHashMap.newKeySet()).add(ma);
+            for (String g : ngram(t)) {
+                theoNgram.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(ma);
+            }
+        }
+    }
+
+    public synchronized void xoa(String ma) {
+        Muc<V> cu = theoMa.remove(ma);
+        if (cu == null) {
+            return;
+        }
+        for (String t : cu.tu()) {
+            boRa(theoTu, t, ma);
+            for (String g : ngram(t)) {
+                boRa(theoNgram, g, ma);
+            }
+        }
+    }
+
+    public synchronized void xoaTatCa() {
+        theoMa.clear();
+        theoNgram.clear();
+        theoTu.clear();
+    }
+
+    public int soMuc() {
+        return theoMa.size();
+    }
+
+    public record KetQua<V>(V giaTri, int diem) {}
+
+    // Mọi từ của truy vấn phải khớp: từ >= 3 ký tự khớp ở bất kỳ vị trí nào (như LIKE '%q%'), từ ngắn hơn khớp đầu từ.
+    public List<V> tim(String truyVan) {
+        List<V> ds = new ArrayList<>();
+        for (Muc<V> muc : timMuc(tachTu(boDau(truyVan)))) {
+            ds.add(muc.giaTri());
+        }
+        return ds;
+    }
+
+    // Điểm mỗi từ truy vấn: trùng nguyên từ 3, khớp đầu từ 2, khớp giữa từ 1; xếp giảm dần theo tổng điểm.
+    public List<KetQua<V>> timXepHang(String truyVan) {
+        Set<String> dsTu = tachTu(boDau(truyVan));
+        List<KetQua<V>> ds = new ArrayList<>();
+        for (Muc<V> muc : timMuc(dsTu)) {
+            int diem = 0;
+            for (String tu : dsTu) {
+                diem += muc.tu().contains(tu) ? 3 : muc.vanBan().contains(" " + tu) ? 2 : 1;
+            }
+            ds.add(new KetQua<>(muc.giaTri(), diem));
+        }
+        ds.sort((a, b) -> Integer.compare(b.diem(), a.diem()));
+        return ds;
+    }
+
+    private List<Muc<V>> timMuc(Set<String> dsTu) {
+        if (dsTu.isEmpty()) {
+            return List.of();
+        }
+        Set<String> ketQua = null;
+        for (String tu : dsTu) {
+            Set<String> khop = timTu(tu);
+            if (ketQua == null) {
+                ketQua = new HashSet<>(khop);
+            } else {
+                ketQua.retainAll(khop);
+            }
+            if (ketQua.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<Muc<V>> ds = new ArrayList<>(ketQua.size());
+        for (String ma : ketQua) {
+            Muc<V> muc = theoMa.get(ma);
+            if (muc != null) {
+                ds.add(muc);
+            }
+        }
+        return ds;
+    }
+
+    private Set<String> timTu(String tu) {
+        Set<String> khop = new HashSet<>();
+        if (tu.length() < DO_DAI_NGRAM) {
+            for (Set<String> ma : theoTu.subMap(tu, true, tu + Character.MAX_VALUE, true).values()) {
+                khop.addAll(ma);
+            }
+            return khop;
+        }
+        Collection<String> itNhat = null;
+        for (String g : ngram(tu)) {
+            Set<String> ma = theoNgram.get(g);
+            if (ma == null) {
+                return khop;
+            }
+            if (itNhat == null || ma.size() < itNhat.size()) {
+                itNhat = ma;
+            }
+        }
+        for (String ma : itNhat) {
+            Muc<V> muc = theoMa.get(ma);
+            if (muc != null && muc.vanBan().contains(tu)) {
+                khop.add(ma);
+            }
+        }
+        return khop;
+    }
+
+    private static void boRa(Map<String, Set<String>> chiMuc, String khoa, String ma) {
+        chiMuc.computeIfPresent(khoa, (k, ds) -> {
+            ds.remove(ma);
+            return ds.isEmpty() ? null : ds;
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.motelmanagement.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.VaiTro;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NguoiDungRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChiMucTimKiemService {
+    public record MucKhachThue(String id, String hoTen) {}
+
+    public record MucNguoiDung(String id, String hoTen, String tenDangNhap, VaiTro vaiTro, boolean kichHoat) {}
+
+    private static final Comparator<String> THEO_TEN = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final KhachThueRepository khachThueRepository;
+    private final NguoiDungRepository nguoiDungRepository;
+    private final ChiMucTimKiem<MucKhachThue> khachThue = new ChiMucTimKiem<>();
+    private final ChiMucTimKiem<MucNguoiDung> nguoiDung = new ChiMucTimKiem<>();
+    private volatile boolean sanSang;
+
+
+    @Transactional
+    public synchronized void napLai() {
+        long batDau = System.currentTimeMillis();
+        khachThue.xoaTatCa();
+        nguoiDung.xoaTatCa();
+        khachThueRepository.findAll().forEach(this::ghiKhachThue);
+        nguoiDungRepository.findAll().forEach(this::ghiNguoiDung);
+        sanSang = true;
+        log.info("Nạp chỉ mục tìm kiếm: {} khách thuê, {} người dùng trong {} ms",
+                khachThue.soMuc(), nguoiDung.soMuc(), System.currentTimeMillis() - batDau);
+    }
+
+    public boolean sanSang() {
+        return sanSang;
+    }
+
+
+    public List<KhachThue> timKhachThue(String truyVan) {
+        if (!sanSang) {
+            return khachThueRepository.findByHoTenContainingIgnoreCase(truyVan);
+        }
+        List<String> dsMa = khachThue.tim(truyVan).stream()
+                .sorted(Comparator.comparing(MucKhachThue::hoTen, THEO_TEN))
+                .map(MucKhachThue::id)
+                .toList();
+        if (dsMa.isEmpty()) {
+            return List.of();
+        }
+        Map<String, KhachThue> theoMa = khachThueRepository.findByIdIn(dsMa).stream()
+                .collect(Collectors.toMap(KhachThue::getId, Function.identity()));
+        return dsMa.stream().map(theoMa::get).filter(k -> k != null).toList();
+    }
+
+    public List<MucNguoiDung> timNguoiDung(String truyVan, String loaiTru, int gioiHan) {
+        return nguoiDung.tim(truyVan).stream()
+                .filter(n -> n.kichHoat() && !n.id().equals(loaiTru))
+                .sorted(Comparator.comparing(MucNguoiDung::hoTen, THEO_TEN))
+                .limit(gioiHan)
+                .toList();
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (suKien.thucThe() instanceof KhachThue k) {
+            if (suKien.daXoa()) {
+                khachThue.xoa(k.getId());
+            } else {
+                ghiKhachThue(k);
+            }
+        } else if (suKien.thucThe() instanceof NguoiDung n) {
+            if (suKien.daXoa()) {
+                nguoiDung.xoa(n.getId());
+            } else {
+                ghiNguoiDung(n);
+            }
+        }
+    }
+
+    private void ghiKhachThue(KhachThue k) {
+        khachThue.capNhat(k.getId(), new MucKhachThue(k.getId(), k.getHoTen()),
+                k.getHoTen(), k.getSoDienThoai(), k.getSoGiayTo(), k.getEmail());
+    }
+
+    private void ghiNguoiDung(NguoiDung n) {
+        MucNguoiDung muc = mucNguoiDung(n);
+        nguoiDung.capNhat(muc.id(), muc, muc.hoTen(), muc.tenDangNhap());
+    }
+
+    private static MucNguoiDung mucNguoiDung(NguoiDung n) {
+        return new MucNguoiDung(n.getId(), n.getHoTen(), n.getTenDangNhap(), n.getVaiTro(), n.isKichHoat());
+    }
+}
@@ -0,0 +1,128 @@
+package com.motelmanagement.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Service;
+
+import com.motelmanagement.domain.LichSuDiTru;
+import com.motelmanagement.repository.LichSuDiTruRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+public class DiTruCsdlService {
+    private static final Pattern TEN_TEP = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    public record BanDiTru(int phienBan, String moTa, String tongKiem, ConnectionCallback<Void> thucThi) {}
+
+    private final LichSuDiTruRepository lichSuDiTruRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourcePatternResolver timTep;
+    private final String viTri;
+    private final List<DiTruJava> dsDiTruJava;
+
+    public DiTruCsdlService(LichSuDiTruRepository lichSuDiTruRepository,
+                            JdbcTemplate jdbcTemplate,
+                            ResourceLoader resourceLoader,
+                            @Value("${app.di-tru.vi-tri:classpath*:db/di-tru/}") String viTri,
+                            List<DiTruJava> dsDiTruJava) {
+        this.lichSuDiTruRepository = lichSuDiTruRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.timTep = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.viTri = viTri.endsWith("/") ? viTri : viTri + "/";
+        this.dsDiTruJava = dsDiTruJava;
+    }
+
+
+    public List<BanDiTru> docBanDiTru() throws IOException {
+        Map<Integer, BanDiTru> theoPhienBan = new TreeMap<>();
+        for (Resource tep : timTep.getResources(viTri + "V*__*.sql")) {
+            Matcher m = TEN_TEP.matcher(String.valueOf(tep.getFilename()));
+            if (!m.matches()) {
+                throw new IllegalStateException("Tên tệp di trú không hợp lệ: " + tep.getFilename());
+            }
+            ConnectionCallback<Void> thucThi = ketNoi -> {
+                ScriptUtils.executeSqlScript(ketNoi, new EncodedResource(tep, StandardCharsets.UTF_8));
+                return null;
+            };
+            try (InputStream vao = tep.getInputStream()) {
+                them(theoPhienBan, new BanDiTru(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '),
+                        tongKiem(vao.readAllBytes()), thucThi));
+            }
+        }
+        for (DiTruJava diTru : dsDiTruJava) {
+            ConnectionCallback<Void> thucThi = ketNoi -> {
+                diTru.apDung(ketNoi);
+                return null;
+            };
+            them(theoPhienBan, new BanDiTru(diTru.phienBan(), diTru.moTa(),
+                    tongKiem(diTru.getClass().getName().getBytes(StandardCharsets.UTF_8)), thucThi));
+        }
+        return List.copyOf(theoPhienBan.values());
+    }
+
+    private static void them(Map<Integer, BanDiTru> theoPhienBan, BanDiTru ban) {
+        if (theoPhienBan.putIfAbsent(ban.phienBan(), ban) != null) {
+            throw new IllegalStateException("Trùng phiên bản di trú V" + ban.phienBan());
+        }
+    }
+
+
+    public int apDung() throws IOException {
+        Map<Integer, LichSuDiTru> daApDung = lichSuDiTruRepository.findAllByOrderByPhienBanAsc().stream()
+                .collect(Collectors.toMap(LichSuDiTru::getPhienBan, Function.identity()));
+        int soApDung = 0;
+        for (BanDiTru ban : docBanDiTru()) {
+            LichSuDiTru cu = daApDung.get(ban.phienBan());
+            if (cu != null) {
+                if (!cu.getTongKiem().equals(ban.tongKiem())) {
+                    throw new IllegalStateException("Di trú V" + ban.phienBan()
+                            + " đã bị sửa sau khi áp dụng; hãy thêm phiên bản mới thay vì sửa tệp cũ");
+                }
+                continue;
+            }
+            long batDau = System.nanoTime();
+            jdbcTemplate.execute(ban.thucThi());
+            LichSuDiTru lichSu = new LichSuDiTru();
+            lichSu.setPhienBan(ban.phienBan());
+            lichSu.setMoTa(ban.moTa());
+            lichSu.setTongKiem(ban.tongKiem());
+            lichSu.setThoiGianChayMs((System.nanoTime() - batDau) / 1_000_000);
+            lichSuDiTruRepository.save(lichSu);
+            log.info("Đã áp dụng di trú V{} ({}) trong {} ms", ban.phienBan(), ban.moTa(), lichSu.getThoiGianChayMs());
+            soApDung++;
+        }
+        return soApDung;
+    }
+
+    private static String tongKiem(byte[] noiDung) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(noiDung));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.motelmanagement.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+
+public interface DiTruJava {
+    int phienBan();
+
+    String moTa();
+
+    void apDung(Connection ketNoi) throws SQLException;
+}
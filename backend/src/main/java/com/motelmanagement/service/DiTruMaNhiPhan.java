@@ -0,0 +1,243 @@
+package com.motelmanagement.service;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.motelmanagement.domain.KieuMaNhiPhan;
+import com.motelmanagement.domain.MaUuidV7;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiTruMaNhiPhan implements DiTruJava {
+    record KhoaNgoai(String ten, String bang, String cot, String bangGoc, String cotGoc) {}
+
+    record ChiMuc(String ten, String rangBuoc, String loai, boolean duyNhat, List<String> dsCot) {}
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int phienBan() {
+        return 3;
+    }
+
+    @Override
+    public String moTa() {
+        return "ma uuid sang binary 16";
+    }
+
+    @Override
+    public void apDung(Connection ketNoi) throws SQLException {
+        DatabaseMetaData meta = ketNoi.getMetaData();
+        Set<String> bangCanDoi = new LinkedHashSet<>();
+        for (String bang : bangCoMaNhiPhan()) {
+            if (laCotChuoi(meta, ketNoi, bang, "id")) {
+                bangCanDoi.add(bang);
+            }
+        }
+        if (bangCanDoi.isEmpty()) {
+            return;
+        }
+        List<KhoaNgoai> dsKhoa = new ArrayList<>();
+        for (String bang : bangCanDoi) {
+            dsKhoa.addAll(khoaNgoaiTroToi(meta, ketNoi, bang));
+        }
+        Map<String, Set<String>> cotTheoBang = new LinkedHashMap<>();
+        for (String bang : bangCanDoi) {
+            cotTheoBang.computeIfAbsent(bang, k -> new LinkedHashSet<>()).add("id");
+        }
+        for (KhoaNgoai khoa : dsKhoa) {
+            cotTheoBang.computeIfAbsent(khoa.bang(), k -> new LinkedHashSet<>()).add(khoa.cot());
+        }
+        boolean mySql = meta.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        try (Statement lenh = ketNoi.createStatement()) {
+            for (KhoaNgoai khoa : dsKhoa) {
+                lenh.execute("ALTER TABLE " + khoa.bang() + (mySql ? " DROP FOREIGN KEY " : " DROP CONSTRAINT ")
+                        + khoa.ten());
+            }
+            for (Map.Entry<String, Set<String>> e : cotTheoBang.entrySet()) {
+                for (String cot : e.getValue()) {
+                    boolean khongNull = khongNull(meta, ketNoi, e.getKey(), cot);
+                    if (mySql) {
+                        doiCotMySql(lenh, e.getKey(), cot, khongNull);
+                    } else {
+                        doiCotH2(ketNoi, lenh, e.getKey(), cot, khongNull);
+                    }
+                }
+            }
+            for (KhoaNgoai khoa : dsKhoa) {
+                lenh.execute("ALTER TABLE " + khoa.bang() + " ADD CONSTRAINT " + khoa.ten() + " FOREIGN KEY ("
+                        + khoa.cot() + ") REFERENCES " + khoa.bangGoc() + " (" + khoa.cotGoc() + ")");
+            }
+        }
+        log.info("Đã đổi mã của {} bảng sang BINARY({}), tạo lại {} khóa ngoại",
+                bangCanDoi.size(), KieuMaNhiPhan.DO_DAI, dsKhoa.size());
+    }
+
+    // Đổi tại chỗ để giữ nguyên khóa chính, chỉ mục và ràng buộc duy nhất đang có trên cột.
+    private static void doiCotMySql(Statement lenh, String bang, String cot, boolean khongNull) throws SQLException {
+        String rangBuoc = khongNull ? " NOT NULL" : "";
+        lenh.execute("ALTER TABLE " + bang + " MODIFY " + cot + " VARBINARY(36)" + rangBuoc);
+        lenh.execute("UPDATE " + bang + " SET " + cot + " = UNHEX(REPLACE(" + cot + ", '-', ''))");
+        lenh.execute("ALTER TABLE " + bang + " MODIFY " + cot + " BINARY(" + KieuMaNhiPhan.DO_DAI + ")" + rangBuoc);
+    }
+
+    // H2 không đổi tại chỗ VARCHAR sang BINARY mà giữ được giá trị: chép qua kiểu UUID sang cột mới
+    // trong lúc cột cũ còn là chuỗi, rồi tráo cột và dựng lại khóa chính, ràng buộc duy nhất, chỉ mục.
+    private static void doiCotH2(Connection ketNoi, Statement lenh, String bang, String cot, boolean khongNull)
+            throws SQLException {
+        List<ChiMuc> dsChiMuc = chiMucChuaCot(ketNoi, bang, cot);
+        String cotMoi = cot + "_nhi_phan";
+        lenh.execute("ALTER TABLE " + bang + " ADD COLUMN " + cotMoi + " BINARY(" + KieuMaNhiPhan.DO_DAI
+                + ") BEFORE " + cot);
+        lenh.execute("UPDATE " + bang + " SET " + cotMoi + " = CAST(CAST(" + cot + " AS UUID) AS BINARY("
+                + KieuMaNhiPhan.DO_DAI + "))");
+        for (ChiMuc chiMuc : dsChiMuc) {
+            if (chiMuc.rangBuoc() != null) {
+                lenh.execute("ALTER TABLE " + bang + " DROP CONSTRAINT \"" + chiMuc.rangBuoc() + "\"");
+            } else {
+                lenh.execute("DROP INDEX \"" + chiMuc.ten() + "\"");
+            }
+        }
+        lenh.execute("ALTER TABLE " + bang + " DROP COLUMN " + cot);
+        lenh.execute("ALTER TABLE " + bang + " ALTER COLUMN " + cotMoi + " RENAME TO " + cot);
+        if (khongNull) {
+            lenh.execute("ALTER TABLE " + bang + " ALTER COLUMN " + cot + " SET NOT NULL");
+        }
+        for (ChiMuc chiMuc : dsChiMuc) {
+            String dsCot = String.join(", ", chiMuc.dsCot());
+            if (chiMuc.rangBuoc() != null) {
+                lenh.execute("ALTER TABLE " + bang + " ADD CONSTRAINT \"" + chiMuc.rangBuoc() + "\" "
+                        + chiMuc.loai() + " (" + dsCot + ")");
+            } else {
+                lenh.execute("CREATE " + (chiMuc.duyNhat() ? "UNIQUE " : "") + "INDEX \"" + chiMuc.ten()
+                        + "\" ON " + bang + " (" + dsCot + ")");
+            }
+        }
+    }
+
+    // Chỉ mục do khóa ngoại tạo ra đã mất theo khóa ngoại nên chỉ giữ khóa chính, UNIQUE và chỉ mục thường.
+    // Tên tự sinh của H2 viết hoa nên phải đặt trong ngoặc kép khi xóa và tạo lại.
+    private static List<ChiMuc> chiMucChuaCot(Connection ketNoi, String bang, String cot) throws SQLException {
+        Map<String, String[]> rangBuocTheoChiMuc = new LinkedHashMap<>();
+        try (PreparedStatement truyVan = ketNoi.prepareStatement("SELECT INDEX_NAME, CONSTRAINT_NAME, CONSTRAINT_TYPE "
+                + "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?")) {
+            truyVan.setString(1, ketNoi.getSchema());
+            truyVan.setString(2, bang);
+            try (ResultSet rs = truyVan.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getString(1) != null) {
+                        rangBuocTheoChiMuc.put(rs.getString(1), new String[] { rs.getString(2), rs.getString(3) });
+                    }
+                }
+            }
+        }
+        Map<String, ChiMuc> theoTen = new LinkedHashMap<>();
+        try (ResultSet rs = ketNoi.getMetaData().getIndexInfo(ketNoi.getCatalog(), ketNoi.getSchema(), bang,
+                false, false)) {
+            while (rs.next()) {
+                String ten = rs.getString("INDEX_NAME");
+                if (ten == null) {
+                    continue;
+                }
+                String[] rangBuoc = rangBuocTheoChiMuc.get(ten);
+                if (rangBuoc != null && "FOREIGN KEY".equals(rangBuoc[1])) {
+                    continue;
+                }
+                ChiMuc chiMuc = theoTen.get(ten);
+                if (chiMuc == null) {
+                    chiMuc = new ChiMuc(ten, rangBuoc == null ? null : rangBuoc[0],
+                            rangBuoc == null ? null : rangBuoc[1], !rs.getBoolean("NON_UNIQUE"), new ArrayList<>());
+                    theoTen.put(ten, chiMuc);
+                }
+                chiMuc.dsCot().add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        List<ChiMuc> ds = new ArrayList<>();
+        for (ChiMuc chiMuc : theoTen.values()) {
+            if (chiMuc.dsCot().stream().anyMatch(cot::equalsIgnoreCase)) {
+                ds.add(chiMuc);
+            }
+        }
+        return ds;
+    }
+
+    private List<String> bangCoMaNhiPhan() {
+        List<String> ds = new ArrayList<>();
+        for (EntityType<?> loai : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> lop = loai.getJavaType();
+            Table bang = lop.getAnnotation(Table.class);
+            if (bang != null && coMaUuidV7(lop)) {
+                ds.add(bang.name());
+            }
+        }
+        return ds;
+    }
+
+    private static boolean coMaUuidV7(Class<?> lop) {
+        try {
+            return lop.getDeclaredField("id").isAnnotationPresent(MaUuidV7.class);
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    private static boolean laCotChuoi(DatabaseMetaData meta, Connection ketNoi, String bang, String cot)
+            throws SQLException {
+        Integer kieu = docCot(meta, ketNoi, bang, cot, "DATA_TYPE");
+        return kieu != null
+                && (kieu == Types.CHAR || kieu == Types.VARCHAR || kieu == Types.NCHAR || kieu == Types.NVARCHAR);
+    }
+
+    private static boolean khongNull(DatabaseMetaData meta, Connection ketNoi, String bang, String cot)
+            throws SQLException {
+        Integer choPhepNull = docCot(meta, ketNoi, bang, cot, "NULLABLE");
+        return choPhepNull != null && choPhepNull == DatabaseMetaData.columnNoNulls;
+    }
+
+    private static Integer docCot(DatabaseMetaData meta, Connection ketNoi, String bang, String cot, String thuocTinh)
+            throws SQLException {
+        try (ResultSet rs = meta.getColumns(ketNoi.getCatalog(), ketNoi.getSchema(), bang, cot)) {
+            while (rs.next()) {
+                if (bang.equalsIgnoreCase(rs.getString("TABLE_NAME"))
+                        && cot.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return rs.getInt(thuocTinh);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<KhoaNgoai> khoaNgoaiTroToi(DatabaseMetaData meta, Connection ketNoi, String bang)
+            throws SQLException {
+        List<KhoaNgoai> ds = new ArrayList<>();
+        try (ResultSet rs = meta.getExportedKeys(ketNoi.getCatalog(), ketNoi.getSchema(), bang)) {
+            while (rs.next()) {
+                ds.add(new KhoaNgoai(rs.getString("FK_NAME"), rs.getString("FKTABLE_NAME"),
+                        rs.getString("FKCOLUMN_NAME"), rs.getString("PKTABLE_NAME"), rs.getString("PKCOLUMN_NAME")));
+            }
+        }
+        return ds;
+    }
+}
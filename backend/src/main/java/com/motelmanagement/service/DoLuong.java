@@ -0,0 +1,33 @@
+package com.motelmanagement.service;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+
+public final class DoLuong {
+    public static final String XUAT_TAI_LIEU = "motel.xuat.tai.lieu";
+
+    @FunctionalInterface
+    public interface Viec<T, E extends Exception> {
+        T chay() throws E;
+    }
+
+    private DoLuong() {
+    }
+
+    public static <T, E extends Exception> T bamGio(String ten, Viec<T, E> viec, String... nhan) throws E {
+        Timer.Sample mau = Timer.start(Metrics.globalRegistry);
+        String ketQua = "loi";
+        try {
+            T giaTri = viec.chay();
+            ketQua = "ok";
+            return giaTri;
+        } finally {
+            mau.stop(Timer.builder(ten)
+                    .tags(nhan)
+                    .tag("ket_qua", ketQua)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry));
+        }
+    }
+}
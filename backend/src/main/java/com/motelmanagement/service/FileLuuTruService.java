@@ -7,17 +7,39 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.motelmanagement.domain.TepLuuTru;
+import com.motelmanagement.repository.TepLuuTruRepository;
+import com.motelmanagement.util.BienTheAnh;
+
+import lombok.RequiredArgsConstructor;
+
+
 @Service
+@RequiredArgsConstructor
 public class FileLuuTruService {
+    private static final Logger log = LoggerFactory.getLogger(FileLuuTruService.class);
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private static final String TIEN_TO_URL = "/tenant-files/";
+    private static final String THU_MUC_BLOB = "blobs";
+    private static final String THU_MUC_TAM = ".tmp";
+    private static final int SO_KHOA = 64;
 
     private static final long MAX_SIZE = 5 * 1024 * 1024;
     private static final long MAX_CHAT_SIZE = 10 * 1024 * 1024;
@@ -35,7 +57,16 @@ public class FileLuuTruService {
             "application/zip"
     };
 
-    public String luuAnh(MultipartFile file, String thuMucCon) {
+    private final TepLuuTruRepository tepLuuTruRepository;
+    private final AnhPhaiSinhService anhPhaiSinhService;
+    private final Lock[] khoaTheoMaBam = taoKhoa();
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    public record KetQuaLuuFile(String duongDan, String tenGoc, long kichThuoc, String loaiNoiDung) {}
+
+    public String luuAnh(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             return null;
         }
@@ -46,25 +77,11 @@ public class FileLuuTruService {
         if (file.getSize() > MAX_SIZE) {
             throw new IllegalArgumentException("Kích thước file tối đa 5MB");
         }
-        String thuMuc = thuMucCon != null && !thuMucCon.isBlank() ? thuMucCon.trim() : "misc";
-        Path thuMucGoc = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Path thuMucDich = thuMucGoc.resolve(thuMuc);
-        String duoi = layDuoiFile(loaiNoiDung);
-        String tenFile = UUID.randomUUID() + duoi;
-        Path dich = thuMucDich.resolve(tenFile);
-        try {
-            Files.createDirectories(thuMucDich);
-            try (InputStream in = file.getInputStream()) {
-                Files.copy(in, dich, StandardCopyOption.REPLACE_EXISTING);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException("Không ghi được file ảnh", e);
-        }
-        return "/tenant-files/" + thuMuc + "/" + tenFile;
+        String duongDan = luuNoiDung(file, loaiNoiDung, layDuoiFile(loaiNoiDung), "Không ghi được file ảnh");
+        anhPhaiSinhService.lenLich(duongDan);
+        return duongDan;
     }
 
-    public record KetQuaLuuFile(String duongDan, String tenGoc, long kichThuoc, String loaiNoiDung) {}
-
     public KetQuaLuuFile luuFileChat(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File không hợp lệ.");
@@ -77,26 +94,147 @@ public class FileLuuTruService {
         if (file.getSize() > MAX_CHAT_SIZE) {
             throw new IllegalArgumentException("Kích thước file tối đa 10MB.");
         }
-        String thuMuc = "chat";
-        Path thuMucGoc = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Path thuMucDich = thuMucGoc.resolve(thuMuc);
         String duoi = layDuoiFileChat(loaiNoiDung, file.getOriginalFilename());
-        String tenFile = UUID.randomUUID() + duoi;
-        Path dich = thuMucDich.resolve(tenFile);
+        String duongDan = luuNoiDung(file, loaiNoiDung, duoi, "Không ghi được file");
+        if (loaiNoiDung.startsWith("image/")) {
+            anhPhaiSinhService.lenLich(duongDan);
+        }
+        String tenGoc = file.getOriginalFilename() != null
+                ? file.getOriginalFilename()
+                : duongDan.substring(duongDan.lastIndexOf('/') + 1);
+        return new KetQuaLuuFile(duongDan, tenGoc, file.getSize(), loaiNoiDung);
+    }
+
+
+    public void giaiPhong(String duongDan) {
+        if (duongDan == null || !duongDan.startsWith(TIEN_TO_URL + THU_MUC_BLOB + "/")) {
+            return;
+        }
+        tepLuuTruRepository.giamThamChieu(duongDan, LocalDateTime.now());
+    }
+
+
+    public int donTepKhongConThamChieu(LocalDateTime truocLuc) {
+        List<TepLuuTru> ungVien = tepLuuTruRepository.findBySoThamChieuLessThanEqualAndCapNhatLucBefore(0, truocLuc);
+        Path thuMucGoc = layThuMucGoc();
+        int soXoa = 0;
+        for (TepLuuTru tep : ungVien) {
+            Lock khoa = khoaCho(tep.getMaBam());
+            khoa.lock();
+            try {
+                Optional<TepLuuTru> hienTai = tepLuuTruRepository.findById(tep.getId());
+                if (hienTai.isEmpty() || hienTai.get().getSoThamChieu() > 0) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(duongDanTrenDia(thuMucGoc, tep.getDuongDan()));
+                    for (String loai : new String[] { BienTheAnh.NHO, BienTheAnh.XEM_TRUOC }) {
+                        String bienThe = BienTheAnh.duongDan(tep.getDuongDan(), loai);
+                        if (bienThe != null) {
+                            Files.deleteIfExists(duongDanTrenDia(thuMucGoc, bienThe));
+                        }
+                    }
+                } catch (IOException e) {
+                    log.warn("Không xóa được tệp {}: {}", tep.getDuongDan(), e.getMessage());
+                    continue;
+                }
+                tepLuuTruRepository.delete(hienTai.get());
+                soXoa++;
+            } finally {
+                khoa.unlock();
+            }
+        }
+        return soXoa;
+    }
+
+    private String luuNoiDung(MultipartFile file, String loaiNoiDung, String duoi, String thongBaoLoi) {
+        Path thuMucGoc = layThuMucGoc();
+        Path tam = null;
         try {
-            Files.createDirectories(thuMucDich);
-            try (InputStream in = file.getInputStream()) {
-                Files.copy(in, dich, StandardCopyOption.REPLACE_EXISTING);
+            Path thuMucTam = thuMucGoc.resolve(THU_MUC_TAM);
+            Files.createDirectories(thuMucTam);
+            tam = Files.createTempFile(thuMucTam, "up-", ".part");
+            MessageDigest bam = MessageDigest.getInstance("SHA-256");
+            long kichThuoc;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), bam)) {
+                kichThuoc = Files.copy(in, tam, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String maBam = HexFormat.of().formatHex(bam.digest());
+
+            Lock khoa = khoaCho(maBam);
+            khoa.lock();
+            try {
+                LocalDateTime bayGio = LocalDateTime.now();
+                Optional<TepLuuTru> daCo = tepLuuTruRepository.findByMaBam(maBam);
+                String duongDan = daCo.map(TepLuuTru::getDuongDan).orElseGet(() -> taoDuongDan(maBam, duoi));
+                Path dich = duongDanTrenDia(thuMucGoc, duongDan);
+                if (!Files.exists(dich)) {
+                    Files.createDirectories(dich.getParent());
+                    Files.move(tam, dich, StandardCopyOption.REPLACE_EXISTING);
+                    tam = null;
+                }
+                if (daCo.isPresent()) {
+                    tepLuuTruRepository.tangThamChieu(maBam, bayGio);
+                    return duongDan;
+                }
+                TepLuuTru moi = new TepLuuTru();
+                moi.setMaBam(maBam);
+                moi.setDuongDan(duongDan);
+                moi.setLoaiNoiDung(loaiNoiDung);
+                moi.setKichThuoc(kichThuoc);
+                moi.setSoThamChieu(1);
+                moi.setNgayTao(bayGio);
+                moi.setCapNhatLuc(bayGio);
+                try {
+                    tepLuuTruRepository.save(moi);
+                } catch (DataIntegrityViolationException e) {
+                    tepLuuTruRepository.tangThamChieu(maBam, bayGio);
+                }
+                return duongDan;
+            } finally {
+                khoa.unlock();
             }
         } catch (IOException e) {
-            throw new UncheckedIOException("Không ghi được file", e);
-        }
-        String tenGoc = file.getOriginalFilename() != null ? file.getOriginalFilename() : tenFile;
-        return new KetQuaLuuFile(
-                "/tenant-files/" + thuMuc + "/" + tenFile,
-                tenGoc,
-                file.getSize(),
-                loaiNoiDung);
+            throw new UncheckedIOException(thongBaoLoi, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        } finally {
+            if (tam != null) {
+                try {
+                    Files.deleteIfExists(tam);
+                } catch (IOException e) {
+                    log.warn("Không xóa được file tạm {}", tam);
+                }
+            }
+        }
+    }
+
+    private Path layThuMucGoc() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private static String taoDuongDan(String maBam, String duoi) {
+        return TIEN_TO_URL + THU_MUC_BLOB + "/" + maBam.substring(0, 2) + "/" + maBam + duoi;
+    }
+
+    private static Path duongDanTrenDia(Path thuMucGoc, String duongDan) {
+        Path dich = thuMucGoc.resolve(duongDan.substring(TIEN_TO_URL.length())).normalize();
+        if (!dich.startsWith(thuMucGoc)) {
+            throw new IllegalArgumentException("Đường dẫn tệp không hợp lệ");
+        }
+        return dich;
+    }
+
+    private Lock khoaCho(String maBam) {
+        return khoaTheoMaBam[Math.floorMod(maBam.hashCode(), SO_KHOA)];
+    }
+
+    private static Lock[] taoKhoa() {
+        Lock[] khoa = new Lock[SO_KHOA];
+        for (int i = 0; i < SO_KHOA; i++) {
+            khoa[i] = new ReentrantLock();
+        }
+        return khoa;
     }
 
     private static boolean laChatChoPhep(String loaiNoiDung) {
@@ -111,7 +249,7 @@ public class FileLuuTruService {
     private static String layDuoiFileChat(String loaiNoiDung, String tenGoc) {
         if (tenGoc != null && tenGoc.contains(".")) {
             String ext = tenGoc.substring(tenGoc.lastIndexOf('.')).toLowerCase();
-            if (ext.length() <= 8) {
+            if (ext.matches("\\.[a-z0-9]{1,7}")) {
                 return ext;
             }
         }
@@ -5,6 +5,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +21,6 @@ import com.motelmanagement.repository.NguoiDungRepository;
 import com.motelmanagement.repository.ThanhVienHoiThoaiRepository;
 import com.motelmanagement.repository.TinNhanRepository;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -33,7 +34,8 @@ public class HoiThoaiService {
     private final TinNhanRepository tinNhanRepository;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
 
-    @PostConstruct
+    // Gọi qua proxy khi ứng dụng sẵn sàng (không dùng @PostConstruct) để đọc và ghi thành viên trong cùng giao dịch.
+    @EventListener(ApplicationReadyEvent.class)
     @Transactional
     public void khoiTaoNhomChung() {
         HoiThoai nhom = hoiThoaiRepository.findByMaCoDinh(MA_NHOM_CHUNG).orElseGet(() -> {
@@ -0,0 +1,31 @@
+package com.motelmanagement.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+
+// Hibernate lấy listener qua SpringBeanContainer. Các chỉ mục và bộ nhớ đệm nhận sự kiện thay vì được gọi trực tiếp
+// nên listener không phụ thuộc service nào, kể cả trong lát cắt kiểm thử không có chúng.
+@Component
+public class LangNgheThayDoiThucThe {
+    private final ApplicationEventPublisher suKien;
+
+    public LangNgheThayDoiThucThe(ApplicationEventPublisher suKien) {
+        this.suKien = suKien;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void daLuu(Object thucThe) {
+        suKien.publishEvent(new SuKienThayDoiThucThe(thucThe, false));
+    }
+
+    @PostRemove
+    public void daXoa(Object thucThe) {
+        suKien.publishEvent(new SuKienThayDoiThucThe(thucThe, true));
+    }
+}
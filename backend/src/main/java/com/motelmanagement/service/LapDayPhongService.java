@@ -0,0 +1,161 @@
+package com.motelmanagement.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.KhoangThueDto;
+import com.motelmanagement.dto.PhongSapTrongDto;
+import com.motelmanagement.dto.TyLeLapDayDto;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LapDayPhongService {
+    static final int SO_THANG_TOI_DA = 60;
+    private static final Comparator<String> THEO_TEN = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final HopDongRepository hopDongRepository;
+    private final PhongRepository phongRepository;
+    private final ChiMucLapDayPhong chiMuc = new ChiMucLapDayPhong();
+    private volatile boolean sanSang;
+
+
+    @Transactional
+    public synchronized void napLai() {
+        long batDau = System.currentTimeMillis();
+        chiMuc.xoaTatCa();
+        for (KhoangThueDto h : hopDongRepository.layKhoangThue()) {
+            ghi(h.getId(), h.getPhongId(), h.getNgayBatDau(), h.getNgayKetThuc(), h.getTrangThai());
+        }
+        sanSang = true;
+        log.info("Nạp chỉ mục lấp đầy phòng: {} hợp đồng trong {} ms",
+                chiMuc.soHopDong(), System.currentTimeMillis() - batDau);
+    }
+
+    public boolean sanSang() {
+        return sanSang;
+    }
+
+
+    public List<Phong> phongTrong(LocalDate tu, LocalDate den) {
+        if (den.isBefore(tu)) {
+            throw new IllegalArgumentException("Ngày kết thúc phải sau ngày bắt đầu");
+        }
+        if (!sanSang) {
+            return phongRepository.findByTrangThai(TrangThaiPhong.AVAILABLE);
+        }
+        return phongRepository.findAll().stream()
+                .filter(p -> p.getTrangThai() != TrangThaiPhong.MAINTENANCE)
+                .filter(p -> !chiMuc.dangThue(p.getId(), tu, den))
+                .toList();
+    }
+
+    public List<PhongSapTrongDto> phongSapTrong(LocalDate ngay, int soNgay) {
+        if (soNgay < 1) {
+            throw new IllegalArgumentException("Số ngày phải lớn hơn 0");
+        }
+        Map<String, LocalDate> ngayTrong = chiMuc.sapTrong(ngay, ngay.plusDays(soNgay));
+        if (ngayTrong.isEmpty()) {
+            return List.of();
+        }
+        return phongRepository.findAll().stream()
+                .filter(p -> ngayTrong.containsKey(p.getId()))
+                .map(p -> new PhongSapTrongDto(p.getId(), p.getMaPhong(), tenKhuVuc(p), ngayTrong.get(p.getId())))
+                .sorted(Comparator.comparing(PhongSapTrongDto::getNgayTrong)
+                        .thenComparing(PhongSapTrongDto::getMaPhong, THEO_TEN))
+                .toList();
+    }
+
+    // Tỷ lệ = số ngày-phòng có hợp đồng / (số phòng hiện có của khu x số ngày trong tháng).
+    public List<TyLeLapDayDto> tyLeLapDay(YearMonth tu, YearMonth den) {
+        if (den.isBefore(tu)) {
+            throw new IllegalArgumentException("Tháng kết thúc phải sau tháng bắt đầu");
+        }
+        if (ChronoUnit.MONTHS.between(tu, den) >= SO_THANG_TOI_DA) {
+            throw new IllegalArgumentException("Chỉ xem tối đa " + SO_THANG_TOI_DA + " tháng");
+        }
+        Map<String, List<Phong>> theoKhu = new LinkedHashMap<>();
+        Map<String, String> tenKhu = new LinkedHashMap<>();
+        phongRepository.findAll().stream()
+                .sorted(Comparator.comparing(LapDayPhongService::tenKhuVuc, THEO_TEN))
+                .forEach(p -> {
+                    String maKhu = p.getKhuVuc() != null ? p.getKhuVuc().getId() : null;
+                    theoKhu.computeIfAbsent(maKhu, k -> new ArrayList<>()).add(p);
+                    tenKhu.put(maKhu, tenKhuVuc(p));
+                });
+        List<TyLeLapDayDto> ketQua = new ArrayList<>();
+        for (YearMonth thang = tu; !thang.isAfter(den); thang = thang.plusMonths(1)) {
+            LocalDate dauThang = thang.atDay(1);
+            LocalDate cuoiThang = thang.atEndOfMonth();
+            for (Map.Entry<String, List<Phong>> e : theoKhu.entrySet()) {
+                long coNguoi = 0;
+                for (Phong p : e.getValue()) {
+                    coNguoi += chiMuc.soNgayCoNguoi(p.getId(), dauThang, cuoiThang);
+                }
+                long tongNgay = (long) e.getValue().size() * thang.lengthOfMonth();
+                double tyLe = Math.round(coNguoi * 10_000.0 / tongNgay) / 10_000.0;
+                ketQua.add(new TyLeLapDayDto(e.getKey(), tenKhu.get(e.getKey()), thang.toString(),
+                        e.getValue().size(), coNguoi, tyLe));
+            }
+        }
+        return ketQua;
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (!(suKien.thucThe() instanceof HopDong h)) {
+            return;
+        }
+        if (suKien.daXoa()) {
+            chiMuc.xoa(h.getId());
+        } else {
+            ghi(h.getId(), h.getPhong() != null ? h.getPhong().getId() : null, h.getNgayBatDau(), h.getNgayKetThuc(),
+                    h.getTrangThai());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daCapNhatHangLoat(SuKienCapNhatHangLoat suKien) {
+        suKien.hanHopDong().forEach(h ->
+                ghi(h.getId(), h.getPhongId(), h.getNgayBatDau(), h.getNgayKetThuc(), h.getTrangThai()));
+    }
+
+    // Hợp đồng còn hiệu lực giữ phòng hết ngày kết thúc (như TinhTienService);
+    // hợp đồng đã kết thúc trả phòng trong ngày kết thúc nên chỉ giữ tới hôm trước.
+    private void ghi(String ma, String phongId, LocalDate batDau, LocalDate ketThuc, TrangThaiHopDong trangThai) {
+        if (trangThai == TrangThaiHopDong.ACTIVE) {
+            chiMuc.capNhat(ma, phongId, batDau, ketThuc);
+        } else if (ketThuc != null) {
+            chiMuc.capNhat(ma, phongId, batDau, ketThuc.minusDays(1));
+        } else {
+            chiMuc.xoa(ma);
+        }
+    }
+
+    private static String tenKhuVuc(Phong p) {
+        KhuVuc khu = p.getKhuVuc();
+        return khu != null ? khu.getTen() : null;
+    }
+}
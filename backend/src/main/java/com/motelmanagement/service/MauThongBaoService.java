@@ -1,6 +1,7 @@
 package com.motelmanagement.service;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
@@ -34,4 +35,17 @@ public class MauThongBaoService {
     public List<MauThongBaoDto> layDanhSach() {
         return MAU;
     }
+
+    // Thay các chỗ {ten} trong nội dung mẫu bằng giá trị tương ứng.
+    public String dien(String ma, Map<String, String> giaTri) {
+        String noiDung = MAU.stream()
+                .filter(m -> m.getId().equals(ma))
+                .map(MauThongBaoDto::getNoiDung)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Không có mẫu thông báo " + ma));
+        for (Map.Entry<String, String> e : giaTri.entrySet()) {
+            noiDung = noiDung.replace("{" + e.getKey() + "}", e.getValue());
+        }
+        return noiDung;
+    }
 }
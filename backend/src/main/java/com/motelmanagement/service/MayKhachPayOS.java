@@ -0,0 +1,121 @@
+package com.motelmanagement.service;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import com.motelmanagement.config.ThuocTinhPayOS;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Component
+public class MayKhachPayOS {
+    static final String TEN_CHI_SO = "motel.payos.goi";
+
+    public enum TrangThaiMach { DONG, MO, NUA_MO }
+
+    private final ThuocTinhPayOS thuocTinhPayOS;
+    private final RestClient restClient;
+
+    private final AtomicInteger soLoiLienTiep = new AtomicInteger();
+    private final AtomicBoolean dangThu = new AtomicBoolean();
+    private volatile long moDenLuc;
+
+    public MayKhachPayOS(ThuocTinhPayOS thuocTinhPayOS) {
+        this.thuocTinhPayOS = thuocTinhPayOS;
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(thuocTinhPayOS.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(thuocTinhPayOS.getReadTimeout());
+        this.restClient = RestClient.builder()
+                .baseUrl(thuocTinhPayOS.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+
+    public String post(String thaoTac, String duongDan, String body) {
+        boolean laLuotThu = choPhepGoi();
+        if (!laLuotThu && trangThai() != TrangThaiMach.DONG) {
+            ghiChiSo(thaoTac, "bi_chan", 0);
+            throw new IllegalStateException("PayOS tạm thời không khả dụng (circuit breaker đang mở).");
+        }
+        long batDau = System.nanoTime();
+        String ketQua = "loi";
+        try {
+            String phanHoi = restClient.post()
+                    .uri(duongDan)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("x-client-id", thuocTinhPayOS.getClientId())
+                    .header("x-api-key", thuocTinhPayOS.getApiKey())
+                    .body(body)
+                    .retrieve()
+                    .body(String.class);
+            ketQua = "ok";
+            return phanHoi;
+        } catch (HttpClientErrorException e) {
+            ketQua = "loi_4xx";
+            throw e;
+        } finally {
+            long nano = System.nanoTime() - batDau;
+            boolean loiNhaCungCap = "loi".equals(ketQua);
+            ghiChiSo(thaoTac, ketQua, nano);
+            ghiKetQua(loiNhaCungCap, laLuotThu);
+            log.debug("PayOS {} {} {}ms {}", thaoTac, duongDan, nano / 1_000_000, ketQua);
+        }
+    }
+
+    public TrangThaiMach trangThai() {
+        if (soLoiLienTiep.get() < thuocTinhPayOS.getCircuitFailureThreshold()) {
+            return TrangThaiMach.DONG;
+        }
+        return System.currentTimeMillis() < moDenLuc ? TrangThaiMach.MO : TrangThaiMach.NUA_MO;
+    }
+
+    private boolean choPhepGoi() {
+        TrangThaiMach hienTai = trangThai();
+        if (hienTai == TrangThaiMach.DONG) {
+            return false;
+        }
+        return hienTai == TrangThaiMach.NUA_MO && dangThu.compareAndSet(false, true);
+    }
+
+    private void ghiKetQua(boolean loi, boolean laLuotThu) {
+        if (laLuotThu) {
+            dangThu.set(false);
+        }
+        if (!loi) {
+            soLoiLienTiep.set(0);
+            return;
+        }
+        int soLoi = soLoiLienTiep.incrementAndGet();
+        if (laLuotThu || soLoi == thuocTinhPayOS.getCircuitFailureThreshold()) {
+            moDenLuc = System.currentTimeMillis() + thuocTinhPayOS.getCircuitOpenDuration().toMillis();
+            log.warn("PayOS circuit breaker mở sau {} lỗi liên tiếp", soLoi);
+        }
+    }
+
+    // loi_4xx là lỗi yêu cầu của mình nên không tính vào circuit breaker; "loi" gồm 5xx và timeout.
+    private static void ghiChiSo(String thaoTac, String ketQua, long nano) {
+        Timer.builder(TEN_CHI_SO)
+                .description("Thời gian gọi API PayOS")
+                .tag("thao_tac", thaoTac)
+                .tag("ket_qua", ketQua)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(nano, TimeUnit.NANOSECONDS);
+    }
+}
@@ -15,12 +15,23 @@ import lombok.RequiredArgsConstructor;
 public class NguoiDungChoChatService {
     private final NguoiDungRepository nguoiDungRepository;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
+    private final ChiMucTimKiemService chiMucTimKiemService;
 
     public List<DtoNguoiDungChat> timKiem(String q) {
         NguoiDung toi = nguoiDungHienTaiService.layNguoiDungHienTai();
         if (toi == null) {
             throw new IllegalArgumentException("Chưa đăng nhập.");
         }
+        if (q != null && !q.isBlank() && chiMucTimKiemService.sanSang()) {
+            return chiMucTimKiemService.timNguoiDung(q, toi.getId(), 30).stream()
+                    .map(n -> DtoNguoiDungChat.builder()
+                            .id(n.id())
+                            .hoTen(n.hoTen())
+                            .tenDangNhap(n.tenDangNhap())
+                            .vaiTro(n.vaiTro())
+                            .build())
+                    .toList();
+        }
         List<NguoiDung> ds;
         if (q == null || q.isBlank()) {
             ds = nguoiDungRepository.findByKichHoatTrueAndIdNot(toi.getId());
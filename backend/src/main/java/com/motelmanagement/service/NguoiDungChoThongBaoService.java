@@ -1,13 +1,18 @@
 package com.motelmanagement.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.HopDongThanhVien;
 import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.TrangThaiHopDong;
@@ -27,23 +32,56 @@ public class NguoiDungChoThongBaoService {
     private final HopDongRepository hopDongRepository;
 
     public List<DtoNguoiDungChoThongBao> layDanhSach() {
-        return nguoiDungRepository.findAll().stream()
+        List<NguoiDung> dsNguoiDung = nguoiDungRepository.findAll().stream()
                 .filter(nd -> nd.getVaiTro() != VaiTro.ADMIN)
-                .map(this::sangDto)
+                .toList();
+        if (dsNguoiDung.isEmpty()) {
+            return List.of();
+        }
+        Map<String, String> khachTheoNguoiDung = new HashMap<>();
+        for (KhachThue k : khachThueRepository.findByNguoiDung_IdIn(
+                dsNguoiDung.stream().map(NguoiDung::getId).toList())) {
+            khachTheoNguoiDung.put(k.getNguoiDung().getId(), k.getId());
+        }
+        Map<String, List<HopDong>> hopDongTheoKhach = layHopDongActiveTheoKhach(khachTheoNguoiDung.values());
+        return dsNguoiDung.stream()
+                .map(nd -> sangDto(nd, hopDongTheoKhach.getOrDefault(khachTheoNguoiDung.get(nd.getId()), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private DtoNguoiDungChoThongBao sangDto(NguoiDung nd) {
+    private Map<String, List<HopDong>> layHopDongActiveTheoKhach(Collection<String> maKhach) {
+        Map<String, List<HopDong>> theoKhach = new HashMap<>();
+        if (maKhach.isEmpty()) {
+            return theoKhach;
+        }
+        Set<String> canTim = Set.copyOf(maKhach);
+        for (HopDong h : hopDongRepository.timTheoTrangThaiThuocKhachThue(canTim, TrangThaiHopDong.ACTIVE)) {
+            Set<String> cuaHopDong = new LinkedHashSet<>();
+            if (h.getKhachThue() != null) {
+                cuaHopDong.add(h.getKhachThue().getId());
+            }
+            if (h.getThanhVien() != null) {
+                for (HopDongThanhVien tv : h.getThanhVien()) {
+                    if (tv.getKhachThue() != null) {
+                        cuaHopDong.add(tv.getKhachThue().getId());
+                    }
+                }
+            }
+            for (String kid : cuaHopDong) {
+                if (canTim.contains(kid)) {
+                    theoKhach.computeIfAbsent(kid, k -> new ArrayList<>()).add(h);
+                }
+            }
+        }
+        return theoKhach;
+    }
+
+    private DtoNguoiDungChoThongBao sangDto(NguoiDung nd, List<HopDong> hopDongs) {
         DtoNguoiDungChoThongBao dto = new DtoNguoiDungChoThongBao();
         dto.setId(nd.getId());
         dto.setTenDangNhap(nd.getTenDangNhap());
         dto.setHoTen(nd.getHoTen());
         dto.setVaiTro(nd.getVaiTro());
-        KhachThue khach = khachThueRepository.findByNguoiDung_Id(nd.getId());
-        if (khach == null) {
-            return dto;
-        }
-        List<HopDong> hopDongs = hopDongRepository.findThuocKhachThueCoPhong(khach.getId());
         Set<String> maPhong = new LinkedHashSet<>();
         Set<String> tenKhu = new LinkedHashSet<>();
         for (HopDong h : hopDongs) {
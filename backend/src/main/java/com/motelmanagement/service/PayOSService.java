@@ -3,22 +3,17 @@ package com.motelmanagement.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 import java.util.TreeMap;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientResponseException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,12 +21,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.motelmanagement.config.ThuocTinhPayOS;
 import com.motelmanagement.domain.DonHangPayOS;
 import com.motelmanagement.domain.HoaDon;
-import com.motelmanagement.domain.PhuongThucThanhToan;
-import com.motelmanagement.domain.ThanhToan;
-import com.motelmanagement.domain.TrangThaiHoaDon;
-import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.DonHangPayOSRepository;
-import com.motelmanagement.repository.ThanhToanRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,16 +31,17 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class PayOSService {
-    private static final String CREATE_PAYMENT_URL = "https://api-merchant.payos.vn/v2/payment-requests";
-    private static final String CONFIRM_WEBHOOK_URL = "https://api-merchant.payos.vn/confirm-webhook";
+    private static final String CREATE_PAYMENT_PATH = "/v2/payment-requests";
+    private static final String CONFIRM_WEBHOOK_PATH = "/confirm-webhook";
+    private static final Duration DU_PHONG_TAI_SU_DUNG = Duration.ofMinutes(1);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final ThuocTinhPayOS thuocTinhPayOS;
     private final DonHangPayOSRepository donHangPayOSRepository;
-    private final HoaDonRepository hoaDonRepository;
-    private final ThanhToanRepository thanhToanRepository;
     private final TinhTienService tinhTienService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final MayKhachPayOS mayKhachPayOS;
+    private final XuLyThanhToanPayOSService xuLyThanhToanPayOSService;
+    private final CapMaDonHangService capMaDonHangService;
 
 
     public String taoLinkThanhToan(HoaDon hoaDon) {
@@ -63,19 +54,25 @@ public class PayOSService {
             return null;
         }
 
-        List<ThanhToan> dsThu = thanhToanRepository.findByHoaDon_Id(hoaDon.getId());
-        BigDecimal daThu = (dsThu == null ? Collections.<ThanhToan>emptyList() : dsThu).stream()
-                .map(ThanhToan::getSoTien)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal conLai = hoaDon.getTongTien().subtract(daThu).setScale(0, RoundingMode.HALF_UP);
+        BigDecimal conLai = hoaDon.getConLai().setScale(0, RoundingMode.HALF_UP);
         if (conLai.compareTo(BigDecimal.ZERO) <= 0) {
             return null;
         }
         long soTien = conLai.longValue();
         if (soTien <= 0) return null;
 
-        int maDonHang = (int) (System.currentTimeMillis() % 2_000_000_000);
-        if (maDonHang <= 0) maDonHang = 1;
+        LocalDateTime bayGio = LocalDateTime.now();
+        Optional<String> linkCu = donHangPayOSRepository
+                .findFirstByMaHoaDonAndSoTienAndHetHanLucAfterOrderByHetHanLucDesc(
+                        hoaDon.getId(), soTien, bayGio.plus(DU_PHONG_TAI_SU_DUNG))
+                .map(DonHangPayOS::getLinkThanhToan)
+                .filter(link -> !laRong(link));
+        if (linkCu.isPresent()) {
+            return linkCu.get();
+        }
+        LocalDateTime hetHanLuc = bayGio.plus(thuocTinhPayOS.getLinkTtl());
+
+        long maDonHang = capMaDonHangService.capMa();
 
         String urlQuayLai = thuocTinhPayOS.getReturnUrl() != null
                 ? thuocTinhPayOS.getReturnUrl()
@@ -99,28 +96,23 @@ public class PayOSService {
         bodyNode.put("description", moTa);
         bodyNode.put("cancelUrl", urlHuy);
         bodyNode.put("returnUrl", urlQuayLai);
+        bodyNode.put("expiredAt", hetHanLuc.atZone(ZoneId.systemDefault()).toEpochSecond());
         bodyNode.put("signature", chuKy);
         String body = bodyNode.toString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("x-client-id", thuocTinhPayOS.getClientId());
-        headers.set("x-api-key", thuocTinhPayOS.getApiKey());
-
         try {
-            ResponseEntity<String> phanHoi = restTemplate.exchange(
-                    CREATE_PAYMENT_URL,
-                    HttpMethod.POST,
-                    new HttpEntity<>(body, headers),
-                    String.class);
-            if (phanHoi.getStatusCode().is2xxSuccessful() && phanHoi.getBody() != null) {
-                JsonNode root = OBJECT_MAPPER.readTree(phanHoi.getBody());
+            String phanHoi = mayKhachPayOS.post("tao-link", CREATE_PAYMENT_PATH, body);
+            if (phanHoi != null) {
+                JsonNode root = OBJECT_MAPPER.readTree(phanHoi);
                 if ("00".equals(root.path("code").asText(null))) {
                     String linkThanhToan = root.path("data").path("checkoutUrl").asText(null);
                     if (linkThanhToan != null) {
                         DonHangPayOS donHang = new DonHangPayOS();
                         donHang.setMaDonHang(maDonHang);
                         donHang.setMaHoaDon(hoaDon.getId());
+                        donHang.setSoTien(soTien);
+                        donHang.setLinkThanhToan(linkThanhToan);
+                        donHang.setHetHanLuc(hetHanLuc);
                         donHangPayOSRepository.save(donHang);
                         return linkThanhToan;
                     }
@@ -146,19 +138,9 @@ public class PayOSService {
         try {
             ObjectNode bodyNode = OBJECT_MAPPER.createObjectNode();
             bodyNode.put("webhookUrl", thuocTinhPayOS.getWebhookUrl().trim());
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("x-client-id", thuocTinhPayOS.getClientId());
-            headers.set("x-api-key", thuocTinhPayOS.getApiKey());
-            ResponseEntity<String> phanHoi = restTemplate.exchange(
-                    CONFIRM_WEBHOOK_URL,
-                    HttpMethod.POST,
-                    new HttpEntity<>(bodyNode.toString(), headers),
-                    String.class);
-            if (phanHoi.getStatusCode().is2xxSuccessful()) {
-                log.info("PayOS confirm-webhook OK: {}", phanHoi.getBody());
-                return true;
-            }
+            String phanHoi = mayKhachPayOS.post("xac-nhan-webhook", CONFIRM_WEBHOOK_PATH, bodyNode.toString());
+            log.info("PayOS confirm-webhook OK: {}", phanHoi);
+            return true;
         } catch (Exception e) {
             log.warn("PayOS confirm-webhook failed", e);
         }
@@ -185,7 +167,8 @@ public class PayOSService {
             int soTien = data.path("amount").asInt(0);
             if (maDonHang == 0 || soTien <= 0) return true;
 
-            return capNhatThanhToanTheoMaDonHang(maDonHang, soTien);
+            if (xuLyThanhToanPayOSService.daXuLy(maDonHang)) return true;
+            return xuLyThanhToanPayOSService.ghiNhan(maDonHang, soTien, "WEBHOOK");
         } catch (Exception e) {
             log.warn("PayOS webhook parse/verify failed", e);
             return false;
@@ -194,53 +177,26 @@ public class PayOSService {
 
 
     public boolean xacNhanThanhToanTuReturnUrl(long maDonHang) {
-        return capNhatThanhToanTheoMaDonHang(maDonHang, null);
+        if (xuLyThanhToanPayOSService.daXuLy(maDonHang)) return true;
+        return xuLyThanhToanPayOSService.ghiNhan(maDonHang, null, "RETURN_URL");
     }
 
-    public Optional<String> timMaHoaDonTheoMaDonHang(long maDonHang) {
-        return donHangPayOSRepository.findByMaDonHang(maDonHang).map(DonHangPayOS::getMaHoaDon);
+    public boolean daXuLyDonHang(long maDonHang) {
+        return xuLyThanhToanPayOSService.daXuLy(maDonHang);
     }
 
-    private boolean capNhatThanhToanTheoMaDonHang(long maDonHang, Integer soTienWebhook) {
-        return donHangPayOSRepository.findByMaDonHang(maDonHang)
-                .map(donHang -> {
-                    HoaDon hoaDon = hoaDonRepository.findById(donHang.getMaHoaDon()).orElse(null);
-                    hoaDon = tinhTienService.tinhTienRuntime(hoaDon);
-                    if (hoaDon == null || hoaDon.getTongTien() == null) return false;
-
-                    java.math.BigDecimal tongDaThanhToan = thanhToanRepository.findByHoaDon_Id(hoaDon.getId()).stream()
-                            .map(ThanhToan::getSoTien)
-                            .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-                    java.math.BigDecimal conLai = hoaDon.getTongTien().subtract(tongDaThanhToan);
-                    if (conLai.compareTo(java.math.BigDecimal.ZERO) <= 0) {
-                        hoaDon.setTrangThai(TrangThaiHoaDon.PAID);
-                        hoaDonRepository.save(hoaDon);
-                        donHangPayOSRepository.delete(donHang);
-                        return true;
-                    }
+    // Link đã bị hủy trên cổng PayOS thì không được trả lại cho lần bấm "Thanh toán" tiếp theo.
+    public void huyDonHang(long maDonHang) {
+        donHangPayOSRepository.danhDauHetHan(maDonHang, LocalDateTime.now());
+    }
 
-                    java.math.BigDecimal soTienGhiNhan = (soTienWebhook != null && soTienWebhook > 0)
-                            ? java.math.BigDecimal.valueOf(soTienWebhook)
-                            : conLai;
-                    if (soTienGhiNhan.compareTo(conLai) > 0) {
-                        soTienGhiNhan = conLai;
-                    }
+    public int donDonHangHetHan() {
+        LocalDateTime moc = LocalDateTime.now().minus(thuocTinhPayOS.getLinkCleanupGrace());
+        return donHangPayOSRepository.xoaHetHanTruoc(moc);
+    }
 
-                    ThanhToan thanhToan = new ThanhToan();
-                    thanhToan.setHoaDon(hoaDon);
-                    thanhToan.setSoTien(soTienGhiNhan);
-                    thanhToan.setPhuongThuc(PhuongThucThanhToan.TRANSFER);
-                    thanhToanRepository.save(thanhToan);
-
-                    java.math.BigDecimal tongSau = tongDaThanhToan.add(soTienGhiNhan);
-                    hoaDon.setTrangThai(tongSau.compareTo(hoaDon.getTongTien()) >= 0
-                            ? TrangThaiHoaDon.PAID
-                            : TrangThaiHoaDon.PARTIAL);
-                    hoaDonRepository.save(hoaDon);
-                    donHangPayOSRepository.delete(donHang);
-                    return true;
-                })
-                .orElse(false);
+    public Optional<String> timMaHoaDonTheoMaDonHang(long maDonHang) {
+        return donHangPayOSRepository.findByMaDonHang(maDonHang).map(DonHangPayOS::getMaHoaDon);
     }
 
     private String xayChuKyTuData(JsonNode data) {
@@ -0,0 +1,380 @@
+package com.motelmanagement.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.motelmanagement.config.ThuocTinhDuLieuLon;
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.KieuMaNhiPhan;
+import com.motelmanagement.repository.BangGiaDichVuRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SinhDuLieuLonService {
+    static final String TIEN_TO_PHONG = "TT";
+    static final String TEN_NHAN_VIEN = "nhanvien_tt";
+    static final String MAU_TEN_KHACH = "tt_khach_%05d";
+
+    private static final String[] HO = { "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng" };
+    private static final String[] DEM = { "Văn", "Thị", "Minh", "Ngọc", "Thanh", "Quốc", "Gia", "Hữu" };
+    private static final String[] TEN = { "An", "Bình", "Chi", "Dũng", "Giang", "Hà", "Hải", "Hương", "Khoa", "Lan",
+            "Linh", "Long", "Mai", "Nam", "Phúc", "Quân", "Sơn", "Tâm", "Trang", "Tuấn", "Vy" };
+    private static final String[] TIN_KHACH = { "Phòng em bị rò nước ở bồn rửa ạ.", "Tháng này em chuyển khoản rồi nhé.",
+            "Cho em hỏi hóa đơn tháng này sao cao vậy?", "Wifi tầng em chập chờn quá.", "Em cảm ơn ạ!",
+            "Mai em về quê, gửi chìa khóa ở đâu ạ?" };
+    private static final String[] TIN_NHAN_VIEN = { "Chiều nay thợ sẽ qua kiểm tra nhé.", "Đã nhận, cảm ơn bạn.",
+            "Tháng này điện dùng nhiều hơn tháng trước, bạn xem chỉ số trong hóa đơn nhé.",
+            "Mình báo bên mạng rồi, tối nay sẽ ổn.", "Bạn gửi chìa khóa ở phòng quản lý tầng 1 nhé." };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final BangGiaDichVuRepository bangGiaDichVuRepository;
+    private final ThuocTinhDuLieuLon thuocTinh;
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService;
+    private final ChiMucTimKiemService chiMucTimKiemService;
+    private final TimKiemToanCucService timKiemToanCucService;
+    private final LapDayPhongService lapDayPhongService;
+    private final VongDoiHopDongService vongDoiHopDongService;
+    private final TongQuanKhachThueService tongQuanKhachThueService;
+    private final TrangChuKhachService trangChuKhachService;
+
+    public record KetQuaSinh(Map<String, Long> soDongTheoBang, long thoiGianMs) {
+        public long tongSoDong() {
+            return soDongTheoBang.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+
+    public boolean daCoDuLieu() {
+        Long soPhong = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM phong WHERE ma_phong LIKE ?", Long.class, TIEN_TO_PHONG + "%");
+        return soPhong != null && soPhong > 0;
+    }
+
+
+    public KetQuaSinh sinh() {
+        long batDau = System.currentTimeMillis();
+        PhienSinh phien = new PhienSinh();
+        phien.chay();
+        phien.boLo.xaTatCa();
+        boNhoDemThamChieuService.xoaTatCa();
+        chiMucTimKiemService.napLai();
+        timKiemToanCucService.napLai();
+        lapDayPhongService.napLai();
+        vongDoiHopDongService.napLai();
+        tongQuanKhachThueService.xoaTatCa();
+        trangChuKhachService.xoaTatCa();
+        KetQuaSinh ketQua = new KetQuaSinh(phien.boLo.soDong(), System.currentTimeMillis() - batDau);
+        log.info("Sinh dữ liệu lớn xong: {} dòng trong {} ms {}", ketQua.tongSoDong(), ketQua.thoiGianMs(),
+                ketQua.soDongTheoBang());
+        return ketQua;
+    }
+
+    private final class PhienSinh {
+        private final Random ngauNhien = new Random(thuocTinh.getHatGiong());
+        private final BoLo boLo = new BoLo(Math.max(1, thuocTinh.getKichThuocLo()));
+        private final Lo khuVuc = boLo.bang("khu_vuc", "id", "ten", "dia_chi", "mo_ta");
+        private final Lo phong = boLo.bang("phong",
+                "id", "ma_phong", "tang", "trang_thai", "khu_vuc_id", "gia_hien_tai", "dien_tich");
+        private final Lo nguoiDung = boLo.bang("nguoi_dung",
+                "id", "ten_dang_nhap", "mat_khau", "ho_ten", "so_dien_thoai", "email", "vai_tro", "kich_hoat");
+        private final Lo khachThue = boLo.bang("khach_thue",
+                "id", "ho_ten", "so_dien_thoai", "so_giay_to", "dia_chi", "email", "nguoi_dung_id");
+        private final Lo hopDong = boLo.bang("hop_dong", "id", "phong_id", "khach_thue_id",
+                "ngay_bat_dau", "ngay_ket_thuc", "trang_thai", "tien_coc", "tien_thue", "ngay_tao");
+        private final Lo thanhVien = boLo.bang("hop_dong_thanh_vien", "id", "hop_dong_id", "khach_thue_id", "la_dai_dien");
+        private final Lo chiSo = boLo.bang("chi_so_dien_nuoc", "id", "phong_id", "thang", "nam",
+                "dien_moi", "nuoc_moi", "tien_dien", "tien_nuoc", "ngay_tao");
+        private final Lo hoaDon = boLo.bang("hoa_don",
+                "id", "phong_id", "khach_thue_id", "thang", "nam", "da_thu", "trang_thai", "ngay_tao");
+        private final Lo thanhToan = boLo.bang("thanh_toan",
+                "id", "hoa_don_id", "so_tien", "thoi_gian_thanh_toan", "phuong_thuc");
+        private final Lo hoiThoai = boLo.bang("hoi_thoai", "id", "loai", "thoi_gian_tao");
+        private final Lo thanhVienHoiThoai = boLo.bang("thanh_vien_hoi_thoai",
+                "id", "hoi_thoai_id", "nguoi_dung_id", "thoi_gian_tham_gia");
+        private final Lo tinNhan = boLo.bang("tin_nhan", "id", "hoi_thoai_id", "nguoi_gui_id", "nguoi_nhan_id",
+                "phong_id", "loai", "noi_dung", "da_doc", "thoi_gian_gui");
+
+        private final YearMonth thangCuoi = YearMonth.now().minusMonths(1);
+        private final YearMonth thangDau = thangCuoi.minusMonths(Math.max(1, thuocTinh.getSoNam()) * 12L - 1);
+        private final String matKhauMaHoa = passwordEncoder.encode(thuocTinh.getMatKhau());
+        private long demMa;
+        private int soKhach;
+        private BigDecimal giaDien;
+        private BigDecimal giaNuoc;
+        private String maNhanVien;
+
+        private void chay() {
+            napBangGia();
+            maNhanVien = layHoacTaoNhanVien();
+            int soKhuVuc = Math.max(1, thuocTinh.getSoKhuVuc());
+            List<String> dsKhuVuc = new ArrayList<>(soKhuVuc);
+            for (int k = 0; k < soKhuVuc; k++) {
+                String id = maMoi();
+                khuVuc.them(id, "Khu tải thử " + (k + 1), (k + 1) + " Đường số " + (k + 3) + ", TP.HCM",
+                        "Sinh tự động cho kiểm thử tải");
+                dsKhuVuc.add(id);
+            }
+            for (int i = 0; i < thuocTinh.getSoPhong(); i++) {
+                int k = i % soKhuVuc;
+                String maPhong = maMoi();
+                boolean coKhach = ngauNhien.nextDouble() < thuocTinh.getTyLeCoKhach();
+                BigDecimal gia = giaPhongNgauNhien();
+                phong.them(maPhong,
+                        String.format("%s%02d-%05d", TIEN_TO_PHONG, k + 1, i + 1),
+                        String.valueOf(1 + ngauNhien.nextInt(Math.max(1, thuocTinh.getSoTang()))),
+                        coKhach ? "OCCUPIED" : "AVAILABLE",
+                        dsKhuVuc.get(k),
+                        gia,
+                        BigDecimal.valueOf(15 + ngauNhien.nextInt(26)));
+                if (coKhach) {
+                    sinhKhachVaLichSu(++soKhach, maPhong, gia);
+                }
+            }
+        }
+
+        private void napBangGia() {
+            BangGiaDichVu bangGia = bangGiaDichVuRepository.findFirstByOrderByHieuLucTuDesc().orElse(null);
+            if (bangGia != null && bangGia.getGiaDien() != null && bangGia.getGiaNuoc() != null) {
+                giaDien = bangGia.getGiaDien();
+                giaNuoc = bangGia.getGiaNuoc();
+                return;
+            }
+            giaDien = new BigDecimal("3500");
+            giaNuoc = new BigDecimal("15000");
+            jdbcTemplate.update(
+                    "INSERT INTO bang_gia_dich_vu (id, gia_phong, gia_dien, gia_nuoc, hieu_luc_tu) VALUES (?, ?, ?, ?, ?)",
+                    KieuMaNhiPhan.sangNhiPhan(maMoi()), new BigDecimal("2500000"), giaDien, giaNuoc,
+                    thangDau.atDay(1));
+        }
+
+        private String layHoacTaoNhanVien() {
+            List<byte[]> co = jdbcTemplate.queryForList(
+                    "SELECT id FROM nguoi_dung WHERE ten_dang_nhap = ?", byte[].class, TEN_NHAN_VIEN);
+            if (!co.isEmpty()) {
+                return KieuMaNhiPhan.tuNhiPhan(co.get(0));
+            }
+            String id = maMoi();
+            nguoiDung.them(id, TEN_NHAN_VIEN, matKhauMaHoa, "Nhân viên tải thử", "0900000000",
+                    TEN_NHAN_VIEN + "@taithu.local", "STAFF", true);
+            return id;
+        }
+
+        private void sinhKhachVaLichSu(int soThuTu, String maPhong, BigDecimal gia) {
+            int soThanhVien = 1 + ngauNhien.nextInt(Math.max(1, thuocTinh.getSoThanhVienToiDa()));
+            String tenDangNhap = String.format(MAU_TEN_KHACH, soThuTu);
+            String maNguoiDung = maMoi();
+            String hoTenDaiDien = hoTenNgauNhien();
+            nguoiDung.them(maNguoiDung, tenDangNhap, matKhauMaHoa, hoTenDaiDien, soDienThoai(),
+                    tenDangNhap + "@taithu.local", "TENANT", true);
+
+            LocalDate ngayBatDau = thangDau.atDay(1);
+            String maHopDong = maMoi();
+            String maDaiDien = null;
+            List<String> dsKhach = new ArrayList<>(soThanhVien);
+            for (int t = 0; t < soThanhVien; t++) {
+                String maKhach = maMoi();
+                boolean laDaiDien = t == 0;
+                khachThue.them(maKhach,
+                        laDaiDien ? hoTenDaiDien : hoTenNgauNhien(),
+                        soDienThoai(),
+                        String.format("0790%08d", ngauNhien.nextInt(100_000_000)),
+                        "Tỉnh " + (1 + ngauNhien.nextInt(63)),
+                        laDaiDien ? tenDangNhap + "@taithu.local" : null,
+                        laDaiDien ? maNguoiDung : null);
+                if (laDaiDien) {
+                    maDaiDien = maKhach;
+                    hopDong.them(maHopDong, maPhong, maKhach, ngayBatDau,
+                            ngayBatDau.plusYears(thuocTinh.getSoNam() + 1L), "ACTIVE", gia, gia,
+                            ngayBatDau.atTime(9, 0));
+                }
+                dsKhach.add(maKhach);
+            }
+            for (int t = 0; t < dsKhach.size(); t++) {
+                thanhVien.them(maMoi(), maHopDong, dsKhach.get(t), t == 0);
+            }
+
+            sinhChiSoVaHoaDon(maPhong, maDaiDien, gia);
+            sinhHoiThoai(maPhong, maNguoiDung, ngayBatDau.atTime(10, 0));
+        }
+
+        private void sinhChiSoVaHoaDon(String maPhong, String maKhach, BigDecimal gia) {
+            int dien = 0;
+            int nuoc = 0;
+            for (YearMonth ky = thangDau; !ky.isAfter(thangCuoi); ky = ky.plusMonths(1)) {
+                int dungDien = 80 + ngauNhien.nextInt(171);
+                int dungNuoc = 3 + ngauNhien.nextInt(10);
+                dien += dungDien;
+                nuoc += dungNuoc;
+                BigDecimal tienDien = giaDien.multiply(BigDecimal.valueOf(dungDien));
+                BigDecimal tienNuoc = giaNuoc.multiply(BigDecimal.valueOf(dungNuoc));
+                chiSo.them(maMoi(), maPhong, ky.getMonthValue(), ky.getYear(), dien, nuoc, tienDien, tienNuoc,
+                        ky.atEndOfMonth().atTime(20, 0));
+
+                BigDecimal tongTien = gia.add(tienDien).add(tienNuoc);
+                String trangThai = trangThaiHoaDon(ky.equals(thangCuoi));
+                BigDecimal daThu = switch (trangThai) {
+                    case "PAID" -> tongTien;
+                    case "PARTIAL" -> tongTien.divide(BigDecimal.valueOf(2), -3, RoundingMode.DOWN).setScale(2);
+                    default -> BigDecimal.ZERO;
+                };
+                LocalDateTime ngayLap = ky.plusMonths(1).atDay(1).atTime(8, 0);
+                String maHoaDon = maMoi();
+                hoaDon.them(maHoaDon, maPhong, maKhach, ky.getMonthValue(), ky.getYear(), daThu, trangThai, ngayLap);
+                if (daThu.signum() > 0) {
+                    thanhToan.them(maMoi(), maHoaDon, daThu,
+                            ngayLap.plusDays(ngauNhien.nextInt(10)).plusMinutes(ngauNhien.nextInt(600)),
+                            ngauNhien.nextInt(3) == 0 ? "CASH" : "TRANSFER");
+                }
+            }
+        }
+
+        private String trangThaiHoaDon(boolean laThangCuoi) {
+            double r = ngauNhien.nextDouble();
+            if (laThangCuoi) {
+                return r < 0.5 ? "UNPAID" : r < 0.7 ? "PARTIAL" : "PAID";
+            }
+            return r < 0.02 ? "UNPAID" : r < 0.04 ? "PARTIAL" : "PAID";
+        }
+
+        private void sinhHoiThoai(String maPhong, String maKhach, LocalDateTime batDau) {
+            int soTin = thuocTinh.getSoTinNhanMoiPhong();
+            if (soTin <= 0) {
+                return;
+            }
+            String maHoiThoai = maMoi();
+            hoiThoai.them(maHoiThoai, "PRIVATE", batDau);
+            thanhVienHoiThoai.them(maMoi(), maHoiThoai, maKhach, batDau);
+            thanhVienHoiThoai.them(maMoi(), maHoiThoai, maNhanVien, batDau);
+            long khoangPhut = Math.max(1, Duration.between(batDau, LocalDateTime.now()).toMinutes() / soTin);
+            LocalDateTime luc = batDau;
+            for (int n = 0; n < soTin; n++) {
+                luc = luc.plusMinutes(1 + (long) (ngauNhien.nextDouble() * khoangPhut));
+                boolean khachGui = n % 2 == 0;
+                tinNhan.them(maMoi(), maHoiThoai,
+                        khachGui ? maKhach : maNhanVien,
+                        khachGui ? maNhanVien : maKhach,
+                        maPhong, "TEXT",
+                        khachGui ? chon(TIN_KHACH) : chon(TIN_NHAN_VIEN),
+                        n < soTin - 1,
+                        luc);
+            }
+        }
+
+        private BigDecimal giaPhongNgauNhien() {
+            BigDecimal thap = thuocTinh.getGiaPhongThapNhat();
+            BigDecimal khoang = thuocTinh.getGiaPhongCaoNhat().subtract(thap);
+            return thap.add(khoang.multiply(BigDecimal.valueOf(ngauNhien.nextDouble())))
+                    .setScale(-4, RoundingMode.DOWN)
+                    .setScale(2);
+        }
+
+        private String hoTenNgauNhien() {
+            return chon(HO) + " " + chon(DEM) + " " + chon(TEN);
+        }
+
+        private String soDienThoai() {
+            return String.format("09%08d", ngauNhien.nextInt(100_000_000));
+        }
+
+        private String chon(String[] ds) {
+            return ds[ngauNhien.nextInt(ds.length)];
+        }
+
+        private String maMoi() {
+            return UUID.nameUUIDFromBytes((thuocTinh.getHatGiong() + ":" + ++demMa).getBytes(StandardCharsets.UTF_8))
+                    .toString();
+        }
+    }
+
+    private final class BoLo {
+        private final int kichThuoc;
+        private final List<Lo> dsLo = new ArrayList<>();
+
+        private BoLo(int kichThuoc) {
+            this.kichThuoc = kichThuoc;
+        }
+
+        private Lo bang(String ten, String... cot) {
+            Lo lo = new Lo(this, ten, cot);
+            dsLo.add(lo);
+            return lo;
+        }
+
+        private void xaTatCa() {
+            for (Lo lo : dsLo) {
+                lo.xa();
+            }
+        }
+
+        private Map<String, Long> soDong() {
+            Map<String, Long> ketQua = new LinkedHashMap<>();
+            for (Lo lo : dsLo) {
+                ketQua.put(lo.ten, lo.tong);
+            }
+            return ketQua;
+        }
+    }
+
+    private final class Lo {
+        private final BoLo boLo;
+        private final String ten;
+        private final String sql;
+        private final boolean[] laMa;
+        private final List<Object[]> dong = new ArrayList<>();
+        private long tong;
+
+        private Lo(BoLo boLo, String ten, String... cot) {
+            this.boLo = boLo;
+            this.ten = ten;
+            this.sql = "INSERT INTO " + ten + " (" + String.join(", ", cot) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(cot.length, "?")) + ")";
+            this.laMa = new boolean[cot.length];
+            for (int i = 0; i < cot.length; i++) {
+                laMa[i] = cot[i].equals("id") || cot[i].endsWith("_id");
+            }
+        }
+
+        private void them(Object... giaTri) {
+            for (int i = 0; i < giaTri.length; i++) {
+                if (laMa[i] && giaTri[i] instanceof String ma) {
+                    giaTri[i] = KieuMaNhiPhan.sangNhiPhan(ma);
+                }
+            }
+            dong.add(giaTri);
+            if (dong.size() >= boLo.kichThuoc) {
+                boLo.xaTatCa();
+            }
+        }
+
+        private void xa() {
+            if (dong.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, dong);
+            tong += dong.size();
+            dong.clear();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.motelmanagement.service;
+
+import java.util.List;
+import java.util.Set;
+
+import com.motelmanagement.dto.HanHopDongDto;
+
+
+// Lệnh UPDATE hàng loạt không gọi listener của entity: ma là các bản ghi bị đổi,
+// hanHopDong là trạng thái đọc lại của những hợp đồng trong số đó.
+public record SuKienCapNhatHangLoat(Set<String> ma, List<HanHopDongDto> hanHopDong) {
+
+    public SuKienCapNhatHangLoat(Set<String> ma) {
+        this(ma, List.of());
+    }
+}
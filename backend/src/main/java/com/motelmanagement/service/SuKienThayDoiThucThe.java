@@ -0,0 +1,5 @@
+package com.motelmanagement.service;
+
+
+// Phát từ callback của Hibernate; bên nhận dùng @TransactionalEventListener để chỉ xử lý khi giao dịch đã commit.
+public record SuKienThayDoiThucThe(Object thucThe, boolean daXoa) {}
@@ -0,0 +1,100 @@
+package com.motelmanagement.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThanhToanService {
+    private final ThanhToanRepository thanhToanRepository;
+    private final HoaDonRepository hoaDonRepository;
+    private final TinhTienService tinhTienService;
+
+
+    @Transactional
+    public ThanhToan ghiNhanThuCong(String maHoaDon, BigDecimal soTien, PhuongThucThanhToan phuongThuc) {
+        HoaDon hoaDon = hoaDonRepository.khoaDeCapNhat(maHoaDon).orElse(null);
+        hoaDon = tinhTienService.tinhTienRuntime(hoaDon);
+        if (hoaDon == null || hoaDon.getTongTien() == null) {
+            throw new IllegalArgumentException("Không tìm thấy hóa đơn.");
+        }
+        if (hoaDon.getTrangThai() == TrangThaiHoaDon.PAID) {
+            throw new IllegalArgumentException("Hóa đơn đã thanh toán đủ.");
+        }
+        BigDecimal conLai = hoaDon.getConLai();
+        if (conLai.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Không còn số tiền cần thu.");
+        }
+        if (soTien.compareTo(conLai) > 0) {
+            throw new IllegalArgumentException(
+                    "Số tiền vượt quá phần còn lại (" + conLai.toPlainString() + " VNĐ).");
+        }
+        return congVaoHoaDon(hoaDon, soTien, phuongThuc);
+    }
+
+
+    public ThanhToan congVaoHoaDon(HoaDon hoaDon, BigDecimal soTien, PhuongThucThanhToan phuongThuc) {
+        ThanhToan thanhToan = new ThanhToan();
+        thanhToan.setHoaDon(hoaDon);
+        thanhToan.setSoTien(soTien);
+        thanhToan.setPhuongThuc(phuongThuc);
+        ThanhToan daLuu = thanhToanRepository.save(thanhToan);
+
+        BigDecimal daThu = hoaDon.getDaThu() != null ? hoaDon.getDaThu() : BigDecimal.ZERO;
+        hoaDon.setDaThu(daThu.add(soTien));
+        hoaDon.setTrangThai(trangThaiTheoDaThu(hoaDon));
+        hoaDonRepository.save(hoaDon);
+        return daLuu;
+    }
+
+
+    @Transactional
+    public int doiSoatDaThu() {
+        List<String> lech = hoaDonRepository.timLechDaThu();
+        int soSua = 0;
+        for (String maHoaDon : lech) {
+            HoaDon hoaDon = hoaDonRepository.khoaDeCapNhat(maHoaDon).orElse(null);
+            if (hoaDon == null) {
+                continue;
+            }
+            BigDecimal thucThu = thanhToanRepository.tongTheoHoaDon(maHoaDon);
+            if (hoaDon.getDaThu() != null && hoaDon.getDaThu().compareTo(thucThu) == 0) {
+                continue;
+            }
+            log.warn("Đối soát: hóa đơn {} ghi đã thu {} nhưng tổng thanh toán là {}",
+                    maHoaDon, hoaDon.getDaThu(), thucThu);
+            hoaDon = tinhTienService.tinhTienRuntime(hoaDon);
+            hoaDon.setDaThu(thucThu);
+            if (hoaDon.getTongTien() != null) {
+                hoaDon.setTrangThai(trangThaiTheoDaThu(hoaDon));
+            }
+            hoaDonRepository.save(hoaDon);
+            soSua++;
+        }
+        return soSua;
+    }
+
+    private static TrangThaiHoaDon trangThaiTheoDaThu(HoaDon hoaDon) {
+        if (hoaDon.getConLai().compareTo(BigDecimal.ZERO) <= 0) {
+            return TrangThaiHoaDon.PAID;
+        }
+        return hoaDon.getDaThu() != null && hoaDon.getDaThu().signum() > 0
+                ? TrangThaiHoaDon.PARTIAL
+                : TrangThaiHoaDon.UNPAID;
+    }
+}
@@ -5,11 +5,14 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.NguoiDung;
@@ -30,11 +33,12 @@ public class ThongBaoService {
     private final ThongBaoRepository thongBaoRepository;
     private final NguoiDungRepository nguoiDungRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher suKien;
 
     @Scheduled(cron = "0 0 9 * * ?")
     public void nhacThanhToanDinhKy() {
         LocalDate hienTai = LocalDate.now();
-        List<HoaDon> chuaThanhToan = hoaDonRepository.findByTrangThai(TrangThaiHoaDon.UNPAID);
+        List<HoaDon> chuaThanhToan = hoaDonRepository.findByTrangThaiWithRoomAndTenant(TrangThaiHoaDon.UNPAID);
         for (HoaDon hoaDon : chuaThanhToan) {
             if (hoaDon.getKhachThue() != null && hoaDon.getKhachThue().getNguoiDung() != null) {
                 NguoiDung nguoiDung = hoaDon.getKhachThue().getNguoiDung();
@@ -71,6 +75,22 @@ public class ThongBaoService {
         }
     }
 
+    public void luuVaDay(List<ThongBao> danhSach) {
+        for (ThongBao thongBao : thongBaoRepository.saveAll(danhSach)) {
+            guiRealtimeDenNguoiDung(thongBao, thongBao.getNguoiDung());
+        }
+    }
+
+    @Transactional
+    public int danhDauDaDocTatCa(NguoiDung nguoiDung) {
+        if (nguoiDung == null) {
+            return 0;
+        }
+        int soDong = thongBaoRepository.danhDauDaDocTatCaCuaNguoiDung(nguoiDung.getId());
+        suKien.publishEvent(new SuKienCapNhatHangLoat(Set.of(nguoiDung.getId())));
+        return soDong;
+    }
+
     private static Map<String, Object> buildPayloadThongBao(ThongBao thongBao) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("id", thongBao.getId());
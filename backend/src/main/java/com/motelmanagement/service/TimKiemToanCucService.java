@@ -0,0 +1,290 @@
+package com.motelmanagement.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.dto.HoaDonTimKiemDto;
+import com.motelmanagement.dto.HopDongTimKiemDto;
+import com.motelmanagement.dto.KetQuaTimKiemDto;
+import com.motelmanagement.dto.KetQuaTimKiemDto.Loai;
+import com.motelmanagement.dto.TrangTimKiemDto;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.KhuVucRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimKiemToanCucService {
+    static final int KICH_THUOC_TOI_DA = 100;
+    private static final Comparator<String> THEO_TEN = Comparator.nullsLast(Comparator.naturalOrder());
+
+    record Muc(Loai loai, String id) {}
+
+    private record TomTatKhuVuc(String ten, String diaChi) {}
+
+    private record TomTatPhong(String maPhong, String tang, String khuVucId) {}
+
+    private record TomTatKhachThue(String hoTen, String soDienThoai, String soGiayTo, String email) {}
+
+    private final KhuVucRepository khuVucRepository;
+    private final PhongRepository phongRepository;
+    private final KhachThueRepository khachThueRepository;
+    private final HopDongRepository hopDongRepository;
+    private final HoaDonRepository hoaDonRepository;
+    private final ChiMucTimKiem<Muc> chiMuc = new ChiMucTimKiem<>();
+    private final Map<String, TomTatKhuVuc> khuVuc = new ConcurrentHashMap<>();
+    private final Map<String, TomTatPhong> phong = new ConcurrentHashMap<>();
+    private final Map<String, TomTatKhachThue> khachThue = new ConcurrentHashMap<>();
+    private final Map<String, HopDongTimKiemDto> hopDong = new ConcurrentHashMap<>();
+    private final Map<String, HoaDonTimKiemDto> hoaDon = new ConcurrentHashMap<>();
+
+
+    @Transactional
+    public synchronized void napLai() {
+        long batDau = System.currentTimeMillis();
+        chiMuc.xoaTatCa();
+        khuVuc.clear();
+        phong.clear();
+        khachThue.clear();
+        hopDong.clear();
+        hoaDon.clear();
+        khuVucRepository.findAll().forEach(k -> khuVuc.put(k.getId(), tomTat(k)));
+        phongRepository.findAll().forEach(p -> phong.put(p.getId(), tomTat(p)));
+        khachThueRepository.findAll().forEach(k -> khachThue.put(k.getId(), tomTat(k)));
+        hopDongRepository.layTomTatTimKiem().forEach(h -> hopDong.put(h.getId(), h));
+        hoaDonRepository.layTomTatTimKiem().forEach(h -> hoaDon.put(h.getId(), h));
+        khuVuc.keySet().forEach(this::ghiKhuVuc);
+        phong.keySet().forEach(this::ghiPhong);
+        khachThue.keySet().forEach(this::ghiKhachThue);
+        hopDong.keySet().forEach(this::ghiHopDong);
+        hoaDon.keySet().forEach(this::ghiHoaDon);
+        log.info("Nạp chỉ mục tìm kiếm toàn cục: {} mục trong {} ms",
+                chiMuc.soMuc(), System.currentTimeMillis() - batDau);
+    }
+
+
+    public TrangTimKiemDto tim(String truyVan, int trang, int kichThuoc) {
+        int soTrang = Math.max(0, trang);
+        int coTrang = Math.min(Math.max(1, kichThuoc), KICH_THUOC_TOI_DA);
+        if (truyVan == null || truyVan.isBlank()) {
+            return new TrangTimKiemDto(List.of(), 0, soTrang, coTrang);
+        }
+        List<KetQuaTimKiemDto> ds = chiMuc.timXepHang(truyVan).stream()
+                .map(kq -> hienThi(kq.giaTri(), kq.diem()))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(KetQuaTimKiemDto::getDiem).reversed()
+                        .thenComparing(KetQuaTimKiemDto::getLoai)
+                        .thenComparing(KetQuaTimKiemDto::getTieuDe, THEO_TEN))
+                .toList();
+        long tu = (long) soTrang * coTrang;
+        List<KetQuaTimKiemDto> trangKetQua = tu >= ds.size()
+                ? List.of()
+                : ds.subList((int) tu, (int) Math.min(ds.size(), tu + coTrang));
+        return new TrangTimKiemDto(trangKetQua, ds.size(), soTrang, coTrang);
+    }
+
+
+    // Chỉ đọc id của quan hệ LAZY để không khởi tạo proxy khi xử lý sự kiện sau commit.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (suKien.daXoa()) {
+            daXoa(suKien.thucThe());
+            return;
+        }
+        Object thucThe = suKien.thucThe();
+        if (thucThe instanceof KhuVuc k) {
+            luuKhuVuc(k.getId(), tomTat(k));
+        } else if (thucThe instanceof Phong p) {
+            luuPhong(p.getId(), tomTat(p));
+        } else if (thucThe instanceof KhachThue k) {
+            luuKhachThue(k.getId(), tomTat(k));
+        } else if (thucThe instanceof HopDong h) {
+            luuHopDong(new HopDongTimKiemDto(h.getId(), maCua(h.getPhong()),
+                    h.getKhachThue() != null ? h.getKhachThue().getId() : null));
+        } else if (thucThe instanceof HoaDon h) {
+            luuHoaDon(new HoaDonTimKiemDto(h.getId(), maCua(h.getPhong()), h.getThang(), h.getNam()));
+        }
+    }
+
+    private void daXoa(Object thucThe) {
+        if (thucThe instanceof KhuVuc k) {
+            xoa(Loai.KHU_VUC, k.getId());
+        } else if (thucThe instanceof Phong p) {
+            xoa(Loai.PHONG, p.getId());
+        } else if (thucThe instanceof KhachThue k) {
+            xoa(Loai.KHACH_THUE, k.getId());
+        } else if (thucThe instanceof HopDong h) {
+            xoa(Loai.HOP_DONG, h.getId());
+        } else if (thucThe instanceof HoaDon h) {
+            xoa(Loai.HOA_DON, h.getId());
+        }
+    }
+
+    private synchronized void luuKhuVuc(String ma, TomTatKhuVuc moi) {
+        TomTatKhuVuc cu = khuVuc.put(ma, moi);
+        ghiKhuVuc(ma);
+        if (cu != null && !Objects.equals(cu.ten(), moi.ten())) {
+            phong.forEach((maPhong, p) -> {
+                if (ma.equals(p.khuVucId())) {
+                    ghiPhong(maPhong);
+                }
+            });
+        }
+    }
+
+    private synchronized void luuPhong(String ma, TomTatPhong moi) {
+        TomTatPhong cu = phong.put(ma, moi);
+        ghiPhong(ma);
+        if (cu != null && !Objects.equals(cu.maPhong(), moi.maPhong())) {
+            hopDong.values().stream().filter(h -> ma.equals(h.getPhongId())).forEach(h -> ghiHopDong(h.getId()));
+            hoaDon.values().stream().filter(h -> ma.equals(h.getPhongId())).forEach(h -> ghiHoaDon(h.getId()));
+        }
+    }
+
+    private synchronized void luuKhachThue(String ma, TomTatKhachThue moi) {
+        TomTatKhachThue cu = khachThue.put(ma, moi);
+        ghiKhachThue(ma);
+        if (cu != null && !Objects.equals(cu.hoTen(), moi.hoTen())) {
+            hopDong.values().stream().filter(h -> ma.equals(h.getKhachThueId()))
+                    .forEach(h -> ghiHopDong(h.getId()));
+        }
+    }
+
+    private synchronized void luuHopDong(HopDongTimKiemDto moi) {
+        hopDong.put(moi.getId(), moi);
+        ghiHopDong(moi.getId());
+    }
+
+    private synchronized void luuHoaDon(HoaDonTimKiemDto moi) {
+        hoaDon.put(moi.getId(), moi);
+        ghiHoaDon(moi.getId());
+    }
+
+    private synchronized void xoa(Loai loai, String ma) {
+        switch (loai) {
+            case KHU_VUC -> khuVuc.remove(ma);
+            case PHONG -> phong.remove(ma);
+            case KHACH_THUE -> khachThue.remove(ma);
+            case HOP_DONG -> hopDong.remove(ma);
+            case HOA_DON -> hoaDon.remove(ma);
+        }
+        chiMuc.xoa(khoa(loai, ma));
+    }
+
+    private void ghiKhuVuc(String ma) {
+        TomTatKhuVuc k = khuVuc.get(ma);
+        chiMuc.capNhat(khoa(Loai.KHU_VUC, ma), new Muc(Loai.KHU_VUC, ma), k.ten(), k.diaChi());
+    }
+
+    private void ghiPhong(String ma) {
+        TomTatPhong p = phong.get(ma);
+        chiMuc.capNhat(khoa(Loai.PHONG, ma), new Muc(Loai.PHONG, ma), p.maPhong(), p.tang(), tenKhuVuc(p));
+    }
+
+    private void ghiKhachThue(String ma) {
+        TomTatKhachThue k = khachThue.get(ma);
+        chiMuc.capNhat(khoa(Loai.KHACH_THUE, ma), new Muc(Loai.KHACH_THUE, ma),
+                k.hoTen(), k.soDienThoai(), k.soGiayTo(), k.email());
+    }
+
+    private void ghiHopDong(String ma) {
+        HopDongTimKiemDto h = hopDong.get(ma);
+        chiMuc.capNhat(khoa(Loai.HOP_DONG, ma), new Muc(Loai.HOP_DONG, ma),
+                ma, maPhong(h.getPhongId()), hoTen(h.getKhachThueId()));
+    }
+
+    // "3/2025 03/2025 2025-03" để khớp cả cách gõ kỳ có và không có số 0 đứng đầu.
+    private void ghiHoaDon(String ma) {
+        HoaDonTimKiemDto h = hoaDon.get(ma);
+        chiMuc.capNhat(khoa(Loai.HOA_DON, ma), new Muc(Loai.HOA_DON, ma),
+                kyHoaDon(h.getThang(), h.getNam()), maPhong(h.getPhongId()));
+    }
+
+    static String kyHoaDon(int thang, int nam) {
+        return String.format("Tháng %d/%d %02d/%d %d-%02d", thang, nam, thang, nam, nam, thang);
+    }
+
+    private KetQuaTimKiemDto hienThi(Muc muc, int diem) {
+        String ma = muc.id();
+        return switch (muc.loai()) {
+            case KHU_VUC -> {
+                TomTatKhuVuc k = khuVuc.get(ma);
+                yield k == null ? null : new KetQuaTimKiemDto(Loai.KHU_VUC, ma, k.ten(), k.diaChi(), diem);
+            }
+            case PHONG -> {
+                TomTatPhong p = phong.get(ma);
+                yield p == null ? null
+                        : new KetQuaTimKiemDto(Loai.PHONG, ma, "Phòng " + p.maPhong(), tenKhuVuc(p), diem);
+            }
+            case KHACH_THUE -> {
+                TomTatKhachThue k = khachThue.get(ma);
+                yield k == null ? null
+                        : new KetQuaTimKiemDto(Loai.KHACH_THUE, ma, k.hoTen(), k.soDienThoai(), diem);
+            }
+            case HOP_DONG -> {
+                HopDongTimKiemDto h = hopDong.get(ma);
+                yield h == null ? null : new KetQuaTimKiemDto(Loai.HOP_DONG, ma,
+                        "Hợp đồng phòng " + maPhong(h.getPhongId()), hoTen(h.getKhachThueId()), diem);
+            }
+            case HOA_DON -> {
+                HoaDonTimKiemDto h = hoaDon.get(ma);
+                yield h == null ? null : new KetQuaTimKiemDto(Loai.HOA_DON, ma,
+                        "Hóa đơn " + h.getThang() + "/" + h.getNam(), "Phòng " + maPhong(h.getPhongId()), diem);
+            }
+        };
+    }
+
+    private String tenKhuVuc(TomTatPhong p) {
+        TomTatKhuVuc k = p.khuVucId() != null ? khuVuc.get(p.khuVucId()) : null;
+        return k != null ? k.ten() : null;
+    }
+
+    private String maPhong(String phongId) {
+        TomTatPhong p = phongId != null ? phong.get(phongId) : null;
+        return p != null ? p.maPhong() : null;
+    }
+
+    private String hoTen(String khachThueId) {
+        TomTatKhachThue k = khachThueId != null ? khachThue.get(khachThueId) : null;
+        return k != null ? k.hoTen() : null;
+    }
+
+    private static String khoa(Loai loai, String ma) {
+        return loai.name() + ":" + ma;
+    }
+
+    private static String maCua(Phong p) {
+        return p != null ? p.getId() : null;
+    }
+
+    private static TomTatKhuVuc tomTat(KhuVuc k) {
+        return new TomTatKhuVuc(k.getTen(), k.getDiaChi());
+    }
+
+    private static TomTatPhong tomTat(Phong p) {
+        return new TomTatPhong(p.getMaPhong(), p.getTang(), p.getKhuVuc() != null ? p.getKhuVuc().getId() : null);
+    }
+
+    private static TomTatKhachThue tomTat(KhachThue k) {
+        return new TomTatKhachThue(k.getHoTen(), k.getSoDienThoai(), k.getSoGiayTo(), k.getEmail());
+    }
+}
@@ -25,6 +25,7 @@ import com.motelmanagement.repository.PhanHoiTinNhanRepository;
 import com.motelmanagement.repository.ThanhVienHoiThoaiRepository;
 import com.motelmanagement.repository.TinNhanRepository;
 import com.motelmanagement.service.FileLuuTruService.KetQuaLuuFile;
+import com.motelmanagement.util.BienTheAnh;
 
 import lombok.RequiredArgsConstructor;
 
@@ -194,6 +195,8 @@ public class TinNhanChatService {
                 .loai(tin.getLoai())
                 .noiDung(tin.getNoiDung())
                 .duongDanFile(tin.getDuongDanFile())
+                .duongDanAnhNho(BienTheAnh.duongDan(tin.getDuongDanFile(), BienTheAnh.NHO))
+                .duongDanAnhXemTruoc(BienTheAnh.duongDan(tin.getDuongDanFile(), BienTheAnh.XEM_TRUOC))
                 .tenFile(tin.getTenFile())
                 .kichThuocFile(tin.getKichThuocFile())
                 .loaiNoiDungFile(tin.getLoaiNoiDungFile())
@@ -3,7 +3,13 @@ package com.motelmanagement.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +71,76 @@ public class TinhTienService {
         if (hoaDon == null) {
             return null;
         }
+        ChiSoDienNuoc chiSo = null;
+        int dienCu = 0;
+        int nuocCu = 0;
+        BangGiaDichVu bangGia = null;
+        if (hoaDon.getPhong() != null) {
+            chiSo = chiSoDienNuocRepository
+                    .findByPhong_IdAndThangAndNam(hoaDon.getPhong().getId(), hoaDon.getThang(), hoaDon.getNam())
+                    .orElse(null);
+            if (chiSo != null) {
+                dienCu = layChiSoDienCuTheoKy(chiSo);
+                nuocCu = layChiSoNuocCuTheoKy(chiSo);
+                bangGia = layBangGiaMoiNhat();
+            }
+        }
+        List<HoaDonChiTiet> chiTiet = coMa(hoaDon)
+                ? hoaDonChiTietRepository.findByHoaDon_IdOrderByThuTuAsc(hoaDon.getId())
+                : List.of();
+        return apTien(hoaDon, chiSo, dienCu, nuocCu, bangGia, chiTiet);
+    }
+
+
+    public HoaDon tinhTienRuntime(HoaDon hoaDon, DuLieuTinhTien duLieu) {
+        if (hoaDon == null) {
+            return null;
+        }
+        ChiSoDienNuoc chiSo = hoaDon.getPhong() != null
+                ? duLieu.chiSo(hoaDon.getPhong().getId(), hoaDon.getThang(), hoaDon.getNam())
+                : null;
+        return apTien(hoaDon, chiSo, duLieu.dienCu(chiSo), duLieu.nuocCu(chiSo), duLieu.bangGia,
+                duLieu.chiTiet(hoaDon.getId()));
+    }
+
+
+    public DuLieuTinhTien napDuLieuTinhTien(Collection<HoaDon> dsHoaDon) {
+        Set<String> maPhong = new HashSet<>();
+        List<String> maHoaDon = new ArrayList<>();
+        int tuKy = Integer.MAX_VALUE;
+        int denKy = Integer.MIN_VALUE;
+        for (HoaDon h : dsHoaDon) {
+            if (coMa(h)) {
+                maHoaDon.add(h.getId());
+            }
+            if (h.getPhong() != null) {
+                maPhong.add(h.getPhong().getId());
+                int ky = soKy(h.getThang(), h.getNam());
+                tuKy = Math.min(tuKy, ky - 1);
+                denKy = Math.max(denKy, ky);
+            }
+        }
+        List<ChiSoDienNuoc> dsChiSo = maPhong.isEmpty()
+                ? List.of()
+                : chiSoDienNuocRepository.timTheoPhongTrongKhoang(maPhong, tuKy, denKy);
+        List<HoaDonChiTiet> dsChiTiet = maHoaDon.isEmpty()
+                ? List.of()
+                : hoaDonChiTietRepository.findByHoaDon_IdInOrderByThuTuAsc(maHoaDon);
+        BangGiaDichVu bangGia = dsChiSo.isEmpty() ? null : layBangGiaMoiNhat();
+        return new DuLieuTinhTien(dsChiSo, dsChiTiet, bangGia);
+    }
+
+
+    public void ganChiSoCuTheoKy(List<ChiSoDienNuoc> dsChiSo) {
+        DuLieuTinhTien duLieu = new DuLieuTinhTien(dsChiSo, List.of(), null);
+        for (ChiSoDienNuoc c : dsChiSo) {
+            c.setDienCu(duLieu.dienCu(c));
+            c.setNuocCu(duLieu.nuocCu(c));
+        }
+    }
+
+    private HoaDon apTien(HoaDon hoaDon, ChiSoDienNuoc chiSo, int dienCu, int nuocCu, BangGiaDichVu bangGia,
+                          List<HoaDonChiTiet> chiTiet) {
         BigDecimal tienPhong = BigDecimal.ZERO;
         if (hoaDon.getPhong() != null && hoaDon.getPhong().getGiaHienTai() != null) {
             tienPhong = hoaDon.getPhong().getGiaHienTai();
@@ -72,18 +148,18 @@ public class TinhTienService {
         BigDecimal tienDien = BigDecimal.ZERO;
         BigDecimal tienNuoc = BigDecimal.ZERO;
         if (hoaDon.getPhong() != null) {
-            chiSoDienNuocRepository
-                    .findByPhong_IdAndThangAndNam(hoaDon.getPhong().getId(), hoaDon.getThang(), hoaDon.getNam())
-                    .ifPresent(chiSo -> {
-                        hoaDon.setTienDien(tinhTienDienTuChiSo(chiSo));
-                        hoaDon.setTienNuoc(tinhTienNuocTuChiSo(chiSo));
-                    });
+            if (chiSo != null) {
+                hoaDon.setTienDien(tinhTienTheoSanLuong(
+                        bangGia != null ? bangGia.getGiaDien() : null, chiSo.getDienMoi() - dienCu));
+                hoaDon.setTienNuoc(tinhTienTheoSanLuong(
+                        bangGia != null ? bangGia.getGiaNuoc() : null, chiSo.getNuocMoi() - nuocCu));
+            }
             tienDien = hoaDon.getTienDien() != null ? hoaDon.getTienDien() : BigDecimal.ZERO;
             tienNuoc = hoaDon.getTienNuoc() != null ? hoaDon.getTienNuoc() : BigDecimal.ZERO;
         }
         BigDecimal tienKhoanKhac = BigDecimal.ZERO;
-        if (hoaDon.getId() != null && !hoaDon.getId().isBlank()) {
-            tienKhoanKhac = hoaDonChiTietRepository.findByHoaDon_IdOrderByThuTuAsc(hoaDon.getId()).stream()
+        if (coMa(hoaDon)) {
+            tienKhoanKhac = chiTiet.stream()
                     .map(HoaDonChiTiet::getSoTien)
                     .filter(java.util.Objects::nonNull)
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -95,6 +171,67 @@ public class TinhTienService {
         return hoaDon;
     }
 
+    private static BigDecimal tinhTienTheoSanLuong(BigDecimal donGia, int sanLuong) {
+        BigDecimal gia = donGia != null ? donGia : BigDecimal.ZERO;
+        return gia.multiply(BigDecimal.valueOf(Math.max(0, sanLuong)));
+    }
+
+    private static boolean coMa(HoaDon hoaDon) {
+        return hoaDon.getId() != null && !hoaDon.getId().isBlank();
+    }
+
+    private static int soKy(int thang, int nam) {
+        return nam * 12 + thang;
+    }
+
+
+    public static final class DuLieuTinhTien {
+        private final Map<String, ChiSoDienNuoc> chiSoTheoKy = new HashMap<>();
+        private final Map<String, List<HoaDonChiTiet>> chiTietTheoHoaDon = new HashMap<>();
+        private final BangGiaDichVu bangGia;
+
+        private DuLieuTinhTien(List<ChiSoDienNuoc> dsChiSo, List<HoaDonChiTiet> dsChiTiet, BangGiaDichVu bangGia) {
+            for (ChiSoDienNuoc c : dsChiSo) {
+                if (c.getPhong() != null) {
+                    chiSoTheoKy.put(khoa(c.getPhong().getId(), soKy(c.getThang(), c.getNam())), c);
+                }
+            }
+            for (HoaDonChiTiet ct : dsChiTiet) {
+                chiTietTheoHoaDon.computeIfAbsent(ct.getHoaDon().getId(), k -> new ArrayList<>()).add(ct);
+            }
+            this.bangGia = bangGia;
+        }
+
+        public ChiSoDienNuoc chiSo(String maPhong, int thang, int nam) {
+            return chiSoTheoKy.get(khoa(maPhong, soKy(thang, nam)));
+        }
+
+        public int dienCu(ChiSoDienNuoc chiSo) {
+            ChiSoDienNuoc truoc = kyTruoc(chiSo);
+            return truoc != null ? truoc.getDienMoi() : 0;
+        }
+
+        public int nuocCu(ChiSoDienNuoc chiSo) {
+            ChiSoDienNuoc truoc = kyTruoc(chiSo);
+            return truoc != null ? truoc.getNuocMoi() : 0;
+        }
+
+        public List<HoaDonChiTiet> chiTiet(String maHoaDon) {
+            return maHoaDon != null ? chiTietTheoHoaDon.getOrDefault(maHoaDon, List.of()) : List.of();
+        }
+
+        private ChiSoDienNuoc kyTruoc(ChiSoDienNuoc chiSo) {
+            if (chiSo == null || chiSo.getPhong() == null) {
+                return null;
+            }
+            return chiSoTheoKy.get(khoa(chiSo.getPhong().getId(), soKy(chiSo.getThang(), chiSo.getNam()) - 1));
+        }
+
+        private static String khoa(String maPhong, int ky) {
+            return maPhong + "#" + ky;
+        }
+    }
+
 
     public int layChiSoDienCuTheoKy(ChiSoDienNuoc chiSo) {
         if (chiSo.getPhong() == null) {
@@ -125,22 +262,6 @@ public class TinhTienService {
                 .orElse(null);
     }
 
-    private BigDecimal tinhTienDienTuChiSo(ChiSoDienNuoc chiSo) {
-        BangGiaDichVu bangGia = layBangGiaMoiNhat();
-        BigDecimal donGiaDien = bangGia != null && bangGia.getGiaDien() != null ? bangGia.getGiaDien() : BigDecimal.ZERO;
-        int dienCu = layChiSoDienCuTheoKy(chiSo);
-        int sanLuong = Math.max(0, chiSo.getDienMoi() - dienCu);
-        return donGiaDien.multiply(BigDecimal.valueOf(sanLuong));
-    }
-
-    private BigDecimal tinhTienNuocTuChiSo(ChiSoDienNuoc chiSo) {
-        BangGiaDichVu bangGia = layBangGiaMoiNhat();
-        BigDecimal donGiaNuoc = bangGia != null && bangGia.getGiaNuoc() != null ? bangGia.getGiaNuoc() : BigDecimal.ZERO;
-        int nuocCu = layChiSoNuocCuTheoKy(chiSo);
-        int sanLuong = Math.max(0, chiSo.getNuocMoi() - nuocCu);
-        return donGiaNuoc.multiply(BigDecimal.valueOf(sanLuong));
-    }
-
     public HoaDon taoHoacCapNhatHoaDonTuChiSo(ChiSoDienNuoc chiSo) {
         HoaDon hoaDon = hoaDonRepository
                 .findByPhong_IdAndThangAndNam(chiSo.getPhong().getId(), chiSo.getThang(), chiSo.getNam())
@@ -172,6 +293,14 @@ public class TinhTienService {
     }
 
 
+    public HoaDon dongBoHoaDonTheoChiSoNeuCo(HoaDon hoaDon, DuLieuTinhTien duLieu) {
+        if (!coMa(hoaDon) || hoaDon.getPhong() == null) {
+            return hoaDon;
+        }
+        return tinhTienRuntime(hoaDon, duLieu);
+    }
+
+
     public int sinhHoaDonChoThang(int thang, int nam) {
         List<HopDong> danhSachHopDong = hopDongRepository.findByTrangThai(TrangThaiHopDong.ACTIVE);
         int soTao = 0;
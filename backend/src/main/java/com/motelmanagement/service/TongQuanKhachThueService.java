@@ -0,0 +1,213 @@
+package com.motelmanagement.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.ChiSoDienNuoc;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoaDonChiTiet;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.HopDongThanhVien;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.NhacNoHoaDonEmail;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiYeuCauHoTro;
+import com.motelmanagement.domain.YeuCauHoTro;
+import com.motelmanagement.dto.KhachThueTomTatDto;
+import com.motelmanagement.dto.TongQuanKhachThueDto;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HoaDonTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HopDongTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.NhacNoTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.ThanhToanTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.YeuCauTongQuan;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NhacNoHoaDonEmailRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+import com.motelmanagement.repository.YeuCauHoTroRepository;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Service
+@RequiredArgsConstructor
+public class TongQuanKhachThueService {
+    static final int SO_MUC_TOI_DA = 500;
+    private static final Set<TrangThaiYeuCauHoTro> DANG_MO =
+            Set.of(TrangThaiYeuCauHoTro.OPEN, TrangThaiYeuCauHoTro.IN_PROGRESS);
+
+    private final KhachThueRepository khachThueRepository;
+    private final HopDongRepository hopDongRepository;
+    private final HoaDonRepository hoaDonRepository;
+    private final ThanhToanRepository thanhToanRepository;
+    private final YeuCauHoTroRepository yeuCauHoTroRepository;
+    private final NhacNoHoaDonEmailRepository nhacNoHoaDonEmailRepository;
+    private final TinhTienService tinhTienService;
+
+    private final BoNhoDemPhuThuoc<TongQuanKhachThueDto> boNhoDem = new BoNhoDemPhuThuoc<>(SO_MUC_TOI_DA);
+
+    // Tối đa 9 truy vấn cho mỗi khách, không phụ thuộc số hợp đồng/hóa đơn.
+    // Đọc CSDL chính: mục bị hủy sau thanh toán qua webhook mà dựng lại từ bản sao sẽ giữ số nợ cũ.
+    @Transactional(readOnly = true)
+    public Optional<TongQuanKhachThueDto> lay(String khachThueId) {
+        TongQuanKhachThueDto daCo = boNhoDem.lay(khachThueId);
+        if (daCo != null) {
+            return Optional.of(daCo);
+        }
+        long phienBan = boNhoDem.phienBan();
+        Optional<KhachThue> khach = khachThueRepository.findById(khachThueId);
+        if (khach.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> phuThuoc = new HashSet<>();
+        phuThuoc.add(khachThueId);
+        TongQuanKhachThueDto tongQuan = dung(khach.get(), phuThuoc);
+        boNhoDem.ghi(khachThueId, tongQuan, phuThuoc, phienBan);
+        return Optional.of(tongQuan);
+    }
+
+    public int soMuc() {
+        return boNhoDem.soMuc();
+    }
+
+    public void xoaTatCa() {
+        boNhoDem.xoaTatCa();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (suKien.thucThe() instanceof BangGiaDichVu) {
+            boNhoDem.xoaTatCa();
+            return;
+        }
+        Set<String> ma = maLienQuan(suKien.thucThe());
+        if (!ma.isEmpty()) {
+            boNhoDem.huy(ma);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daCapNhatHangLoat(SuKienCapNhatHangLoat suKien) {
+        boNhoDem.huy(suKien.ma());
+    }
+
+    private TongQuanKhachThueDto dung(KhachThue khach, Set<String> phuThuoc) {
+        String kid = khach.getId();
+        List<HopDongTongQuan> dsHopDong = new ArrayList<>();
+        for (HopDong h : hopDongRepository.findThuocKhachThue(kid)) {
+            phuThuoc.add(h.getId());
+            themPhong(phuThuoc, h.getPhong());
+            dsHopDong.add(HopDongTongQuan.tu(h, kid));
+        }
+        dsHopDong.sort(Comparator.comparing(HopDongTongQuan::getNgayBatDau,
+                Comparator.nullsLast(Comparator.<LocalDate>reverseOrder())));
+
+        List<HoaDon> hoaDon = hoaDonRepository.findByKhachThue_IdOrderByNamDescThangDesc(kid);
+        List<String> maHoaDon = new ArrayList<>();
+        List<HoaDonTongQuan> dsHoaDon = new ArrayList<>();
+        BigDecimal tongConNo = BigDecimal.ZERO;
+        if (!hoaDon.isEmpty()) {
+            TinhTienService.DuLieuTinhTien duLieu = tinhTienService.napDuLieuTinhTien(hoaDon);
+            for (HoaDon h : hoaDon) {
+                maHoaDon.add(h.getId());
+                themPhong(phuThuoc, h.getPhong());
+                HoaDonTongQuan dong = HoaDonTongQuan.tu(tinhTienService.dongBoHoaDonTheoChiSoNeuCo(h, duLieu));
+                if (dong.getConLai() != null) {
+                    tongConNo = tongConNo.add(dong.getConLai());
+                }
+                dsHoaDon.add(dong);
+            }
+        }
+        phuThuoc.addAll(maHoaDon);
+
+        List<ThanhToanTongQuan> dsThanhToan = new ArrayList<>();
+        List<NhacNoTongQuan> dsNhacNo = new ArrayList<>();
+        if (!maHoaDon.isEmpty()) {
+            for (ThanhToan t : thanhToanRepository.findByHoaDon_IdInOrderByThoiGianThanhToanDesc(maHoaDon)) {
+                dsThanhToan.add(ThanhToanTongQuan.tu(t));
+            }
+            for (NhacNoHoaDonEmail n : nhacNoHoaDonEmailRepository.findByHoaDon_IdIn(maHoaDon)) {
+                dsNhacNo.add(new NhacNoTongQuan(n.getId(), n.getHoaDon().getId(), n.getGuiLuc(),
+                        n.getEmailNguoiNhan()));
+            }
+            dsNhacNo.sort(Comparator.comparing(NhacNoTongQuan::getGuiLuc).reversed());
+        }
+
+        List<YeuCauTongQuan> dsYeuCau = new ArrayList<>();
+        for (YeuCauHoTro y : yeuCauHoTroRepository.findByKhachThue_IdAndTrangThaiInOrderByNgayTaoDesc(kid, DANG_MO)) {
+            themPhong(phuThuoc, y.getPhong());
+            dsYeuCau.add(new YeuCauTongQuan(y.getId(), y.getTieuDe(), maPhong(y.getPhong()), y.getTrangThai(),
+                    y.getNgayTao()));
+        }
+        return new TongQuanKhachThueDto(KhachThueTomTatDto.tu(khach), dsHopDong, dsHoaDon, dsThanhToan,
+                dsYeuCau, dsNhacNo, tongConNo);
+    }
+
+    // Chỉ đọc mã của liên kết LAZY để không khởi tạo proxy khi xử lý sự kiện sau commit.
+    private static Set<String> maLienQuan(Object thucThe) {
+        Set<String> ma = new HashSet<>();
+        if (thucThe instanceof KhachThue k) {
+            ma.add(k.getId());
+        } else if (thucThe instanceof HopDong h) {
+            ma.add(h.getId());
+            themMa(ma, h.getKhachThue());
+        } else if (thucThe instanceof HopDongThanhVien tv) {
+            themMa(ma, tv.getKhachThue());
+            if (tv.getHopDong() != null) {
+                ma.add(tv.getHopDong().getId());
+            }
+        } else if (thucThe instanceof HoaDon h) {
+            ma.add(h.getId());
+            themMa(ma, h.getKhachThue());
+        } else if (thucThe instanceof HoaDonChiTiet c && c.getHoaDon() != null) {
+            ma.add(c.getHoaDon().getId());
+        } else if (thucThe instanceof ThanhToan t && t.getHoaDon() != null) {
+            ma.add(t.getHoaDon().getId());
+        } else if (thucThe instanceof ChiSoDienNuoc c && c.getPhong() != null) {
+            ma.add(c.getPhong().getId());
+        } else if (thucThe instanceof NhacNoHoaDonEmail n && n.getHoaDon() != null) {
+            ma.add(n.getHoaDon().getId());
+        } else if (thucThe instanceof YeuCauHoTro y) {
+            themMa(ma, y.getKhachThue());
+        } else if (thucThe instanceof Phong p) {
+            ma.add(p.getId());
+        } else if (thucThe instanceof KhuVuc k) {
+            ma.add(k.getId());
+        }
+        ma.remove(null);
+        return ma;
+    }
+
+    private static void themMa(Set<String> ma, KhachThue khach) {
+        if (khach != null) {
+            ma.add(khach.getId());
+        }
+    }
+
+    private static void themPhong(Set<String> phuThuoc, Phong phong) {
+        if (phong != null) {
+            phuThuoc.add(phong.getId());
+            if (phong.getKhuVuc() != null) {
+                phuThuoc.add(phong.getKhuVuc().getId());
+            }
+        }
+    }
+
+    private static String maPhong(Phong phong) {
+        return phong != null ? phong.getMaPhong() : null;
+    }
+}
@@ -0,0 +1,242 @@
+package com.motelmanagement.service;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.ChiSoDienNuoc;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoaDonChiTiet;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.HopDongThanhVien;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.ThanhVienHoiThoai;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.TinNhan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.KhachThueTomTatDto;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HoaDonTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.HopDongTongQuan;
+import com.motelmanagement.dto.TongQuanKhachThueDto.ThanhToanTongQuan;
+import com.motelmanagement.dto.TrangChuKhachDto;
+import com.motelmanagement.dto.TrangChuKhachDto.ThongBaoTomTat;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+import com.motelmanagement.repository.ThanhVienHoiThoaiRepository;
+import com.motelmanagement.repository.ThongBaoRepository;
+import com.motelmanagement.repository.TinNhanRepository;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Service
+@RequiredArgsConstructor
+public class TrangChuKhachService {
+    static final int SO_MUC_TOI_DA = 2000;
+    static final int SO_DONG_GAN_DAY = 5;
+
+    public record TrangChu(TrangChuKhachDto noiDung, String etag) {}
+
+    private final KhachThueRepository khachThueRepository;
+    private final HopDongRepository hopDongRepository;
+    private final HoaDonRepository hoaDonRepository;
+    private final ThanhToanRepository thanhToanRepository;
+    private final ThongBaoRepository thongBaoRepository;
+    private final ThanhVienHoiThoaiRepository thanhVienHoiThoaiRepository;
+    private final TinNhanRepository tinNhanRepository;
+    private final TinhTienService tinhTienService;
+    private final ObjectMapper objectMapper;
+
+    // Khóa theo mã người dùng vì trang chủ được gọi bằng tài khoản đăng nhập, không phải mã khách.
+    private final BoNhoDemPhuThuoc<TrangChu> boNhoDem = new BoNhoDemPhuThuoc<>(SO_MUC_TOI_DA);
+
+    // Số truy vấn không phụ thuộc số hóa đơn, thanh toán hay hội thoại của khách.
+    // Không dùng @DocBanSao: webhook và job hủy mục mà không có người dùng để đọc-sau-ghi, dựng lại từ bản sao
+    // trễ sẽ giữ trang cũ cùng ETag của nó tới lần ghi sau.
+    @Transactional(readOnly = true)
+    public Optional<TrangChu> lay(NguoiDung nguoiDung) {
+        String uid = nguoiDung.getId();
+        TrangChu daCo = boNhoDem.lay(uid);
+        if (daCo != null) {
+            return Optional.of(daCo);
+        }
+        long phienBan = boNhoDem.phienBan();
+        KhachThue khach = khachThueRepository.findByNguoiDung_Id(uid);
+        if (khach == null) {
+            return Optional.empty();
+        }
+        Set<String> phuThuoc = new HashSet<>();
+        phuThuoc.add(uid);
+        phuThuoc.add(khach.getId());
+        TrangChuKhachDto noiDung = dung(uid, khach, phuThuoc);
+        TrangChu trangChu = new TrangChu(noiDung, tinhEtag(noiDung));
+        boNhoDem.ghi(uid, trangChu, phuThuoc, phienBan);
+        return Optional.of(trangChu);
+    }
+
+    public int soMuc() {
+        return boNhoDem.soMuc();
+    }
+
+    public void xoaTatCa() {
+        boNhoDem.xoaTatCa();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (suKien.thucThe() instanceof BangGiaDichVu) {
+            boNhoDem.xoaTatCa();
+            return;
+        }
+        Set<String> ma = maLienQuan(suKien.thucThe());
+        if (!ma.isEmpty()) {
+            boNhoDem.huy(ma);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daCapNhatHangLoat(SuKienCapNhatHangLoat suKien) {
+        boNhoDem.huy(suKien.ma());
+    }
+
+    private TrangChuKhachDto dung(String uid, KhachThue khach, Set<String> phuThuoc) {
+        String kid = khach.getId();
+        HopDongTongQuan hopDongHienTai = null;
+        LocalDate batDauMoiNhat = null;
+        for (HopDong h : hopDongRepository.timTheoTrangThaiThuocKhachThue(List.of(kid), TrangThaiHopDong.ACTIVE)) {
+            phuThuoc.add(h.getId());
+            themPhong(phuThuoc, h.getPhong());
+            if (hopDongHienTai == null || (h.getNgayBatDau() != null
+                    && (batDauMoiNhat == null || h.getNgayBatDau().isAfter(batDauMoiNhat)))) {
+                hopDongHienTai = HopDongTongQuan.tu(h, kid);
+                batDauMoiNhat = h.getNgayBatDau();
+            }
+        }
+
+        List<HoaDon> hoaDon = hoaDonRepository.findByKhachThue_IdAndTrangThaiInOrderByNamDescThangDesc(kid,
+                TrangThaiHoaDon.CON_NO);
+        List<HoaDonTongQuan> dsHoaDon = new ArrayList<>();
+        BigDecimal tongConNo = BigDecimal.ZERO;
+        if (!hoaDon.isEmpty()) {
+            TinhTienService.DuLieuTinhTien duLieu = tinhTienService.napDuLieuTinhTien(hoaDon);
+            for (HoaDon h : hoaDon) {
+                phuThuoc.add(h.getId());
+                themPhong(phuThuoc, h.getPhong());
+                HoaDonTongQuan dong = HoaDonTongQuan.tu(tinhTienService.dongBoHoaDonTheoChiSoNeuCo(h, duLieu));
+                if (dong.getConLai() != null) {
+                    tongConNo = tongConNo.add(dong.getConLai());
+                }
+                dsHoaDon.add(dong);
+            }
+        }
+
+        List<ThanhToanTongQuan> dsThanhToan = new ArrayList<>();
+        for (ThanhToan t : thanhToanRepository.findByHoaDon_KhachThue_IdOrderByThoiGianThanhToanDesc(kid,
+                PageRequest.of(0, SO_DONG_GAN_DAY))) {
+            ThanhToanTongQuan dong = ThanhToanTongQuan.tu(t);
+            phuThuoc.add(dong.getHoaDonId());
+            dsThanhToan.add(dong);
+        }
+
+        long soThongBaoChuaDoc = thongBaoRepository.countByNguoiDung_IdAndDaDocFalse(uid);
+        List<ThongBaoTomTat> dsThongBao = new ArrayList<>();
+        for (ThongBao t : thongBaoRepository.layTrangDauCuaNguoiDung(uid, PageRequest.of(0, SO_DONG_GAN_DAY))) {
+            dsThongBao.add(ThongBaoTomTat.tu(t));
+        }
+
+        List<String> maHoiThoai = thanhVienHoiThoaiRepository.layMaHoiThoaiCuaNguoiDung(uid);
+        phuThuoc.addAll(maHoiThoai);
+        long soTinNhanChuaDoc = maHoiThoai.isEmpty()
+                ? 0
+                : tinNhanRepository.demChuaDocTrongHoiThoai(maHoiThoai, uid);
+        phuThuoc.remove(null);
+
+        return new TrangChuKhachDto(KhachThueTomTatDto.tu(khach), hopDongHienTai, dsHoaDon, tongConNo,
+                dsThanhToan, soThongBaoChuaDoc, soTinNhanChuaDoc, dsThongBao);
+    }
+
+    // ETag theo nội dung: dựng lại sau khi hủy mà dữ liệu không đổi thì trình duyệt vẫn nhận 304.
+    private String tinhEtag(TrangChuKhachDto noiDung) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(noiDung)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Chỉ đọc mã của liên kết LAZY để không khởi tạo proxy khi xử lý sự kiện sau commit.
+    private static Set<String> maLienQuan(Object thucThe) {
+        Set<String> ma = new HashSet<>();
+        if (thucThe instanceof KhachThue k) {
+            ma.add(k.getId());
+            if (k.getNguoiDung() != null) {
+                ma.add(k.getNguoiDung().getId());
+            }
+        } else if (thucThe instanceof HopDong h) {
+            ma.add(h.getId());
+            themMa(ma, h.getKhachThue());
+        } else if (thucThe instanceof HopDongThanhVien tv) {
+            themMa(ma, tv.getKhachThue());
+            if (tv.getHopDong() != null) {
+                ma.add(tv.getHopDong().getId());
+            }
+        } else if (thucThe instanceof HoaDon h) {
+            ma.add(h.getId());
+            themMa(ma, h.getKhachThue());
+        } else if (thucThe instanceof HoaDonChiTiet c && c.getHoaDon() != null) {
+            ma.add(c.getHoaDon().getId());
+        } else if (thucThe instanceof ThanhToan t && t.getHoaDon() != null) {
+            ma.add(t.getHoaDon().getId());
+        } else if (thucThe instanceof ChiSoDienNuoc c && c.getPhong() != null) {
+            ma.add(c.getPhong().getId());
+        } else if (thucThe instanceof Phong p) {
+            ma.add(p.getId());
+        } else if (thucThe instanceof KhuVuc k) {
+            ma.add(k.getId());
+        } else if (thucThe instanceof ThongBao t && t.getNguoiDung() != null) {
+            ma.add(t.getNguoiDung().getId());
+        } else if (thucThe instanceof TinNhan t && t.getHoiThoai() != null) {
+            ma.add(t.getHoiThoai().getId());
+        } else if (thucThe instanceof ThanhVienHoiThoai tv && tv.getNguoiDung() != null) {
+            ma.add(tv.getNguoiDung().getId());
+        }
+        ma.remove(null);
+        return ma;
+    }
+
+    private static void themMa(Set<String> ma, KhachThue khach) {
+        if (khach != null) {
+            ma.add(khach.getId());
+        }
+    }
+
+    private static void themPhong(Set<String> phuThuoc, Phong phong) {
+        if (phong != null) {
+            phuThuoc.add(phong.getId());
+            if (phong.getKhuVuc() != null) {
+                phuThuoc.add(phong.getKhuVuc().getId());
+            }
+        }
+    }
+}
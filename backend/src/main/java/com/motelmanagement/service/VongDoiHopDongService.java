@@ -0,0 +1,193 @@
+package com.motelmanagement.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.HanHopDongDto;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+public class VongDoiHopDongService {
+    static final String MA_MAU_SAP_HET_HAN = "hop-dong-sap-het-han";
+    private static final DateTimeFormatter DINH_DANG_NGAY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private record Han(String phongId, LocalDate ngayKetThuc, boolean daNhac, LocalDate moc) {}
+
+    private final HopDongRepository hopDongRepository;
+    private final PhongRepository phongRepository;
+    private final ThongBaoService thongBaoService;
+    private final MauThongBaoService mauThongBaoService;
+    private final ApplicationEventPublisher suKien;
+    private final int soNgayNhac;
+
+    private final Map<String, Han> theoHopDong = new HashMap<>();
+    private final NavigableMap<LocalDate, Set<String>> hangDoi = new TreeMap<>();
+
+    public VongDoiHopDongService(HopDongRepository hopDongRepository,
+                                 PhongRepository phongRepository,
+                                 ThongBaoService thongBaoService,
+                                 MauThongBaoService mauThongBaoService,
+                                 ApplicationEventPublisher suKien,
+                                 @Value("${app.hop-dong.so-ngay-nhac-het-han:7}") int soNgayNhac) {
+        this.hopDongRepository = hopDongRepository;
+        this.phongRepository = phongRepository;
+        this.thongBaoService = thongBaoService;
+        this.mauThongBaoService = mauThongBaoService;
+        this.suKien = suKien;
+        this.soNgayNhac = soNgayNhac;
+    }
+
+    @Transactional
+    public synchronized void napLai() {
+        long batDau = System.currentTimeMillis();
+        theoHopDong.clear();
+        hangDoi.clear();
+        for (HanHopDongDto h : hopDongRepository.layHanConHieuLuc()) {
+            ghi(h);
+        }
+        log.info("Nạp hàng đợi hạn hợp đồng: {} hợp đồng trong {} ms",
+                theoHopDong.size(), System.currentTimeMillis() - batDau);
+    }
+
+    public synchronized int soHopDong() {
+        return theoHopDong.size();
+    }
+
+    public synchronized LocalDate mocGanNhat() {
+        return hangDoi.isEmpty() ? null : hangDoi.firstKey();
+    }
+
+    // Chỉ lấy các hợp đồng có mốc <= hôm nay ở đầu hàng đợi, không quét lại toàn bộ hợp đồng.
+    @Transactional
+    public void xuLyDenHan(LocalDate homNay) {
+        List<String> canNhac = new ArrayList<>();
+        List<String> hetHan = new ArrayList<>();
+        List<String> phongHetHan = new ArrayList<>();
+        synchronized (this) {
+            for (Set<String> ds : hangDoi.headMap(homNay, true).values()) {
+                for (String ma : ds) {
+                    Han h = theoHopDong.get(ma);
+                    if (h.ngayKetThuc().isBefore(homNay)) {
+                        hetHan.add(ma);
+                        if (h.phongId() != null) {
+                            phongHetHan.add(h.phongId());
+                        }
+                    } else if (!h.daNhac()) {
+                        canNhac.add(ma);
+                    }
+                }
+            }
+        }
+        if (!canNhac.isEmpty()) {
+            guiThongBaoSapHetHan(canNhac);
+        }
+        if (!hetHan.isEmpty()) {
+            ketThucHopDong(hetHan, phongHetHan, homNay);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daThayDoi(SuKienThayDoiThucThe suKien) {
+        if (!(suKien.thucThe() instanceof HopDong h)) {
+            return;
+        }
+        if (suKien.daXoa()) {
+            xoa(h.getId());
+        } else {
+            ghi(new HanHopDongDto(h.getId(), h.getPhong() != null ? h.getPhong().getId() : null,
+                    h.getNgayBatDau(), h.getNgayKetThuc(), h.getTrangThai(), h.getNhacHetHanChoNgay()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void daCapNhatHangLoat(SuKienCapNhatHangLoat suKien) {
+        suKien.hanHopDong().forEach(this::ghi);
+    }
+
+    private void guiThongBaoSapHetHan(List<String> canNhac) {
+        List<ThongBao> danhSach = new ArrayList<>();
+        List<String> daNhac = new ArrayList<>();
+        for (HopDong h : hopDongRepository.findByIdIn(canNhac)) {
+            if (h.getTrangThai() != TrangThaiHopDong.ACTIVE || h.getNgayKetThuc() == null) {
+                continue;
+            }
+            daNhac.add(h.getId());
+            if (h.getKhachThue() == null || h.getKhachThue().getNguoiDung() == null) {
+                continue;
+            }
+            ThongBao thongBao = new ThongBao();
+            thongBao.setNguoiDung(h.getKhachThue().getNguoiDung());
+            thongBao.setNoiDung(mauThongBaoService.dien(MA_MAU_SAP_HET_HAN, Map.of(
+                    "phong", h.getPhong() != null ? h.getPhong().getMaPhong() : "?",
+                    "ngay", h.getNgayKetThuc().format(DINH_DANG_NGAY))));
+            danhSach.add(thongBao);
+        }
+        if (!danhSach.isEmpty()) {
+            thongBaoService.luuVaDay(danhSach);
+        }
+        if (!daNhac.isEmpty()) {
+            hopDongRepository.danhDauDaNhacHetHan(daNhac);
+        }
+        capNhatSauLenhHangLoat(canNhac);
+        log.info("Gửi {} thông báo hợp đồng sắp hết hạn", danhSach.size());
+    }
+
+    // Sắp theo mã để lệnh UPDATE khóa dòng theo thứ tự cố định, không phụ thuộc hàng đợi.
+    private void ketThucHopDong(List<String> hetHan, List<String> phong, LocalDate homNay) {
+        Collections.sort(hetHan);
+        int soKetThuc = hopDongRepository.ketThucHetHan(hetHan, homNay);
+        int soTraPhong = phong.isEmpty() ? 0 : phongRepository.traPhongKhongConHopDong(phong);
+        capNhatSauLenhHangLoat(hetHan);
+        log.info("Tự kết thúc {} hợp đồng hết hạn, trả {} phòng", soKetThuc, soTraPhong);
+    }
+
+    // Lệnh UPDATE hàng loạt không gọi listener của entity nên đọc lại trạng thái thật rồi phát kèm sự kiện.
+    private void capNhatSauLenhHangLoat(List<String> ma) {
+        suKien.publishEvent(new SuKienCapNhatHangLoat(Set.copyOf(ma), hopDongRepository.layHanTheoMa(ma)));
+    }
+
+    // Mốc tiếp theo: ngày gửi nhắc (nếu chưa nhắc) hoặc ngày sau ngày kết thúc để tự kết thúc hợp đồng.
+    private synchronized void ghi(HanHopDongDto h) {
+        xoa(h.getId());
+        if (h.getTrangThai() != TrangThaiHopDong.ACTIVE || h.getNgayKetThuc() == null) {
+            return;
+        }
+        boolean daNhac = soNgayNhac <= 0 || h.getNgayKetThuc().equals(h.getNhacHetHanChoNgay());
+        LocalDate moc = daNhac ? h.getNgayKetThuc().plusDays(1) : h.getNgayKetThuc().minusDays(soNgayNhac);
+        theoHopDong.put(h.getId(), new Han(h.getPhongId(), h.getNgayKetThuc(), daNhac, moc));
+        hangDoi.computeIfAbsent(moc, k -> new LinkedHashSet<>()).add(h.getId());
+    }
+
+    private synchronized void xoa(String ma) {
+        Han cu = theoHopDong.remove(ma);
+        if (cu != null) {
+            hangDoi.computeIfPresent(cu.moc(), (k, ds) -> {
+                ds.remove(ma);
+                return ds.isEmpty() ? null : ds;
+            });
+        }
+    }
+}
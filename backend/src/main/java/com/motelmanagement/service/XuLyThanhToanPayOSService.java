@@ -0,0 +1,94 @@
+package com.motelmanagement.service;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.motelmanagement.domain.DonHangPayOS;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.SuKienThanhToanPayOS;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.repository.DonHangPayOSRepository;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.SuKienThanhToanPayOSRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class XuLyThanhToanPayOSService {
+    private static final int SO_MA_NHO_TOI_DA = 10_000;
+
+    private final DonHangPayOSRepository donHangPayOSRepository;
+    private final HoaDonRepository hoaDonRepository;
+    private final ThanhToanService thanhToanService;
+    private final SuKienThanhToanPayOSRepository suKienThanhToanPayOSRepository;
+    private final TinhTienService tinhTienService;
+
+    private final Set<Long> daXuLyGanDay = ConcurrentHashMap.newKeySet();
+
+
+    public boolean daXuLy(long maDonHang) {
+        if (daXuLyGanDay.contains(maDonHang)) {
+            return true;
+        }
+        if (suKienThanhToanPayOSRepository.existsByMaDonHang(maDonHang)) {
+            ghiNho(maDonHang);
+            return true;
+        }
+        return false;
+    }
+
+
+    @Transactional
+    public boolean ghiNhan(long maDonHang, Integer soTienWebhook, String nguon) {
+        DonHangPayOS donHang = donHangPayOSRepository.khoaTheoMaDonHang(maDonHang).orElse(null);
+        if (donHang == null) {
+            return daXuLy(maDonHang);
+        }
+        HoaDon hoaDon = hoaDonRepository.khoaDeCapNhat(donHang.getMaHoaDon()).orElse(null);
+        hoaDon = tinhTienService.tinhTienRuntime(hoaDon);
+        if (hoaDon == null || hoaDon.getTongTien() == null) {
+            return false;
+        }
+
+        BigDecimal conLai = hoaDon.getConLai();
+        String maThanhToan = null;
+        if (conLai.compareTo(BigDecimal.ZERO) <= 0) {
+            hoaDon.setTrangThai(TrangThaiHoaDon.PAID);
+            hoaDonRepository.save(hoaDon);
+        } else {
+            BigDecimal soTienGhiNhan = (soTienWebhook != null && soTienWebhook > 0)
+                    ? BigDecimal.valueOf(soTienWebhook)
+                    : conLai;
+            if (soTienGhiNhan.compareTo(conLai) > 0) {
+                soTienGhiNhan = conLai;
+            }
+            maThanhToan = thanhToanService.congVaoHoaDon(hoaDon, soTienGhiNhan, PhuongThucThanhToan.TRANSFER).getId();
+        }
+
+        SuKienThanhToanPayOS suKien = new SuKienThanhToanPayOS();
+        suKien.setMaDonHang(maDonHang);
+        suKien.setMaHoaDon(hoaDon.getId());
+        suKien.setNguon(nguon);
+        suKien.setMaThanhToan(maThanhToan);
+        suKienThanhToanPayOSRepository.save(suKien);
+        donHangPayOSRepository.delete(donHang);
+        log.info("PayOS: đã ghi nhận đơn {} cho hóa đơn {} ({})", maDonHang, hoaDon.getId(), nguon);
+        return true;
+    }
+
+    private void ghiNho(long maDonHang) {
+        if (daXuLyGanDay.size() >= SO_MA_NHO_TOI_DA) {
+            daXuLyGanDay.clear();
+        }
+        daXuLyGanDay.add(maDonHang);
+    }
+}
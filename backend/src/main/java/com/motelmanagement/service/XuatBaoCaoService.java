@@ -15,6 +15,7 @@ import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
+import com.motelmanagement.config.DocBanSao;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.PhuongThucThanhToan;
 import com.motelmanagement.domain.ThanhToan;
@@ -26,6 +27,7 @@ import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@DocBanSao
 public class XuatBaoCaoService {
     private static final DateTimeFormatter DTF = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
@@ -34,7 +36,16 @@ public class XuatBaoCaoService {
     private final TinhTienService tinhTienService;
 
     public byte[] xuatExcelCongNo() throws IOException {
-        List<HoaDon> chuaThanhToan = hoaDonRepository.findByTrangThaiWithRoomAndTenant(TrangThaiHoaDon.UNPAID)
+        return DoLuong.bamGio(DoLuong.XUAT_TAI_LIEU, this::taoExcelCongNo, "loai", "excel", "mau", "cong-no");
+    }
+
+    public byte[] xuatExcelThuChi(LocalDate tuNgay, LocalDate denNgay) throws IOException {
+        return DoLuong.bamGio(DoLuong.XUAT_TAI_LIEU, () -> taoExcelThuChi(tuNgay, denNgay),
+                "loai", "excel", "mau", "thu-chi");
+    }
+
+    private byte[] taoExcelCongNo() throws IOException {
+        List<HoaDon> chuaThanhToan = hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO)
                 .stream()
                 .map(tinhTienService::tinhTienRuntime)
                 .toList();
@@ -46,7 +57,7 @@ public class XuatBaoCaoService {
             tieuDe.createCell(1).setCellValue("Xuat luc: " + DTF.format(LocalDateTime.now()));
 
             Row header = sheet.createRow(2);
-            String[] cot = {"Ma hoa don", "Phong", "Khach thue", "Thang", "Nam", "Tong tien (VND)", "Trang thai"};
+            String[] cot = {"Ma hoa don", "Phong", "Khach thue", "Thang", "Nam", "Tong tien (VND)", "Da thu (VND)", "Con lai (VND)", "Trang thai"};
             for (int i = 0; i < cot.length; i++) {
                 header.createCell(i).setCellValue(cot[i]);
             }
@@ -60,16 +71,20 @@ public class XuatBaoCaoService {
                 row.createCell(2).setCellValue(hd.getKhachThue() != null ? hd.getKhachThue().getHoTen() : "");
                 row.createCell(3).setCellValue(hd.getThang());
                 row.createCell(4).setCellValue(hd.getNam());
-                BigDecimal soTien = hd.getTongTien() != null ? hd.getTongTien() : BigDecimal.ZERO;
-                row.createCell(5).setCellValue(soTien.doubleValue());
-                row.createCell(6).setCellValue(hd.getTrangThai() != null ? hd.getTrangThai().name() : "");
-                tong = tong.add(soTien);
+                BigDecimal tongTien = hd.getTongTien() != null ? hd.getTongTien() : BigDecimal.ZERO;
+                BigDecimal daThu = hd.getDaThu() != null ? hd.getDaThu() : BigDecimal.ZERO;
+                BigDecimal conLai = hd.getConLai() != null ? hd.getConLai() : BigDecimal.ZERO;
+                row.createCell(5).setCellValue(tongTien.doubleValue());
+                row.createCell(6).setCellValue(daThu.doubleValue());
+                row.createCell(7).setCellValue(conLai.doubleValue());
+                row.createCell(8).setCellValue(hd.getTrangThai() != null ? hd.getTrangThai().name() : "");
+                tong = tong.add(conLai);
             }
 
             Row tongRow = sheet.createRow(hang + 1);
-            tongRow.createCell(4).setCellValue("Tong cong:");
-            tongRow.createCell(5).setCellValue(tong.doubleValue());
-            tongRow.createCell(6).setCellValue(chuaThanhToan.size() + " hoa don");
+            tongRow.createCell(6).setCellValue("Tong con no:");
+            tongRow.createCell(7).setCellValue(tong.doubleValue());
+            tongRow.createCell(8).setCellValue(chuaThanhToan.size() + " hoa don");
 
             for (int i = 0; i < cot.length; i++) {
                 sheet.autoSizeColumn(i);
@@ -81,14 +96,14 @@ public class XuatBaoCaoService {
     }
 
     public BigDecimal tongCongNo() {
-        return hoaDonRepository.findByTrangThaiWithRoomAndTenant(TrangThaiHoaDon.UNPAID).stream()
+        return hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO).stream()
                 .map(tinhTienService::tinhTienRuntime)
-                .map(HoaDon::getTongTien)
+                .map(HoaDon::getConLai)
                 .filter(Objects::nonNull)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    public byte[] xuatExcelThuChi(LocalDate tuNgay, LocalDate denNgay) throws IOException {
+    private byte[] taoExcelThuChi(LocalDate tuNgay, LocalDate denNgay) throws IOException {
         LocalDateTime tu = tuNgay.atStartOfDay();
         LocalDateTime den = denNgay.plusDays(1).atStartOfDay();
         List<ThanhToan> danhSach = thanhToanRepository.findTrongKhoangThoiGian(tu, den);
@@ -10,6 +10,7 @@ import java.util.Locale;
 
 import org.springframework.stereotype.Service;
 
+import com.motelmanagement.config.DocBanSao;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.HoaDonChiTiet;
 import com.motelmanagement.domain.KhachThue;
@@ -38,6 +39,7 @@ public class XuatPdfService {
     private final TinhTienService tinhTienService;
     private final NguoiDungHienTaiService nguoiDungHienTaiService;
 
+    @DocBanSao
     public byte[] pdfBaoCaoThuChi(LocalDate tuNgay, LocalDate denNgay) {
         LocalDateTime tu = tuNgay.atStartOfDay();
         LocalDateTime den = denNgay.plusDays(1).atStartOfDay();
@@ -74,7 +76,7 @@ public class XuatPdfService {
                 <p class="t">Tong thu: %s VND (%d giao dich)</p>
                 </body></html>
                 """.formatted(tuNgay, denNgay, rows, formatTien(tong), danhSach.size());
-        return renderPdf(html);
+        return renderPdf("thu-chi", html);
     }
 
     public byte[] pdfHoaDon(String maHoaDon) {
@@ -106,7 +108,7 @@ public class XuatPdfService {
         String html = htmlKhung(
                 "HOA DON THUE PHONG",
                 bodyHoaDon(hd, rows.toString()));
-        return renderPdf(html);
+        return renderPdf("hoa-don", html);
     }
 
     public byte[] pdfPhieuThu(String maThanhToan) {
@@ -122,7 +124,7 @@ public class XuatPdfService {
         String html = htmlKhung(
                 "PHIEU THU",
                 bodyPhieuThu(tt, hd));
-        return renderPdf(html);
+        return renderPdf("phieu-thu", html);
     }
 
     private void kiemTraQuyenXemHoaDon(HoaDon hd) {
@@ -251,16 +253,18 @@ public class XuatPdfService {
         return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
     }
 
-    private static byte[] renderPdf(String html) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-            builder.useFastMode();
-            builder.withHtmlContent(html, null);
-            builder.toStream(out);
-            builder.run();
-            return out.toByteArray();
-        } catch (Exception e) {
-            throw new IllegalStateException("Khong tao duoc file PDF.", e);
-        }
+    private static byte[] renderPdf(String mau, String html) {
+        return DoLuong.bamGio(DoLuong.XUAT_TAI_LIEU, () -> {
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                PdfRendererBuilder builder = new PdfRendererBuilder();
+                builder.useFastMode();
+                builder.withHtmlContent(html, null);
+                builder.toStream(out);
+                builder.run();
+                return out.toByteArray();
+            } catch (Exception e) {
+                throw new IllegalStateException("Khong tao duoc file PDF.", e);
+            }
+        }, "loai", "pdf", "mau", mau);
     }
 }
@@ -0,0 +1,50 @@
+package com.motelmanagement.util;
+
+import java.util.Locale;
+
+public final class BienTheAnh {
+    public static final String NHO = "thumb";
+    public static final String XEM_TRUOC = "preview";
+
+    private static final String TIEN_TO_BLOB = "/tenant-files/blobs/";
+
+    private BienTheAnh() {}
+
+    public static String duongDan(String duongDanGoc, String loai) {
+        if (!laAnhBlob(duongDanGoc)) {
+            return null;
+        }
+        int dauCham = duongDanGoc.lastIndexOf('.');
+        return duongDanGoc.substring(0, dauCham) + "." + loai + duongDanGoc.substring(dauCham);
+    }
+
+    public static String duongDanGoc(String duongDanBienThe) {
+        if (duongDanBienThe == null) {
+            return null;
+        }
+        for (String loai : new String[] { NHO, XEM_TRUOC }) {
+            int viTri = duongDanBienThe.lastIndexOf("." + loai + ".");
+            if (viTri > 0) {
+                String goc = duongDanBienThe.substring(0, viTri)
+                        + duongDanBienThe.substring(viTri + loai.length() + 1);
+                return laAnhBlob(goc) ? goc : null;
+            }
+        }
+        return null;
+    }
+
+    public static boolean laAnhBlob(String duongDan) {
+        if (duongDan == null || !duongDan.startsWith(TIEN_TO_BLOB)) {
+            return false;
+        }
+        String ten = duongDan.substring(duongDan.lastIndexOf('/') + 1);
+        if (ten.indexOf('.') != ten.lastIndexOf('.')) {
+            return false;
+        }
+        String duoi = ten.substring(ten.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return switch (duoi) {
+            case "jpg", "jpeg", "png", "gif", "webp" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,6 @@
+-- Chỉ mục cho các truy vấn đọc nhiều (thông báo và thành viên hội thoại đã có chỉ mục trong @Table)
+CREATE INDEX idx_hoa_don_ky ON hoa_don (nam, thang);
+CREATE INDEX idx_hop_dong_phong_trang_thai ON hop_dong (phong_id, trang_thai);
+CREATE INDEX idx_hop_dong_trang_thai ON hop_dong (trang_thai);
+CREATE INDEX idx_phong_trang_thai ON phong (trang_thai);
+CREATE INDEX idx_tin_nhan_hoi_thoai_thoi_gian ON tin_nhan (hoi_thoai_id, thoi_gian_gui);
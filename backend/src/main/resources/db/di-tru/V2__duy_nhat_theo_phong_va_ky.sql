@@ -0,0 +1,4 @@
+-- Mỗi phòng chỉ có một hóa đơn và một chỉ số điện nước cho mỗi tháng/năm.
+-- Nếu CSDL cũ có bản ghi trùng, di trú này dừng khởi động: gộp/xóa bản trùng rồi chạy lại.
+CREATE UNIQUE INDEX uk_hoa_don_phong_ky ON hoa_don (phong_id, nam, thang);
+CREATE UNIQUE INDEX uk_chi_so_dien_nuoc_phong_ky ON chi_so_dien_nuoc (phong_id, nam, thang);
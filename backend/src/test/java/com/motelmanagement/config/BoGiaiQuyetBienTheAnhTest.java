@@ -0,0 +1,87 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import com.motelmanagement.service.AnhPhaiSinhService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+class BoGiaiQuyetBienTheAnhTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AnhPhaiSinhService anhPhaiSinhService = mock(AnhPhaiSinhService.class);
+    private final BoGiaiQuyetBienTheAnh boGiaiQuyet = new BoGiaiQuyetBienTheAnh(anhPhaiSinhService);
+    private final ResourceResolverChain doc = new ResourceResolverChain() {
+        private final PathResourceResolver theoDuongDan = new PathResourceResolver();
+
+        @Override
+        public Resource resolveResource(HttpServletRequest request, String requestPath,
+                List<? extends Resource> locations) {
+            return theoDuongDan.resolveResource(request, requestPath, locations, this);
+        }
+
+        @Override
+        public String resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+            return theoDuongDan.resolveUrlPath(resourcePath, locations, this);
+        }
+    };
+
+    private Resource giaiQuyet(String duongDan) {
+        return boGiaiQuyet.resolveResource(new MockHttpServletRequest(), duongDan,
+                List.of(new FileSystemResource(tempDir.toString() + "/")), doc);
+    }
+
+    @Test
+    void bienTheDaCo_khongSinhLai() throws Exception {
+        Files.createDirectories(tempDir.resolve("ab"));
+        Files.writeString(tempDir.resolve("ab/abcd.thumb.png"), "nho");
+
+        assertEquals("abcd.thumb.png", giaiQuyet("ab/abcd.thumb.png").getFilename());
+        verify(anhPhaiSinhService, never()).sinhBienThe(any());
+    }
+
+    @Test
+    void bienTheThieu_sinhTaiCho() throws Exception {
+        Files.createDirectories(tempDir.resolve("ab"));
+        Files.writeString(tempDir.resolve("ab/abcd.png"), "goc");
+        doAnswer(inv -> Files.writeString(tempDir.resolve("ab/abcd.preview.png"), "xem"))
+                .when(anhPhaiSinhService).sinhBienThe("/tenant-files/blobs/ab/abcd.png");
+
+        assertEquals("abcd.preview.png", giaiQuyet("ab/abcd.preview.png").getFilename());
+    }
+
+    @Test
+    void khongSinhDuoc_traAnhGoc() throws Exception {
+        Files.createDirectories(tempDir.resolve("ab"));
+        Files.writeString(tempDir.resolve("ab/abcd.png"), "goc");
+
+        assertEquals("abcd.png", giaiQuyet("ab/abcd.thumb.png").getFilename());
+        verify(anhPhaiSinhService).sinhBienThe("/tenant-files/blobs/ab/abcd.png");
+    }
+
+    @Test
+    void khongPhaiBienThe_traNull() {
+        assertNull(giaiQuyet("ab/khong-co.png"));
+        verify(anhPhaiSinhService, never()).sinhBienThe(any());
+    }
+}
@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CauHinhDoLuongTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.CauHinhDoLuong", CauHinhDoLuong.class.getName());
+    }
+}
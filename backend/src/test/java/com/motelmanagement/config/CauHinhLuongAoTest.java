@@ -0,0 +1,29 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mail.javamail.JavaMailSender;
+
+class CauHinhLuongAoTest {
+
+    private final BeanPostProcessor boBoc = CauHinhLuongAo.boBocGuiMailNgoaiLuongAo(1);
+
+    @Test
+    void bocJavaMailSender() {
+        Object ketQua = boBoc.postProcessAfterInitialization(mock(JavaMailSender.class), "mailSender");
+
+        assertInstanceOf(GuiMailNgoaiLuongAo.class, ketQua);
+        assertSame(ketQua, boBoc.postProcessAfterInitialization(ketQua, "mailSender"));
+        ((GuiMailNgoaiLuongAo) ketQua).destroy();
+    }
+
+    @Test
+    void boQuaBeanKhac() {
+        Object bean = new Object();
+        assertSame(bean, boBoc.postProcessAfterInitialization(bean, "khac"));
+    }
+}
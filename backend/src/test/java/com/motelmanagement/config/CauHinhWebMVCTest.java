@@ -1,8 +1,24 @@
 package com.motelmanagement.config;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 class CauHinhWebMVCTest {
 
@@ -10,4 +26,54 @@ class CauHinhWebMVCTest {
     void tenDayDu() {
         assertEquals("com.motelmanagement.config.CauHinhWebMVC", CauHinhWebMVC.class.getName());
     }
+
+    @Test
+    void etagTheoTenFile_boDuoi() {
+        assertEquals("9f64a7.thumb", CauHinhWebMVC.etagTheoTenFile(new FileSystemResource("/x/blobs/9f/9f64a7.thumb.jpg")));
+        assertEquals("9f64a7", CauHinhWebMVC.etagTheoTenFile(new FileSystemResource("/x/blobs/9f/9f64a7")));
+    }
+
+    @Test
+    void etagTheoThuocTinh_doiKhiNoiDungDoi(@TempDir Path tempDir) throws Exception {
+        Path tep = tempDir.resolve("a.jpg");
+        Files.write(tep, new byte[] { 1, 2, 3 });
+        String truoc = CauHinhWebMVC.etagTheoThuocTinh(new FileSystemResource(tep));
+        Files.write(tep, new byte[] { 1, 2, 3, 4 });
+        String sau = CauHinhWebMVC.etagTheoThuocTinh(new FileSystemResource(tep));
+        assertNotNull(truoc);
+        assertNotEquals(truoc, sau);
+    }
+
+    @Test
+    void etagTheoThuocTinh_khongTonTai_traNull() {
+        assertNull(CauHinhWebMVC.etagTheoThuocTinh(new FileSystemResource("/khong/ton/tai.jpg")));
+    }
+
+    @Test
+    void tepKhachThue_chiChoTrinhDuyetGiuBanSao(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("blobs/ab"));
+        Files.write(tempDir.resolve("blobs/ab/abcd.jpg"), new byte[] { 1 });
+        Files.createDirectories(tempDir.resolve("tenants"));
+        Files.write(tempDir.resolve("tenants/cccd.jpg"), new byte[] { 2 });
+
+        try (AnnotationConfigWebApplicationContext ngCanh = new AnnotationConfigWebApplicationContext()) {
+            ngCanh.setServletContext(new MockServletContext());
+            ngCanh.getEnvironment().getPropertySources()
+                    .addFirst(new MapPropertySource("kiem-thu", Map.of("app.upload.dir", tempDir.toString())));
+            ngCanh.register(BatWebMvc.class, CauHinhWebMVC.class);
+            ngCanh.refresh();
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(ngCanh).build();
+
+            mockMvc.perform(get("/tenant-files/blobs/ab/abcd.jpg"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"));
+            mockMvc.perform(get("/tenant-files/tenants/cccd.jpg"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "max-age=3600, must-revalidate, private"));
+        }
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class BatWebMvc {}
 }
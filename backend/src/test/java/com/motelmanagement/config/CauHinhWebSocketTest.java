@@ -1,13 +1,57 @@
 package com.motelmanagement.config;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.motelmanagement.security.TienIchJwt;
+
+import io.jsonwebtoken.Claims;
 
 class CauHinhWebSocketTest {
 
+    private static final class DangKyKenh extends ChannelRegistration {
+        List<ChannelInterceptor> dsChan() {
+            return getInterceptors();
+        }
+    }
+
     @Test
     void tenDayDu() {
         assertEquals("com.motelmanagement.config.CauHinhWebSocket", CauHinhWebSocket.class.getName());
     }
+
+    @Test
+    void connectCoToken_ganNguoiDungVaoChinhMessage() {
+        TienIchJwt tienIchJwt = mock(TienIchJwt.class);
+        Claims claims = mock(Claims.class);
+        when(tienIchJwt.parseClaims("tok")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("khach01");
+        when(claims.get("role", String.class)).thenReturn("TENANT");
+        DangKyKenh dangKy = new DangKyKenh();
+        new CauHinhWebSocket(tienIchJwt).configureClientInboundChannel(dangKy);
+
+        StompHeaderAccessor tieuDe = StompHeaderAccessor.create(StompCommand.CONNECT);
+        tieuDe.setNativeHeader("token", "tok");
+        tieuDe.setLeaveMutable(true);
+        Message<byte[]> connect = MessageBuilder.createMessage(new byte[0], tieuDe.getMessageHeaders());
+
+        Message<?> ketQua = dangKy.dsChan().get(0).preSend(connect, mock(MessageChannel.class));
+
+        Principal nguoiDung = StompHeaderAccessor.wrap(ketQua).getUser();
+        assertNotNull(nguoiDung);
+        assertEquals("khach01", nguoiDung.getName());
+    }
 }
@@ -0,0 +1,59 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DemTinNhanWebSocketTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void chuanHoaDich_boTenNguoiDungVaHauToPhien() {
+        assertEquals("/user/queue/chat", DemTinNhanWebSocket.chuanHoaDich("/user/khach01/queue/chat"));
+        assertEquals("/user/queue/chat", DemTinNhanWebSocket.chuanHoaDich("/user/queue/chat"));
+        assertEquals("/queue/chat", DemTinNhanWebSocket.chuanHoaDich("/queue/chat-userx1y2z3"));
+        assertEquals("/topic/thong-bao", DemTinNhanWebSocket.chuanHoaDich("/topic/thong-bao"));
+        assertEquals("khong-co", DemTinNhanWebSocket.chuanHoaDich(null));
+    }
+
+    @Test
+    void chiDemTinMessage() {
+        DemTinNhanWebSocket dem = new DemTinNhanWebSocket("broker");
+
+        dem.afterSendCompletion(tin(SimpMessageType.MESSAGE, "/user/khach01/queue/chat"), null, true, null);
+        dem.afterSendCompletion(tin(SimpMessageType.MESSAGE, "/user/khach02/queue/chat"), null, true, null);
+        dem.afterSendCompletion(tin(SimpMessageType.HEARTBEAT, null), null, true, null);
+
+        assertEquals(2.0, registry.get(DemTinNhanWebSocket.TEN_CHI_SO)
+                .tag("kenh", "broker").tag("dich", "/user/queue/chat").tag("ket_qua", "ok")
+                .counter().count());
+        assertNull(registry.find(DemTinNhanWebSocket.TEN_CHI_SO).tag("dich", "khong-co").counter());
+    }
+
+    private static Message<byte[]> tin(SimpMessageType loai, String dich) {
+        SimpMessageHeaderAccessor tieuDe = SimpMessageHeaderAccessor.create(loai);
+        tieuDe.setDestination(dich);
+        return MessageBuilder.createMessage(new byte[0], tieuDe.getMessageHeaders());
+    }
+}
@@ -0,0 +1,61 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import jakarta.mail.internet.MimeMessage;
+
+class GuiMailNgoaiLuongAoTest {
+
+    private final JavaMailSender goc = mock(JavaMailSender.class);
+    private final GuiMailNgoaiLuongAo guiMail = new GuiMailNgoaiLuongAo(goc, 2);
+
+    @AfterEach
+    void donDep() {
+        guiMail.destroy();
+    }
+
+    @Test
+    void send_chayTrenLuongGuiMailVaCho() {
+        MimeMessage thu = mock(MimeMessage.class);
+        AtomicReference<String> tenLuong = new AtomicReference<>();
+        doAnswer(inv -> {
+            tenLuong.set(Thread.currentThread().getName());
+            return null;
+        }).when(goc).send(any(MimeMessage.class));
+
+        guiMail.send(thu);
+
+        assertTrue(tenLuong.get().startsWith("gui-mail-"));
+    }
+
+    @Test
+    void send_loiTuMayChu_nemLaiNguyenVen() {
+        MailSendException loi = new MailSendException("smtp");
+        doThrow(loi).when(goc).send(any(SimpleMailMessage.class));
+
+        assertSame(loi, assertThrows(MailSendException.class, () -> guiMail.send(new SimpleMailMessage())));
+    }
+
+    @Test
+    void createMimeMessage_uyQuyen() {
+        MimeMessage thu = mock(MimeMessage.class);
+        when(goc.createMimeMessage()).thenReturn(thu);
+
+        assertSame(thu, guiMail.createMimeMessage());
+    }
+}
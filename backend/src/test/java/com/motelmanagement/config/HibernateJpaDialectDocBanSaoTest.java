@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HibernateJpaDialectDocBanSaoTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.HibernateJpaDialectDocBanSao", HibernateJpaDialectDocBanSao.class.getName());
+    }
+}
@@ -0,0 +1,38 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+class JpaTransactionManagerDocBanSaoTest {
+
+    static class BaoCao {
+        @DocBanSao
+        public void doc() {
+        }
+
+        @Transactional(readOnly = true)
+        public void chiDoc() {
+        }
+    }
+
+    private final AnnotationTransactionAttributeSource nguon = new AnnotationTransactionAttributeSource();
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.JpaTransactionManagerDocBanSao", JpaTransactionManagerDocBanSao.class.getName());
+    }
+
+    @Test
+    void chiGiaoDichDanhDauDocBanSaoMoiDocBanSao() throws Exception {
+        TransactionAttribute baoCao = nguon.getTransactionAttribute(BaoCao.class.getMethod("doc"), BaoCao.class);
+        TransactionAttribute chiDoc = nguon.getTransactionAttribute(BaoCao.class.getMethod("chiDoc"), BaoCao.class);
+
+        assertTrue(baoCao.isReadOnly());
+        assertTrue(JpaTransactionManagerDocBanSao.laDocBanSao(baoCao));
+        assertFalse(JpaTransactionManagerDocBanSao.laDocBanSao(chiDoc));
+    }
+}
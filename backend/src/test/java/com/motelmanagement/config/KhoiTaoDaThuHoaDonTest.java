@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KhoiTaoDaThuHoaDonTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.KhoiTaoDaThuHoaDon", KhoiTaoDaThuHoaDon.class.getName());
+    }
+}
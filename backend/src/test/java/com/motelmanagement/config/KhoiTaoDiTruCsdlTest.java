@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KhoiTaoDiTruCsdlTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.KhoiTaoDiTruCsdl", KhoiTaoDiTruCsdl.class.getName());
+    }
+}
@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KhoiTaoDuLieuLonTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.KhoiTaoDuLieuLon", KhoiTaoDuLieuLon.class.getName());
+    }
+}
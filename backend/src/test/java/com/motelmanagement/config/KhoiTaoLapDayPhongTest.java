@@ -0,0 +1,13 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KhoiTaoLapDayPhongTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.config.KhoiTaoLapDayPhong", KhoiTaoLapDayPhong.class.getName());
+    }
+}
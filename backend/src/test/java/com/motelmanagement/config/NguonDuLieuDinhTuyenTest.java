@@ -0,0 +1,180 @@
+package com.motelmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class NguonDuLieuDinhTuyenTest {
+
+    private static final class DongHoGia extends Clock {
+        private Instant bayGio = Instant.parse("2026-01-31T10:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return bayGio;
+        }
+    }
+
+    private final DongHoGia dongHo = new DongHoGia();
+    private final ThuocTinhBanSao thuocTinh = new ThuocTinhBanSao();
+    private final TheoDoiDoTreBanSao theoDoi = new TheoDoiDoTreBanSao(thuocTinh, dongHo);
+    private DriverManagerDataSource chinh;
+    private DriverManagerDataSource banSao;
+    private NguonDuLieuDinhTuyen dinhTuyen;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate giaoDichGhi;
+    private TransactionTemplate giaoDichDoc;
+
+    @BeforeEach
+    void chuanBi() {
+        chinh = h2("dinhtuyen_chinh");
+        banSao = h2("dinhtuyen_bansao");
+        new JdbcTemplate(chinh).execute("CREATE TABLE IF NOT EXISTS nguon(ten VARCHAR(20))");
+        new JdbcTemplate(chinh).execute("DELETE FROM nguon");
+        new JdbcTemplate(chinh).execute("INSERT INTO nguon VALUES ('chinh')");
+        new JdbcTemplate(banSao).execute("CREATE TABLE IF NOT EXISTS nguon(ten VARCHAR(20))");
+        new JdbcTemplate(banSao).execute("DELETE FROM nguon");
+        new JdbcTemplate(banSao).execute("INSERT INTO nguon VALUES ('ban-sao')");
+        new JdbcTemplate(banSao).execute("CREATE TABLE IF NOT EXISTS nhip_tim(giay DOUBLE)");
+        new JdbcTemplate(banSao).execute("DELETE FROM nhip_tim");
+        new JdbcTemplate(banSao).execute("INSERT INTO nhip_tim VALUES (0)");
+        khoiTao(banSao);
+    }
+
+    @AfterEach
+    void donDep() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void khoiTao(DriverManagerDataSource nguonBanSao) {
+        dinhTuyen = new NguonDuLieuDinhTuyen(chinh, nguonBanSao, theoDoi);
+        LazyConnectionDataSourceProxy luoi = new LazyConnectionDataSourceProxy(dinhTuyen);
+        DataSourceTransactionManager quanLy = new DataSourceTransactionManager(luoi);
+        jdbc = new JdbcTemplate(luoi);
+        giaoDichGhi = new TransactionTemplate(quanLy);
+        giaoDichDoc = new TransactionTemplate(quanLy);
+        giaoDichDoc.setReadOnly(true);
+    }
+
+    private static DriverManagerDataSource h2(String ten) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + ten + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private String docTrongGiaoDichChiDoc() {
+        return trongGiaoDichBaoCao("SELECT ten FROM nguon", String.class);
+    }
+
+    private <T> T trongGiaoDichBaoCao(String sql, Class<T> kieu) {
+        NguonDuLieuDinhTuyen.vaoGiaoDich(true);
+        try {
+            return giaoDichDoc.execute(s -> jdbc.queryForObject(sql, kieu));
+        } finally {
+            NguonDuLieuDinhTuyen.raGiaoDich();
+        }
+    }
+
+    private void dangNhap(String ten) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ten, null, "ROLE_ADMIN"));
+    }
+
+    @Test
+    void giaoDichChiDoc_docTuBanSao() {
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+
+    @Test
+    void giaoDichChiDocKhongDanhDauDocBanSao_diVaoCsdlChinh() {
+        assertEquals("chinh", giaoDichDoc.execute(s -> jdbc.queryForObject("SELECT ten FROM nguon", String.class)));
+    }
+
+    @Test
+    void giaoDichGhiVaKhongGiaoDich_diVaoCsdlChinh() {
+        assertEquals("chinh", giaoDichGhi.execute(s -> jdbc.queryForObject("SELECT ten FROM nguon", String.class)));
+        assertEquals("chinh", jdbc.queryForObject("SELECT ten FROM nguon", String.class));
+    }
+
+    @Test
+    void vuaGhi_docLaiCuaChinhNguoiDoTuCsdlChinhTrongCuaSo() {
+        dangNhap("admin");
+        giaoDichGhi.executeWithoutResult(s -> jdbc.update("INSERT INTO nguon VALUES ('moi')"));
+
+        Integer soDong = trongGiaoDichBaoCao("SELECT COUNT(*) FROM nguon", Integer.class);
+        assertEquals(2, soDong);
+        dangNhap("staff");
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+
+        dangNhap("admin");
+        dongHo.bayGio = dongHo.bayGio.plus(thuocTinh.getCuaSoDocSauGhi());
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+
+    @Test
+    void giaoDichGhiBiRollback_khongGhimNguoiDungVaoCsdlChinh() {
+        dangNhap("admin");
+        giaoDichGhi.executeWithoutResult(s -> {
+            jdbc.update("INSERT INTO nguon VALUES ('moi')");
+            s.setRollbackOnly();
+        });
+
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+
+    @Test
+    void banSaoTreQuaNguong_docTuCsdlChinh() {
+        thuocTinh.setTruyVanDoTre("SELECT giay FROM nhip_tim");
+        new JdbcTemplate(banSao).update("UPDATE nhip_tim SET giay = 30");
+        dinhTuyen.kiemTraDoTre();
+        assertEquals("chinh", docTrongGiaoDichChiDoc());
+
+        new JdbcTemplate(banSao).update("UPDATE nhip_tim SET giay = 1.5");
+        dinhTuyen.kiemTraDoTre();
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+
+    @Test
+    void truyVanDoTreLoi_tamNgungBanSao() {
+        thuocTinh.setTruyVanDoTre("SELECT giay FROM bang_khong_ton_tai");
+        dinhTuyen.kiemTraDoTre();
+
+        assertEquals("chinh", docTrongGiaoDichChiDoc());
+        dongHo.bayGio = dongHo.bayGio.plus(thuocTinh.getTamNgungKhiLoi());
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+
+    @Test
+    void khongKetNoiDuocBanSao_duPhongCsdlChinhRoiThuLaiSauTamNgung() {
+        khoiTao(new DriverManagerDataSource("jdbc:h2:mem:dinhtuyen_khongco;IFEXISTS=TRUE", "sa", ""));
+
+        assertEquals("chinh", docTrongGiaoDichChiDoc());
+
+        khoiTao(banSao);
+        assertEquals("chinh", docTrongGiaoDichChiDoc());
+        dongHo.bayGio = dongHo.bayGio.plus(thuocTinh.getTamNgungKhiLoi());
+        assertEquals("ban-sao", docTrongGiaoDichChiDoc());
+    }
+}
@@ -23,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.motelmanagement.domain.BangGiaDichVu;
 import com.motelmanagement.repository.BangGiaDichVuRepository;
 import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
@@ -44,6 +45,8 @@ class BangGiaControllerTest {
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -5,7 +5,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,14 +20,19 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.TrangThaiHoaDon;
 import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.TyLeLapDayDto;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.PhongRepository;
 import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.LapDayPhongService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.service.TinhTienService;
+import com.motelmanagement.service.XuatBaoCaoService;
+import com.motelmanagement.service.XuatPdfService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
 
 @WebMvcTest(controllers = BaoCaoController.class)
@@ -44,10 +52,16 @@ class BaoCaoControllerTest {
     @MockitoBean
     private TinhTienService tinhTienService;
     @MockitoBean
+    private XuatBaoCaoService xuatBaoCaoService;
+    @MockitoBean
+    private XuatPdfService xuatPdfService;
+    @MockitoBean
     private NguoiDungHienTaiService nguoiDungHienTaiService;
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
+    private LapDayPhongService lapDayPhongService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -70,16 +84,54 @@ class BaoCaoControllerTest {
                 .andExpect(jsonPath("$.vacantRooms").value(0));
     }
 
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void tyLeLapDay_tra200() throws Exception {
+        when(lapDayPhongService.tyLeLapDay(YearMonth.of(2025, 1), YearMonth.of(2025, 2))).thenReturn(List.of(
+                new TyLeLapDayDto("kv1", "Khu A", "2025-01", 2, 31, 0.5)));
+        mockMvc.perform(get("/api/bao-cao/ty-le-lap-day-theo-thang").param("tuThang", "2025-01").param("denThang", "2025-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].thang").value("2025-01"))
+                .andExpect(jsonPath("$[0].tyLe").value(0.5));
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void tyLeLapDay_khoangSai_tra400() throws Exception {
+        when(lapDayPhongService.tyLeLapDay(YearMonth.of(2025, 3), YearMonth.of(2025, 1)))
+                .thenThrow(new IllegalArgumentException("Tháng kết thúc phải sau tháng bắt đầu"));
+        mockMvc.perform(get("/api/bao-cao/ty-le-lap-day-theo-thang").param("tuThang", "2025-03").param("denThang", "2025-01"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "STAFF")
     void congNo_tra200() throws Exception {
-        when(hoaDonRepository.findByTrangThai(TrangThaiHoaDon.UNPAID)).thenReturn(Collections.emptyList());
+        when(hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO))
+                .thenReturn(Collections.emptyList());
         mockMvc.perform(get("/api/bao-cao/cong-no"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalDebt").exists())
                 .andExpect(jsonPath("$.count").value(0));
     }
 
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void congNo_hoaDonThanhToanMotPhan_tinhPhanConLai() throws Exception {
+        HoaDon hd = new HoaDon();
+        hd.setId("hd-1");
+        hd.setTrangThai(TrangThaiHoaDon.PARTIAL);
+        hd.setTongTien(BigDecimal.valueOf(1000));
+        hd.setDaThu(BigDecimal.valueOf(400));
+        when(hoaDonRepository.findByTrangThaiInWithRoomAndTenant(TrangThaiHoaDon.CON_NO)).thenReturn(List.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+
+        mockMvc.perform(get("/api/bao-cao/cong-no"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalDebt").value(600))
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
     @Test
     @WithMockUser(roles = "TENANT")
     void doanhThu_forbidden() throws Exception {
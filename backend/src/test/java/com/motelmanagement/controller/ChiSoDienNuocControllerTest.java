@@ -22,6 +22,7 @@ import com.motelmanagement.repository.BangGiaDichVuRepository;
 import com.motelmanagement.repository.ChiSoDienNuocRepository;
 import com.motelmanagement.repository.PhongRepository;
 import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.FileLuuTruService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.service.TinhTienService;
@@ -46,6 +47,8 @@ class ChiSoDienNuocControllerTest {
     @MockitoBean
     private TinhTienService tinhTienService;
     @MockitoBean
+    private FileLuuTruService fileLuuTruService;
+    @MockitoBean
     private NguoiDungHienTaiService nguoiDungHienTaiService;
     @MockitoBean
     private NhatKyService nhatKyService;
@@ -55,7 +58,7 @@ class ChiSoDienNuocControllerTest {
     @Test
     @WithMockUser(roles = "STAFF")
     void layDanhSach_tra200() throws Exception {
-        when(chiSoDienNuocRepository.findAll()).thenReturn(Collections.emptyList());
+        when(chiSoDienNuocRepository.findAllKemPhong()).thenReturn(Collections.emptyList());
         mockMvc.perform(get("/api/chi-so-dien-nuoc"))
                 .andExpect(status().isOk());
     }
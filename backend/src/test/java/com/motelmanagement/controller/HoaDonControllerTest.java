@@ -30,8 +30,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.TrangThaiHoaDon;
-import com.motelmanagement.repository.ChiSoDienNuocRepository;
-import com.motelmanagement.repository.HoaDonChiTietRepository;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.HopDongRepository;
 import com.motelmanagement.repository.KhachThueRepository;
@@ -42,6 +40,7 @@ import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.service.NhacNoHoaDonService;
 import com.motelmanagement.service.TinhTienService;
+import com.motelmanagement.service.XuatPdfService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
 
 @WebMvcTest(controllers = HoaDonController.class)
@@ -59,10 +58,6 @@ class HoaDonControllerTest {
     @MockitoBean
     private HoaDonRepository hoaDonRepository;
     @MockitoBean
-    private HoaDonChiTietRepository hoaDonChiTietRepository;
-    @MockitoBean
-    private ChiSoDienNuocRepository chiSoDienNuocRepository;
-    @MockitoBean
     private HopDongRepository hopDongRepository;
     @MockitoBean
     private KhachThueRepository khachThueRepository;
@@ -79,6 +74,8 @@ class HoaDonControllerTest {
     @MockitoBean
     private HoaDonChiTietService hoaDonChiTietService;
     @MockitoBean
+    private XuatPdfService xuatPdfService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
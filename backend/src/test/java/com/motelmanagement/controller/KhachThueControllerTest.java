@@ -1,13 +1,19 @@
 package com.motelmanagement.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -17,7 +23,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -27,13 +35,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
 import com.motelmanagement.domain.VaiTro;
+import com.motelmanagement.dto.KhachThueTomTatDto;
 import com.motelmanagement.dto.TenantCreateDto;
+import com.motelmanagement.dto.TongQuanKhachThueDto;
 import com.motelmanagement.repository.KhachThueRepository;
 import com.motelmanagement.repository.NguoiDungRepository;
 import com.motelmanagement.security.TienIchJwt;
-import com.motelmanagement.service.FileKhachThueService;
+import com.motelmanagement.service.ChiMucTimKiemService;
+import com.motelmanagement.service.FileLuuTruService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
+import com.motelmanagement.service.TongQuanKhachThueService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
 
 @WebMvcTest(controllers = KhachThueController.class)
@@ -55,11 +67,15 @@ class KhachThueControllerTest {
     @MockitoBean
     private NguoiDungHienTaiService nguoiDungHienTaiService;
     @MockitoBean
-    private FileKhachThueService fileKhachThueService;
+    private FileLuuTruService fileLuuTruService;
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
     private TienIchJwt tienIchJwt;
+    @MockitoBean
+    private ChiMucTimKiemService chiMucTimKiemService;
+    @MockitoBean
+    private TongQuanKhachThueService tongQuanKhachThueService;
 
     @Test
     @WithMockUser(roles = "STAFF")
@@ -75,9 +91,13 @@ class KhachThueControllerTest {
     @WithMockUser(roles = "STAFF")
     void layDanhSach_timTheoTuKhoa() throws Exception {
         when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(null);
-        when(khachThueRepository.findByHoTenContainingIgnoreCase("An")).thenReturn(List.of());
-        mockMvc.perform(get("/api/khach-thue").param("q", "An"))
-                .andExpect(status().isOk());
+        KhachThue an = new KhachThue();
+        an.setId("k1");
+        an.setHoTen("Nguyễn Văn An");
+        when(chiMucTimKiemService.timKhachThue("an")).thenReturn(List.of(an));
+        mockMvc.perform(get("/api/khach-thue").param("q", "an"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hoTen").value("Nguyễn Văn An"));
     }
 
     @Test
@@ -88,6 +108,33 @@ class KhachThueControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void tongQuan_traDuLieuTuService() throws Exception {
+        when(tongQuanKhachThueService.lay("k1")).thenReturn(Optional.of(new TongQuanKhachThueDto(
+                new KhachThueTomTatDto("k1", "Nguyễn Văn An", null, null), List.of(), List.of(), List.of(),
+                List.of(), List.of(), new BigDecimal("1500000"))));
+        mockMvc.perform(get("/api/khach-thue/k1/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.khachThue.hoTen").value("Nguyễn Văn An"))
+                .andExpect(jsonPath("$.tongConNo").value(1500000));
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void tongQuan_khongCoKhach_tra404() throws Exception {
+        when(tongQuanKhachThueService.lay("k9")).thenReturn(Optional.empty());
+        mockMvc.perform(get("/api/khach-thue/k9/tong-quan"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void tongQuan_khachThue_biCam() throws Exception {
+        mockMvc.perform(get("/api/khach-thue/k1/tong-quan"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "STAFF")
     void tao_json() throws Exception {
@@ -159,4 +206,54 @@ class KhachThueControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].hoTen").value("Tôi"));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void xoa_viPhamKhoaNgoai_khongGiaiPhongAnh() throws Exception {
+        NguoiDung admin = new NguoiDung();
+        admin.setVaiTro(VaiTro.ADMIN);
+        KhachThue kt = new KhachThue();
+        kt.setId("1");
+        kt.setAnhChanDung("anh-cu.jpg");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(admin);
+        when(khachThueRepository.findById("1")).thenReturn(Optional.of(kt));
+        doThrow(new DataIntegrityViolationException("fk")).when(khachThueRepository).deleteById("1");
+
+        try {
+            mockMvc.perform(delete("/api/khach-thue/1"));
+        } catch (Exception e) {
+            // lỗi khóa ngoại đi ra ngoài controller; chỉ cần ảnh cũ còn được giữ
+        }
+        verify(fileLuuTruService, never()).giaiPhong(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void capNhatVoiFile_anhThuHaiLoi_giuAnhCuVaTraAnhMoi() throws Exception {
+        NguoiDung admin = new NguoiDung();
+        admin.setVaiTro(VaiTro.ADMIN);
+        KhachThue kt = new KhachThue();
+        kt.setId("1");
+        kt.setAnhChanDung("chan-dung-cu.jpg");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(admin);
+        when(khachThueRepository.findById("1")).thenReturn(Optional.of(kt));
+        MockMultipartFile portrait = new MockMultipartFile("portrait", "a.jpg", "image/jpeg", new byte[] {1});
+        MockMultipartFile idCard = new MockMultipartFile("idCard", "b.txt", "text/plain", new byte[] {2});
+        when(fileLuuTruService.luuAnh(portrait)).thenReturn("chan-dung-moi.jpg");
+        when(fileLuuTruService.luuAnh(idCard)).thenThrow(new IllegalArgumentException("Sai định dạng ảnh"));
+
+        mockMvc.perform(multipart("/api/khach-thue/1")
+                        .file(portrait)
+                        .file(idCard)
+                        .param("fullName", "A")
+                        .with(req -> {
+                            req.setMethod("PUT");
+                            return req;
+                        }))
+                .andExpect(status().isBadRequest());
+
+        verify(fileLuuTruService, never()).giaiPhong("chan-dung-cu.jpg");
+        verify(fileLuuTruService).giaiPhong("chan-dung-moi.jpg");
+        verify(khachThueRepository, never()).save(any());
+    }
 }
@@ -18,12 +18,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import com.motelmanagement.domain.KhuVuc;
 import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.AreaWithRoomCountDto;
 import com.motelmanagement.repository.HopDongRepository;
 import com.motelmanagement.repository.KhuVucRepository;
-import com.motelmanagement.repository.PhongRepository;
 import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
@@ -41,32 +41,27 @@ class KhuVucControllerTest {
     @MockitoBean
     private KhuVucRepository khuVucRepository;
     @MockitoBean
-    private PhongRepository phongRepository;
-    @MockitoBean
     private HopDongRepository hopDongRepository;
     @MockitoBean
     private NguoiDungHienTaiService nguoiDungHienTaiService;
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
     @WithMockUser(roles = "STAFF")
     void layDanhSach_tra200() throws Exception {
-        KhuVuc k = new KhuVuc();
-        k.setId("1");
-        k.setTen("Khu A");
-        k.setDiaChi("HN");
-        k.setMoTa("m");
-        when(khuVucRepository.findAll()).thenReturn(List.of(k));
-        when(phongRepository.countByKhuVuc_Id("1")).thenReturn(3L);
-        when(hopDongRepository.countByPhong_KhuVuc_IdAndTrangThai("1", TrangThaiHopDong.ACTIVE)).thenReturn(0L);
+        when(khuVucRepository.layDanhSachKemSoPhong(TrangThaiHopDong.ACTIVE))
+                .thenReturn(List.of(new AreaWithRoomCountDto("1", "Khu A", "HN", "m", 3, true)));
 
         mockMvc.perform(get("/api/khu-vuc"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].ten").value("Khu A"))
-                .andExpect(jsonPath("$[0].soPhong").value(3));
+                .andExpect(jsonPath("$[0].soPhong").value(3))
+                .andExpect(jsonPath("$[0].coTheXoa").value(true));
     }
 
     @Test
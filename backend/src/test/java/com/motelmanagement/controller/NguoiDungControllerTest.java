@@ -30,6 +30,8 @@ import com.motelmanagement.domain.VaiTro;
 import com.motelmanagement.dto.YeuCauTaoNguoiDung;
 import com.motelmanagement.repository.KhachThueRepository;
 import com.motelmanagement.repository.NguoiDungRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+import com.motelmanagement.service.NguoiDungChoChatService;
 import com.motelmanagement.service.NguoiDungChoThongBaoService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
@@ -57,10 +59,14 @@ class NguoiDungControllerTest {
     @MockitoBean
     private NguoiDungChoThongBaoService nguoiDungChoThongBaoService;
     @MockitoBean
+    private NguoiDungChoChatService nguoiDungChoChatService;
+    @MockitoBean
     private NguoiDungHienTaiService nguoiDungHienTaiService;
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -1,6 +1,7 @@
 package com.motelmanagement.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -8,7 +9,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,10 +27,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.motelmanagement.domain.KhuVuc;
 import com.motelmanagement.domain.Phong;
 import com.motelmanagement.domain.TrangThaiHopDong;
-import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.PhongSapTrongDto;
 import com.motelmanagement.repository.KhuVucRepository;
 import com.motelmanagement.repository.PhongRepository;
 import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+import com.motelmanagement.service.LapDayPhongService;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
@@ -51,6 +56,10 @@ class PhongControllerTest {
     @MockitoBean
     private NhatKyService nhatKyService;
     @MockitoBean
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @MockitoBean
+    private LapDayPhongService lapDayPhongService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -74,11 +83,36 @@ class PhongControllerTest {
     @Test
     @WithMockUser(roles = "STAFF")
     void layDanhSachConTrong() throws Exception {
-        when(phongRepository.findByTrangThai(TrangThaiPhong.AVAILABLE)).thenReturn(Collections.emptyList());
+        LocalDate homNay = LocalDate.now();
+        when(lapDayPhongService.phongTrong(homNay, homNay)).thenReturn(Collections.emptyList());
         mockMvc.perform(get("/api/phong/con-trong"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void layDanhSachConTrong_theoKhoangNgay() throws Exception {
+        Phong phong = new Phong();
+        phong.setId("p1");
+        when(lapDayPhongService.phongTrong(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+                .thenReturn(List.of(phong));
+        mockMvc.perform(get("/api/phong/con-trong").param("tuNgay", "2025-03-01").param("denNgay", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("p1"));
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void layDanhSachSapTrong() throws Exception {
+        LocalDate ngayTrong = LocalDate.now().plusDays(3);
+        when(lapDayPhongService.phongSapTrong(LocalDate.now(), 7))
+                .thenReturn(List.of(new PhongSapTrongDto("p1", "P101", "Khu A", ngayTrong)));
+        mockMvc.perform(get("/api/phong/sap-trong").param("soNgay", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].maPhong").value("P101"))
+                .andExpect(jsonPath("$[0].ngayTrong").value(ngayTrong.toString()));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void tao_phong() throws Exception {
@@ -97,6 +131,7 @@ class PhongControllerTest {
                         .content("{\"maPhong\":\"P01\",\"khuVuc\":{\"id\":1},\"trangThai\":\"AVAILABLE\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.maPhong").value("P01"));
+        verify(boNhoDemThamChieuService).xoaTruyVan();
     }
 
     @Test
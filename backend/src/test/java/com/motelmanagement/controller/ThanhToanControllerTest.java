@@ -1,5 +1,7 @@
 package com.motelmanagement.controller;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -25,6 +27,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.domain.KhachThue;
 import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.PhuongThucThanhToan;
 import com.motelmanagement.dto.GhiNhanThanhToanRequest;
 import com.motelmanagement.repository.HoaDonRepository;
 import com.motelmanagement.repository.KhachThueRepository;
@@ -33,7 +36,9 @@ import com.motelmanagement.security.TienIchJwt;
 import com.motelmanagement.service.NguoiDungHienTaiService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.service.PayOSService;
+import com.motelmanagement.service.ThanhToanService;
 import com.motelmanagement.service.TinhTienService;
+import com.motelmanagement.service.XuatPdfService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
 
 @WebMvcTest(controllers = ThanhToanController.class)
@@ -63,6 +68,10 @@ class ThanhToanControllerTest {
     @MockitoBean
     private TinhTienService tinhTienService;
     @MockitoBean
+    private ThanhToanService thanhToanService;
+    @MockitoBean
+    private XuatPdfService xuatPdfService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -90,6 +99,38 @@ class ThanhToanControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void xacNhanTraVe_donDaXuLy_traOkKhongGhiNhanLai() throws Exception {
+        when(payOSService.daXuLyDonHang(77L)).thenReturn(true);
+        mockMvc.perform(post("/api/thanh-toan/payos/xac-nhan-tra-ve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\",\"code\":\"00\",\"orderCode\":77}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ok").value(true));
+        verify(payOSService, never()).xacNhanThanhToanTuReturnUrl(77L);
+    }
+
+    @Test
+    void xacNhanTraVe_huy_danhDauDonHetHan() throws Exception {
+        mockMvc.perform(post("/api/thanh-toan/payos/xac-nhan-tra-ve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\",\"code\":\"00\",\"cancel\":true,\"orderCode\":78}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ok").value(false));
+        verify(payOSService).huyDonHang(78L);
+        verify(payOSService, never()).xacNhanThanhToanTuReturnUrl(78L);
+    }
+
+    @Test
+    void xacNhanTraVe_chuaThanhToanNhungDonDaXuLy_khongHuy() throws Exception {
+        when(payOSService.daXuLyDonHang(79L)).thenReturn(true);
+        mockMvc.perform(post("/api/thanh-toan/payos/xac-nhan-tra-ve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PENDING\",\"code\":\"00\",\"orderCode\":79}"))
+                .andExpect(status().isOk());
+        verify(payOSService, never()).huyDonHang(79L);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void ghiNhanThanhToan_thieuDuLieu_tra400() throws Exception {
@@ -118,8 +159,8 @@ class ThanhToanControllerTest {
         GhiNhanThanhToanRequest req = new GhiNhanThanhToanRequest();
         req.setInvoiceId("missing");
         req.setAmount(BigDecimal.valueOf(100_000));
-        when(hoaDonRepository.findById("missing")).thenReturn(Optional.empty());
-        when(tinhTienService.tinhTienRuntime(null)).thenReturn(null);
+        when(thanhToanService.ghiNhanThuCong("missing", BigDecimal.valueOf(100_000), PhuongThucThanhToan.CASH))
+                .thenThrow(new IllegalArgumentException("Không tìm thấy hóa đơn."));
 
         mockMvc.perform(post("/api/thanh-toan")
                         .contentType(MediaType.APPLICATION_JSON)
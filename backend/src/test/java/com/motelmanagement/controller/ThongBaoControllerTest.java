@@ -13,6 +13,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -21,6 +22,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -35,6 +38,7 @@ import com.motelmanagement.dto.NotificationCreateDto;
 import com.motelmanagement.repository.ThongBaoRepository;
 import com.motelmanagement.security.TienIchJwt;
 import com.motelmanagement.service.NguoiDungHienTaiService;
+import com.motelmanagement.service.MauThongBaoService;
 import com.motelmanagement.service.NhatKyService;
 import com.motelmanagement.service.ThongBaoService;
 import com.motelmanagement.support.KiemThuSliceWebMvc;
@@ -60,6 +64,8 @@ class ThongBaoControllerTest {
     @MockitoBean
     private ThongBaoService thongBaoService;
     @MockitoBean
+    private MauThongBaoService mauThongBaoService;
+    @MockitoBean
     private TienIchJwt tienIchJwt;
 
     @Test
@@ -77,10 +83,11 @@ class ThongBaoControllerTest {
         NguoiDung nd = new NguoiDung();
         nd.setId("1");
         when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(nd);
-        when(thongBaoRepository.findByNguoiDungOrderByThoiGianGuiDesc(nd))
+        when(thongBaoRepository.layTrangDauCuaNguoiDung(eq("1"), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
         mockMvc.perform(get("/api/thong-bao"))
                 .andExpect(status().isOk());
+        verify(thongBaoRepository).layTrangDauCuaNguoiDung(eq("1"), eq(PageRequest.of(0, 50)));
     }
 
     @Test
@@ -90,11 +97,82 @@ class ThongBaoControllerTest {
         admin.setId("a");
         admin.setVaiTro(VaiTro.ADMIN);
         when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(admin);
-        when(thongBaoRepository.findAllByOrderByThoiGianGuiDesc()).thenReturn(Collections.emptyList());
+        when(thongBaoRepository.layTrangDau(any(Pageable.class))).thenReturn(Collections.emptyList());
         mockMvc.perform(get("/api/thong-bao"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void layDanhSach_coMoc_layTrangTiepVaGioiHanToiDa() throws Exception {
+        NguoiDung nd = new NguoiDung();
+        nd.setId("1");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(nd);
+        LocalDateTime moc = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(thongBaoRepository.layTrangTiepCuaNguoiDung(eq("1"), eq(moc), eq("tb-9"), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        mockMvc.perform(get("/api/thong-bao")
+                        .param("truoc", "2025-03-01T10:00:00")
+                        .param("truocId", "tb-9")
+                        .param("gioiHan", "1000"))
+                .andExpect(status().isOk());
+        verify(thongBaoRepository).layTrangTiepCuaNguoiDung(eq("1"), eq(moc), eq("tb-9"), eq(PageRequest.of(0, 200)));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void demChuaDoc_nguoiDung() throws Exception {
+        NguoiDung nd = new NguoiDung();
+        nd.setId("1");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(nd);
+        when(thongBaoRepository.countByNguoiDung_IdAndDaDocFalse("1")).thenReturn(4L);
+        mockMvc.perform(get("/api/thong-bao/chua-doc/dem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void demChuaDoc_admin_chiDemCuaMinh() throws Exception {
+        NguoiDung admin = new NguoiDung();
+        admin.setId("a");
+        admin.setVaiTro(VaiTro.ADMIN);
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(admin);
+        when(thongBaoRepository.countByNguoiDung_IdAndDaDocFalse("a")).thenReturn(2L);
+        mockMvc.perform(get("/api/thong-bao/chua-doc/dem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void demChuaDoc_khongCoNguoiDung_tra0() throws Exception {
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(null);
+        mockMvc.perform(get("/api/thong-bao/chua-doc/dem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void danhDauDaDocTatCa_tra200() throws Exception {
+        NguoiDung nd = new NguoiDung();
+        nd.setId("1");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(nd);
+        when(thongBaoService.danhDauDaDocTatCa(nd)).thenReturn(2);
+        mockMvc.perform(put("/api/thong-bao/da-doc-tat-ca"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void danhDauDaDocTatCa_khongCoNguoiDung_tra403() throws Exception {
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(null);
+        mockMvc.perform(put("/api/thong-bao/da-doc-tat-ca"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void tao_tinNhanTrong_tra400() throws Exception {
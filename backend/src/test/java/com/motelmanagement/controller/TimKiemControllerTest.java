@@ -0,0 +1,67 @@
+package com.motelmanagement.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.motelmanagement.dto.KetQuaTimKiemDto;
+import com.motelmanagement.dto.TrangTimKiemDto;
+import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.NguoiDungHienTaiService;
+import com.motelmanagement.service.NhatKyService;
+import com.motelmanagement.service.TimKiemToanCucService;
+import com.motelmanagement.support.KiemThuSliceWebMvc;
+
+@WebMvcTest(controllers = TimKiemController.class)
+@Import(KiemThuSliceWebMvc.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@SuppressWarnings("unused")
+class TimKiemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TimKiemToanCucService timKiemToanCucService;
+    @MockitoBean
+    private NhatKyService nhatKyService;
+    @MockitoBean
+    private NguoiDungHienTaiService nguoiDungHienTaiService;
+    @MockitoBean
+    private TienIchJwt tienIchJwt;
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void tim_traTrangKetQua() throws Exception {
+        when(timKiemToanCucService.tim("p101", 1, 5)).thenReturn(new TrangTimKiemDto(
+                List.of(new KetQuaTimKiemDto(KetQuaTimKiemDto.Loai.PHONG, "1", "Phòng P101", "Khu A", 3)),
+                6, 1, 5));
+
+        mockMvc.perform(get("/api/tim-kiem").param("q", "p101").param("trang", "1").param("kichThuoc", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tongSo").value(6))
+                .andExpect(jsonPath("$.ketQua[0].loai").value("PHONG"))
+                .andExpect(jsonPath("$.ketQua[0].tieuDe").value("Phòng P101"));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void tim_khachThue_tra403() throws Exception {
+        mockMvc.perform(get("/api/tim-kiem").param("q", "p101"))
+                .andExpect(status().isForbidden());
+    }
+}
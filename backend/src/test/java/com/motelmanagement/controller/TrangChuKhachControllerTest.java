@@ -0,0 +1,103 @@
+package com.motelmanagement.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.dto.KhachThueTomTatDto;
+import com.motelmanagement.dto.TrangChuKhachDto;
+import com.motelmanagement.security.TienIchJwt;
+import com.motelmanagement.service.NguoiDungHienTaiService;
+import com.motelmanagement.service.NhatKyService;
+import com.motelmanagement.service.TrangChuKhachService;
+import com.motelmanagement.support.KiemThuSliceWebMvc;
+
+@WebMvcTest(controllers = TrangChuKhachController.class)
+@Import(KiemThuSliceWebMvc.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@SuppressWarnings("unused")
+class TrangChuKhachControllerTest {
+    private static final String ETAG = "\"abc123\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private NguoiDungHienTaiService nguoiDungHienTaiService;
+    @MockitoBean
+    private TrangChuKhachService trangChuKhachService;
+    @MockitoBean
+    private NhatKyService nhatKyService;
+    @MockitoBean
+    private TienIchJwt tienIchJwt;
+
+    private void coTrangChu() {
+        NguoiDung nd = new NguoiDung();
+        nd.setId("u1");
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(nd);
+        TrangChuKhachDto dto = new TrangChuKhachDto(new KhachThueTomTatDto("k1", "An", null, null), null,
+                List.of(), BigDecimal.TEN, List.of(), 2, 1, List.of());
+        when(trangChuKhachService.lay(any())).thenReturn(Optional.of(new TrangChuKhachService.TrangChu(dto, ETAG)));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void lay_traNoiDungKemEtag() throws Exception {
+        coTrangChu();
+
+        mockMvc.perform(get("/api/trang-chu-khach"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.khachThue.hoTen").value("An"))
+                .andExpect(jsonPath("$.soThongBaoChuaDoc").value(2))
+                .andExpect(jsonPath("$.soTinNhanChuaDoc").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void lay_etagKhop_tra304KhongCoThan() throws Exception {
+        coTrangChu();
+
+        mockMvc.perform(get("/api/trang-chu-khach").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "TENANT")
+    void lay_khongPhaiKhachThue_tra404() throws Exception {
+        when(nguoiDungHienTaiService.layNguoiDungHienTai()).thenReturn(new NguoiDung());
+        when(trangChuKhachService.lay(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/trang-chu-khach"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void lay_admin_tra403() throws Exception {
+        mockMvc.perform(get("/api/trang-chu-khach"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,49 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.hibernate.generator.EventType;
+
+class BoSinhMaUuidV7Test {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.BoSinhMaUuidV7", BoSinhMaUuidV7.class.getName());
+    }
+
+    @Test
+    void moi_laPhienBan7VaBienTheRfc() {
+        UUID ma = BoSinhMaUuidV7.moi();
+
+        assertEquals(7, ma.version());
+        assertEquals(2, ma.variant());
+    }
+
+    @Test
+    void moi_mangThoiGianHienTai() {
+        long truoc = System.currentTimeMillis();
+        long thoiGian = BoSinhMaUuidV7.moi().getMostSignificantBits() >>> 16;
+
+        assertTrue(thoiGian >= truoc && thoiGian <= System.currentTimeMillis() + 1000, "thoiGian=" + thoiGian);
+    }
+
+    @Test
+    void moi_tangDanKeCaTrongCungMiliGiay() {
+        String truoc = BoSinhMaUuidV7.moi().toString();
+        for (int i = 0; i < 10_000; i++) {
+            String sau = BoSinhMaUuidV7.moi().toString();
+            assertTrue(sau.compareTo(truoc) > 0, truoc + " >= " + sau);
+            truoc = sau;
+        }
+    }
+
+    @Test
+    void generate_traChuoiUuid() {
+        Object ma = new BoSinhMaUuidV7().generate(null, null, null, EventType.INSERT);
+
+        assertEquals(7, UUID.fromString((String) ma).version());
+    }
+}
@@ -0,0 +1,21 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Constructor;
+
+class KhoiMaDonHangTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.KhoiMaDonHang", KhoiMaDonHang.class.getName());
+    }
+
+    @Test
+    void coTheTaoBangConstructorKhongThamSo() throws Exception {
+        Constructor<?> c = KhoiMaDonHang.class.getDeclaredConstructor();
+        c.setAccessible(true);
+        assertNotNull(c.newInstance());
+    }
+}
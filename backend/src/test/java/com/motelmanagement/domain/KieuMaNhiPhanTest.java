@@ -0,0 +1,53 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Types;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class KieuMaNhiPhanTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.KieuMaNhiPhan", KieuMaNhiPhan.class.getName());
+    }
+
+    @Test
+    void sangNhiPhan_va_tuNhiPhan_khuHoiNguyenVen() {
+        String ma = "0190a8c4-e000-7000-8000-00000000abcd";
+
+        byte[] nhiPhan = KieuMaNhiPhan.sangNhiPhan(ma);
+
+        assertEquals(16, nhiPhan.length);
+        assertEquals((byte) 0x01, nhiPhan[0]);
+        assertEquals((byte) 0xcd, nhiPhan[15]);
+        assertEquals(ma, KieuMaNhiPhan.tuNhiPhan(nhiPhan));
+    }
+
+    @Test
+    void sangNhiPhan_maCuDangV4_vanKhuHoi() {
+        String ma = "3f2504e0-4f89-41d3-9a0c-0305e82c3301";
+
+        assertEquals(ma, KieuMaNhiPhan.tuNhiPhan(KieuMaNhiPhan.sangNhiPhan(ma)));
+    }
+
+    @Test
+    void sangNhiPhan_chuoiSaiDinhDang_khongKhopMaNao() {
+        byte[] nhiPhan = KieuMaNhiPhan.sangNhiPhan("khong-ton-tai");
+
+        assertEquals(16, nhiPhan.length);
+        assertTrue(Arrays.equals(nhiPhan, KieuMaNhiPhan.sangNhiPhan("1-1-1-1-1")));
+        assertEquals((byte) 0xFF, nhiPhan[6]);
+    }
+
+    @Test
+    void kieuSqlLaBinary() {
+        KieuMaNhiPhan kieu = new KieuMaNhiPhan();
+
+        assertEquals(Types.BINARY, kieu.getSqlType());
+        assertEquals(String.class, kieu.returnedClass());
+        assertFalse(kieu.isMutable());
+    }
+}
@@ -0,0 +1,21 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Constructor;
+
+class LichSuDiTruTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.LichSuDiTru", LichSuDiTru.class.getName());
+    }
+
+    @Test
+    void coTheTaoBangConstructorKhongThamSo() throws Exception {
+        Constructor<?> c = LichSuDiTru.class.getDeclaredConstructor();
+        c.setAccessible(true);
+        assertNotNull(c.newInstance());
+    }
+}
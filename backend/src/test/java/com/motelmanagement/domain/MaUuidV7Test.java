@@ -0,0 +1,18 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class MaUuidV7Test {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.MaUuidV7", MaUuidV7.class.getName());
+    }
+
+    @Test
+    void laAnnotation() {
+        assertTrue(MaUuidV7.class.isAnnotation());
+    }
+}
@@ -0,0 +1,21 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Constructor;
+
+class SuKienThanhToanPayOSTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.SuKienThanhToanPayOS", SuKienThanhToanPayOS.class.getName());
+    }
+
+    @Test
+    void coTheTaoBangConstructorKhongThamSo() throws Exception {
+        Constructor<?> c = SuKienThanhToanPayOS.class.getDeclaredConstructor();
+        c.setAccessible(true);
+        assertNotNull(c.newInstance());
+    }
+}
@@ -0,0 +1,21 @@
+package com.motelmanagement.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Constructor;
+
+class TepLuuTruTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.domain.TepLuuTru", TepLuuTru.class.getName());
+    }
+
+    @Test
+    void coTheTaoBangConstructorKhongThamSo() throws Exception {
+        Constructor<?> c = TepLuuTru.class.getDeclaredConstructor();
+        c.setAccessible(true);
+        assertNotNull(c.newInstance());
+    }
+}
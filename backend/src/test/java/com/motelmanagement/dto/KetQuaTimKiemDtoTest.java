@@ -0,0 +1,13 @@
+package com.motelmanagement.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KetQuaTimKiemDtoTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.dto.KetQuaTimKiemDto", KetQuaTimKiemDto.class.getName());
+    }
+}
@@ -0,0 +1,176 @@
+package com.motelmanagement.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.VaiTro;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NguoiDungRepository;
+import com.motelmanagement.repository.PhongRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+import com.motelmanagement.service.TongQuanKhachThueService;
+import com.motelmanagement.service.TrangChuKhachService;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + BanSaoIT.URL_CHINH,
+        "app.ban-sao.bat=true",
+        "app.ban-sao.url=" + BanSaoIT.URL_BAN_SAO,
+        "app.ban-sao.username=sa",
+        "app.ban-sao.password="
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BanSaoIT {
+    static final String URL_CHINH = "jdbc:h2:mem:bansaochinh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    static final String URL_BAN_SAO = "jdbc:h2:mem:bansaophu;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+
+    @Autowired
+    private PhongRepository phongRepository;
+
+    @Autowired
+    private NguoiDungRepository nguoiDungRepository;
+
+    @Autowired
+    private KhachThueRepository khachThueRepository;
+
+    @Autowired
+    private TrangChuKhachService trangChuKhachService;
+
+    @Autowired
+    private TongQuanKhachThueService tongQuanKhachThueService;
+
+    private long soPhongTrongLucChup;
+    private String phongChiCoTrenCsdlChinh;
+
+    @BeforeEach
+    void chupBanSao() throws Exception {
+        Path tep = Files.createTempFile("ban-sao", ".sql");
+        try (Connection chinh = DriverManager.getConnection(URL_CHINH, "sa", "");
+             Connection banSao = DriverManager.getConnection(URL_BAN_SAO, "sa", "");
+             Statement lenhChinh = chinh.createStatement();
+             Statement lenhBanSao = banSao.createStatement()) {
+            lenhChinh.execute("SCRIPT TO '" + tep + "'");
+            lenhBanSao.execute("DROP ALL OBJECTS");
+            lenhBanSao.execute("RUNSCRIPT FROM '" + tep + "'");
+            soPhongTrongLucChup = demPhongTrong(chinh);
+        } finally {
+            Files.deleteIfExists(tep);
+        }
+        phongChiCoTrenCsdlChinh = themPhongTrongVaoCsdlChinh();
+        boNhoDemThamChieuService.xoaTatCa();
+    }
+
+    private static long demPhongTrong(Connection ketNoi) throws Exception {
+        try (Statement lenh = ketNoi.createStatement();
+             ResultSet kq = lenh.executeQuery("SELECT COUNT(*) FROM phong WHERE trang_thai = 'AVAILABLE'")) {
+            kq.next();
+            return kq.getLong(1);
+        }
+    }
+
+    private static String themPhongTrongVaoCsdlChinh() throws Exception {
+        try (Connection chinh = DriverManager.getConnection(URL_CHINH, "sa", "");
+             PreparedStatement lenh = chinh.prepareStatement(
+                     "INSERT INTO phong (id, ma_phong, trang_thai) "
+                             + "VALUES (CAST(CAST(? AS UUID) AS BINARY(16)), ?, 'AVAILABLE')")) {
+            String ma = UUID.randomUUID().toString();
+            lenh.setString(1, ma);
+            lenh.setString(2, "BS-" + System.nanoTime() % 100_000);
+            lenh.executeUpdate();
+            return ma;
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "ke-toan", roles = { "ADMIN" })
+    @DisplayName("Báo cáo chạy giao dịch chỉ đọc trên bản sao: chưa thấy phòng vừa ghi vào CSDL chính")
+    void baoCaoDocTuBanSao() throws Exception {
+        mockMvc.perform(get("/api/bao-cao/phong-trong"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vacantRooms").value(soPhongTrongLucChup));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN" })
+    @DisplayName("Người vừa ghi đọc lại báo cáo từ CSDL chính trong cửa sổ đọc-sau-ghi")
+    void vuaGhiThiDocCsdlChinh() throws Exception {
+        mockMvc.perform(post("/api/khu-vuc").contentType(APPLICATION_JSON).content("{\"ten\":\"Khu bản sao\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/bao-cao/phong-trong"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vacantRooms").value(soPhongTrongLucChup + 1));
+    }
+
+    @Test
+    @WithMockUser(username = "le-tan", roles = { "STAFF" })
+    @DisplayName("Giao dịch chỉ đọc ngầm của repository (findById ngoài giao dịch) không đi sang bản sao")
+    void docNgoaiBaoCaoDungCsdlChinh() {
+        assertTrue(phongRepository.findById(phongChiCoTrenCsdlChinh).isPresent());
+    }
+
+    // Ghi không kèm người dùng đăng nhập (như webhook) nên không có cửa sổ đọc-sau-ghi che chắn.
+    // Gọi thẳng service: qua MockMvc, open-in-view đã giữ kết nối CSDL chính từ lượt tra người dùng.
+    @Test
+    @DisplayName("Trang chủ khách dựng từ CSDL chính: thấy khách vừa ghi dù bản sao chưa có")
+    void trangChuKhachDungTuCsdlChinh() {
+        String tenDangNhap = "khach-ban-sao-" + System.nanoTime();
+        NguoiDung nguoiDung = new NguoiDung();
+        nguoiDung.setTenDangNhap(tenDangNhap);
+        nguoiDung.setMatKhau("khong-dung");
+        nguoiDung.setHoTen("Khách bản sao");
+        nguoiDung.setVaiTro(VaiTro.TENANT);
+        nguoiDung = nguoiDungRepository.save(nguoiDung);
+        KhachThue khach = new KhachThue();
+        khach.setHoTen("Khách chỉ có trên CSDL chính");
+        khach.setNguoiDung(nguoiDung);
+        khachThueRepository.save(khach);
+
+        TrangChuKhachService.TrangChu trangChu = trangChuKhachService.lay(nguoiDung).orElseThrow();
+        assertEquals("Khách chỉ có trên CSDL chính", trangChu.noiDung().getKhachThue().getHoTen());
+    }
+
+    @Test
+    @DisplayName("Tổng quan khách thuê dựng từ CSDL chính: thấy khách vừa ghi dù bản sao chưa có")
+    void tongQuanKhachThueDungTuCsdlChinh() {
+        KhachThue khach = new KhachThue();
+        khach.setHoTen("Khách tổng quan chỉ có trên CSDL chính");
+        khach = khachThueRepository.save(khach);
+
+        assertEquals("Khách tổng quan chỉ có trên CSDL chính",
+                tongQuanKhachThueService.lay(khach.getId()).orElseThrow().getKhachThue().getHoTen());
+    }
+}
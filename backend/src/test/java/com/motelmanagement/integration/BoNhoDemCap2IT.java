@@ -0,0 +1,124 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.jayway.jsonpath.JsonPath;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bonhodemcap2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class BoNhoDemCap2IT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @Autowired
+    @Qualifier("boNhoDemCap2")
+    private MeterBinder boNhoDemCap2;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String maPhong;
+
+    @BeforeEach
+    void taoDuLieu() throws Exception {
+        MvcResult khu = mockMvc.perform(post("/api/khu-vuc").contentType(APPLICATION_JSON)
+                        .content("{\"ten\":\"Khu đệm\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String maKhu = JsonPath.read(khu.getResponse().getContentAsString(), "$.id");
+        MvcResult phong = mockMvc.perform(post("/api/phong").contentType(APPLICATION_JSON)
+                        .content("{\"maPhong\":\"D-" + System.nanoTime() % 100_000
+                                + "\",\"khuVuc\":{\"id\":\"" + maKhu + "\"},\"trangThai\":\"AVAILABLE\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        maPhong = JsonPath.read(phong.getResponse().getContentAsString(), "$.id");
+        boNhoDemThamChieuService.xoaTatCa();
+    }
+
+    @Test
+    @DisplayName("Lần đọc thứ hai danh sách phòng lấy từ bộ nhớ đệm, ít câu lệnh SQL hơn")
+    void docLaiLayTuBoNhoDem() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        boNhoDemCap2.bindTo(registry);
+        double trungTruoc = soLanTrung(registry);
+
+        int lanDau = soCauLenhSql(mockMvc.perform(get("/api/phong")).andExpect(status().isOk()).andReturn());
+        int lanHai = soCauLenhSql(mockMvc.perform(get("/api/phong")).andExpect(status().isOk()).andReturn());
+
+        assertTrue(lanHai < lanDau, "lần đầu " + lanDau + " câu lệnh, lần hai " + lanHai);
+        assertTrue(soLanTrung(registry) > trungTruoc);
+    }
+
+    @Test
+    @DisplayName("Sửa phòng xong đọc lại thấy ngay giá trị mới")
+    void suaXongDocLaiThayMoi() throws Exception {
+        mockMvc.perform(get("/api/phong")).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/phong/" + maPhong).contentType(APPLICATION_JSON)
+                        .content("{\"maPhong\":\"D-MOI\",\"trangThai\":\"MAINTENANCE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/phong"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + maPhong + "')].maPhong", Matchers.contains("D-MOI")));
+        mockMvc.perform(get("/api/phong/con-trong"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + maPhong + "')]", Matchers.empty()));
+    }
+
+    @Test
+    @DisplayName("Vùng thực thể lấy cấu hình Caffeine trong application.conf")
+    void vungThucTheDungCauHinhCaffeine() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        DomainDataRegionTemplate vung = (DomainDataRegionTemplate) sessionFactory.getCache().getRegion("phong");
+        javax.cache.Cache<?, ?> cache = ((JCacheAccessImpl) vung.getCacheStorageAccess()).getUnderlyingCache();
+        Cache<?, ?> caffeine = cache.unwrap(Cache.class);
+
+        assertEquals(20_000, caffeine.policy().eviction().orElseThrow().getMaximum());
+    }
+
+    // Danh sách phòng có fetch join nên Hibernate lưu nguyên thực thể trong vùng truy vấn, không đọc vùng phong.
+    private static double soLanTrung(SimpleMeterRegistry registry) {
+        return registry.get("motel.bo.nho.dem.yeu.cau")
+                .tag("vung", "truy-van")
+                .tag("ket_qua", "trung")
+                .functionCounter()
+                .count();
+    }
+}
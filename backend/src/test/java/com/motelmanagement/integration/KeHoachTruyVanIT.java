@@ -0,0 +1,122 @@
+package com.motelmanagement.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.motelmanagement.domain.LichSuDiTru;
+import com.motelmanagement.repository.LichSuDiTruRepository;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:kehoachtruyvan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class KeHoachTruyVanIT {
+    private static final String TU_KY = "TIMESTAMP '2026-01-01 00:00:00'";
+    private static final String MA = "X'0190a8c4e0007000800000000000abcd'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LichSuDiTruRepository lichSuDiTruRepository;
+
+    @DynamicPropertySource
+    static void csdlMySql(DynamicPropertyRegistry dangKy) {
+        String url = System.getProperty("kiem-thu.ke-hoach.url");
+        if (url == null) {
+            return;
+        }
+        dangKy.add("spring.datasource.url", () -> url);
+        dangKy.add("spring.datasource.username", () -> System.getProperty("kiem-thu.ke-hoach.username", "root"));
+        dangKy.add("spring.datasource.password", () -> System.getProperty("kiem-thu.ke-hoach.password", ""));
+        dangKy.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        dangKy.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Test
+    @DisplayName("Khởi động áp dụng đủ các di trú theo thứ tự")
+    void diTruDaApDung() {
+        assertEquals(List.of(1, 2, 3), lichSuDiTruRepository.findAllByOrderByPhienBanAsc().stream()
+                .map(LichSuDiTru::getPhienBan)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Hóa đơn và chỉ số theo phòng + kỳ dùng chỉ mục duy nhất")
+    void theoPhongVaKy() {
+        if (System.getProperty("kiem-thu.ke-hoach.url") == null) {
+            // Bảng H2 rỗng thì mọi chỉ mục khớp bằng đều rẻ như nhau; khai báo độ chọn lọc thật của cột kỳ
+            // (ít năm, 12 tháng) để bộ tối ưu so sánh như khi có dữ liệu.
+            for (String bang : List.of("hoa_don", "chi_so_dien_nuoc")) {
+                jdbcTemplate.execute("ALTER TABLE " + bang + " ALTER COLUMN nam SELECTIVITY 1");
+                jdbcTemplate.execute("ALTER TABLE " + bang + " ALTER COLUMN thang SELECTIVITY 10");
+            }
+        }
+        dungChiMuc("uk_hoa_don_phong_ky",
+                "SELECT * FROM hoa_don WHERE phong_id = " + MA + " AND thang = 1 AND nam = 2026");
+        dungChiMuc("uk_chi_so_dien_nuoc_phong_ky",
+                "SELECT * FROM chi_so_dien_nuoc WHERE phong_id = " + MA + " AND thang = 1 AND nam = 2026");
+    }
+
+    @Test
+    @DisplayName("Hóa đơn theo kỳ và hợp đồng theo phòng/trạng thái dùng chỉ mục ghép")
+    void theoKyVaTrangThai() {
+        dungChiMuc("idx_hoa_don_ky", "SELECT * FROM hoa_don WHERE thang = 1 AND nam = 2026");
+        dungChiMuc("idx_hop_dong_phong_trang_thai",
+                "SELECT * FROM hop_dong WHERE phong_id = " + MA + " AND trang_thai = 'ACTIVE'");
+        dungChiMuc("idx_hop_dong_trang_thai", "SELECT * FROM hop_dong WHERE trang_thai = 'ACTIVE'");
+        dungChiMuc("idx_phong_trang_thai", "SELECT * FROM phong WHERE trang_thai = 'AVAILABLE'");
+    }
+
+    @Test
+    @DisplayName("Tin nhắn, thông báo và thành viên hội thoại không quét toàn bảng")
+    void hoiThoaiVaThongBao() {
+        dungChiMuc("idx_tin_nhan_hoi_thoai_thoi_gian",
+                "SELECT * FROM tin_nhan WHERE hoi_thoai_id = " + MA + " AND thoi_gian_gui >= " + TU_KY
+                        + " ORDER BY thoi_gian_gui DESC");
+        dungChiMuc("idx_thong_bao_nguoi_dung_thoi_gian",
+                "SELECT * FROM thong_bao WHERE nguoi_dung_id = " + MA + " AND thoi_gian_gui < " + TU_KY
+                        + " ORDER BY thoi_gian_gui DESC");
+        String keHoach = keHoach(
+                "SELECT * FROM thanh_vien_hoi_thoai WHERE hoi_thoai_id = " + MA + " AND nguoi_dung_id = " + MA);
+        assertFalse(keHoach.contains("tablescan"), keHoach);
+    }
+
+    private void dungChiMuc(String chiMuc, String sql) {
+        String keHoach = keHoach(sql);
+        assertTrue(keHoach.contains(chiMuc), sql + " không dùng " + chiMuc + ":\n" + keHoach);
+    }
+
+    private String keHoach(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, kq -> {
+            ResultSetMetaData cot = kq.getMetaData();
+            StringBuilder keHoach = new StringBuilder();
+            while (kq.next()) {
+                for (int i = 1; i <= cot.getColumnCount(); i++) {
+                    String ten = cot.getColumnLabel(i);
+                    if ("plan".equalsIgnoreCase(ten)) {
+                        keHoach.append(kq.getString(i)).append('\n');
+                    } else if ("key".equalsIgnoreCase(ten)) {
+                        String chiMuc = kq.getString(i);
+                        keHoach.append(chiMuc != null ? chiMuc : "tablescan").append('\n');
+                    }
+                }
+            }
+            return keHoach.toString().toLowerCase(Locale.ROOT);
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+import com.motelmanagement.domain.HoiThoai;
+import com.motelmanagement.domain.LoaiHoiThoai;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.TinNhan;
+import com.motelmanagement.repository.HoiThoaiRepository;
+import com.motelmanagement.repository.NguoiDungRepository;
+import com.motelmanagement.repository.PhongRepository;
+import com.motelmanagement.repository.ThongBaoRepository;
+import com.motelmanagement.repository.TinNhanRepository;
+import com.motelmanagement.service.BoNhoDemThamChieuService;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:quanhelazy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class QuanHeLazyIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BoNhoDemThamChieuService boNhoDemThamChieuService;
+    @Autowired
+    private NguoiDungRepository nguoiDungRepository;
+    @Autowired
+    private PhongRepository phongRepository;
+    @Autowired
+    private ThongBaoRepository thongBaoRepository;
+    @Autowired
+    private HoiThoaiRepository hoiThoaiRepository;
+    @Autowired
+    private TinNhanRepository tinNhanRepository;
+
+    private String maPhong;
+
+    @BeforeEach
+    void taoDuLieu() throws Exception {
+        MvcResult khu = mockMvc.perform(post("/api/khu-vuc").contentType(APPLICATION_JSON)
+                        .content("{\"ten\":\"Khu lazy\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String maKhu = JsonPath.read(khu.getResponse().getContentAsString(), "$.id");
+        for (int i = 0; i < 5; i++) {
+            MvcResult phong = mockMvc.perform(post("/api/phong").contentType(APPLICATION_JSON)
+                            .content("{\"maPhong\":\"L-" + System.nanoTime() % 100_000
+                                    + "\",\"khuVuc\":{\"id\":\"" + maKhu + "\"},\"trangThai\":\"AVAILABLE\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            maPhong = JsonPath.read(phong.getResponse().getContentAsString(), "$.id");
+        }
+        boNhoDemThamChieuService.xoaTatCa();
+    }
+
+    @Test
+    @DisplayName("Danh sách phòng vẫn trả khuVuc.ten, nạp cùng một câu lệnh")
+    void danhSachPhongNapKhuVucQuaEntityGraph() throws Exception {
+        mockMvc.perform(get("/api/phong"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(2))
+                .andExpect(jsonPath("$[?(@.id == '" + maPhong + "')].khuVuc.ten", Matchers.contains("Khu lazy")));
+    }
+
+    @Test
+    @DisplayName("Danh sách hợp đồng và khách thuê không phát câu lệnh theo từng dòng")
+    void danhSachKhongN1() throws Exception {
+        mockMvc.perform(get("/api/hop-dong")).andExpect(status().isOk()).andExpect(soCauLenhSqlToiDa(3));
+        mockMvc.perform(get("/api/khach-thue")).andExpect(status().isOk()).andExpect(soCauLenhSqlToiDa(3));
+    }
+
+    @Test
+    @DisplayName("Thông báo và tin nhắn vẫn trả đầy đủ người dùng, hội thoại và khu vực của phòng")
+    void thongBaoVaTinNhanNapQuanHeDaSerialize() throws Exception {
+        NguoiDung admin = nguoiDungRepository.findByTenDangNhap("admin").orElseThrow();
+        ThongBao thongBao = new ThongBao();
+        thongBao.setNguoiDung(admin);
+        thongBao.setNoiDung("Lazy");
+        String maThongBao = thongBaoRepository.save(thongBao).getId();
+        HoiThoai hoiThoai = new HoiThoai();
+        hoiThoai.setLoai(LoaiHoiThoai.GROUP);
+        hoiThoai.setTen("Nhóm lazy");
+        TinNhan tin = new TinNhan();
+        tin.setHoiThoai(hoiThoaiRepository.save(hoiThoai));
+        tin.setNguoiGui(admin);
+        tin.setPhong(phongRepository.findById(maPhong).orElseThrow());
+        tin.setNoiDung("Lazy");
+        String maTin = tinNhanRepository.save(tin).getId();
+
+        mockMvc.perform(get("/api/thong-bao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + maThongBao + "')].nguoiDung.tenDangNhap",
+                        Matchers.contains("admin")));
+        mockMvc.perform(get("/api/tin-nhan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + maTin + "')].hoiThoai.ten", Matchers.contains("Nhóm lazy")))
+                .andExpect(jsonPath("$[?(@.id == '" + maTin + "')].phong.khuVuc.ten", Matchers.contains("Khu lazy")));
+    }
+}
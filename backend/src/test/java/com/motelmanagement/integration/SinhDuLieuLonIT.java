@@ -0,0 +1,99 @@
+package com.motelmanagement.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.KieuMaNhiPhan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.dto.YeuCauXacThuc;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.service.SinhDuLieuLonService;
+import com.motelmanagement.service.TinhTienService;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sinhdulieulon;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "app.du-lieu-lon.so-khu-vuc=2",
+        "app.du-lieu-lon.so-phong=40",
+        "app.du-lieu-lon.so-nam=1",
+        "app.du-lieu-lon.ty-le-co-khach=0.5",
+        "app.du-lieu-lon.so-tin-nhan-moi-phong=4",
+        "app.du-lieu-lon.kich-thuoc-lo=7"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SinhDuLieuLonIT {
+
+    @Autowired
+    private SinhDuLieuLonService sinhDuLieuLonService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private HoaDonRepository hoaDonRepository;
+    @Autowired
+    private TinhTienService tinhTienService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Sinh đủ bảng, số tiền khớp cách tính runtime, khách đăng nhập được")
+    void sinhDuLieuNhoNhatQuan() throws Exception {
+        assertFalse(sinhDuLieuLonService.daCoDuLieu());
+
+        SinhDuLieuLonService.KetQuaSinh ketQua = sinhDuLieuLonService.sinh();
+
+        assertTrue(sinhDuLieuLonService.daCoDuLieu());
+        assertEquals(40L, ketQua.soDongTheoBang().get("phong"));
+        long soHopDong = dem("hop_dong");
+        assertTrue(soHopDong > 0);
+        assertEquals(soHopDong * 12, dem("hoa_don"));
+        assertEquals(soHopDong * 12, dem("chi_so_dien_nuoc"));
+        assertEquals(soHopDong * 4, dem("tin_nhan"));
+        assertTrue(dem("hop_dong_thanh_vien") >= soHopDong);
+        assertEquals(ketQua.soDongTheoBang().get("thanh_toan"), dem("thanh_toan"));
+        assertTrue(hoaDonRepository.timLechDaThu().isEmpty());
+
+        List<byte[]> daThanhToan = jdbcTemplate.queryForList(
+                "SELECT id FROM hoa_don WHERE trang_thai = 'PAID' AND thang = 1", byte[].class);
+        for (String id : daThanhToan.stream().map(KieuMaNhiPhan::tuNhiPhan).toList()) {
+            HoaDon hoaDon = tinhTienService.tinhTienRuntime(hoaDonRepository.findById(id).orElseThrow());
+            assertEquals(0, hoaDon.getConLai().signum(), "hóa đơn " + id);
+            assertEquals(TrangThaiHoaDon.PAID, hoaDon.getTrangThai());
+        }
+
+        String tenDangNhap = jdbcTemplate.queryForObject(
+                "SELECT MIN(ten_dang_nhap) FROM nguoi_dung WHERE vai_tro = 'TENANT'", String.class);
+        YeuCauXacThuc body = new YeuCauXacThuc();
+        body.setTenDangNhap(tenDangNhap);
+        body.setMatKhau("taithu123");
+        mockMvc.perform(post("/api/xac-thuc/dang-nhap")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+    }
+
+    private long dem(String bang) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + bang, Long.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.motelmanagement.service.SinhDuLieuLonService;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:socaulenhsql;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "app.du-lieu-lon.so-khu-vuc=8",
+        "app.du-lieu-lon.so-phong=40",
+        "app.du-lieu-lon.so-nam=1",
+        "app.du-lieu-lon.ty-le-co-khach=0.5",
+        "app.du-lieu-lon.so-tin-nhan-moi-phong=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class SoCauLenhSqlIT {
+    private static final int GIOI_HAN = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SinhDuLieuLonService sinhDuLieuLonService;
+
+    @BeforeEach
+    void sinhDuLieu() {
+        if (!sinhDuLieuLonService.daCoDuLieu()) {
+            sinhDuLieuLonService.sinh();
+        }
+    }
+
+    @Test
+    @DisplayName("Danh sách khu vực: số câu lệnh không tăng theo số khu")
+    void khuVuc() throws Exception {
+        mockMvc.perform(get("/api/khu-vuc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", Matchers.greaterThanOrEqualTo(8)))
+                .andExpect(soCauLenhSqlToiDa(GIOI_HAN));
+    }
+
+    @Test
+    @DisplayName("Người dùng cho thông báo: không truy vấn khách/hợp đồng theo từng người")
+    void nguoiDungChoThongBao() throws Exception {
+        mockMvc.perform(get("/api/nguoi-dung/cho-thong-bao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", Matchers.greaterThan(GIOI_HAN)))
+                .andExpect(jsonPath("$[?(@.phongHienThue)]").exists())
+                .andExpect(soCauLenhSqlToiDa(GIOI_HAN));
+    }
+
+    @Test
+    @DisplayName("Danh sách hóa đơn: tiền, khách, chi tiết và nhắc nợ nạp theo lô")
+    void hoaDon() throws Exception {
+        mockMvc.perform(get("/api/hoa-don"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", Matchers.greaterThan(GIOI_HAN)))
+                .andExpect(jsonPath("$[?(@.chiSoDienMoi > 0)]").exists())
+                .andExpect(soCauLenhSqlToiDa(GIOI_HAN));
+    }
+
+    @Test
+    @DisplayName("Danh sách chỉ số điện nước: chỉ số cũ lấy từ cùng kết quả")
+    void chiSoDienNuoc() throws Exception {
+        mockMvc.perform(get("/api/chi-so-dien-nuoc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", Matchers.greaterThan(GIOI_HAN)))
+                .andExpect(jsonPath("$[?(@.dienCu > 0)]").exists())
+                .andExpect(soCauLenhSqlToiDa(GIOI_HAN));
+    }
+
+    @Test
+    @DisplayName("Vượt giới hạn thì trình trợ giúp báo lỗi")
+    void troGiupBaoLoiKhiVuot() {
+        AssertionError loi = assertThrows(AssertionError.class,
+                () -> mockMvc.perform(get("/api/hoa-don")).andExpect(soCauLenhSqlToiDa(0)));
+        assertTrue(loi.getMessage().contains("nghi N+1"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:timkiemkhongdau;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class TimKiemKhongDauIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Khách mới tạo tìm được bằng tên không dấu, xóa xong không còn trong kết quả")
+    void timKhachThueKhongDau() throws Exception {
+        MvcResult tao = mockMvc.perform(post("/api/khach-thue").contentType(APPLICATION_JSON)
+                        .content("{\"fullName\":\"Nguyễn Văn Đức\",\"phone\":\"0987654321\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String ma = JsonPath.read(tao.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get("/api/khach-thue").param("q", "van duc"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(2))
+                .andExpect(jsonPath("$[*].id", Matchers.contains(ma)));
+        mockMvc.perform(get("/api/khach-thue").param("q", "7654"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", Matchers.contains(ma)));
+
+        mockMvc.perform(delete("/api/khach-thue/" + ma)).andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/khach-thue").param("q", "van duc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.empty()));
+    }
+}
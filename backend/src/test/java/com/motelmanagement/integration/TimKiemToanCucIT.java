@@ -0,0 +1,72 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:timkiemtoancuc;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class TimKiemToanCucIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Khu và phòng mới tạo tìm được qua /api/tim-kiem, đổi mã phòng và xóa được cập nhật ngay")
+    void timKhuVaPhong() throws Exception {
+        String khu = taoVaLayMa("/api/khu-vuc", "{\"ten\":\"Khu Hoà Bình\",\"diaChi\":\"Hà Nội\"}");
+        String phong = taoVaLayMa("/api/phong",
+                "{\"maPhong\":\"Z901\",\"tang\":\"9\",\"khuVuc\":{\"id\":\"" + khu + "\"}}");
+
+        mockMvc.perform(get("/api/tim-kiem").param("q", "hoa binh"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(0))
+                .andExpect(jsonPath("$.tongSo").value(2))
+                .andExpect(jsonPath("$.ketQua[*].id", Matchers.contains(phong, khu)));
+
+        mockMvc.perform(put("/api/phong/" + phong).contentType(APPLICATION_JSON)
+                        .content("{\"maPhong\":\"Z902\",\"tang\":\"9\",\"trangThai\":\"AVAILABLE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tim-kiem").param("q", "z902"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ketQua[0].id").value(phong))
+                .andExpect(jsonPath("$.ketQua[0].tieuDe").value("Phòng Z902"));
+
+        mockMvc.perform(delete("/api/phong/" + phong)).andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/tim-kiem").param("q", "z902"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tongSo").value(0));
+    }
+
+    private String taoVaLayMa(String duongDan, String noiDung) throws Exception {
+        MvcResult tao = mockMvc.perform(post(duongDan).contentType(APPLICATION_JSON).content(noiDung))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.read(tao.getResponse().getContentAsString(), "$.id");
+    }
+}
@@ -0,0 +1,158 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.ChiSoDienNuoc;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoaDonChiTiet;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.repository.BangGiaDichVuRepository;
+import com.motelmanagement.repository.ChiSoDienNuocRepository;
+import com.motelmanagement.repository.HoaDonChiTietRepository;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.KhuVucRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tongquankhachthue;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = { "ADMIN" })
+class TongQuanKhachThueIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private KhachThueRepository khachThueRepository;
+    @Autowired
+    private KhuVucRepository khuVucRepository;
+    @Autowired
+    private PhongRepository phongRepository;
+    @Autowired
+    private HoaDonRepository hoaDonRepository;
+    @Autowired
+    private HoaDonChiTietRepository hoaDonChiTietRepository;
+    @Autowired
+    private ChiSoDienNuocRepository chiSoDienNuocRepository;
+    @Autowired
+    private BangGiaDichVuRepository bangGiaDichVuRepository;
+
+    @Test
+    @DisplayName("Tổng quan khách thuê dùng số câu lệnh cố định, lần sau lấy từ bộ nhớ đệm và bị hủy khi sửa khách")
+    void tongQuanVaHuyBoNhoDem() throws Exception {
+        MvcResult tao = mockMvc.perform(post("/api/khach-thue").contentType(APPLICATION_JSON)
+                        .content("{\"fullName\":\"Lê Văn Cường\",\"phone\":\"0900000001\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String khach = JsonPath.read(tao.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get("/api/khach-thue/" + khach + "/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(6))
+                .andExpect(jsonPath("$.khachThue.hoTen").value("Lê Văn Cường"))
+                .andExpect(jsonPath("$.hopDong").isEmpty());
+
+        mockMvc.perform(get("/api/khach-thue/" + khach + "/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(0));
+
+        mockMvc.perform(put("/api/khach-thue/" + khach).contentType(APPLICATION_JSON)
+                        .content("{\"hoTen\":\"Lê Văn Cường Mới\",\"soDienThoai\":\"0900000001\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/khach-thue/" + khach + "/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.khachThue.hoTen").value("Lê Văn Cường Mới"));
+
+        mockMvc.perform(get("/api/khach-thue/0190a8c4-e000-7000-8000-000000000000/tong-quan"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Hóa đơn trong tổng quan có tổng tiền tính từ giá phòng, chỉ số và khoản khác; thêm khoản thì tổng đổi")
+    void hoaDonCoSoTien() throws Exception {
+        KhuVuc khu = new KhuVuc();
+        khu.setTen("Khu tổng quan");
+        khu = khuVucRepository.save(khu);
+        Phong phong = new Phong();
+        phong.setMaPhong("TQ01");
+        phong.setKhuVuc(khu);
+        phong.setGiaHienTai(new BigDecimal("2000000"));
+        phong = phongRepository.save(phong);
+        KhachThue khach = new KhachThue();
+        khach.setHoTen("Võ Thị Hạnh");
+        khach = khachThueRepository.save(khach);
+
+        BangGiaDichVu bangGia = new BangGiaDichVu();
+        bangGia.setGiaDien(new BigDecimal("3500"));
+        bangGia.setGiaNuoc(new BigDecimal("20000"));
+        bangGia.setHieuLucTu(LocalDate.of(2099, 1, 1));
+        bangGiaDichVuRepository.save(bangGia);
+        ChiSoDienNuoc chiSo = new ChiSoDienNuoc();
+        chiSo.setPhong(phong);
+        chiSo.setThang(3);
+        chiSo.setNam(2025);
+        chiSo.setDienMoi(50);
+        chiSo.setNuocMoi(10);
+        chiSoDienNuocRepository.save(chiSo);
+
+        HoaDon hoaDon = new HoaDon();
+        hoaDon.setPhong(phong);
+        hoaDon.setKhachThue(khach);
+        hoaDon.setThang(3);
+        hoaDon.setNam(2025);
+        hoaDon.setDaThu(new BigDecimal("500000"));
+        hoaDon = hoaDonRepository.save(hoaDon);
+        hoaDonChiTietRepository.save(khoan(hoaDon, "Internet", "100000", 1));
+
+        // 2.000.000 tiền phòng + 50 số điện x 3.500 + 10 khối nước x 20.000 + 100.000 khoản khác
+        mockMvc.perform(get("/api/khach-thue/" + khach.getId() + "/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(9))
+                .andExpect(jsonPath("$.hoaDon[0].tongTien").value(2475000.0))
+                .andExpect(jsonPath("$.hoaDon[0].conLai").value(1975000.0))
+                .andExpect(jsonPath("$.tongConNo").value(1975000.0));
+
+        hoaDonChiTietRepository.save(khoan(hoaDon, "Gửi xe", "150000", 2));
+
+        mockMvc.perform(get("/api/khach-thue/" + khach.getId() + "/tong-quan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hoaDon[0].tongTien").value(2625000.0))
+                .andExpect(jsonPath("$.tongConNo").value(2125000.0));
+    }
+
+    private static HoaDonChiTiet khoan(HoaDon hoaDon, String ten, String soTien, int thuTu) {
+        HoaDonChiTiet chiTiet = new HoaDonChiTiet();
+        chiTiet.setHoaDon(hoaDon);
+        chiTiet.setTenKhoan(ten);
+        chiTiet.setSoTien(new BigDecimal(soTien));
+        chiTiet.setThuTu(thuTu);
+        return chiTiet;
+    }
+}
@@ -0,0 +1,89 @@
+package com.motelmanagement.integration;
+
+import static com.motelmanagement.support.KiemThuSoCauLenhSql.soCauLenhSqlToiDa;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.VaiTro;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NguoiDungRepository;
+import com.motelmanagement.repository.ThongBaoRepository;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:trangchukhach;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrangChuKhachIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private NguoiDungRepository nguoiDungRepository;
+    @Autowired
+    private KhachThueRepository khachThueRepository;
+    @Autowired
+    private ThongBaoRepository thongBaoRepository;
+
+    @Test
+    @WithMockUser(username = "khach-trang-chu", roles = { "TENANT" })
+    @DisplayName("Trang chủ khách: lần đầu số câu lệnh cố định, If-None-Match trả 304, có thông báo mới thì ETag đổi")
+    void trangChuVaEtag() throws Exception {
+        NguoiDung nguoiDung = new NguoiDung();
+        nguoiDung.setTenDangNhap("khach-trang-chu");
+        nguoiDung.setMatKhau("khong-dung");
+        nguoiDung.setHoTen("Phạm Thị Dung");
+        nguoiDung.setVaiTro(VaiTro.TENANT);
+        nguoiDung = nguoiDungRepository.save(nguoiDung);
+        KhachThue khach = new KhachThue();
+        khach.setHoTen("Phạm Thị Dung");
+        khach.setNguoiDung(nguoiDung);
+        khachThueRepository.save(khach);
+
+        String etag = mockMvc.perform(get("/api/trang-chu-khach"))
+                .andExpect(status().isOk())
+                .andExpect(soCauLenhSqlToiDa(8))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.khachThue.hoTen").value("Phạm Thị Dung"))
+                .andExpect(jsonPath("$.soThongBaoChuaDoc").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/trang-chu-khach").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(soCauLenhSqlToiDa(1));
+
+        ThongBao thongBao = new ThongBao();
+        thongBao.setNguoiDung(nguoiDung);
+        thongBao.setNoiDung("Hóa đơn tháng mới");
+        thongBaoRepository.save(thongBao);
+
+        mockMvc.perform(get("/api/trang-chu-khach").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.soThongBaoChuaDoc").value(1))
+                .andExpect(jsonPath("$.thongBaoMoiNhat[0].noiDung").value("Hóa đơn tháng mới"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN" })
+    @DisplayName("Trang chủ khách chỉ dành cho tài khoản khách thuê")
+    void adminBiTuChoi() throws Exception {
+        mockMvc.perform(get("/api/trang-chu-khach"))
+                .andExpect(status().isForbidden());
+    }
+}
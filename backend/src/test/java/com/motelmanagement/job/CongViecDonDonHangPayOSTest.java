@@ -0,0 +1,13 @@
+package com.motelmanagement.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CongViecDonDonHangPayOSTest {
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.job.CongViecDonDonHangPayOS", CongViecDonDonHangPayOS.class.getName());
+    }
+}
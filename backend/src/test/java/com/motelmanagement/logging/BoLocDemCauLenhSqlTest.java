@@ -0,0 +1,121 @@
+package com.motelmanagement.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+class BoLocDemCauLenhSqlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BoLocDemCauLenhSql boLoc = new BoLocDemCauLenhSql(30, 10, false);
+    private final DemCauLenhSql demCauLenhSql = new DemCauLenhSql();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void ghiSoCauLenhTheoMauDuongDan() throws Exception {
+        MockHttpServletRequest yeuCau = new MockHttpServletRequest("GET", "/api/khu-vuc/abc");
+
+        boLoc.doFilter(yeuCau, new MockHttpServletResponse(), (req, res) -> {
+            demCauLenhSql.inspect("select 1");
+            demCauLenhSql.inspect("select 2");
+            demCauLenhSql.inspect("select 3");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/khu-vuc/{id}");
+        });
+
+        DistributionSummary tomTat = registry.get(BoLocDemCauLenhSql.TEN_CHI_SO)
+                .tag("method", "GET")
+                .tag("uri", "/api/khu-vuc/{id}")
+                .summary();
+        assertEquals(1, tomTat.count());
+        assertEquals(3.0, tomTat.totalAmount());
+        assertEquals(0, DemCauLenhSql.hienTai());
+    }
+
+    @Test
+    void loiTrongChuoi_vanGhiVaDonDep() {
+        MockHttpServletRequest yeuCau = new MockHttpServletRequest("POST", "/khong-co");
+
+        assertThrows(ServletException.class, () -> boLoc.doFilter(yeuCau, new MockHttpServletResponse(), (req, res) -> {
+            demCauLenhSql.inspect("select 1");
+            throw new ServletException("loi");
+        }));
+
+        assertEquals(1.0, registry.get(BoLocDemCauLenhSql.TEN_CHI_SO).tag("uri", "UNKNOWN").summary().totalAmount());
+        assertEquals(0, DemCauLenhSql.hienTai());
+    }
+
+    @Test
+    void vuotNganSachVaLapLai_demTheoLyDo() throws Exception {
+        BoLocDemCauLenhSql chat = new BoLocDemCauLenhSql(2, 3, false);
+        MockHttpServletRequest yeuCau = new MockHttpServletRequest("GET", "/api/hoa-don");
+
+        chat.doFilter(yeuCau, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/hoa-don");
+            for (int i = 0; i < 3; i++) {
+                demCauLenhSql.inspect("select * from hoa_don_chi_tiet where hoa_don_id=?");
+            }
+        });
+
+        assertEquals(1.0, registry.get(BoLocDemCauLenhSql.TEN_CHI_SO_VUOT)
+                .tag("uri", "/api/hoa-don").tag("ly_do", "ngan_sach").counter().count());
+        assertEquals(1.0, registry.get(BoLocDemCauLenhSql.TEN_CHI_SO_VUOT)
+                .tag("uri", "/api/hoa-don").tag("ly_do", "lap_lai").counter().count());
+    }
+
+    @Test
+    void trongNganSach_khongDemVuot() throws Exception {
+        MockHttpServletRequest yeuCau = new MockHttpServletRequest("GET", "/api/phong");
+
+        boLoc.doFilter(yeuCau, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/phong");
+            demCauLenhSql.inspect("select 1");
+        });
+
+        assertNull(registry.find(BoLocDemCauLenhSql.TEN_CHI_SO_VUOT).tag("uri", "/api/phong").counter());
+    }
+
+    @Test
+    void batTieuDe_traSoCauLenhVaGiuNoiDung() throws Exception {
+        BoLocDemCauLenhSql coTieuDe = new BoLocDemCauLenhSql(30, 10, true);
+        MockHttpServletResponse phanHoi = new MockHttpServletResponse();
+
+        coTieuDe.doFilter(new MockHttpServletRequest("GET", "/api/khu-vuc"), phanHoi, (req, res) -> {
+            demCauLenhSql.inspect("select 1");
+            demCauLenhSql.inspect("select 2");
+            res.getWriter().write("[]");
+        });
+
+        assertEquals("2", phanHoi.getHeader(BoLocDemCauLenhSql.TIEU_DE));
+        assertEquals("[]", phanHoi.getContentAsString());
+    }
+
+    @Test
+    void tatTieuDe_khongTra() throws Exception {
+        MockHttpServletResponse phanHoi = new MockHttpServletResponse();
+
+        boLoc.doFilter(new MockHttpServletRequest("GET", "/api/khu-vuc"), phanHoi, (req, res) -> {});
+
+        assertNull(phanHoi.getHeader(BoLocDemCauLenhSql.TIEU_DE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.motelmanagement.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DemCauLenhSqlTest {
+
+    private final DemCauLenhSql demCauLenhSql = new DemCauLenhSql();
+
+    @AfterEach
+    void donDep() {
+        DemCauLenhSql.ketThuc();
+    }
+
+    @Test
+    void inspect_giuNguyenSql() {
+        assertEquals("select 1", demCauLenhSql.inspect("select 1"));
+    }
+
+    @Test
+    void khongTrongRequest_khongDem() {
+        demCauLenhSql.inspect("select 1");
+        assertEquals(0, DemCauLenhSql.hienTai());
+    }
+
+    @Test
+    void trongRequest_demVaXoaKhiKetThuc() {
+        DemCauLenhSql.batDau();
+        demCauLenhSql.inspect("select 1");
+        demCauLenhSql.inspect("select 2");
+
+        assertEquals(2, DemCauLenhSql.ketThuc());
+        assertEquals(0, DemCauLenhSql.hienTai());
+    }
+
+    @Test
+    void lapNhieuNhat_traCauLenhLapNhieuNhat() {
+        DemCauLenhSql.batDau();
+        demCauLenhSql.inspect("select a");
+        demCauLenhSql.inspect("select b where id=?");
+        demCauLenhSql.inspect("select b where id=?");
+
+        DemCauLenhSql.CauLenhLap lap = DemCauLenhSql.lapNhieuNhat();
+
+        assertEquals("select b where id=?", lap.sql());
+        assertEquals(2, lap.soLan());
+    }
+
+    @Test
+    void lapNhieuNhat_ngoaiRequest_traNull() {
+        assertNull(DemCauLenhSql.lapNhieuNhat());
+    }
+}
@@ -0,0 +1,24 @@
+package com.motelmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+class KhoiMaDonHangRepositoryTest {
+
+    @Test
+    void lopLaInterface() {
+        assertTrue(KhoiMaDonHangRepository.class.isInterface());
+    }
+
+    @Test
+    void moRongJpaRepository() {
+        assertTrue(JpaRepository.class.isAssignableFrom(KhoiMaDonHangRepository.class));
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.repository.KhoiMaDonHangRepository", KhoiMaDonHangRepository.class.getName());
+    }
+}
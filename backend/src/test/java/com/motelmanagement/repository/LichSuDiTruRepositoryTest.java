@@ -0,0 +1,24 @@
+package com.motelmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+class LichSuDiTruRepositoryTest {
+
+    @Test
+    void lopLaInterface() {
+        assertTrue(LichSuDiTruRepository.class.isInterface());
+    }
+
+    @Test
+    void moRongJpaRepository() {
+        assertTrue(JpaRepository.class.isAssignableFrom(LichSuDiTruRepository.class));
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.repository.LichSuDiTruRepository", LichSuDiTruRepository.class.getName());
+    }
+}
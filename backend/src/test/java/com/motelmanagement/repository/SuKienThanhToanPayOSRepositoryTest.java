@@ -0,0 +1,24 @@
+package com.motelmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+class SuKienThanhToanPayOSRepositoryTest {
+
+    @Test
+    void lopLaInterface() {
+        assertTrue(SuKienThanhToanPayOSRepository.class.isInterface());
+    }
+
+    @Test
+    void moRongJpaRepository() {
+        assertTrue(JpaRepository.class.isAssignableFrom(SuKienThanhToanPayOSRepository.class));
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.repository.SuKienThanhToanPayOSRepository", SuKienThanhToanPayOSRepository.class.getName());
+    }
+}
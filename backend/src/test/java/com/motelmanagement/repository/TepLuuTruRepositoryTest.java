@@ -0,0 +1,24 @@
+package com.motelmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+class TepLuuTruRepositoryTest {
+
+    @Test
+    void lopLaInterface() {
+        assertTrue(TepLuuTruRepository.class.isInterface());
+    }
+
+    @Test
+    void moRongJpaRepository() {
+        assertTrue(JpaRepository.class.isAssignableFrom(TepLuuTruRepository.class));
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.repository.TepLuuTruRepository", TepLuuTruRepository.class.getName());
+    }
+}
@@ -0,0 +1,93 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AnhPhaiSinhServiceTest {
+
+    private final AnhPhaiSinhService anhPhaiSinhService = new AnhPhaiSinhService(1, 4);
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(anhPhaiSinhService, "uploadDir", tempDir.toString());
+        ReflectionTestUtils.setField(anhPhaiSinhService, "soDiemAnhToiDa", 40_000_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        anhPhaiSinhService.dong();
+    }
+
+    @Test
+    void sinhBienThe_anhLon_thuNhoTheoCanhDai() throws Exception {
+        Path goc = tempDir.resolve("blobs").resolve("ab").resolve("abcd.png");
+        Files.createDirectories(goc.getParent());
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", goc.toFile());
+
+        anhPhaiSinhService.sinhBienThe("/tenant-files/blobs/ab/abcd.png");
+
+        BufferedImage nho = ImageIO.read(goc.resolveSibling("abcd.thumb.png").toFile());
+        BufferedImage xemTruoc = ImageIO.read(goc.resolveSibling("abcd.preview.png").toFile());
+        assertEquals(240, nho.getWidth());
+        assertEquals(120, nho.getHeight());
+        assertEquals(1024, xemTruoc.getWidth());
+        assertEquals(512, xemTruoc.getHeight());
+    }
+
+    @Test
+    void sinhBienThe_anhNho_giuNguyenNoiDung() throws Exception {
+        Path goc = tempDir.resolve("blobs").resolve("cd").resolve("cdef.jpg");
+        Files.createDirectories(goc.getParent());
+        ImageIO.write(new BufferedImage(100, 80, BufferedImage.TYPE_INT_RGB), "jpeg", goc.toFile());
+
+        anhPhaiSinhService.sinhBienThe("/tenant-files/blobs/cd/cdef.jpg");
+
+        assertArrayEquals(Files.readAllBytes(goc), Files.readAllBytes(goc.resolveSibling("cdef.thumb.jpg")));
+        assertTrue(Files.exists(goc.resolveSibling("cdef.preview.jpg")));
+    }
+
+    @Test
+    void sinhBienThe_vuotSoDiemAnh_khongGiaiMa() throws Exception {
+        ReflectionTestUtils.setField(anhPhaiSinhService, "soDiemAnhToiDa", 1_000_000L);
+        Path goc = tempDir.resolve("blobs").resolve("ef").resolve("ef01.png");
+        Files.createDirectories(goc.getParent());
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", goc.toFile());
+
+        anhPhaiSinhService.sinhBienThe("/tenant-files/blobs/ef/ef01.png");
+
+        assertFalse(Files.exists(goc.resolveSibling("ef01.thumb.png")));
+        assertFalse(Files.exists(goc.resolveSibling("ef01.preview.png")));
+        try (var ds = Files.list(goc.getParent())) {
+            assertEquals(1, ds.count());
+        }
+    }
+
+    @Test
+    void sinhBienThe_khongPhaiBlob_boQua() throws Exception {
+        Path goc = tempDir.resolve("tenants").resolve("x.jpg");
+        Files.createDirectories(goc.getParent());
+        ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "jpeg", goc.toFile());
+
+        anhPhaiSinhService.sinhBienThe("/tenant-files/tenants/x.jpg");
+        anhPhaiSinhService.lenLich(null);
+
+        assertFalse(Files.exists(goc.resolveSibling("x.thumb.jpg")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class BoNhoDemPhuThuocTest {
+
+    private final BoNhoDemPhuThuoc<String> boNhoDem = new BoNhoDemPhuThuoc<>(2);
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.BoNhoDemPhuThuoc", BoNhoDemPhuThuoc.class.getName());
+    }
+
+    @Test
+    void huy_chiBoMucDungBanGhiDo() {
+        boNhoDem.ghi("a", "A", Set.of("x", "chung"), boNhoDem.phienBan());
+        boNhoDem.ghi("b", "B", Set.of("y", "chung"), boNhoDem.phienBan());
+
+        boNhoDem.huy(List.of("x"));
+        assertNull(boNhoDem.lay("a"));
+        assertEquals("B", boNhoDem.lay("b"));
+
+        boNhoDem.huy(List.of("chung"));
+        assertEquals(0, boNhoDem.soMuc());
+    }
+
+    @Test
+    void ghi_coLenhHuyChenGiua_boQua() {
+        long phienBan = boNhoDem.phienBan();
+        boNhoDem.huy(List.of("x"));
+
+        assertFalse(boNhoDem.ghi("a", "A", Set.of("x"), phienBan));
+        assertNull(boNhoDem.lay("a"));
+    }
+
+    @Test
+    void ghi_vuotGioiHan_boMucLauKhongDungNhat() {
+        boNhoDem.ghi("a", "A", Set.of("x"), boNhoDem.phienBan());
+        boNhoDem.ghi("b", "B", Set.of("y"), boNhoDem.phienBan());
+        boNhoDem.lay("a");
+
+        boNhoDem.ghi("c", "C", Set.of("z"), boNhoDem.phienBan());
+
+        assertEquals(2, boNhoDem.soMuc());
+        assertNull(boNhoDem.lay("b"));
+        assertEquals("A", boNhoDem.lay("a"));
+        boNhoDem.huy(List.of("y"));
+        assertEquals(2, boNhoDem.soMuc());
+    }
+}
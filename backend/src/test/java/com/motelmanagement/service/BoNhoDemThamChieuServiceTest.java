@@ -0,0 +1,54 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import com.motelmanagement.domain.Phong;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class BoNhoDemThamChieuServiceTest {
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final SessionFactory sessionFactory = mock(SessionFactory.class);
+    private final Cache cache = mock(Cache.class);
+    private final BoNhoDemThamChieuService boNhoDemThamChieuService =
+            new BoNhoDemThamChieuService(entityManagerFactory);
+
+    private void coSessionFactory() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.BoNhoDemThamChieuService",
+                BoNhoDemThamChieuService.class.getName());
+    }
+
+    @Test
+    void xoa_boThucTheVaKetQuaTruyVan() {
+        coSessionFactory();
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        boNhoDemThamChieuService.xoa(Phong.class, "p1");
+
+        verify(cache).evict(Phong.class, "p1");
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void xoaTatCa_boMoiVung() {
+        coSessionFactory();
+
+        boNhoDemThamChieuService.xoaTatCa();
+
+        verify(cache).evictAllRegions();
+    }
+}
@@ -0,0 +1,134 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.motelmanagement.config.ThuocTinhPayOS;
+import com.motelmanagement.domain.KhoiMaDonHang;
+import com.motelmanagement.repository.KhoiMaDonHangRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CapMaDonHangServiceTest {
+
+    @Mock
+    private KhoiMaDonHangRepository khoiMaDonHangRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ThuocTinhPayOS thuocTinhPayOS = new ThuocTinhPayOS();
+    private CapMaDonHangService capMaDonHangService;
+
+    @BeforeEach
+    void setUp() {
+        thuocTinhPayOS.setOrderCodeStart(1000);
+        thuocTinhPayOS.setOrderCodeBlockSize(3);
+        capMaDonHangService = new CapMaDonHangService(khoiMaDonHangRepository, thuocTinhPayOS, transactionManager);
+    }
+
+    @Test
+    void capMa_dungHetKhoi_moiDatTruocKhoiTiep() {
+        KhoiMaDonHang khoi = khoi(5000);
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI)).thenReturn(Optional.of(khoi));
+
+        List<Long> ma = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ma.add(capMaDonHangService.capMa());
+        }
+
+        assertEquals(List.of(5000L, 5001L, 5002L, 5003L), ma);
+        assertEquals(5006L, khoi.getGiaTriTiep());
+        verify(khoiMaDonHangRepository, times(2)).save(khoi);
+    }
+
+    @Test
+    void capMa_giaTriDuoiMucBatDau_batDauTuCauHinh() {
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI)).thenReturn(Optional.of(khoi(1)));
+
+        assertEquals(1000L, capMaDonHangService.capMa());
+    }
+
+    @Test
+    void capMa_chuaCoChuoi_taoMoiRoiDatTruoc() {
+        KhoiMaDonHang khoi = khoi(1000);
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(khoi));
+
+        assertEquals(1000L, capMaDonHangService.capMa());
+        verify(khoiMaDonHangRepository).themMoi(CapMaDonHangService.TEN_CHUOI, 1000L);
+    }
+
+    @Test
+    void capMa_nodeKhacVuaTaoChuoi_vanDatTruocDuoc() {
+        KhoiMaDonHang khoi = khoi(2000);
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(khoi));
+        when(khoiMaDonHangRepository.themMoi(CapMaDonHangService.TEN_CHUOI, 1000L))
+                .thenThrow(new DataIntegrityViolationException("dup"));
+
+        assertEquals(2000L, capMaDonHangService.capMa());
+    }
+
+    @Test
+    void capMa_hetDaiMa_nemLoi() {
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI))
+                .thenReturn(Optional.of(khoi(9_007_199_254_740_990L)));
+
+        assertThrows(IllegalStateException.class, () -> capMaDonHangService.capMa());
+    }
+
+    @Test
+    void capMa_nhieuLuongDongThoi_khongTrungMa() throws Exception {
+        KhoiMaDonHang khoi = khoi(1000);
+        when(khoiMaDonHangRepository.khoaTheoTen(CapMaDonHangService.TEN_CHUOI)).thenReturn(Optional.of(khoi));
+        when(khoiMaDonHangRepository.save(any(KhoiMaDonHang.class))).thenAnswer(inv -> inv.getArgument(0));
+        Set<Long> daCap = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> ketQua = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                ketQua.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        daCap.add(capMaDonHangService.capMa());
+                    }
+                }));
+            }
+            for (Future<?> f : ketQua) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(4000, daCap.size());
+    }
+
+    private static KhoiMaDonHang khoi(long giaTriTiep) {
+        KhoiMaDonHang k = new KhoiMaDonHang();
+        k.setTen(CapMaDonHangService.TEN_CHUOI);
+        k.setGiaTriTiep(giaTriTiep);
+        return k;
+    }
+}
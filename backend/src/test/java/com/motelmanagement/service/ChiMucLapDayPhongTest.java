@@ -0,0 +1,81 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ChiMucLapDayPhongTest {
+
+    private final ChiMucLapDayPhong chiMuc = new ChiMucLapDayPhong();
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.ChiMucLapDayPhong", ChiMucLapDayPhong.class.getName());
+    }
+
+    @Test
+    void dangThue_theoNgayVaKhoangNgay() {
+        chiMuc.capNhat("h1", "p1", ngay(1, 10), ngay(3, 31));
+
+        assertTrue(chiMuc.dangThue("p1", ngay(1, 10), ngay(1, 10)));
+        assertTrue(chiMuc.dangThue("p1", ngay(3, 31), ngay(3, 31)));
+        assertFalse(chiMuc.dangThue("p1", ngay(1, 9), ngay(1, 9)));
+        assertFalse(chiMuc.dangThue("p1", ngay(4, 1), ngay(4, 30)));
+        assertTrue(chiMuc.dangThue("p1", ngay(1, 1), ngay(1, 10)));
+        assertTrue(chiMuc.dangThue("p1", ngay(3, 31), ngay(5, 1)));
+        assertFalse(chiMuc.dangThue("p2", ngay(2, 1), ngay(2, 1)));
+    }
+
+    @Test
+    void capNhat_gopKhoangLienKe_vaKhongGioiHanKhiThieuNgay() {
+        chiMuc.capNhat("h1", "p1", ngay(1, 1), ngay(1, 31));
+        chiMuc.capNhat("h2", "p1", ngay(2, 1), null);
+
+        assertEquals(ngay(12, 31).getDayOfYear(), chiMuc.soNgayCoNguoi("p1", ngay(1, 1), ngay(12, 31)));
+        assertTrue(chiMuc.sapTrong(ngay(1, 15), ngay(3, 1)).isEmpty());
+    }
+
+    @Test
+    void capNhat_doiPhongVaXoa_boKhoangCu() {
+        chiMuc.capNhat("h1", "p1", ngay(1, 1), ngay(1, 31));
+        chiMuc.capNhat("h1", "p2", ngay(1, 1), ngay(1, 31));
+
+        assertFalse(chiMuc.dangThue("p1", ngay(1, 15), ngay(1, 15)));
+        assertTrue(chiMuc.dangThue("p2", ngay(1, 15), ngay(1, 15)));
+
+        chiMuc.xoa("h1");
+
+        assertFalse(chiMuc.dangThue("p2", ngay(1, 15), ngay(1, 15)));
+        assertEquals(0, chiMuc.soHopDong());
+    }
+
+    @Test
+    void sapTrong_chiLayPhongDangCoNguoiVaHetTrongHan() {
+        chiMuc.capNhat("h1", "p1", ngay(1, 1), ngay(2, 10));
+        chiMuc.capNhat("h2", "p2", ngay(1, 1), ngay(6, 30));
+        chiMuc.capNhat("h3", "p3", ngay(2, 5), ngay(2, 8));
+
+        Map<String, LocalDate> ketQua = chiMuc.sapTrong(ngay(2, 1), ngay(2, 11));
+
+        assertEquals(Map.of("p1", ngay(2, 11)), ketQua);
+    }
+
+    @Test
+    void soNgayCoNguoi_catTheoThang() {
+        chiMuc.capNhat("h1", "p1", ngay(1, 20), ngay(2, 5));
+        chiMuc.capNhat("h2", "p1", ngay(2, 20), ngay(3, 10));
+
+        assertEquals(12, chiMuc.soNgayCoNguoi("p1", ngay(1, 1), ngay(1, 31)));
+        assertEquals(5 + 9, chiMuc.soNgayCoNguoi("p1", ngay(2, 1), ngay(2, 28)));
+        assertEquals(0, chiMuc.soNgayCoNguoi("p1", ngay(4, 1), ngay(4, 30)));
+    }
+
+    private static LocalDate ngay(int thang, int ngay) {
+        return LocalDate.of(2025, thang, ngay);
+    }
+}
@@ -0,0 +1,157 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.VaiTro;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NguoiDungRepository;
+
+class ChiMucTimKiemServiceTest {
+
+    private final KhachThueRepository khachThueRepository = mock(KhachThueRepository.class);
+    private final NguoiDungRepository nguoiDungRepository = mock(NguoiDungRepository.class);
+    private final ChiMucTimKiemService chiMucTimKiemService =
+            new ChiMucTimKiemService(khachThueRepository, nguoiDungRepository);
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.ChiMucTimKiemService", ChiMucTimKiemService.class.getName());
+    }
+
+    @Test
+    void timKhachThue_chuaNap_dungTruyVanCsdl() {
+        when(khachThueRepository.findByHoTenContainingIgnoreCase("an")).thenReturn(List.of());
+
+        assertTrue(chiMucTimKiemService.timKhachThue("an").isEmpty());
+
+        verify(khachThueRepository).findByHoTenContainingIgnoreCase("an");
+    }
+
+    @Test
+    void timKhachThue_daNap_traTheoThuTuTen() {
+        KhachThue binh = khach("k2", "Trần Văn Bình");
+        KhachThue an = khach("k1", "Nguyễn Văn An");
+        when(khachThueRepository.findAll()).thenReturn(List.of(binh, an, khach("k3", "Lê Thị Hoa")));
+        when(khachThueRepository.findByIdIn(anyCollection())).thenReturn(List.of(binh, an));
+        chiMucTimKiemService.napLai();
+
+        List<KhachThue> ketQua = chiMucTimKiemService.timKhachThue("van");
+
+        assertEquals(List.of("k1", "k2"), ketQua.stream().map(KhachThue::getId).toList());
+        verify(khachThueRepository, never()).findByHoTenContainingIgnoreCase("van");
+    }
+
+    @Test
+    void timNguoiDung_boQuaTaiKhoanKhoaVaChinhMinh() {
+        NguoiDung khoa = nguoiDung("u2", "Nguyễn Khóa", "khoa");
+        khoa.setKichHoat(false);
+        when(nguoiDungRepository.findAll()).thenReturn(List.of(
+                nguoiDung("u1", "Nguyễn Tôi", "toi"), khoa, nguoiDung("u3", "Nguyễn Bạn", "ban")));
+        chiMucTimKiemService.napLai();
+
+        List<ChiMucTimKiemService.MucNguoiDung> ketQua = chiMucTimKiemService.timNguoiDung("nguyen", "u1", 30);
+
+        assertEquals(List.of("u3"), ketQua.stream().map(ChiMucTimKiemService.MucNguoiDung::id).toList());
+    }
+
+    @Test
+    void daThayDoi_capNhatVaXoaKhoiChiMuc() {
+        chiMucTimKiemService.napLai();
+
+        chiMucTimKiemService.daThayDoi(new SuKienThayDoiThucThe(nguoiDung("u1", "Phạm Yến", "yen"), false));
+
+        assertEquals(1, chiMucTimKiemService.timNguoiDung("yen", null, 30).size());
+
+        chiMucTimKiemService.daThayDoi(new SuKienThayDoiThucThe(nguoiDung("u1", "Phạm Yến", "yen"), true));
+
+        assertTrue(chiMucTimKiemService.timNguoiDung("yen", null, 30).isEmpty());
+    }
+
+    @Test
+    void suKienTrongGiaoDich_choDenKhiCommit_boQuaKhiRollback() {
+        chiMucTimKiemService.napLai();
+        try (AnnotationConfigApplicationContext nguCanh = new AnnotationConfigApplicationContext()) {
+            nguCanh.register(CauHinhGiaoDich.class);
+            nguCanh.registerBean(ChiMucTimKiemService.class, () -> chiMucTimKiemService);
+            nguCanh.refresh();
+            TransactionTemplate giaoDich = new TransactionTemplate(nguCanh.getBean(PlatformTransactionManager.class));
+
+            giaoDich.executeWithoutResult(trangThai -> {
+                nguCanh.publishEvent(new SuKienThayDoiThucThe(nguoiDung("u1", "Phạm Yến", "yen"), false));
+                trangThai.setRollbackOnly();
+            });
+            assertTrue(chiMucTimKiemService.timNguoiDung("yen", null, 30).isEmpty());
+
+            giaoDich.executeWithoutResult(trangThai -> {
+                nguCanh.publishEvent(new SuKienThayDoiThucThe(nguoiDung("u1", "Phạm Yến", "yen"), false));
+                assertTrue(chiMucTimKiemService.timNguoiDung("yen", null, 30).isEmpty());
+            });
+            assertFalse(chiMucTimKiemService.timNguoiDung("yen", null, 30).isEmpty());
+        }
+    }
+
+    private static KhachThue khach(String id, String hoTen) {
+        KhachThue k = new KhachThue();
+        k.setId(id);
+        k.setHoTen(hoTen);
+        return k;
+    }
+
+    private static NguoiDung nguoiDung(String id, String hoTen, String tenDangNhap) {
+        NguoiDung n = new NguoiDung();
+        n.setId(id);
+        n.setHoTen(hoTen);
+        n.setTenDangNhap(tenDangNhap);
+        n.setVaiTro(VaiTro.TENANT);
+        return n;
+    }
+
+    // Giao dịch không có tài nguyên: chỉ để Spring chạy đồng bộ hóa giao dịch như khi có CSDL.
+    @Configuration
+    @EnableTransactionManagement
+    static class CauHinhGiaoDich {
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new AbstractPlatformTransactionManager() {
+                @Override
+                protected Object doGetTransaction() {
+                    return new Object();
+                }
+
+                @Override
+                protected void doBegin(Object giaoDich, TransactionDefinition dinhNghia) {
+                }
+
+                @Override
+                protected void doCommit(DefaultTransactionStatus trangThai) {
+                }
+
+                @Override
+                protected void doRollback(DefaultTransactionStatus trangThai) {
+                }
+            };
+        }
+    }
+}
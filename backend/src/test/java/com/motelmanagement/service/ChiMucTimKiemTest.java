@@ -0,0 +1,99 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ChiMucTimKiemTest {
+
+    private final ChiMucTimKiem<String> chiMuc = new ChiMucTimKiem<>();
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.ChiMucTimKiem", ChiMucTimKiem.class.getName());
+    }
+
+    @Test
+    void boDau_boDauTiengVietVaChuHoa() {
+        assertEquals("nguyen van duc", ChiMucTimKiem.boDau("Nguyễn Văn Đức"));
+        assertEquals("tran thi hue", ChiMucTimKiem.boDau("TRẦN THỊ HUỆ"));
+        assertEquals("an gmail com", ChiMucTimKiem.boDau("an@gmail.com"));
+    }
+
+    @Test
+    void tim_khongDau_khopTenCoDau() {
+        chiMuc.capNhat("1", "Nguyễn Văn An", "Nguyễn Văn An", "0901234567");
+        chiMuc.capNhat("2", "Trần Thị Bình", "Trần Thị Bình");
+
+        assertEquals(List.of("Nguyễn Văn An"), chiMuc.tim("nguyen"));
+        assertEquals(List.of("Nguyễn Văn An"), chiMuc.tim("Nguyễn"));
+        assertEquals(List.of("Trần Thị Bình"), chiMuc.tim("binh"));
+    }
+
+    @Test
+    void tim_khopGiuaTuVaTheoMoiTu() {
+        chiMuc.capNhat("1", "An", "Nguyễn Văn An", "0901234567", "an@gmail.com");
+        chiMuc.capNhat("2", "Anh", "Nguyễn Thị Anh");
+
+        assertEquals(List.of("An"), chiMuc.tim("1234"));
+        assertEquals(List.of("An"), chiMuc.tim("guyen van"));
+        assertEquals(List.of("An"), chiMuc.tim("gmail"));
+        assertEquals(List.of(), chiMuc.tim("nguyen binh"));
+    }
+
+    @Test
+    void tim_tuNgan_khopDauTu() {
+        chiMuc.capNhat("1", "An", "Nguyễn Văn An");
+        chiMuc.capNhat("2", "Bình", "Trần Bình");
+
+        assertEquals(List.of("An"), chiMuc.tim("va"));
+        assertEquals(List.of("Bình"), chiMuc.tim("b"));
+        assertEquals(List.of(), chiMuc.tim("an b"));
+    }
+
+    @Test
+    void timXepHang_trungTuTruocKhopDauTuTruocKhopGiuaTu() {
+        chiMuc.capNhat("1", "giua", "Phòng A101");
+        chiMuc.capNhat("2", "trung", "Phòng 101");
+        chiMuc.capNhat("3", "dau", "Phòng 1015");
+
+        List<ChiMucTimKiem.KetQua<String>> ds = chiMuc.timXepHang("101");
+
+        assertEquals(List.of("trung", "dau", "giua"), ds.stream().map(ChiMucTimKiem.KetQua::giaTri).toList());
+        assertEquals(List.of(3, 2, 1), ds.stream().map(ChiMucTimKiem.KetQua::diem).toList());
+    }
+
+    @Test
+    void capNhat_thayMucCu_xoa_boKhoiChiMuc() {
+        chiMuc.capNhat("1", "cu", "Lê Văn Cũ");
+        chiMuc.capNhat("1", "moi", "Lê Văn Mới");
+
+        assertEquals(List.of(), chiMuc.tim("cu"));
+        assertEquals(List.of("moi"), chiMuc.tim("moi"));
+
+        chiMuc.xoa("1");
+
+        assertEquals(List.of(), chiMuc.tim("le"));
+        assertEquals(0, chiMuc.soMuc());
+    }
+
+    @Test
+    void tim_truyVanRong_traRong() {
+        chiMuc.capNhat("1", "An", "An");
+
+        assertTrue(chiMuc.tim("  ").isEmpty());
+        assertTrue(chiMuc.tim(null).isEmpty());
+    }
+
+    @Test
+    void tim_nhieuMuc_chiTraMucKhop() {
+        IntStream.range(0, 5_000).forEach(i -> chiMuc.capNhat("m" + i, "k" + i, "Khách " + i, "09" + i));
+        chiMuc.capNhat("x", "x", "Phạm Hoàng Yến");
+
+        assertEquals(List.of("x"), chiMuc.tim("hoang yen"));
+    }
+}
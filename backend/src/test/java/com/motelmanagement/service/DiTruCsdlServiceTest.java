@@ -0,0 +1,108 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.motelmanagement.domain.LichSuDiTru;
+import com.motelmanagement.repository.LichSuDiTruRepository;
+
+class DiTruCsdlServiceTest {
+
+    private final LichSuDiTruRepository lichSuDiTruRepository = mock(LichSuDiTruRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DiTruJava diTruJava = mock(DiTruJava.class);
+    private final Connection ketNoi = mock(Connection.class);
+    private final DiTruCsdlService diTruCsdlService = new DiTruCsdlService(
+            lichSuDiTruRepository, jdbcTemplate, new DefaultResourceLoader(), "classpath*:db/di-tru-thu",
+            List.of(diTruJava));
+
+    @BeforeEach
+    void chuanBi() {
+        when(diTruJava.phienBan()).thenReturn(3);
+        when(diTruJava.moTa()).thenReturn("java");
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.DiTruCsdlService", DiTruCsdlService.class.getName());
+    }
+
+    @Test
+    void docBanDiTru_sapXepTheoSoPhienBan() throws Exception {
+        List<DiTruCsdlService.BanDiTru> ds = diTruCsdlService.docBanDiTru();
+
+        assertEquals(List.of(1, 2, 3, 10), ds.stream().map(DiTruCsdlService.BanDiTru::phienBan).toList());
+        assertEquals("java", ds.get(2).moTa());
+        assertEquals("muoi", ds.get(3).moTa());
+        assertEquals(64, ds.get(0).tongKiem().length());
+    }
+
+    @Test
+    void apDung_boQuaBanDaApDung_chayBanConLai() throws Exception {
+        String tongKiem = diTruCsdlService.docBanDiTru().get(0).tongKiem();
+        when(lichSuDiTruRepository.findAllByOrderByPhienBanAsc()).thenReturn(List.of(lichSu(1, tongKiem)));
+
+        assertEquals(3, diTruCsdlService.apDung());
+
+        verify(jdbcTemplate, times(3)).execute(batKyCallback());
+        ArgumentCaptor<LichSuDiTru> daLuu = ArgumentCaptor.forClass(LichSuDiTru.class);
+        verify(lichSuDiTruRepository, times(3)).save(daLuu.capture());
+        assertEquals(List.of(2, 3, 10), daLuu.getAllValues().stream().map(LichSuDiTru::getPhienBan).toList());
+    }
+
+    @Test
+    void apDung_tepDaApDungBiSua_nemLoi() {
+        when(lichSuDiTruRepository.findAllByOrderByPhienBanAsc()).thenReturn(List.of(lichSu(1, "khac")));
+
+        assertThrows(IllegalStateException.class, diTruCsdlService::apDung);
+        verify(jdbcTemplate, never()).execute(batKyCallback());
+    }
+
+    @Test
+    void apDung_diTruJavaChayTrenKetNoi() throws Exception {
+        when(jdbcTemplate.execute(batKyCallback())).thenAnswer(
+                inv -> inv.<ConnectionCallback<?>>getArgument(0).doInConnection(ketNoi));
+        List<DiTruCsdlService.BanDiTru> ds = diTruCsdlService.docBanDiTru();
+        when(lichSuDiTruRepository.findAllByOrderByPhienBanAsc()).thenReturn(List.of(
+                lichSu(1, ds.get(0).tongKiem()), lichSu(2, ds.get(1).tongKiem()), lichSu(10, ds.get(3).tongKiem())));
+
+        assertEquals(1, diTruCsdlService.apDung());
+
+        verify(diTruJava).apDung(ketNoi);
+    }
+
+    @Test
+    void docBanDiTru_trungPhienBanVoiTepSql_nemLoi() {
+        when(diTruJava.phienBan()).thenReturn(2);
+
+        assertThrows(IllegalStateException.class, diTruCsdlService::docBanDiTru);
+    }
+
+    private static LichSuDiTru lichSu(int phienBan, String tongKiem) {
+        LichSuDiTru ls = new LichSuDiTru();
+        ls.setPhienBan(phienBan);
+        ls.setMoTa("v" + phienBan);
+        ls.setTongKiem(tongKiem);
+        return ls;
+    }
+
+    private static ConnectionCallback<Object> batKyCallback() {
+        return any();
+    }
+}
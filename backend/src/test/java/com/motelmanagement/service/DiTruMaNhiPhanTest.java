@@ -0,0 +1,132 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.KieuMaNhiPhan;
+import com.motelmanagement.domain.Phong;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+
+class DiTruMaNhiPhanTest {
+    private static final String MA_KHU = "3f2504e0-4f89-41d3-9a0c-0305e82c3301";
+    private static final String MA_PHONG = "0190a8c4-e000-7000-8000-00000000abcd";
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:ditrumanhiphan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+    private DiTruMaNhiPhan diTru;
+
+    @BeforeEach
+    void taoCsdlCu() {
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE khu_vuc (id VARCHAR(36) NOT NULL PRIMARY KEY, ten VARCHAR(100))");
+        jdbc.execute("CREATE TABLE phong (id VARCHAR(36) NOT NULL PRIMARY KEY, ma_phong VARCHAR(20), "
+                + "khu_vuc_id VARCHAR(36), CONSTRAINT fk_phong_khu_vuc FOREIGN KEY (khu_vuc_id) REFERENCES khu_vuc (id), "
+                + "CONSTRAINT uk_phong_khu_vuc_ma UNIQUE (khu_vuc_id, ma_phong))");
+        jdbc.execute("CREATE INDEX idx_phong_ma_khu_vuc ON phong (ma_phong, khu_vuc_id)");
+        jdbc.update("INSERT INTO khu_vuc (id, ten) VALUES (?, 'Khu A')", MA_KHU);
+        jdbc.update("INSERT INTO phong (id, ma_phong, khu_vuc_id) VALUES (?, 'P101', ?)", MA_PHONG, MA_KHU);
+        jdbc.update("INSERT INTO phong (id, ma_phong, khu_vuc_id) VALUES ('11111111-2222-4333-8444-555555555555', "
+                + "'P102', NULL)");
+
+        EntityType<?> khuVuc = mock(EntityType.class);
+        EntityType<?> phong = mock(EntityType.class);
+        doReturn(KhuVuc.class).when(khuVuc).getJavaType();
+        doReturn(Phong.class).when(phong).getJavaType();
+        Metamodel metamodel = mock(Metamodel.class);
+        when(metamodel.getEntities()).thenReturn(Set.<EntityType<?>>of(khuVuc, phong));
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        when(emf.getMetamodel()).thenReturn(metamodel);
+        diTru = new DiTruMaNhiPhan(emf);
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.DiTruMaNhiPhan", DiTruMaNhiPhan.class.getName());
+    }
+
+    @Test
+    void apDung_doiKhoaChinhVaKhoaNgoaiSangBinaryGiuNguyenGiaTri() {
+        apDung();
+
+        assertEquals(Types.BINARY, kieuCot("khu_vuc", "id"));
+        assertEquals(Types.BINARY, kieuCot("phong", "id"));
+        assertEquals(Types.BINARY, kieuCot("phong", "khu_vuc_id"));
+        byte[] maPhong = jdbc.queryForObject("SELECT id FROM phong WHERE ma_phong = 'P101'", byte[].class);
+        assertEquals(MA_PHONG, KieuMaNhiPhan.tuNhiPhan(maPhong));
+        assertEquals("Khu A", jdbc.queryForObject(
+                "SELECT k.ten FROM phong p JOIN khu_vuc k ON p.khu_vuc_id = k.id WHERE p.id = ?",
+                String.class, (Object) KieuMaNhiPhan.sangNhiPhan(MA_PHONG)));
+    }
+
+    @Test
+    void apDung_taoLaiKhoaNgoai() {
+        apDung();
+
+        assertThrows(DataAccessException.class, () -> jdbc.update(
+                "INSERT INTO phong (id, ma_phong, khu_vuc_id) VALUES (?, 'P103', ?)",
+                KieuMaNhiPhan.sangNhiPhan("22222222-2222-4333-8444-555555555555"),
+                KieuMaNhiPhan.sangNhiPhan("33333333-2222-4333-8444-555555555555")));
+    }
+
+    @Test
+    void apDung_giuKhoaChinhRangBuocDuyNhatVaChiMuc() {
+        apDung();
+
+        assertThrows(DataAccessException.class, () -> jdbc.update(
+                "INSERT INTO khu_vuc (id, ten) VALUES (?, 'Khu B')", (Object) KieuMaNhiPhan.sangNhiPhan(MA_KHU)));
+        assertThrows(DataAccessException.class, () -> jdbc.update(
+                "INSERT INTO phong (id, ma_phong, khu_vuc_id) VALUES (?, 'P101', ?)",
+                KieuMaNhiPhan.sangNhiPhan("44444444-2222-4333-8444-555555555555"), KieuMaNhiPhan.sangNhiPhan(MA_KHU)));
+        assertEquals(List.of("ma_phong", "khu_vuc_id"), jdbc.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE INDEX_NAME = 'idx_phong_ma_khu_vuc' "
+                        + "ORDER BY ORDINAL_POSITION", String.class));
+        assertEquals(List.of("id", "ma_phong", "khu_vuc_id"), jdbc.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'phong' "
+                        + "ORDER BY ORDINAL_POSITION", String.class));
+    }
+
+    @Test
+    void apDung_csdlDaLaBinary_khongLamGi() {
+        apDung();
+        apDung();
+
+        assertEquals(MA_KHU, KieuMaNhiPhan.tuNhiPhan(jdbc.queryForObject("SELECT id FROM khu_vuc", byte[].class)));
+    }
+
+    private void apDung() {
+        jdbc.execute((ConnectionCallback<Void>) ketNoi -> {
+            diTru.apDung(ketNoi);
+            return null;
+        });
+    }
+
+    private int kieuCot(String bang, String cot) {
+        return jdbc.execute((ConnectionCallback<Integer>) ketNoi -> {
+            DatabaseMetaData meta = ketNoi.getMetaData();
+            try (ResultSet rs = meta.getColumns(ketNoi.getCatalog(), ketNoi.getSchema(), bang, cot)) {
+                rs.next();
+                return rs.getInt("DATA_TYPE");
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DoLuongTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void bamGio_traGiaTriVaGhiThanhCong() {
+        String ketQua = DoLuong.bamGio(DoLuong.XUAT_TAI_LIEU, () -> "pdf", "loai", "pdf", "mau", "hoa-don");
+
+        assertEquals("pdf", ketQua);
+        assertEquals(1, registry.get(DoLuong.XUAT_TAI_LIEU)
+                .tag("loai", "pdf").tag("mau", "hoa-don").tag("ket_qua", "ok")
+                .timer().count());
+    }
+
+    @Test
+    void bamGio_loi_nemLaiVaGhiLoi() {
+        assertThrows(IOException.class, () -> DoLuong.bamGio(DoLuong.XUAT_TAI_LIEU, () -> {
+            throw new IOException("hong");
+        }, "loai", "excel", "mau", "cong-no"));
+
+        assertEquals(1, registry.get(DoLuong.XUAT_TAI_LIEU)
+                .tag("mau", "cong-no").tag("ket_qua", "loi")
+                .timer().count());
+    }
+}
@@ -0,0 +1,204 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.motelmanagement.domain.TepLuuTru;
+import com.motelmanagement.repository.TepLuuTruRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FileLuuTruServiceTest {
+
+    @Mock
+    private TepLuuTruRepository tepLuuTruRepository;
+    @Mock
+    private AnhPhaiSinhService anhPhaiSinhService;
+
+    @InjectMocks
+    private FileLuuTruService fileLuuTruService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileLuuTruService, "uploadDir", tempDir.toString());
+    }
+
+    @Test
+    void luuAnh_null_traNull() {
+        assertNull(fileLuuTruService.luuAnh(null));
+    }
+
+    @Test
+    void luuAnh_rong_traNull() {
+        MockMultipartFile empty = new MockMultipartFile("f", "a.jpg", "image/jpeg", new byte[0]);
+        assertNull(fileLuuTruService.luuAnh(empty));
+    }
+
+    @Test
+    void luuAnh_loaiKhongHopLe() {
+        MockMultipartFile bad = new MockMultipartFile("f", "x.txt", "text/plain", "x".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> fileLuuTruService.luuAnh(bad));
+    }
+
+    @Test
+    void luuAnh_vuot5MB() {
+        byte[] big = new byte[5 * 1024 * 1024 + 1];
+        MockMultipartFile f = new MockMultipartFile("f", "a.jpg", "image/jpeg", big);
+        assertThrows(IllegalArgumentException.class, () -> fileLuuTruService.luuAnh(f));
+    }
+
+    @Test
+    void luuAnh_moi_ghiBlobTheoMaBamVaTaoBanGhi() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3, 4 };
+        when(tepLuuTruRepository.findByMaBam(anyString())).thenReturn(Optional.empty());
+        MockMultipartFile f = new MockMultipartFile("f", "a.jpg", "image/jpeg", data);
+
+        String url = fileLuuTruService.luuAnh(f);
+
+        String maBam = "9f64a747e1b97f131fabb6b447296c9b6f0201e79fb3c5356e6c77e89b6a806a";
+        assertEquals("/tenant-files/blobs/9f/" + maBam + ".jpg", url);
+        Path saved = tempDir.resolve("blobs").resolve("9f").resolve(maBam + ".jpg");
+        assertTrue(Files.exists(saved));
+        assertEquals(data.length, Files.size(saved));
+        ArgumentCaptor<TepLuuTru> captor = ArgumentCaptor.forClass(TepLuuTru.class);
+        verify(tepLuuTruRepository).save(captor.capture());
+        assertEquals(maBam, captor.getValue().getMaBam());
+        assertEquals(1, captor.getValue().getSoThamChieu());
+        assertEquals(4L, captor.getValue().getKichThuoc());
+        verify(anhPhaiSinhService).lenLich(url);
+    }
+
+    @Test
+    void luuAnh_trungNoiDung_tangThamChieuKhongGhiLai() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3, 4 };
+        MockMultipartFile f = new MockMultipartFile("f", "a.jpg", "image/jpeg", data);
+        when(tepLuuTruRepository.findByMaBam(anyString())).thenReturn(Optional.empty());
+        String lan1 = fileLuuTruService.luuAnh(f);
+
+        TepLuuTru daCo = new TepLuuTru();
+        daCo.setMaBam(lan1.substring(lan1.lastIndexOf('/') + 1, lan1.lastIndexOf('.')));
+        daCo.setDuongDan(lan1);
+        when(tepLuuTruRepository.findByMaBam(daCo.getMaBam())).thenReturn(Optional.of(daCo));
+        MockMultipartFile banSao = new MockMultipartFile("g", "b.png", "image/png", data);
+        String lan2 = fileLuuTruService.luuAnh(banSao);
+
+        assertEquals(lan1, lan2);
+        verify(tepLuuTruRepository).tangThamChieu(eq(daCo.getMaBam()), any(LocalDateTime.class));
+        try (var ds = Files.list(tempDir.resolve(".tmp"))) {
+            assertEquals(0, ds.count());
+        }
+    }
+
+    @Test
+    void luuFileChat_giuTenGocVaLoaiNoiDung() {
+        when(tepLuuTruRepository.findByMaBam(anyString())).thenReturn(Optional.empty());
+        MockMultipartFile f = new MockMultipartFile("f", "hop-dong.pdf", "application/pdf", "pdf".getBytes());
+
+        FileLuuTruService.KetQuaLuuFile kq = fileLuuTruService.luuFileChat(f);
+
+        assertNotNull(kq);
+        assertTrue(kq.duongDan().startsWith("/tenant-files/blobs/"));
+        assertTrue(kq.duongDan().endsWith(".pdf"));
+        assertEquals("hop-dong.pdf", kq.tenGoc());
+        assertEquals("application/pdf", kq.loaiNoiDung());
+        verify(anhPhaiSinhService, never()).lenLich(anyString());
+    }
+
+    @Test
+    void luuFileChat_duoiFileDangNgo_dungDuoiTheoLoai() {
+        when(tepLuuTruRepository.findByMaBam(anyString())).thenReturn(Optional.empty());
+        MockMultipartFile f = new MockMultipartFile("f", "a.b/../../x", "image/png", "img".getBytes());
+
+        FileLuuTruService.KetQuaLuuFile kq = fileLuuTruService.luuFileChat(f);
+
+        assertTrue(kq.duongDan().endsWith(".png"));
+        assertFalse(kq.duongDan().contains(".."));
+    }
+
+    @Test
+    void luuFileChat_loaiKhongHopLe() {
+        MockMultipartFile f = new MockMultipartFile("f", "a.exe", "application/x-msdownload", "x".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> fileLuuTruService.luuFileChat(f));
+    }
+
+    @Test
+    void giaiPhong_duongDanCu_boQua() {
+        fileLuuTruService.giaiPhong("/tenant-files/tenants/abc.jpg");
+        fileLuuTruService.giaiPhong(null);
+        verify(tepLuuTruRepository, never()).giamThamChieu(anyString(), any());
+    }
+
+    @Test
+    void giaiPhong_blob_giamThamChieu() {
+        fileLuuTruService.giaiPhong("/tenant-files/blobs/ab/abcd.jpg");
+        verify(tepLuuTruRepository).giamThamChieu(eq("/tenant-files/blobs/ab/abcd.jpg"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void donTepKhongConThamChieu_xoaFileVaBanGhi() throws Exception {
+        Path blob = tempDir.resolve("blobs").resolve("ab").resolve("abcd.jpg");
+        Files.createDirectories(blob.getParent());
+        Files.write(blob, new byte[] { 9 });
+        Path thumb = blob.resolveSibling("abcd.thumb.jpg");
+        Files.write(thumb, new byte[] { 9 });
+        TepLuuTru tep = new TepLuuTru();
+        tep.setId("t1");
+        tep.setMaBam("abcd");
+        tep.setDuongDan("/tenant-files/blobs/ab/abcd.jpg");
+        tep.setSoThamChieu(0);
+        when(tepLuuTruRepository.findBySoThamChieuLessThanEqualAndCapNhatLucBefore(eq(0), any()))
+                .thenReturn(List.of(tep));
+        when(tepLuuTruRepository.findById("t1")).thenReturn(Optional.of(tep));
+
+        assertEquals(1, fileLuuTruService.donTepKhongConThamChieu(LocalDateTime.now()));
+        assertFalse(Files.exists(blob));
+        assertFalse(Files.exists(thumb));
+        verify(tepLuuTruRepository).delete(tep);
+    }
+
+    @Test
+    void donTepKhongConThamChieu_daDuocDungLai_khongXoa() {
+        TepLuuTru cu = new TepLuuTru();
+        cu.setId("t1");
+        cu.setMaBam("abcd");
+        cu.setDuongDan("/tenant-files/blobs/ab/abcd.jpg");
+        TepLuuTru moi = new TepLuuTru();
+        moi.setId("t1");
+        moi.setSoThamChieu(1);
+        when(tepLuuTruRepository.findBySoThamChieuLessThanEqualAndCapNhatLucBefore(eq(0), any()))
+                .thenReturn(List.of(cu));
+        when(tepLuuTruRepository.findById("t1")).thenReturn(Optional.of(moi));
+
+        assertEquals(0, fileLuuTruService.donTepKhongConThamChieu(LocalDateTime.now()));
+        verify(tepLuuTruRepository, never()).delete(any(TepLuuTru.class));
+    }
+}
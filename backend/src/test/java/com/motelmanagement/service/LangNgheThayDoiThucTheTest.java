@@ -0,0 +1,32 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.motelmanagement.domain.KhachThue;
+
+class LangNgheThayDoiThucTheTest {
+
+    private final ApplicationEventPublisher suKien = mock(ApplicationEventPublisher.class);
+    private final LangNgheThayDoiThucThe langNghe = new LangNgheThayDoiThucThe(suKien);
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.LangNgheThayDoiThucThe", LangNgheThayDoiThucThe.class.getName());
+    }
+
+    @Test
+    void daLuuVaDaXoa_phatSuKien() {
+        KhachThue khach = new KhachThue();
+
+        langNghe.daLuu(khach);
+        langNghe.daXoa(khach);
+
+        verify(suKien).publishEvent(new SuKienThayDoiThucThe(khach, false));
+        verify(suKien).publishEvent(new SuKienThayDoiThucThe(khach, true));
+    }
+}
@@ -0,0 +1,155 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.domain.TrangThaiPhong;
+import com.motelmanagement.dto.HanHopDongDto;
+import com.motelmanagement.dto.KhoangThueDto;
+import com.motelmanagement.dto.PhongSapTrongDto;
+import com.motelmanagement.dto.TyLeLapDayDto;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+class LapDayPhongServiceTest {
+
+    private final HopDongRepository hopDongRepository = mock(HopDongRepository.class);
+    private final PhongRepository phongRepository = mock(PhongRepository.class);
+    private final LapDayPhongService lapDayPhongService = new LapDayPhongService(hopDongRepository, phongRepository);
+
+    private final KhuVuc khuA = khuVuc("kv1", "Khu A");
+    private final Phong p1 = phong("p1", "P101", khuA, TrangThaiPhong.OCCUPIED);
+    private final Phong p2 = phong("p2", "P102", khuA, TrangThaiPhong.AVAILABLE);
+    private final Phong p3 = phong("p3", "P103", khuA, TrangThaiPhong.MAINTENANCE);
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.LapDayPhongService", LapDayPhongService.class.getName());
+    }
+
+    @Test
+    void phongTrong_chuaNap_dungCoTrangThai() {
+        when(phongRepository.findByTrangThai(TrangThaiPhong.AVAILABLE)).thenReturn(List.of(p2));
+
+        assertEquals(List.of(p2), lapDayPhongService.phongTrong(ngay(3, 1), ngay(3, 1)));
+    }
+
+    @Test
+    void phongTrong_daNap_theoHopDongBoQuaPhongBaoTri() {
+        napVoi(new KhoangThueDto("h1", "p1", ngay(1, 1), ngay(3, 15), TrangThaiHopDong.ACTIVE));
+
+        assertEquals(List.of(p2), lapDayPhongService.phongTrong(ngay(3, 1), ngay(3, 1)));
+        assertEquals(List.of(p1, p2), lapDayPhongService.phongTrong(ngay(3, 16), ngay(4, 30)));
+        assertEquals(List.of(p2), lapDayPhongService.phongTrong(ngay(3, 10), ngay(4, 30)));
+        assertThrows(IllegalArgumentException.class,
+                () -> lapDayPhongService.phongTrong(ngay(4, 1), ngay(3, 1)));
+    }
+
+    @Test
+    void hopDongDaKetThuc_traPhongTrongNgayKetThuc() {
+        napVoi(new KhoangThueDto("h1", "p1", ngay(1, 1), ngay(3, 15), TrangThaiHopDong.ENDED));
+
+        assertEquals(List.of(p2), lapDayPhongService.phongTrong(ngay(3, 14), ngay(3, 14)));
+        assertEquals(List.of(p1, p2), lapDayPhongService.phongTrong(ngay(3, 15), ngay(3, 15)));
+    }
+
+    @Test
+    void phongSapTrong_traNgayTrongDauTien() {
+        napVoi(new KhoangThueDto("h1", "p1", ngay(1, 1), ngay(3, 15), TrangThaiHopDong.ACTIVE),
+                new KhoangThueDto("h2", "p2", ngay(1, 1), ngay(9, 30), TrangThaiHopDong.ACTIVE));
+
+        List<PhongSapTrongDto> ketQua = lapDayPhongService.phongSapTrong(ngay(3, 1), 30);
+
+        assertEquals(1, ketQua.size());
+        assertEquals("P101", ketQua.get(0).getMaPhong());
+        assertEquals("Khu A", ketQua.get(0).getTenKhuVuc());
+        assertEquals(ngay(3, 16), ketQua.get(0).getNgayTrong());
+    }
+
+    @Test
+    void tyLeLapDay_theoKhuVaThang() {
+        napVoi(new KhoangThueDto("h1", "p1", ngay(1, 1), null, TrangThaiHopDong.ACTIVE),
+                new KhoangThueDto("h2", "p2", ngay(2, 15), ngay(2, 28), TrangThaiHopDong.ACTIVE));
+
+        List<TyLeLapDayDto> ketQua = lapDayPhongService.tyLeLapDay(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+
+        assertEquals(2, ketQua.size());
+        assertEquals("2025-01", ketQua.get(0).getThang());
+        assertEquals(3, ketQua.get(0).getSoPhong());
+        assertEquals(31, ketQua.get(0).getSoNgayCoNguoi());
+        assertEquals(0.3333, ketQua.get(0).getTyLe());
+        assertEquals(28 + 14, ketQua.get(1).getSoNgayCoNguoi());
+        assertEquals(0.5, ketQua.get(1).getTyLe());
+        assertThrows(IllegalArgumentException.class,
+                () -> lapDayPhongService.tyLeLapDay(YearMonth.of(2020, 1), YearMonth.of(2025, 1)));
+    }
+
+    @Test
+    void daThayDoi_ghiVaXoaHopDong() {
+        napVoi();
+        HopDong hopDong = new HopDong();
+        hopDong.setId("h9");
+        hopDong.setPhong(p2);
+        hopDong.setNgayBatDau(ngay(1, 1));
+        hopDong.setNgayKetThuc(ngay(12, 31));
+        assertEquals(List.of(p1, p2), lapDayPhongService.phongTrong(ngay(6, 1), ngay(6, 1)));
+
+        lapDayPhongService.daThayDoi(new SuKienThayDoiThucThe(hopDong, false));
+
+        assertEquals(List.of(p1), lapDayPhongService.phongTrong(ngay(6, 1), ngay(6, 1)));
+
+        lapDayPhongService.daThayDoi(new SuKienThayDoiThucThe(hopDong, true));
+
+        assertTrue(lapDayPhongService.phongTrong(ngay(6, 1), ngay(6, 1)).contains(p2));
+    }
+
+    @Test
+    void daCapNhatHangLoat_apQuyTacHopDongDaKetThuc() {
+        napVoi(new KhoangThueDto("h1", "p1", ngay(1, 1), ngay(3, 15), TrangThaiHopDong.ACTIVE));
+
+        lapDayPhongService.daCapNhatHangLoat(new SuKienCapNhatHangLoat(Set.of("h1"), List.of(
+                new HanHopDongDto("h1", "p1", ngay(1, 1), ngay(3, 15), TrangThaiHopDong.ENDED, null))));
+
+        assertEquals(List.of(p1, p2), lapDayPhongService.phongTrong(ngay(3, 15), ngay(3, 15)));
+    }
+
+    private void napVoi(KhoangThueDto... dsHopDong) {
+        when(hopDongRepository.layKhoangThue()).thenReturn(List.of(dsHopDong));
+        when(phongRepository.findAll()).thenReturn(List.of(p1, p2, p3));
+        lapDayPhongService.napLai();
+    }
+
+    private static LocalDate ngay(int thang, int ngay) {
+        return LocalDate.of(2025, thang, ngay);
+    }
+
+    private static KhuVuc khuVuc(String id, String ten) {
+        KhuVuc k = new KhuVuc();
+        k.setId(id);
+        k.setTen(ten);
+        return k;
+    }
+
+    private static Phong phong(String id, String maPhong, KhuVuc khuVuc, TrangThaiPhong trangThai) {
+        Phong p = new Phong();
+        p.setId(id);
+        p.setMaPhong(maPhong);
+        p.setKhuVuc(khuVuc);
+        p.setTrangThai(trangThai);
+        return p;
+    }
+}
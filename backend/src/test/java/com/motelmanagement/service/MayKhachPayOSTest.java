@@ -0,0 +1,119 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.motelmanagement.config.ThuocTinhPayOS;
+import com.motelmanagement.support.MayChuPayOSGia;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MayKhachPayOSTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MayChuPayOSGia mayChu;
+    private ThuocTinhPayOS thuocTinh;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mayChu = new MayChuPayOSGia();
+        thuocTinh = new ThuocTinhPayOS();
+        thuocTinh.setBaseUrl(mayChu.baseUrl());
+        thuocTinh.setClientId("id");
+        thuocTinh.setApiKey("key");
+        thuocTinh.setReadTimeout(Duration.ofSeconds(5));
+        thuocTinh.setCircuitFailureThreshold(2);
+        thuocTinh.setCircuitOpenDuration(Duration.ofMillis(200));
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        mayChu.close();
+    }
+
+    private long soLan(String ketQua) {
+        Timer timer = registry.find(MayKhachPayOS.TEN_CHI_SO)
+                .tags("thao_tac", "tao-link", "ket_qua", ketQua)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void post_thanhCong_traBodyVaGhiThongKe() {
+        MayKhachPayOS mayKhach = new MayKhachPayOS(thuocTinh);
+
+        String body = mayKhach.post("tao-link", "/v2/payment-requests", "{}");
+
+        assertTrue(body.contains("checkoutUrl"));
+        assertEquals(1, soLan("ok"));
+        assertEquals(0, soLan("loi"));
+    }
+
+    @Test
+    void post_qua_readTimeout_nemLoi() {
+        thuocTinh.setReadTimeout(Duration.ofMillis(300));
+        mayChu.treMoiYeuCau(1_000);
+        MayKhachPayOS mayKhach = new MayKhachPayOS(thuocTinh);
+
+        long batDau = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> mayKhach.post("tao-link", "/v2/payment-requests", "{}"));
+        assertTrue((System.nanoTime() - batDau) / 1_000_000 < 900);
+        assertEquals(1, soLan("loi"));
+    }
+
+    @Test
+    void loi5xxLienTiep_moMachVaChanKhongGoiMayChu() {
+        mayChu.traVe(503, "{}");
+        MayKhachPayOS mayKhach = new MayKhachPayOS(thuocTinh);
+
+        assertThrows(HttpServerErrorException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+        assertThrows(HttpServerErrorException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+        assertEquals(MayKhachPayOS.TrangThaiMach.MO, mayKhach.trangThai());
+
+        assertThrows(IllegalStateException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+        assertEquals(2, mayChu.soYeuCau());
+        assertEquals(2, soLan("loi"));
+        assertEquals(1, soLan("bi_chan"));
+    }
+
+    @Test
+    void nuaMo_goiThuThanhCong_dongMach() throws Exception {
+        mayChu.traVe(500, "{}");
+        MayKhachPayOS mayKhach = new MayKhachPayOS(thuocTinh);
+        assertThrows(HttpServerErrorException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+        assertThrows(HttpServerErrorException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+
+        Thread.sleep(250);
+        assertEquals(MayKhachPayOS.TrangThaiMach.NUA_MO, mayKhach.trangThai());
+        mayChu.traVe(200, "{\"code\":\"00\"}");
+        mayKhach.post("tao-link", "/x", "{}");
+
+        assertEquals(MayKhachPayOS.TrangThaiMach.DONG, mayKhach.trangThai());
+    }
+
+    @Test
+    void loi4xx_khongTinhVaoMach() {
+        mayChu.traVe(400, "{}");
+        MayKhachPayOS mayKhach = new MayKhachPayOS(thuocTinh);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpClientErrorException.class, () -> mayKhach.post("tao-link", "/x", "{}"));
+        }
+        assertEquals(MayKhachPayOS.TrangThaiMach.DONG, mayKhach.trangThai());
+        assertEquals(3, soLan("loi_4xx"));
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,7 +46,7 @@ class NguoiDungChoThongBaoServiceTest {
         nd.setHoTen("T");
         nd.setVaiTro(VaiTro.TENANT);
         when(nguoiDungRepository.findAll()).thenReturn(List.of(nd));
-        when(khachThueRepository.findByNguoiDung_Id("1")).thenReturn(null);
+        when(khachThueRepository.findByNguoiDung_IdIn(List.of("1"))).thenReturn(List.of());
 
         List<DtoNguoiDungChoThongBao> list = nguoiDungChoThongBaoService.layDanhSach();
 
@@ -65,18 +66,21 @@ class NguoiDungChoThongBaoServiceTest {
         hd.setTrangThai(TrangThaiHopDong.ACTIVE);
         hd.setPhong(phong);
 
-        KhachThue kt = new KhachThue();
-        kt.setId("10");
-
         NguoiDung nd = new NguoiDung();
         nd.setId("2");
         nd.setTenDangNhap("renter");
         nd.setHoTen("R");
         nd.setVaiTro(VaiTro.TENANT);
 
+        KhachThue kt = new KhachThue();
+        kt.setId("10");
+        kt.setNguoiDung(nd);
+        hd.setKhachThue(kt);
+
         when(nguoiDungRepository.findAll()).thenReturn(List.of(nd));
-        when(khachThueRepository.findByNguoiDung_Id("2")).thenReturn(kt);
-        when(hopDongRepository.findThuocKhachThueCoPhong("10")).thenReturn(List.of(hd));
+        when(khachThueRepository.findByNguoiDung_IdIn(List.of("2"))).thenReturn(List.of(kt));
+        when(hopDongRepository.timTheoTrangThaiThuocKhachThue(Set.of("10"), TrangThaiHopDong.ACTIVE))
+                .thenReturn(List.of(hd));
 
         List<DtoNguoiDungChoThongBao> list = nguoiDungChoThongBaoService.layDanhSach();
 
@@ -1,24 +1,40 @@
 package com.motelmanagement.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.motelmanagement.config.ThuocTinhPayOS;
+import com.motelmanagement.domain.DonHangPayOS;
 import com.motelmanagement.domain.HoaDon;
 import com.motelmanagement.repository.DonHangPayOSRepository;
-import com.motelmanagement.repository.HoaDonRepository;
-import com.motelmanagement.repository.ThanhToanRepository;
 
 @ExtendWith(MockitoExtension.class)
 class PayOSServiceTest {
@@ -28,11 +44,13 @@ class PayOSServiceTest {
     @Mock
     private DonHangPayOSRepository donHangPayOSRepository;
     @Mock
-    private HoaDonRepository hoaDonRepository;
+    private TinhTienService tinhTienService;
     @Mock
-    private ThanhToanRepository thanhToanRepository;
+    private MayKhachPayOS mayKhachPayOS;
     @Mock
-    private TinhTienService tinhTienService;
+    private XuLyThanhToanPayOSService xuLyThanhToanPayOSService;
+    @Mock
+    private CapMaDonHangService capMaDonHangService;
 
     @InjectMocks
     private PayOSService payOSService;
@@ -62,10 +80,24 @@ class PayOSServiceTest {
         when(thuocTinhPayOS.getClientId()).thenReturn("id");
         when(thuocTinhPayOS.getApiKey()).thenReturn("k");
         when(thuocTinhPayOS.getChecksumKey()).thenReturn("c");
-        when(thanhToanRepository.findByHoaDon_Id(anyString())).thenReturn(Collections.emptyList());
         assertNull(payOSService.taoLinkThanhToan(hd));
     }
 
+    @Test
+    void taoLinkThanhToan_daThuDu_traNullKhongGoiPayOS() {
+        HoaDon hd = new HoaDon();
+        hd.setId("inv-1");
+        hd.setTongTien(BigDecimal.valueOf(150_000));
+        hd.setDaThu(BigDecimal.valueOf(150_000));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thuocTinhPayOS.getClientId()).thenReturn("id");
+        when(thuocTinhPayOS.getApiKey()).thenReturn("k");
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("c");
+
+        assertNull(payOSService.taoLinkThanhToan(hd));
+        verify(mayKhachPayOS, never()).post(anyString(), anyString(), anyString());
+    }
+
     @Test
     void xacNhanWebhookVoiPayOS_thieuWebhookUrl_traFalse() {
         when(thuocTinhPayOS.getWebhookUrl()).thenReturn("  ");
@@ -89,4 +121,123 @@ class PayOSServiceTest {
         when(thuocTinhPayOS.getChecksumKey()).thenReturn("key");
         assertFalse(payOSService.xacThucVaXuLyWebhook("not-json"));
     }
+
+    @Test
+    void taoLinkThanhToan_payOSTraLink_luuDonHang() {
+        HoaDon hd = new HoaDon();
+        hd.setId("inv-1");
+        hd.setThang(3);
+        hd.setNam(2026);
+        hd.setTongTien(BigDecimal.valueOf(150_000));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thuocTinhPayOS.getClientId()).thenReturn("id");
+        when(thuocTinhPayOS.getApiKey()).thenReturn("k");
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("c");
+        when(thuocTinhPayOS.getLinkTtl()).thenReturn(Duration.ofMinutes(15));
+        when(capMaDonHangService.capMa()).thenReturn(2_000_000_123L);
+        when(mayKhachPayOS.post(eq("tao-link"), eq("/v2/payment-requests"), contains("\"orderCode\":2000000123")))
+                .thenReturn("{\"code\":\"00\",\"data\":{\"checkoutUrl\":\"https://pay/x\"}}");
+
+        assertEquals("https://pay/x", payOSService.taoLinkThanhToan(hd));
+        ArgumentCaptor<DonHangPayOS> donHang = ArgumentCaptor.forClass(DonHangPayOS.class);
+        verify(donHangPayOSRepository).save(donHang.capture());
+        assertEquals(2_000_000_123L, donHang.getValue().getMaDonHang());
+        assertEquals(150_000L, donHang.getValue().getSoTien());
+        assertEquals("https://pay/x", donHang.getValue().getLinkThanhToan());
+        assertNotNull(donHang.getValue().getHetHanLuc());
+    }
+
+    @Test
+    void taoLinkThanhToan_conLinkChuaHetHanCungSoTien_taiSuDung() {
+        HoaDon hd = new HoaDon();
+        hd.setId("inv-1");
+        hd.setTongTien(BigDecimal.valueOf(150_000));
+        DonHangPayOS cu = new DonHangPayOS();
+        cu.setLinkThanhToan("https://pay/cu");
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thuocTinhPayOS.getClientId()).thenReturn("id");
+        when(thuocTinhPayOS.getApiKey()).thenReturn("k");
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("c");
+        when(donHangPayOSRepository.findFirstByMaHoaDonAndSoTienAndHetHanLucAfterOrderByHetHanLucDesc(
+                eq("inv-1"), eq(150_000L), any(LocalDateTime.class))).thenReturn(Optional.of(cu));
+
+        assertEquals("https://pay/cu", payOSService.taoLinkThanhToan(hd));
+        verify(mayKhachPayOS, never()).post(anyString(), anyString(), anyString());
+        verify(capMaDonHangService, never()).capMa();
+        verify(donHangPayOSRepository, never()).save(any(DonHangPayOS.class));
+    }
+
+    @Test
+    void donDonHangHetHan_xoaTruocMocAnHan() {
+        when(thuocTinhPayOS.getLinkCleanupGrace()).thenReturn(Duration.ofDays(1));
+        when(donHangPayOSRepository.xoaHetHanTruoc(any(LocalDateTime.class))).thenReturn(3);
+
+        assertEquals(3, payOSService.donDonHangHetHan());
+        ArgumentCaptor<LocalDateTime> moc = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(donHangPayOSRepository).xoaHetHanTruoc(moc.capture());
+        assertTrue(moc.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    @Test
+    void huyDonHang_danhDauHetHanNgayLapTuc() {
+        payOSService.huyDonHang(55L);
+
+        ArgumentCaptor<LocalDateTime> luc = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(donHangPayOSRepository).danhDauHetHan(eq(55L), luc.capture());
+        assertFalse(luc.getValue().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void taoLinkThanhToan_machDangMo_traNull() {
+        HoaDon hd = new HoaDon();
+        hd.setId("inv-1");
+        hd.setThang(3);
+        hd.setNam(2026);
+        hd.setTongTien(BigDecimal.valueOf(150_000));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thuocTinhPayOS.getClientId()).thenReturn("id");
+        when(thuocTinhPayOS.getApiKey()).thenReturn("k");
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("c");
+        when(thuocTinhPayOS.getLinkTtl()).thenReturn(Duration.ofMinutes(15));
+        when(mayKhachPayOS.post(anyString(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("open"));
+
+        assertNull(payOSService.taoLinkThanhToan(hd));
+        verify(donHangPayOSRepository, never()).save(any(DonHangPayOS.class));
+    }
+
+    @Test
+    void xacThucVaXuLyWebhook_daXuLy_khongGhiNhanLai() throws Exception {
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("key");
+        when(xuLyThanhToanPayOSService.daXuLy(123L)).thenReturn(true);
+        String body = "{\"code\":\"00\",\"success\":true,\"data\":{\"orderCode\":123,\"amount\":1000},"
+                + "\"signature\":\"" + kyHmac("key", "amount=1000&orderCode=123") + "\"}";
+
+        assertTrue(payOSService.xacThucVaXuLyWebhook(body));
+        verify(xuLyThanhToanPayOSService, never()).ghiNhan(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void xacThucVaXuLyWebhook_moi_ghiNhanQuaDichVu() throws Exception {
+        when(thuocTinhPayOS.getChecksumKey()).thenReturn("key");
+        when(xuLyThanhToanPayOSService.daXuLy(123L)).thenReturn(false);
+        when(xuLyThanhToanPayOSService.ghiNhan(123L, 1000, "WEBHOOK")).thenReturn(true);
+        String body = "{\"code\":\"00\",\"success\":true,\"data\":{\"orderCode\":123,\"amount\":1000},"
+                + "\"signature\":\"" + kyHmac("key", "amount=1000&orderCode=123") + "\"}";
+
+        assertTrue(payOSService.xacThucVaXuLyWebhook(body));
+    }
+
+    @Test
+    void xacNhanThanhToanTuReturnUrl_daXuLy_traTrue() {
+        when(xuLyThanhToanPayOSService.daXuLy(5L)).thenReturn(true);
+        assertTrue(payOSService.xacNhanThanhToanTuReturnUrl(5L));
+        verify(xuLyThanhToanPayOSService, never()).ghiNhan(anyLong(), any(), anyString());
+    }
+
+    private static String kyHmac(String key, String data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,148 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ThanhToanServiceTest {
+
+    @Mock
+    private ThanhToanRepository thanhToanRepository;
+    @Mock
+    private HoaDonRepository hoaDonRepository;
+    @Mock
+    private TinhTienService tinhTienService;
+
+    @InjectMocks
+    private ThanhToanService thanhToanService;
+
+    @Test
+    void ghiNhanThuCong_khongTimThayHoaDon_nemLoi() {
+        when(hoaDonRepository.khoaDeCapNhat("x")).thenReturn(Optional.empty());
+        when(tinhTienService.tinhTienRuntime(null)).thenReturn(null);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> thanhToanService.ghiNhanThuCong("x", BigDecimal.TEN, PhuongThucThanhToan.CASH));
+        assertEquals("Không tìm thấy hóa đơn.", e.getMessage());
+    }
+
+    @Test
+    void ghiNhanThuCong_vuotConLai_nemLoiKhongGhi() {
+        HoaDon hd = hoaDon(1000, 800);
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> thanhToanService.ghiNhanThuCong("hd-1", BigDecimal.valueOf(300), PhuongThucThanhToan.CASH));
+        verify(thanhToanRepository, never()).save(any());
+    }
+
+    @Test
+    void ghiNhanThuCong_motPhan_congDaThuVaDanhDauPartial() {
+        HoaDon hd = hoaDon(1000, 200);
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thanhToanRepository.save(any(ThanhToan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ThanhToan tt = thanhToanService.ghiNhanThuCong("hd-1", BigDecimal.valueOf(300), PhuongThucThanhToan.CASH);
+
+        assertEquals(BigDecimal.valueOf(300), tt.getSoTien());
+        assertEquals(BigDecimal.valueOf(500), hd.getDaThu());
+        assertEquals(BigDecimal.valueOf(500), hd.getConLai());
+        assertEquals(TrangThaiHoaDon.PARTIAL, hd.getTrangThai());
+        verify(hoaDonRepository).save(hd);
+    }
+
+    @Test
+    void congVaoHoaDon_duSoTien_danhDauPaid() {
+        HoaDon hd = hoaDon(1000, 600);
+        when(thanhToanRepository.save(any(ThanhToan.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        thanhToanService.congVaoHoaDon(hd, BigDecimal.valueOf(400), PhuongThucThanhToan.TRANSFER);
+
+        assertEquals(BigDecimal.valueOf(1000), hd.getDaThu());
+        assertEquals(TrangThaiHoaDon.PAID, hd.getTrangThai());
+    }
+
+    @Test
+    void doiSoatDaThu_lech_capNhatTheoTongThanhToan() {
+        HoaDon hd = hoaDon(1000, 100);
+        when(hoaDonRepository.timLechDaThu()).thenReturn(List.of("hd-1"));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thanhToanRepository.tongTheoHoaDon("hd-1")).thenReturn(BigDecimal.valueOf(700));
+
+        assertEquals(1, thanhToanService.doiSoatDaThu());
+        assertEquals(BigDecimal.valueOf(700), hd.getDaThu());
+        assertEquals(TrangThaiHoaDon.PARTIAL, hd.getTrangThai());
+        verify(hoaDonRepository).save(hd);
+    }
+
+    @Test
+    void doiSoatDaThu_tangDuTongTien_chuyenPaid() {
+        HoaDon hd = hoaDon(1000, 600);
+        hd.setTrangThai(TrangThaiHoaDon.PARTIAL);
+        when(hoaDonRepository.timLechDaThu()).thenReturn(List.of("hd-1"));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thanhToanRepository.tongTheoHoaDon("hd-1")).thenReturn(BigDecimal.valueOf(1000));
+
+        thanhToanService.doiSoatDaThu();
+
+        assertEquals(TrangThaiHoaDon.PAID, hd.getTrangThai());
+    }
+
+    @Test
+    void doiSoatDaThu_giamHoaDonDaPaid_moLaiNo() {
+        HoaDon hd = hoaDon(1000, 1000);
+        hd.setTrangThai(TrangThaiHoaDon.PAID);
+        when(hoaDonRepository.timLechDaThu()).thenReturn(List.of("hd-1"));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(tinhTienService.tinhTienRuntime(hd)).thenReturn(hd);
+        when(thanhToanRepository.tongTheoHoaDon("hd-1")).thenReturn(BigDecimal.ZERO);
+
+        thanhToanService.doiSoatDaThu();
+
+        assertEquals(TrangThaiHoaDon.UNPAID, hd.getTrangThai());
+    }
+
+    @Test
+    void doiSoatDaThu_daKhopKhiKhoa_boQua() {
+        HoaDon hd = hoaDon(1000, 700);
+        when(hoaDonRepository.timLechDaThu()).thenReturn(List.of("hd-1"));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hd));
+        when(thanhToanRepository.tongTheoHoaDon("hd-1")).thenReturn(BigDecimal.valueOf(700));
+
+        assertEquals(0, thanhToanService.doiSoatDaThu());
+        verify(hoaDonRepository, never()).save(any());
+    }
+
+    private static HoaDon hoaDon(long tong, long daThu) {
+        HoaDon h = new HoaDon();
+        h.setId("hd-1");
+        h.setTongTien(BigDecimal.valueOf(tong));
+        h.setDaThu(BigDecimal.valueOf(daThu));
+        return h;
+    }
+}
@@ -1,5 +1,6 @@
 package com.motelmanagement.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -8,12 +9,14 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import com.motelmanagement.domain.NguoiDung;
@@ -34,6 +37,8 @@ class ThongBaoServiceTest {
     private NguoiDungRepository nguoiDungRepository;
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private ApplicationEventPublisher suKien;
 
     @InjectMocks
     private ThongBaoService thongBaoService;
@@ -110,4 +115,46 @@ class ThongBaoServiceTest {
 
         verify(thongBaoRepository, never()).save(any());
     }
+
+    @Test
+    void danhDauDaDocTatCa_nguoiDungThuong_chiCapNhatCuaMinh() {
+        NguoiDung nd = new NguoiDung();
+        nd.setId("u1");
+        nd.setVaiTro(VaiTro.TENANT);
+        when(thongBaoRepository.danhDauDaDocTatCaCuaNguoiDung("u1")).thenReturn(3);
+
+        assertEquals(3, thongBaoService.danhDauDaDocTatCa(nd));
+        verify(suKien).publishEvent(new SuKienCapNhatHangLoat(Set.of("u1")));
+    }
+
+    @Test
+    void danhDauDaDocTatCa_admin_chiCapNhatCuaMinh() {
+        NguoiDung admin = new NguoiDung();
+        admin.setId("a");
+        admin.setVaiTro(VaiTro.ADMIN);
+        when(thongBaoRepository.danhDauDaDocTatCaCuaNguoiDung("a")).thenReturn(0);
+
+        assertEquals(0, thongBaoService.danhDauDaDocTatCa(admin));
+        verify(suKien).publishEvent(new SuKienCapNhatHangLoat(Set.of("a")));
+    }
+
+    @Test
+    void danhDauDaDocTatCa_null_tra0() {
+        assertEquals(0, thongBaoService.danhDauDaDocTatCa(null));
+    }
+
+    @Test
+    void luuVaDay_luuMotLanRoiDayTungNguoi() {
+        NguoiDung nd = new NguoiDung();
+        nd.setTenDangNhap("tenant1");
+        ThongBao thongBao = new ThongBao();
+        thongBao.setNguoiDung(nd);
+        thongBao.setNoiDung("Sắp hết hạn");
+        when(thongBaoRepository.saveAll(List.of(thongBao))).thenReturn(List.of(thongBao));
+
+        thongBaoService.luuVaDay(List.of(thongBao));
+
+        verify(thongBaoRepository, never()).save(any());
+        verify(messagingTemplate).convertAndSendToUser(eq("tenant1"), eq("/queue/notifications"), any());
+    }
 }
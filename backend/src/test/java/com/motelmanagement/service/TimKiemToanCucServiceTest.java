@@ -0,0 +1,150 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.dto.HoaDonTimKiemDto;
+import com.motelmanagement.dto.HopDongTimKiemDto;
+import com.motelmanagement.dto.KetQuaTimKiemDto;
+import com.motelmanagement.dto.KetQuaTimKiemDto.Loai;
+import com.motelmanagement.dto.TrangTimKiemDto;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.KhuVucRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+class TimKiemToanCucServiceTest {
+
+    private final KhuVucRepository khuVucRepository = mock(KhuVucRepository.class);
+    private final PhongRepository phongRepository = mock(PhongRepository.class);
+    private final KhachThueRepository khachThueRepository = mock(KhachThueRepository.class);
+    private final HopDongRepository hopDongRepository = mock(HopDongRepository.class);
+    private final HoaDonRepository hoaDonRepository = mock(HoaDonRepository.class);
+    private final TimKiemToanCucService timKiem = new TimKiemToanCucService(
+            khuVucRepository, phongRepository, khachThueRepository, hopDongRepository, hoaDonRepository);
+
+    private final KhuVuc khuA = khuVuc("kv1", "Khu Ánh Dương");
+    private final Phong p101 = phong("p1", "P101", khuA);
+
+    @BeforeEach
+    void napDuLieu() {
+        when(khuVucRepository.findAll()).thenReturn(List.of(khuA));
+        when(phongRepository.findAll()).thenReturn(List.of(p101, phong("p2", "P1015", khuA)));
+        when(khachThueRepository.findAll()).thenReturn(List.of(khach("k1", "Nguyễn Văn An")));
+        when(hopDongRepository.layTomTatTimKiem()).thenReturn(List.of(
+                new HopDongTimKiemDto("0190a8c4-e000-7000-8000-00000000abcd", "p1", "k1")));
+        when(hoaDonRepository.layTomTatTimKiem()).thenReturn(List.of(
+                new HoaDonTimKiemDto("hd1", "p1", 3, 2025), new HoaDonTimKiemDto("hd2", "p2", 4, 2025)));
+        timKiem.napLai();
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.TimKiemToanCucService", TimKiemToanCucService.class.getName());
+    }
+
+    @Test
+    void tim_traKetQuaNhieuLoaiXepTheoDiem() {
+        TrangTimKiemDto trang = timKiem.tim("p101", 0, 20);
+
+        assertEquals(5, trang.getTongSo());
+        KetQuaTimKiemDto dau = trang.getKetQua().get(0);
+        assertEquals(Loai.PHONG, dau.getLoai());
+        assertEquals("Phòng P101", dau.getTieuDe());
+        assertEquals("Khu Ánh Dương", dau.getMoTa());
+        assertEquals(List.of(Loai.PHONG, Loai.HOP_DONG, Loai.HOA_DON, Loai.PHONG, Loai.HOA_DON),
+                trang.getKetQua().stream().map(KetQuaTimKiemDto::getLoai).toList());
+    }
+
+    @Test
+    void tim_theoKhuVucKhongDau_khopKhuVucVaPhong() {
+        TrangTimKiemDto trang = timKiem.tim("anh duong", 0, 20);
+
+        assertEquals(List.of(Loai.PHONG, Loai.PHONG, Loai.KHU_VUC),
+                trang.getKetQua().stream().map(KetQuaTimKiemDto::getLoai).toList());
+    }
+
+    @Test
+    void tim_theoKyHoaDonVaMaHopDong() {
+        assertEquals(List.of("hd1"), ids(timKiem.tim("03/2025", 0, 20)));
+        assertEquals(List.of("hd2"), ids(timKiem.tim("2025-04", 0, 20)));
+        assertEquals(List.of("0190a8c4-e000-7000-8000-00000000abcd"), ids(timKiem.tim("0190a8c4", 0, 20)));
+    }
+
+    @Test
+    void tim_phanTrang() {
+        TrangTimKiemDto trang = timKiem.tim("p101", 1, 3);
+
+        assertEquals(5, trang.getTongSo());
+        assertEquals(2, trang.getKetQua().size());
+        assertEquals(1, trang.getTrang());
+        assertEquals(3, trang.getKichThuoc());
+        assertTrue(timKiem.tim("p101", 5, 3).getKetQua().isEmpty());
+        assertEquals(TimKiemToanCucService.KICH_THUOC_TOI_DA, timKiem.tim("p101", 0, 10_000).getKichThuoc());
+    }
+
+    @Test
+    void daThayDoi_doiMaPhong_capNhatCaHopDongVaHoaDon() {
+        p101.setMaPhong("B202");
+
+        timKiem.daThayDoi(new SuKienThayDoiThucThe(p101, false));
+
+        assertEquals(List.of("p1", "0190a8c4-e000-7000-8000-00000000abcd", "hd1"), ids(timKiem.tim("b202", 0, 20)));
+        assertEquals("Phòng B202", timKiem.tim("03/2025", 0, 20).getKetQua().get(0).getMoTa());
+    }
+
+    @Test
+    void daThayDoi_ghiVaXoaHoaDon() {
+        HoaDon hoaDon = new HoaDon();
+        hoaDon.setId("hd3");
+        hoaDon.setPhong(p101);
+        hoaDon.setThang(12);
+        hoaDon.setNam(2024);
+
+        timKiem.daThayDoi(new SuKienThayDoiThucThe(hoaDon, false));
+
+        assertEquals(List.of("hd3"), ids(timKiem.tim("12/2024", 0, 20)));
+
+        timKiem.daThayDoi(new SuKienThayDoiThucThe(hoaDon, true));
+
+        assertTrue(timKiem.tim("12/2024", 0, 20).getKetQua().isEmpty());
+    }
+
+    private static List<String> ids(TrangTimKiemDto trang) {
+        return trang.getKetQua().stream().map(KetQuaTimKiemDto::getId).toList();
+    }
+
+    private static KhuVuc khuVuc(String id, String ten) {
+        KhuVuc k = new KhuVuc();
+        k.setId(id);
+        k.setTen(ten);
+        return k;
+    }
+
+    private static Phong phong(String id, String maPhong, KhuVuc khuVuc) {
+        Phong p = new Phong();
+        p.setId(id);
+        p.setMaPhong(maPhong);
+        p.setKhuVuc(khuVuc);
+        return p;
+    }
+
+    private static KhachThue khach(String id, String hoTen) {
+        KhachThue k = new KhachThue();
+        k.setId(id);
+        k.setHoTen(hoTen);
+        return k;
+    }
+}
@@ -1,11 +1,13 @@
 package com.motelmanagement.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.motelmanagement.domain.ChiSoDienNuoc;
 import com.motelmanagement.domain.HoaDon;
@@ -154,6 +156,78 @@ class TinhTienServiceTest {
         assert result.getTienNuoc().intValue() == 300000;
     }
 
+    @Test
+    void tinhTienRuntime_theoLo_khopCachTinhTungHoaDon() {
+        var phong = new com.motelmanagement.domain.Phong();
+        phong.setId("1");
+        phong.setGiaHienTai(new java.math.BigDecimal("2000000"));
+        HoaDon hoaDon = new HoaDon();
+        hoaDon.setId("HD1");
+        hoaDon.setPhong(phong);
+        hoaDon.setThang(1);
+        hoaDon.setNam(2026);
+
+        ChiSoDienNuoc chiSo = new ChiSoDienNuoc();
+        chiSo.setPhong(phong);
+        chiSo.setThang(1);
+        chiSo.setNam(2026);
+        chiSo.setDienMoi(200);
+        chiSo.setNuocMoi(50);
+        ChiSoDienNuoc chiSoTruoc = new ChiSoDienNuoc();
+        chiSoTruoc.setPhong(phong);
+        chiSoTruoc.setThang(12);
+        chiSoTruoc.setNam(2025);
+        chiSoTruoc.setDienMoi(100);
+        chiSoTruoc.setNuocMoi(20);
+
+        var chiTiet = new com.motelmanagement.domain.HoaDonChiTiet();
+        chiTiet.setHoaDon(hoaDon);
+        chiTiet.setSoTien(new java.math.BigDecimal("50000"));
+
+        var bangGia = new com.motelmanagement.domain.BangGiaDichVu();
+        bangGia.setGiaDien(new java.math.BigDecimal("3000"));
+        bangGia.setGiaNuoc(new java.math.BigDecimal("10000"));
+
+        Mockito.when(chiSoDienNuocRepository.timTheoPhongTrongKhoang(Set.of("1"), 2025 * 12 + 12, 2026 * 12 + 1))
+                .thenReturn(List.of(chiSo, chiSoTruoc));
+        Mockito.when(hoaDonChiTietRepository.findByHoaDon_IdInOrderByThuTuAsc(List.of("HD1")))
+                .thenReturn(List.of(chiTiet));
+        Mockito.when(bangGiaDichVuRepository.findFirstByOrderByHieuLucTuDesc())
+                .thenReturn(Optional.of(bangGia));
+
+        TinhTienService.DuLieuTinhTien duLieu = tinhTienService.napDuLieuTinhTien(List.of(hoaDon));
+        HoaDon result = tinhTienService.tinhTienRuntime(hoaDon, duLieu);
+
+        assertEquals(100, duLieu.dienCu(chiSo));
+        assertEquals(20, duLieu.nuocCu(chiSo));
+        assertEquals(300000, result.getTienDien().intValue());
+        assertEquals(300000, result.getTienNuoc().intValue());
+        assertEquals(2650000, result.getTongTien().intValue());
+    }
+
+    @Test
+    void ganChiSoCuTheoKy_khongTruyVan() {
+        var phong = new com.motelmanagement.domain.Phong();
+        phong.setId("1");
+        ChiSoDienNuoc thang5 = new ChiSoDienNuoc();
+        thang5.setPhong(phong);
+        thang5.setThang(5);
+        thang5.setNam(2026);
+        thang5.setDienMoi(100);
+        thang5.setNuocMoi(20);
+        ChiSoDienNuoc thang6 = new ChiSoDienNuoc();
+        thang6.setPhong(phong);
+        thang6.setThang(6);
+        thang6.setNam(2026);
+
+        tinhTienService.ganChiSoCuTheoKy(List.of(thang6, thang5));
+
+        assertEquals(100, thang6.getDienCu());
+        assertEquals(20, thang6.getNuocCu());
+        assertEquals(0, thang5.getDienCu());
+        Mockito.verifyNoInteractions(chiSoDienNuocRepository);
+    }
+
     @Test
     void sinhHoaDonChoThang_taoMoiHoaDon() {
         HopDong hd = new HopDong();
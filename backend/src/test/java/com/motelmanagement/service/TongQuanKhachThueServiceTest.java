@@ -0,0 +1,235 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.ChiSoDienNuoc;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoaDonChiTiet;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.HopDongThanhVien;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.KhuVuc;
+import com.motelmanagement.domain.NhacNoHoaDonEmail;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiYeuCauHoTro;
+import com.motelmanagement.domain.YeuCauHoTro;
+import com.motelmanagement.dto.TongQuanKhachThueDto;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.NhacNoHoaDonEmailRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+import com.motelmanagement.repository.YeuCauHoTroRepository;
+
+class TongQuanKhachThueServiceTest {
+
+    private final KhachThueRepository khachThueRepository = mock(KhachThueRepository.class);
+    private final HopDongRepository hopDongRepository = mock(HopDongRepository.class);
+    private final HoaDonRepository hoaDonRepository = mock(HoaDonRepository.class);
+    private final ThanhToanRepository thanhToanRepository = mock(ThanhToanRepository.class);
+    private final YeuCauHoTroRepository yeuCauHoTroRepository = mock(YeuCauHoTroRepository.class);
+    private final NhacNoHoaDonEmailRepository nhacNoHoaDonEmailRepository = mock(NhacNoHoaDonEmailRepository.class);
+    private final TinhTienService tinhTienService = mock(TinhTienService.class);
+    private final TongQuanKhachThueService tongQuan = new TongQuanKhachThueService(khachThueRepository,
+            hopDongRepository, hoaDonRepository, thanhToanRepository, yeuCauHoTroRepository,
+            nhacNoHoaDonEmailRepository, tinhTienService);
+
+    private final KhuVuc khuA = new KhuVuc();
+    private final Phong p101 = new Phong();
+    private final KhachThue an = khach("k1", "Nguyễn Văn An");
+    private final KhachThue binh = khach("k2", "Trần Thị Bình");
+    private final HoaDon hoaDon = new HoaDon();
+
+    @BeforeEach
+    void chuanBi() {
+        khuA.setId("kv1");
+        khuA.setTen("Khu A");
+        p101.setId("p1");
+        p101.setMaPhong("P101");
+        p101.setKhuVuc(khuA);
+
+        HopDong hopDong = new HopDong();
+        hopDong.setId("hd1");
+        hopDong.setPhong(p101);
+        hopDong.setKhachThue(an);
+        hopDong.setNgayBatDau(LocalDate.of(2025, 1, 1));
+        hopDong.getThanhVien().add(thanhVien(hopDong, an, true));
+        hopDong.getThanhVien().add(thanhVien(hopDong, binh, false));
+
+        hoaDon.setId("hoa1");
+        hoaDon.setPhong(p101);
+        hoaDon.setKhachThue(an);
+        hoaDon.setThang(3);
+        hoaDon.setNam(2025);
+        hoaDon.setDaThu(new BigDecimal("1000000"));
+
+        ThanhToan thanhToan = new ThanhToan();
+        thanhToan.setId("tt1");
+        thanhToan.setHoaDon(hoaDon);
+        thanhToan.setSoTien(new BigDecimal("1000000"));
+
+        NhacNoHoaDonEmail cu = nhacNo("n1", LocalDateTime.of(2025, 4, 1, 9, 0));
+        NhacNoHoaDonEmail moi = nhacNo("n2", LocalDateTime.of(2025, 4, 8, 9, 0));
+
+        YeuCauHoTro yeuCau = new YeuCauHoTro();
+        yeuCau.setId("yc1");
+        yeuCau.setTieuDe("Hỏng vòi nước");
+        yeuCau.setPhong(p101);
+
+        when(khachThueRepository.findById("k1")).thenReturn(Optional.of(an));
+        when(hopDongRepository.findThuocKhachThue("k1")).thenReturn(List.of(hopDong));
+        when(hoaDonRepository.findByKhachThue_IdOrderByNamDescThangDesc("k1")).thenReturn(List.of(hoaDon));
+        when(tinhTienService.dongBoHoaDonTheoChiSoNeuCo(any(HoaDon.class), any())).thenAnswer(inv -> {
+            HoaDon h = inv.getArgument(0);
+            h.setTongTien(new BigDecimal("3000000"));
+            return h;
+        });
+        when(thanhToanRepository.findByHoaDon_IdInOrderByThoiGianThanhToanDesc(List.of("hoa1")))
+                .thenReturn(List.of(thanhToan));
+        when(nhacNoHoaDonEmailRepository.findByHoaDon_IdIn(List.of("hoa1"))).thenReturn(List.of(cu, moi));
+        when(yeuCauHoTroRepository.findByKhachThue_IdAndTrangThaiInOrderByNgayTaoDesc(any(), anyCollection()))
+                .thenReturn(List.of(yeuCau));
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.TongQuanKhachThueService", TongQuanKhachThueService.class.getName());
+    }
+
+    @Test
+    void lay_gopDuLieuTuCacTruyVanTheoLo() {
+        TongQuanKhachThueDto ketQua = tongQuan.lay("k1").orElseThrow();
+
+        assertEquals("Nguyễn Văn An", ketQua.getKhachThue().getHoTen());
+        assertEquals(1, ketQua.getHopDong().size());
+        assertEquals("P101", ketQua.getHopDong().get(0).getMaPhong());
+        assertEquals("Khu A", ketQua.getHopDong().get(0).getTenKhuVuc());
+        assertTrue(ketQua.getHopDong().get(0).isLaDaiDien());
+        assertEquals(2, ketQua.getHopDong().get(0).getThanhVien().size());
+        assertEquals(0, new BigDecimal("2000000").compareTo(ketQua.getHoaDon().get(0).getConLai()));
+        assertEquals(0, new BigDecimal("2000000").compareTo(ketQua.getTongConNo()));
+        assertEquals(0, new BigDecimal("3000000").compareTo(ketQua.getHoaDon().get(0).getTongTien()));
+        verify(tinhTienService).napDuLieuTinhTien(List.of(hoaDon));
+        assertEquals("hoa1", ketQua.getThanhToan().get(0).getHoaDonId());
+        assertEquals(List.of("n2", "n1"), ketQua.getNhacNo().stream().map(n -> n.getId()).toList());
+        assertEquals("Hỏng vòi nước", ketQua.getYeuCauDangMo().get(0).getTieuDe());
+        verify(yeuCauHoTroRepository).findByKhachThue_IdAndTrangThaiInOrderByNgayTaoDesc("k1",
+                Set.of(TrangThaiYeuCauHoTro.OPEN, TrangThaiYeuCauHoTro.IN_PROGRESS));
+    }
+
+    @Test
+    void lay_khongCoKhach_rong() {
+        assertTrue(tongQuan.lay("k9").isEmpty());
+        verify(hopDongRepository, never()).findThuocKhachThue(any());
+    }
+
+    @Test
+    void lay_lanHai_dungBoNhoDem() {
+        tongQuan.lay("k1");
+        tongQuan.lay("k1");
+
+        verify(hopDongRepository, times(1)).findThuocKhachThue("k1");
+        assertEquals(1, tongQuan.soMuc());
+    }
+
+    @Test
+    void daThayDoi_thanhToanCuaHoaDonLienQuan_huy() {
+        tongQuan.lay("k1");
+        ThanhToan thanhToan = new ThanhToan();
+        thanhToan.setHoaDon(hoaDon);
+
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(thanhToan, false));
+
+        assertEquals(0, tongQuan.soMuc());
+    }
+
+    @Test
+    void daThayDoi_phongKhuVucVaKhachLienQuan_huy_phongKhac_giuNguyen() {
+        tongQuan.lay("k1");
+        Phong khac = new Phong();
+        khac.setId("p2");
+
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(khac, false));
+        assertEquals(1, tongQuan.soMuc());
+
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(khuA, false));
+        assertEquals(0, tongQuan.soMuc());
+
+        tongQuan.lay("k1");
+        YeuCauHoTro yeuCau = new YeuCauHoTro();
+        yeuCau.setKhachThue(an);
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(yeuCau, false));
+        assertEquals(0, tongQuan.soMuc());
+    }
+
+    @Test
+    void daThayDoi_chiSoChiTietVaBangGia_huy() {
+        tongQuan.lay("k1");
+        ChiSoDienNuoc chiSo = new ChiSoDienNuoc();
+        chiSo.setPhong(p101);
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(chiSo, false));
+        assertEquals(0, tongQuan.soMuc());
+
+        tongQuan.lay("k1");
+        HoaDonChiTiet chiTiet = new HoaDonChiTiet();
+        chiTiet.setHoaDon(hoaDon);
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(chiTiet, false));
+        assertEquals(0, tongQuan.soMuc());
+
+        tongQuan.lay("k1");
+        tongQuan.daThayDoi(new SuKienThayDoiThucThe(new BangGiaDichVu(), false));
+        assertEquals(0, tongQuan.soMuc());
+    }
+
+    @Test
+    void daCapNhatHangLoat_theoMaHopDong_huy() {
+        tongQuan.lay("k1");
+
+        tongQuan.daCapNhatHangLoat(new SuKienCapNhatHangLoat(Set.of("hd1")));
+
+        assertEquals(0, tongQuan.soMuc());
+    }
+
+    private NhacNoHoaDonEmail nhacNo(String id, LocalDateTime guiLuc) {
+        NhacNoHoaDonEmail n = new NhacNoHoaDonEmail();
+        n.setId(id);
+        n.setHoaDon(hoaDon);
+        n.setGuiLuc(guiLuc);
+        return n;
+    }
+
+    private static HopDongThanhVien thanhVien(HopDong hopDong, KhachThue khach, boolean laDaiDien) {
+        HopDongThanhVien tv = new HopDongThanhVien();
+        tv.setHopDong(hopDong);
+        tv.setKhachThue(khach);
+        tv.setLaDaiDien(laDaiDien);
+        return tv;
+    }
+
+    private static KhachThue khach(String id, String hoTen) {
+        KhachThue k = new KhachThue();
+        k.setId(id);
+        k.setHoTen(hoTen);
+        return k;
+    }
+}
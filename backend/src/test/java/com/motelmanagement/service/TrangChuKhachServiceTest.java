@@ -0,0 +1,211 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motelmanagement.domain.BangGiaDichVu;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.HoiThoai;
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.TinNhan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.TrangChuKhachDto;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.KhachThueRepository;
+import com.motelmanagement.repository.ThanhToanRepository;
+import com.motelmanagement.repository.ThanhVienHoiThoaiRepository;
+import com.motelmanagement.repository.ThongBaoRepository;
+import com.motelmanagement.repository.TinNhanRepository;
+
+class TrangChuKhachServiceTest {
+
+    private final KhachThueRepository khachThueRepository = mock(KhachThueRepository.class);
+    private final HopDongRepository hopDongRepository = mock(HopDongRepository.class);
+    private final HoaDonRepository hoaDonRepository = mock(HoaDonRepository.class);
+    private final ThanhToanRepository thanhToanRepository = mock(ThanhToanRepository.class);
+    private final ThongBaoRepository thongBaoRepository = mock(ThongBaoRepository.class);
+    private final ThanhVienHoiThoaiRepository thanhVienHoiThoaiRepository = mock(ThanhVienHoiThoaiRepository.class);
+    private final TinNhanRepository tinNhanRepository = mock(TinNhanRepository.class);
+    private final TinhTienService tinhTienService = mock(TinhTienService.class);
+    private final TrangChuKhachService trangChu = new TrangChuKhachService(khachThueRepository, hopDongRepository,
+            hoaDonRepository, thanhToanRepository, thongBaoRepository, thanhVienHoiThoaiRepository,
+            tinNhanRepository, tinhTienService, new ObjectMapper().findAndRegisterModules());
+
+    private final NguoiDung nguoiDung = new NguoiDung();
+    private final KhachThue an = new KhachThue();
+    private final Phong p101 = new Phong();
+    private final HoaDon hoaDon = new HoaDon();
+
+    @BeforeEach
+    void chuanBi() {
+        nguoiDung.setId("u1");
+        an.setId("k1");
+        an.setHoTen("Nguyễn Văn An");
+        an.setNguoiDung(nguoiDung);
+        p101.setId("p1");
+        p101.setMaPhong("P101");
+
+        HopDong cu = hopDong("hd1", LocalDate.of(2024, 1, 1));
+        HopDong moi = hopDong("hd2", LocalDate.of(2025, 1, 1));
+
+        hoaDon.setId("hoa1");
+        hoaDon.setPhong(p101);
+        hoaDon.setKhachThue(an);
+        hoaDon.setThang(3);
+        hoaDon.setNam(2025);
+        hoaDon.setTongTien(new BigDecimal("3000000"));
+        hoaDon.setDaThu(new BigDecimal("1000000"));
+
+        ThanhToan thanhToan = new ThanhToan();
+        thanhToan.setId("tt1");
+        thanhToan.setHoaDon(hoaDon);
+        thanhToan.setSoTien(new BigDecimal("1000000"));
+
+        ThongBao thongBao = new ThongBao();
+        thongBao.setId("tb1");
+        thongBao.setNoiDung("Nhắc thanh toán");
+        thongBao.setThoiGianGui(LocalDateTime.of(2025, 3, 5, 9, 0));
+
+        when(khachThueRepository.findByNguoiDung_Id("u1")).thenReturn(an);
+        when(hopDongRepository.timTheoTrangThaiThuocKhachThue(List.of("k1"), TrangThaiHopDong.ACTIVE))
+                .thenReturn(List.of(cu, moi));
+        when(hoaDonRepository.findByKhachThue_IdAndTrangThaiInOrderByNamDescThangDesc("k1", TrangThaiHoaDon.CON_NO))
+                .thenReturn(List.of(hoaDon));
+        when(tinhTienService.dongBoHoaDonTheoChiSoNeuCo(any(HoaDon.class), any()))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(thanhToanRepository.findByHoaDon_KhachThue_IdOrderByThoiGianThanhToanDesc("k1",
+                PageRequest.of(0, TrangChuKhachService.SO_DONG_GAN_DAY))).thenReturn(List.of(thanhToan));
+        when(thongBaoRepository.countByNguoiDung_IdAndDaDocFalse("u1")).thenReturn(2L);
+        when(thongBaoRepository.layTrangDauCuaNguoiDung("u1", PageRequest.of(0, TrangChuKhachService.SO_DONG_GAN_DAY)))
+                .thenReturn(List.of(thongBao));
+        when(thanhVienHoiThoaiRepository.layMaHoiThoaiCuaNguoiDung("u1")).thenReturn(List.of("ht1"));
+        when(tinNhanRepository.demChuaDocTrongHoiThoai(List.of("ht1"), "u1")).thenReturn(4L);
+    }
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.TrangChuKhachService", TrangChuKhachService.class.getName());
+    }
+
+    @Test
+    void lay_gopDuLieuVaTinhEtag() {
+        TrangChuKhachService.TrangChu ketQua = trangChu.lay(nguoiDung).orElseThrow();
+        TrangChuKhachDto dto = ketQua.noiDung();
+
+        assertEquals("Nguyễn Văn An", dto.getKhachThue().getHoTen());
+        assertEquals("hd2", dto.getHopDongHienTai().getId());
+        assertEquals(0, new BigDecimal("2000000").compareTo(dto.getTongConNo()));
+        assertEquals("hoa1", dto.getHoaDonChuaThanhToan().get(0).getId());
+        assertEquals("tt1", dto.getThanhToanGanDay().get(0).getId());
+        assertEquals(2, dto.getSoThongBaoChuaDoc());
+        assertEquals(4, dto.getSoTinNhanChuaDoc());
+        assertEquals("Nhắc thanh toán", dto.getThongBaoMoiNhat().get(0).getNoiDung());
+        assertTrue(ketQua.etag().matches("\"[0-9a-f]{32}\""));
+        verify(tinhTienService).napDuLieuTinhTien(List.of(hoaDon));
+    }
+
+    @Test
+    void lay_khongCoKhach_rong() {
+        NguoiDung khac = new NguoiDung();
+        khac.setId("u9");
+
+        assertTrue(trangChu.lay(khac).isEmpty());
+        verify(hopDongRepository, never()).timTheoTrangThaiThuocKhachThue(any(), any());
+    }
+
+    @Test
+    void lay_khongCoHoiThoai_khongDemTinNhan() {
+        when(thanhVienHoiThoaiRepository.layMaHoiThoaiCuaNguoiDung("u1")).thenReturn(List.of());
+
+        assertEquals(0, trangChu.lay(nguoiDung).orElseThrow().noiDung().getSoTinNhanChuaDoc());
+        verify(tinNhanRepository, never()).demChuaDocTrongHoiThoai(any(), anyString());
+    }
+
+    @Test
+    void lay_lanHai_dungBoNhoDem() {
+        String etag = trangChu.lay(nguoiDung).orElseThrow().etag();
+
+        assertEquals(etag, trangChu.lay(nguoiDung).orElseThrow().etag());
+        verify(khachThueRepository, times(1)).findByNguoiDung_Id("u1");
+        assertEquals(1, trangChu.soMuc());
+    }
+
+    @Test
+    void daThayDoi_tinNhanTrongHoiThoaiCuaKhach_huy_etagDoi() {
+        String etag = trangChu.lay(nguoiDung).orElseThrow().etag();
+        HoiThoai hoiThoai = new HoiThoai();
+        hoiThoai.setId("ht1");
+        TinNhan tin = new TinNhan();
+        tin.setHoiThoai(hoiThoai);
+
+        trangChu.daThayDoi(new SuKienThayDoiThucThe(tin, false));
+
+        assertEquals(0, trangChu.soMuc());
+        when(tinNhanRepository.demChuaDocTrongHoiThoai(List.of("ht1"), "u1")).thenReturn(5L);
+        assertNotEquals(etag, trangChu.lay(nguoiDung).orElseThrow().etag());
+    }
+
+    @Test
+    void daThayDoi_thongBaoHoaDonVaBangGia_huyDungMuc() {
+        trangChu.lay(nguoiDung);
+        NguoiDung khac = new NguoiDung();
+        khac.setId("u2");
+        ThongBao cuaNguoiKhac = new ThongBao();
+        cuaNguoiKhac.setNguoiDung(khac);
+
+        trangChu.daThayDoi(new SuKienThayDoiThucThe(cuaNguoiKhac, false));
+        assertEquals(1, trangChu.soMuc());
+
+        trangChu.daThayDoi(new SuKienThayDoiThucThe(hoaDon, false));
+        assertEquals(0, trangChu.soMuc());
+
+        trangChu.lay(nguoiDung);
+        trangChu.daThayDoi(new SuKienThayDoiThucThe(new BangGiaDichVu(), false));
+        assertEquals(0, trangChu.soMuc());
+    }
+
+    @Test
+    void daCapNhatHangLoat_theoMaNguoiDung_huy() {
+        trangChu.lay(nguoiDung);
+
+        trangChu.daCapNhatHangLoat(new SuKienCapNhatHangLoat(Set.of("u1")));
+
+        assertEquals(0, trangChu.soMuc());
+    }
+
+    private HopDong hopDong(String id, LocalDate batDau) {
+        HopDong h = new HopDong();
+        h.setId(id);
+        h.setPhong(p101);
+        h.setKhachThue(an);
+        h.setNgayBatDau(batDau);
+        h.setTrangThai(TrangThaiHopDong.ACTIVE);
+        return h;
+    }
+}
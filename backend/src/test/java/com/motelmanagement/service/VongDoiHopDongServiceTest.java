@@ -0,0 +1,165 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.motelmanagement.domain.HopDong;
+import com.motelmanagement.domain.KhachThue;
+import com.motelmanagement.domain.NguoiDung;
+import com.motelmanagement.domain.Phong;
+import com.motelmanagement.domain.ThongBao;
+import com.motelmanagement.domain.TrangThaiHopDong;
+import com.motelmanagement.dto.HanHopDongDto;
+import com.motelmanagement.repository.HopDongRepository;
+import com.motelmanagement.repository.PhongRepository;
+
+class VongDoiHopDongServiceTest {
+
+    private static final LocalDate BAT_DAU = LocalDate.of(2025, 1, 1);
+    private static final LocalDate KET_THUC = LocalDate.of(2025, 6, 30);
+
+    private final HopDongRepository hopDongRepository = mock(HopDongRepository.class);
+    private final PhongRepository phongRepository = mock(PhongRepository.class);
+    private final ThongBaoService thongBaoService = mock(ThongBaoService.class);
+    private final List<Object> suKienDaPhat = new ArrayList<>();
+    private final VongDoiHopDongService vongDoi = new VongDoiHopDongService(hopDongRepository, phongRepository,
+            thongBaoService, new MauThongBaoService(), suKienDaPhat::add, 7);
+
+    @Test
+    void tenDayDu() {
+        assertEquals("com.motelmanagement.service.VongDoiHopDongService", VongDoiHopDongService.class.getName());
+    }
+
+    @Test
+    void napLai_xepMocNhacTruocNgayKetThuc() {
+        napVoi(han("h1", KET_THUC, null), han("h2", KET_THUC.plusDays(3), KET_THUC.plusDays(3)));
+
+        assertEquals(2, vongDoi.soHopDong());
+        assertEquals(KET_THUC.minusDays(7), vongDoi.mocGanNhat());
+    }
+
+    @Test
+    void xuLyDenHan_chuaToiMoc_khongTruyVan() {
+        napVoi(han("h1", KET_THUC, null));
+
+        vongDoi.xuLyDenHan(KET_THUC.minusDays(8));
+
+        verify(hopDongRepository, never()).findByIdIn(any());
+        verify(hopDongRepository, never()).ketThucHetHan(any(), any());
+        verifyNoInteractions(thongBaoService, phongRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void xuLyDenHan_toiMocNhac_guiMauVaDanhDau() {
+        napVoi(han("h1", KET_THUC, null));
+        when(hopDongRepository.findByIdIn(List.of("h1"))).thenReturn(List.of(hopDong("h1", "P101", "khach1")));
+        when(hopDongRepository.layHanTheoMa(List.of("h1"))).thenReturn(List.of(han("h1", KET_THUC, KET_THUC)));
+
+        vongDoi.xuLyDenHan(KET_THUC.minusDays(7));
+        sauKhiCommit();
+
+        ArgumentCaptor<List<ThongBao>> daGui = ArgumentCaptor.forClass(List.class);
+        verify(thongBaoService).luuVaDay(daGui.capture());
+        assertEquals(1, daGui.getValue().size());
+        assertEquals("Hợp đồng thuê phòng P101 sẽ hết hạn vào ngày 30/06/2025. Vui lòng liên hệ quản lý để gia hạn.",
+                daGui.getValue().get(0).getNoiDung());
+        assertEquals("khach1", daGui.getValue().get(0).getNguoiDung().getTenDangNhap());
+        verify(hopDongRepository).danhDauDaNhacHetHan(List.of("h1"));
+        assertEquals(KET_THUC.plusDays(1), vongDoi.mocGanNhat());
+    }
+
+    @Test
+    void xuLyDenHan_quaNgayKetThuc_ketThucHangLoatVaTraPhong() {
+        napVoi(han("h1", KET_THUC, KET_THUC), han("h2", KET_THUC.minusDays(1), KET_THUC.minusDays(1)),
+                han("h3", KET_THUC.plusDays(60), null));
+        when(hopDongRepository.layHanTheoMa(List.of("h1", "h2"))).thenReturn(List.of(
+                new HanHopDongDto("h1", "p-h1", BAT_DAU, KET_THUC, TrangThaiHopDong.ENDED, KET_THUC),
+                new HanHopDongDto("h2", "p-h2", BAT_DAU, KET_THUC.minusDays(1), TrangThaiHopDong.ENDED, null)));
+
+        vongDoi.xuLyDenHan(KET_THUC.plusDays(1));
+        SuKienCapNhatHangLoat suKien = (SuKienCapNhatHangLoat) suKienDaPhat.get(0);
+        sauKhiCommit();
+
+        verify(hopDongRepository).ketThucHetHan(List.of("h1", "h2"), KET_THUC.plusDays(1));
+        verify(phongRepository).traPhongKhongConHopDong(List.of("p-h2", "p-h1"));
+        assertEquals(Set.of("h1", "h2"), suKien.ma());
+        assertEquals(2, suKien.hanHopDong().size());
+        verify(thongBaoService, never()).luuVaDay(any());
+        assertEquals(1, vongDoi.soHopDong());
+        assertEquals(KET_THUC.plusDays(53), vongDoi.mocGanNhat());
+    }
+
+    @Test
+    void daThayDoi_giaHan_xepLaiMocNhac() {
+        napVoi(han("h1", KET_THUC, KET_THUC));
+        HopDong hopDong = hopDong("h1", "P101", "khach1");
+        hopDong.setNgayKetThuc(KET_THUC.plusMonths(6));
+        hopDong.setNhacHetHanChoNgay(KET_THUC);
+        assertEquals(KET_THUC.plusDays(1), vongDoi.mocGanNhat());
+
+        vongDoi.daThayDoi(new SuKienThayDoiThucThe(hopDong, false));
+
+        assertEquals(KET_THUC.plusMonths(6).minusDays(7), vongDoi.mocGanNhat());
+
+        vongDoi.daThayDoi(new SuKienThayDoiThucThe(hopDong, true));
+
+        assertNull(vongDoi.mocGanNhat());
+    }
+
+    @Test
+    void daThayDoi_hopDongDaKetThuc_roiHangDoi() {
+        napVoi(han("h1", KET_THUC, null));
+        HopDong hopDong = hopDong("h1", "P101", "khach1");
+        hopDong.setTrangThai(TrangThaiHopDong.ENDED);
+
+        vongDoi.daThayDoi(new SuKienThayDoiThucThe(hopDong, false));
+
+        assertEquals(0, vongDoi.soHopDong());
+    }
+
+    // Spring giao sự kiện cho listener sau khi giao dịch commit.
+    private void sauKhiCommit() {
+        suKienDaPhat.forEach(s -> vongDoi.daCapNhatHangLoat((SuKienCapNhatHangLoat) s));
+    }
+
+    private void napVoi(HanHopDongDto... ds) {
+        when(hopDongRepository.layHanConHieuLuc()).thenReturn(List.of(ds));
+        vongDoi.napLai();
+    }
+
+    private static HanHopDongDto han(String id, LocalDate ketThuc, LocalDate daNhac) {
+        return new HanHopDongDto(id, "p-" + id, BAT_DAU, ketThuc, TrangThaiHopDong.ACTIVE, daNhac);
+    }
+
+    private static HopDong hopDong(String id, String maPhong, String tenDangNhap) {
+        NguoiDung nguoiDung = new NguoiDung();
+        nguoiDung.setTenDangNhap(tenDangNhap);
+        KhachThue khach = new KhachThue();
+        khach.setNguoiDung(nguoiDung);
+        Phong phong = new Phong();
+        phong.setId("p-" + id);
+        phong.setMaPhong(maPhong);
+        HopDong h = new HopDong();
+        h.setId(id);
+        h.setPhong(phong);
+        h.setKhachThue(khach);
+        h.setNgayBatDau(BAT_DAU);
+        h.setNgayKetThuc(KET_THUC);
+        return h;
+    }
+}
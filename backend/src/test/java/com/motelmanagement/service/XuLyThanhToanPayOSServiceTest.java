@@ -0,0 +1,135 @@
+package com.motelmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.motelmanagement.domain.DonHangPayOS;
+import com.motelmanagement.domain.HoaDon;
+import com.motelmanagement.domain.PhuongThucThanhToan;
+import com.motelmanagement.domain.SuKienThanhToanPayOS;
+import com.motelmanagement.domain.ThanhToan;
+import com.motelmanagement.domain.TrangThaiHoaDon;
+import com.motelmanagement.repository.DonHangPayOSRepository;
+import com.motelmanagement.repository.HoaDonRepository;
+import com.motelmanagement.repository.SuKienThanhToanPayOSRepository;
+
+@ExtendWith(MockitoExtension.class)
+class XuLyThanhToanPayOSServiceTest {
+
+    @Mock
+    private DonHangPayOSRepository donHangPayOSRepository;
+    @Mock
+    private HoaDonRepository hoaDonRepository;
+    @Mock
+    private ThanhToanService thanhToanService;
+    @Mock
+    private SuKienThanhToanPayOSRepository suKienThanhToanPayOSRepository;
+    @Mock
+    private TinhTienService tinhTienService;
+
+    @InjectMocks
+    private XuLyThanhToanPayOSService xuLyThanhToanPayOSService;
+
+    @Test
+    void daXuLy_nhoKetQuaSauLanDauTruyVan() {
+        when(suKienThanhToanPayOSRepository.existsByMaDonHang(9L)).thenReturn(true);
+
+        assertTrue(xuLyThanhToanPayOSService.daXuLy(9L));
+        assertTrue(xuLyThanhToanPayOSService.daXuLy(9L));
+
+        verify(suKienThanhToanPayOSRepository, times(1)).existsByMaDonHang(9L);
+    }
+
+    @Test
+    void ghiNhan_donHangDaXoa_traTheoSuKien() {
+        when(donHangPayOSRepository.khoaTheoMaDonHang(9L)).thenReturn(Optional.empty());
+        when(suKienThanhToanPayOSRepository.existsByMaDonHang(9L)).thenReturn(false);
+
+        assertFalse(xuLyThanhToanPayOSService.ghiNhan(9L, 1000, "WEBHOOK"));
+        verify(thanhToanService, never()).congVaoHoaDon(any(), any(), any());
+    }
+
+    @Test
+    void ghiNhan_conNo_ghiThanhToanQuaSoDuVaLuuSuKien() {
+        DonHangPayOS donHang = donHang(9L, "hd-1");
+        HoaDon hoaDon = hoaDon("hd-1", 5000);
+        ThanhToan daLuu = new ThanhToan();
+        daLuu.setId("tt-1");
+        when(donHangPayOSRepository.khoaTheoMaDonHang(9L)).thenReturn(Optional.of(donHang));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hoaDon));
+        when(tinhTienService.tinhTienRuntime(hoaDon)).thenReturn(hoaDon);
+        when(thanhToanService.congVaoHoaDon(hoaDon, BigDecimal.valueOf(2000), PhuongThucThanhToan.TRANSFER))
+                .thenReturn(daLuu);
+
+        assertTrue(xuLyThanhToanPayOSService.ghiNhan(9L, 2000, "WEBHOOK"));
+
+        ArgumentCaptor<SuKienThanhToanPayOS> suKien = ArgumentCaptor.forClass(SuKienThanhToanPayOS.class);
+        verify(suKienThanhToanPayOSRepository).save(suKien.capture());
+        assertEquals(9L, suKien.getValue().getMaDonHang());
+        assertEquals("tt-1", suKien.getValue().getMaThanhToan());
+        assertEquals("WEBHOOK", suKien.getValue().getNguon());
+        verify(donHangPayOSRepository).delete(donHang);
+    }
+
+    @Test
+    void ghiNhan_soTienVuotConLai_chiGhiPhanConLai() {
+        DonHangPayOS donHang = donHang(9L, "hd-1");
+        HoaDon hoaDon = hoaDon("hd-1", 5000);
+        hoaDon.setDaThu(BigDecimal.valueOf(4000));
+        when(donHangPayOSRepository.khoaTheoMaDonHang(9L)).thenReturn(Optional.of(donHang));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hoaDon));
+        when(tinhTienService.tinhTienRuntime(hoaDon)).thenReturn(hoaDon);
+        when(thanhToanService.congVaoHoaDon(any(), any(), any())).thenReturn(new ThanhToan());
+
+        assertTrue(xuLyThanhToanPayOSService.ghiNhan(9L, 5000, "WEBHOOK"));
+
+        verify(thanhToanService).congVaoHoaDon(hoaDon, BigDecimal.valueOf(1000), PhuongThucThanhToan.TRANSFER);
+    }
+
+    @Test
+    void ghiNhan_daThuDu_chiDanhDauPaid() {
+        DonHangPayOS donHang = donHang(9L, "hd-1");
+        HoaDon hoaDon = hoaDon("hd-1", 5000);
+        hoaDon.setDaThu(BigDecimal.valueOf(5000));
+        when(donHangPayOSRepository.khoaTheoMaDonHang(9L)).thenReturn(Optional.of(donHang));
+        when(hoaDonRepository.khoaDeCapNhat("hd-1")).thenReturn(Optional.of(hoaDon));
+        when(tinhTienService.tinhTienRuntime(hoaDon)).thenReturn(hoaDon);
+
+        assertTrue(xuLyThanhToanPayOSService.ghiNhan(9L, null, "RETURN_URL"));
+
+        assertEquals(TrangThaiHoaDon.PAID, hoaDon.getTrangThai());
+        verify(hoaDonRepository).save(hoaDon);
+        verify(thanhToanService, never()).congVaoHoaDon(any(), any(), any());
+        verify(suKienThanhToanPayOSRepository).save(any(SuKienThanhToanPayOS.class));
+    }
+
+    private static DonHangPayOS donHang(long ma, String maHoaDon) {
+        DonHangPayOS d = new DonHangPayOS();
+        d.setMaDonHang(ma);
+        d.setMaHoaDon(maHoaDon);
+        return d;
+    }
+
+    private static HoaDon hoaDon(String id, long tong) {
+        HoaDon h = new HoaDon();
+        h.setId(id);
+        h.setTongTien(BigDecimal.valueOf(tong));
+        return h;
+    }
+}
@@ -0,0 +1,28 @@
+package com.motelmanagement.support;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.motelmanagement.logging.BoLocDemCauLenhSql;
+
+
+public final class KiemThuSoCauLenhSql {
+    private KiemThuSoCauLenhSql() {}
+
+    public static int soCauLenhSql(MvcResult ketQua) {
+        String giaTri = ketQua.getResponse().getHeader(BoLocDemCauLenhSql.TIEU_DE);
+        assertNotNull(giaTri, "Thiếu header " + BoLocDemCauLenhSql.TIEU_DE + " (app.cau-lenh-sql.tra-tieu-de=true?)");
+        return Integer.parseInt(giaTri);
+    }
+
+    public static ResultMatcher soCauLenhSqlToiDa(int toiDa) {
+        return ketQua -> {
+            int so = soCauLenhSql(ketQua);
+            assertTrue(so <= toiDa, ketQua.getRequest().getRequestURI() + " phát " + so
+                    + " câu lệnh SQL, vượt giới hạn " + toiDa + " (nghi N+1)");
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.motelmanagement.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+
+public class MayChuPayOSGia implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger soYeuCau = new AtomicInteger();
+    private volatile int maTrangThai = 200;
+    private volatile String phanHoi = "{\"code\":\"00\",\"data\":{\"checkoutUrl\":\"https://pay.payos.vn/web/abc\"}}";
+    private volatile long treMs;
+
+    public MayChuPayOSGia() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            soYeuCau.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            if (treMs > 0) {
+                try {
+                    Thread.sleep(treMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = phanHoi.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(maTrangThai, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void traVe(int maTrangThai, String phanHoi) {
+        this.maTrangThai = maTrangThai;
+        this.phanHoi = phanHoi;
+    }
+
+    public void treMoiYeuCau(long treMs) {
+        this.treMs = treMs;
+    }
+
+    public int soYeuCau() {
+        return soYeuCau.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
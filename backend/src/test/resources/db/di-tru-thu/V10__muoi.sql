@@ -0,0 +1 @@
+CREATE INDEX idx_muoi ON hai (id);
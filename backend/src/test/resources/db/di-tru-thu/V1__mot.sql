@@ -0,0 +1 @@
+CREATE TABLE mot (id INT);
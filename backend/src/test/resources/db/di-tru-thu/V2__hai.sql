@@ -0,0 +1 @@
+CREATE TABLE hai (id INT);
@@ -103,22 +103,20 @@ export default function TrangHoaDonCuaToi() {
 
   useEffect(() => {
     const payment = searchParams.get("payment");
+    const orderCode = searchParams.get("orderCode");
+    if ((payment === "success" || payment === "cancel") && orderCode) {
+      // Báo cả khi hủy để máy chủ không trả lại link PayOS đã bị hủy ở lần bấm sau.
+      api
+        .post("/thanh-toan/payos/xac-nhan-tra-ve", {
+          orderCode,
+          code: searchParams.get("code"),
+          status: searchParams.get("status"),
+          cancel: payment === "cancel" ? "true" : searchParams.get("cancel"),
+        })
+        .catch(() => undefined);
+    }
     if (payment === "success") {
       setMessage({ type: "success", text: "Thanh toán thành công." });
-      const orderCode = searchParams.get("orderCode");
-      const code = searchParams.get("code");
-      const status = searchParams.get("status");
-      const cancel = searchParams.get("cancel");
-      if (orderCode) {
-        api
-          .post("/thanh-toan/payos/xac-nhan-tra-ve", {
-            orderCode,
-            code,
-            status,
-            cancel,
-          })
-          .catch(() => undefined);
-      }
 
       const timers = [1200, 3500, 7000, 12000].map((ms) =>
         window.setTimeout(() => {
@@ -17,8 +17,8 @@ import {
   IconCheck,
   IconTrash,
 } from "@/components/Icons";
-import type { ThongBaoUi } from "@/lib/mapThongBaoApi";
-import { mapThongBaoFromApi } from "@/lib/mapThongBaoApi";
+import type { MocThongBao, ThongBaoUi } from "@/lib/mapThongBaoApi";
+import { mapThongBaoFromApi, mocTuThongBaoApi } from "@/lib/mapThongBaoApi";
 import {
   type BoLocThongBao,
   dinhDangThoiGian,
@@ -26,6 +26,9 @@ import {
   nhomTheoNgay,
   thoiGianTuongDoi,
 } from "@/lib/thongBaoHienThi";
+
+const SO_MOI_TRANG = 50;
+
 type User = {
   id: string;
   username: string;
@@ -122,6 +125,8 @@ export default function TrangThongBao() {
   const [mauId, setMauId] = useState("");
   const [boLoc, setBoLoc] = useState<BoLocThongBao>("all");
   const [dangDanhDauTatCa, setDangDanhDauTatCa] = useState(false);
+  const [mocTiep, setMocTiep] = useState<MocThongBao | null>(null);
+  const [dangTaiThem, setDangTaiThem] = useState(false);
   const vaiTro = daMount ? getRole() : null;
   const laQuanTri = vaiTro === "ADMIN";
   const camDanhDauDaDoc = vaiTro === "ADMIN" || vaiTro === "STAFF";
@@ -153,14 +158,41 @@ export default function TrangThongBao() {
       .catch(() => setDanhSachMau([]));
   }, [daMount, laQuanTri]);
 
-  const tai = async () => {
-    const phanHoi = await api.get("/thong-bao");
-    const duLieu = Array.isArray(phanHoi.data) ? phanHoi.data : [];
-    const mapped = duLieu.map((x) =>
-      mapThongBaoFromApi(x as Record<string, unknown>),
+  const taiTrang = async (moc: MocThongBao | null) => {
+    const phanHoi = await api.get("/thong-bao", {
+      params: { gioiHan: SO_MOI_TRANG, ...(moc ?? {}) },
+    });
+    const duLieu = (Array.isArray(phanHoi.data) ? phanHoi.data : []) as Record<
+      string,
+      unknown
+    >[];
+    setMocTiep(
+      duLieu.length === SO_MOI_TRANG
+        ? mocTuThongBaoApi(duLieu[duLieu.length - 1])
+        : null,
     );
-    setDanhSach(mapped);
-    contextThongBao?.refetchUnread(mapped);
+    return duLieu.map(mapThongBaoFromApi);
+  };
+
+  const tai = async () => {
+    setDanhSach(await taiTrang(null));
+    contextThongBao?.refetchUnread();
+  };
+
+  const taiThem = async () => {
+    if (!mocTiep) return;
+    setDangTaiThem(true);
+    try {
+      const trangTiep = await taiTrang(mocTiep);
+      setDanhSach((prev) => {
+        const daCo = new Set(prev.map((n) => n.id));
+        return [...prev, ...trangTiep.filter((n) => !daCo.has(n.id))];
+      });
+    } catch {
+      notify("Không tải thêm được thông báo", "error");
+    } finally {
+      setDangTaiThem(false);
+    }
   };
 
   useEffect(() => {
@@ -241,13 +273,9 @@ export default function TrangThongBao() {
   const nhomNgay = useMemo(() => nhomTheoNgay(danhSachLoc), [danhSachLoc]);
 
   const danhDauTatCaDaDoc = async () => {
-    const chuaDoc = danhSach.filter((n) => !n.readFlag);
-    if (chuaDoc.length === 0) return;
     setDangDanhDauTatCa(true);
     try {
-      await Promise.all(
-        chuaDoc.map((n) => api.put(`/thong-bao/${n.id}/da-doc`)),
-      );
+      await api.put("/thong-bao/da-doc-tat-ca");
       notify("Đã đánh dấu tất cả là đã đọc", "success");
       await tai();
       contextThongBao?.refetchUnread();
@@ -381,7 +409,7 @@ export default function TrangThongBao() {
             </p>
           </div>
           <div className="tb-header-actions">
-            {!camDanhDauDaDoc && soChuaDoc > 0 && (
+            {!camDanhDauDaDoc && (contextThongBao?.unreadCount ?? soChuaDoc) > 0 && (
               <button
                 type="button"
                 className="btn btn-secondary"
@@ -525,6 +553,18 @@ export default function TrangThongBao() {
               </section>
             ))
           )}
+          {mocTiep && (
+            <div className="tb-load-more">
+              <button
+                type="button"
+                className="btn btn-secondary"
+                disabled={dangTaiThem}
+                onClick={() => void taiThem()}
+              >
+                {dangTaiThem ? "Đang tải…" : "Tải thêm"}
+              </button>
+            </div>
+          )}
         </div>
 
         {daMount && hienThiTaoMoi && laQuanTri && (
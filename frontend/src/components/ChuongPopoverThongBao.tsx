@@ -55,13 +55,14 @@ export default function ChuongPopoverThongBao() {
   const taiDanhSach = useCallback(async () => {
     setDangTai(true);
     try {
-      const phanHoi = await api.get("/thong-bao");
+      const phanHoi = await api.get("/thong-bao", {
+        params: { gioiHan: TOI_DA_HIEN_THI },
+      });
       const duLieu = Array.isArray(phanHoi.data) ? phanHoi.data : [];
-      const mapped = duLieu.map((x) =>
-        mapThongBaoFromApi(x as Record<string, unknown>),
+      setDanhSach(
+        duLieu.map((x) => mapThongBaoFromApi(x as Record<string, unknown>)),
       );
-      setDanhSach(mapped);
-      contextThongBao?.refetchUnread(mapped);
+      await contextThongBao?.refetchUnread();
     } catch {
       setDanhSach([]);
     } finally {
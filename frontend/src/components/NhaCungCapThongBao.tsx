@@ -15,7 +15,7 @@ import {
   createNotificationClient,
   type NotificationPayload,
 } from "@/lib/notificationSocket";
-import { mapThongBaoFromApi, type ThongBaoUi } from "@/lib/mapThongBaoApi";
+import { type ThongBaoUi } from "@/lib/mapThongBaoApi";
 import { useToast } from "./NhaCungCapToast";
 
 type GiaTriNgonNguThongBao = {
@@ -51,12 +51,8 @@ export default function NhaCungCapThongBao({
         setSoChuaDoc(so);
         return;
       }
-      const res = await api.get("/thong-bao");
-      const duLieu = Array.isArray(res.data) ? res.data : [];
-      const mapped = duLieu.map((x) =>
-        mapThongBaoFromApi(x as Record<string, unknown>),
-      );
-      setSoChuaDoc(mapped.filter((n) => !n.readFlag).length);
+      const res = await api.get("/thong-bao/chua-doc/dem");
+      setSoChuaDoc(Number(res.data?.count ?? 0));
     } catch {
       setSoChuaDoc(0);
     }
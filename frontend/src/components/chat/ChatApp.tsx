@@ -31,6 +31,7 @@ type TinNhan = {
   loai: "TEXT" | "IMAGE" | "FILE";
   noiDung?: string;
   duongDanFile?: string;
+  duongDanAnhXemTruoc?: string;
   tenFile?: string;
   kichThuocFile?: number;
   loaiNoiDungFile?: string;
@@ -355,8 +356,15 @@ export default function ChatApp() {
                         className="chat-v2-image-wrap"
                       >
                         <img
-                          src={urlFile(t.duongDanFile)}
+                          src={urlFile(t.duongDanAnhXemTruoc ?? t.duongDanFile)}
                           alt={t.tenFile ?? "Ảnh"}
+                          loading="lazy"
+                          onError={(e) => {
+                            const img = e.currentTarget;
+                            if (img.dataset.goc) return;
+                            img.dataset.goc = "1";
+                            img.src = urlFile(t.duongDanFile);
+                          }}
                         />
                       </a>
                     )}
@@ -41,3 +41,25 @@ export function mapThongBaoFromApi(raw: Record<string, unknown>): ThongBaoUi {
     sentAt,
   };
 }
+
+export type MocThongBao = { truoc: string; truocId: string };
+
+function haiSo(n: number): string {
+  return String(n).padStart(2, "0");
+}
+
+// Giữ nguyên giờ địa phương của máy chủ: không đi qua Date để tránh lệch múi giờ khi so mốc.
+export function mocTuThongBaoApi(raw: Record<string, unknown>): MocThongBao | null {
+  const id = raw.id != null ? String(raw.id) : "";
+  const v = raw.thoiGianGui ?? raw.sentAt;
+  if (!id || v == null) return null;
+  if (typeof v === "string") return v ? { truoc: v, truocId: id } : null;
+  if (Array.isArray(v) && v.length >= 3) {
+    const [y, M, d, h = 0, m = 0, s = 0, nano = 0] = v.map(Number);
+    const truoc =
+      `${y}-${haiSo(M)}-${haiSo(d)}T${haiSo(h)}:${haiSo(m)}:${haiSo(s)}` +
+      (nano ? `.${String(nano).padStart(9, "0")}` : "");
+    return { truoc, truocId: id };
+  }
+  return null;
+}